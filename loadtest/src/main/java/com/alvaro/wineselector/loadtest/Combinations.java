@@ -0,0 +1,93 @@
+package com.alvaro.wineselector.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Corpos JSON de todas as combinações prato × ocasião × intimidade.
+ *
+ * Os valores dos enums são obtidos do schema publicado pela própria instância
+ * (/api/recommendation/schema.proto), evitando manter uma cópia das listas aqui.
+ */
+public final class Combinations {
+
+    private static final Pattern ENUM_START = Pattern.compile("^enum (\\w+) \\{");
+    private static final Pattern ENUM_VALUE = Pattern.compile("^\\s+(\\w+) = \\d+;");
+
+    private static final Map<String, String> PREFIXES = Map.of(
+            "MainDish", "MAIN_DISH_",
+            "Occasion", "OCCASION_",
+            "IntimacyLevel", "INTIMACY_LEVEL_");
+
+    private Combinations() {
+    }
+
+    /**
+     * Busca o schema na instância e gera o corpo de cada combinação.
+     */
+    public static List<String> fetch(HttpClient client, URI baseUrl) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve("/api/recommendation/schema.proto")).GET().build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Não foi possível obter o schema: HTTP " + response.statusCode());
+        }
+
+        Map<String, List<String>> enums = parseEnums(response.body());
+        List<String> bodies = new ArrayList<>();
+        for (String dish : enums.get("MainDish")) {
+            for (String occasion : enums.get("Occasion")) {
+                for (String intimacy : enums.get("IntimacyLevel")) {
+                    bodies.add(body(occasion, intimacy, dish));
+                }
+            }
+        }
+        return bodies;
+    }
+
+    static String body(String occasion, String intimacyLevel, String mainDish) {
+        return "{\"occasion\":\"" + occasion + "\",\"intimacyLevel\":\"" + intimacyLevel
+                + "\",\"mainDish\":\"" + mainDish + "\"}";
+    }
+
+    private static Map<String, List<String>> parseEnums(String schema) {
+        Map<String, List<String>> enums = new LinkedHashMap<>();
+        String current = null;
+
+        for (String line : schema.split("\n")) {
+            Matcher start = ENUM_START.matcher(line);
+            if (start.find()) {
+                current = start.group(1);
+                continue;
+            }
+            if (line.startsWith("}")) {
+                current = null;
+                continue;
+            }
+
+            Matcher value = ENUM_VALUE.matcher(line);
+            if (current != null && PREFIXES.containsKey(current) && value.find()) {
+                String name = value.group(1);
+                if (!name.endsWith("_UNSPECIFIED")) {
+                    enums.computeIfAbsent(current, key -> new ArrayList<>())
+                            .add(name.substring(PREFIXES.get(current).length()));
+                }
+            }
+        }
+
+        for (String required : PREFIXES.keySet()) {
+            if (!enums.containsKey(required)) {
+                throw new IllegalStateException("Enum ausente no schema: " + required);
+            }
+        }
+        return enums;
+    }
+}
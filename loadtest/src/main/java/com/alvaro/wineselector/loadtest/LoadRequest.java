@@ -0,0 +1,10 @@
+package com.alvaro.wineselector.loadtest;
+
+/**
+ * Requisição a ser enviada pelo gerador de carga.
+ *
+ * @param body Corpo JSON
+ * @param expectedStatus Status HTTP esperado (200 para corpos válidos, 400 para inválidos)
+ */
+public record LoadRequest(String body, int expectedStatus) {
+}
@@ -0,0 +1,81 @@
+package com.alvaro.wineselector.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros de uma execução do gerador de carga, lidos de argumentos no formato --chave=valor.
+ *
+ * @param baseUrl URL base da instância (ex: http://localhost:8080)
+ * @param rate Taxa alvo em requisições por segundo (malha aberta)
+ * @param duration Duração da fase medida
+ * @param warmup Duração do aquecimento (requisições enviadas, mas não medidas)
+ * @param mix Mistura de requisições: uniform, zipf ou replay
+ * @param zipfExponent Expoente da distribuição Zipf sobre as combinações
+ * @param invalidShare Fração de corpos inválidos (0.0 a 1.0), esperando HTTP 400
+ * @param replayFile Arquivo JSONL com corpos capturados (mix=replay)
+ * @param output Arquivo JSON do relatório
+ * @param seed Semente dos geradores aleatórios, para execuções reprodutíveis
+ * @param maxInFlight Limite de requisições simultâneas; acima disso a requisição é descartada e contabilizada
+ * @param timeout Timeout de cada requisição
+ */
+public record LoadTestConfig(
+        URI baseUrl,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        String mix,
+        double zipfExponent,
+        double invalidShare,
+        Path replayFile,
+        Path output,
+        long seed,
+        int maxInFlight,
+        Duration timeout) {
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido (use --chave=valor): " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(options.getOrDefault("url", "http://localhost:8080")),
+                Double.parseDouble(options.getOrDefault("rate", "500")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5"))),
+                options.getOrDefault("mix", "uniform"),
+                Double.parseDouble(options.getOrDefault("zipf-exponent", "1.1")),
+                Double.parseDouble(options.getOrDefault("invalid-share", "0.0")),
+                options.containsKey("replay-file") ? Path.of(options.get("replay-file")) : null,
+                Path.of(options.getOrDefault("output", "loadtest-result.json")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "2000")),
+                Duration.ofMillis(Long.parseLong(options.getOrDefault("timeout-ms", "5000"))));
+
+        config.validate();
+        return config;
+    }
+
+    private void validate() {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate deve ser positivo");
+        }
+        if (invalidShare < 0 || invalidShare > 1) {
+            throw new IllegalArgumentException("invalid-share deve estar entre 0.0 e 1.0");
+        }
+        if ("replay".equals(mix) && replayFile == null) {
+            throw new IllegalArgumentException("mix=replay exige --replay-file");
+        }
+        if (!"uniform".equals(mix) && !"zipf".equals(mix) && !"replay".equals(mix)) {
+            throw new IllegalArgumentException("mix desconhecido: " + mix);
+        }
+    }
+}
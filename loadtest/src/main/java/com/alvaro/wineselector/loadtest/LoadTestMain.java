@@ -0,0 +1,55 @@
+package com.alvaro.wineselector.loadtest;
+
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ponto de entrada do gerador de carga.
+ *
+ * Exemplo:
+ * java -jar loadtest/target/wine-selector-loadtest-0.0.1-SNAPSHOT.jar \
+ *     --url=http://localhost:8080 --rate=1000 --duration=60 --mix=zipf --invalid-share=0.05 \
+ *     --output=results/zipf-1000rps.json
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(config.timeout())
+                    .executor(executor)
+                    .build();
+
+            List<String> combinations = Combinations.fetch(client, config.baseUrl());
+            RequestMix mix = RequestMix.create(config, combinations);
+
+            System.out.printf("Gerando carga: %.0f req/s por %ds (+%ds de aquecimento) em %s%n",
+                    config.rate(), config.duration().toSeconds(), config.warmup().toSeconds(), config.baseUrl());
+
+            LoadTestReport report = new OpenLoopRunner(config, client, mix).run();
+
+            if (config.output().getParent() != null) {
+                Files.createDirectories(config.output().getParent());
+            }
+            JsonMapper.builder()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .build()
+                    .writeValue(config.output().toFile(), report);
+
+            System.out.println(report.summary());
+            System.out.println("Relatório gravado em " + config.output());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.alvaro.wineselector.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resultado de uma execução, gravado em JSON para comparação entre execuções.
+ * Latências em milissegundos, medidas a partir do instante agendado de cada requisição.
+ */
+public record LoadTestReport(
+        String timestamp,
+        Map<String, Object> config,
+        Map<String, Long> requests,
+        Map<String, Double> throughput,
+        Map<String, Double> latencyMs,
+        Map<String, Long> outcomes,
+        double errorRate) {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    static LoadTestReport from(
+            LoadTestConfig config,
+            String mixDescription,
+            double measuredSeconds,
+            Histogram latencies,
+            long sent,
+            long completed,
+            long dropped,
+            long status2xx,
+            long status4xx,
+            long status5xx,
+            long transportErrors,
+            long unexpected) {
+
+        Map<String, Object> configSummary = new LinkedHashMap<>();
+        configSummary.put("url", config.baseUrl().toString());
+        configSummary.put("targetRate", config.rate());
+        configSummary.put("durationSeconds", config.duration().toSeconds());
+        configSummary.put("warmupSeconds", config.warmup().toSeconds());
+        configSummary.put("mix", mixDescription);
+        configSummary.put("seed", config.seed());
+        configSummary.put("maxInFlight", config.maxInFlight());
+
+        Map<String, Long> requests = new LinkedHashMap<>();
+        requests.put("sent", sent);
+        requests.put("completed", completed);
+        requests.put("dropped", dropped);
+
+        Map<String, Double> throughput = new LinkedHashMap<>();
+        throughput.put("targetRps", config.rate());
+        throughput.put("achievedRps", measuredSeconds > 0 ? completed / measuredSeconds : 0.0);
+
+        Map<String, Double> latencyMs = new LinkedHashMap<>();
+        latencyMs.put("p50", percentile(latencies, 50.0));
+        latencyMs.put("p90", percentile(latencies, 90.0));
+        latencyMs.put("p99", percentile(latencies, 99.0));
+        latencyMs.put("p999", percentile(latencies, 99.9));
+        latencyMs.put("max", latencies.getMaxValue() / MICROS_PER_MILLI);
+        latencyMs.put("mean", latencies.getMean() / MICROS_PER_MILLI);
+
+        Map<String, Long> outcomes = new LinkedHashMap<>();
+        outcomes.put("status2xx", status2xx);
+        outcomes.put("status4xx", status4xx);
+        outcomes.put("status5xx", status5xx);
+        outcomes.put("transportErrors", transportErrors);
+        outcomes.put("unexpected", unexpected);
+
+        long attempted = completed + dropped;
+        double errorRate = attempted > 0 ? (double) (unexpected + dropped) / attempted : 0.0;
+
+        return new LoadTestReport(Instant.now().toString(), configSummary, requests, throughput,
+                latencyMs, outcomes, errorRate);
+    }
+
+    private static double percentile(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    String summary() {
+        return String.format(
+                "Mix: %s%n"
+                        + "Requisições: %d enviadas, %d concluídas, %d descartadas%n"
+                        + "Vazão: %.1f req/s (alvo %.1f)%n"
+                        + "Latência (ms): p50=%.2f p90=%.2f p99=%.2f p999=%.2f max=%.2f%n"
+                        + "Status: 2xx=%d 4xx=%d 5xx=%d erros de transporte=%d%n"
+                        + "Taxa de erro (respostas inesperadas + descartes): %.4f%%",
+                config.get("mix"),
+                requests.get("sent"), requests.get("completed"), requests.get("dropped"),
+                throughput.get("achievedRps"), throughput.get("targetRps"),
+                latencyMs.get("p50"), latencyMs.get("p90"), latencyMs.get("p99"),
+                latencyMs.get("p999"), latencyMs.get("max"),
+                outcomes.get("status2xx"), outcomes.get("status4xx"), outcomes.get("status5xx"),
+                outcomes.get("transportErrors"),
+                errorRate * 100);
+    }
+}
@@ -0,0 +1,148 @@
+package com.alvaro.wineselector.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Executor de carga em malha aberta.
+ *
+ * As requisições são agendadas em instantes fixos (início + i / taxa), independentemente de
+ * as anteriores terem terminado. A latência é medida a partir do instante agendado, e não do
+ * envio efetivo, para não esconder atrasos do lado do cliente (coordinated omission).
+ */
+public class OpenLoopRunner {
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final RequestMix mix;
+    private final URI endpoint;
+
+    private final Recorder latencyRecorder = new Recorder(3);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder status2xx = new LongAdder();
+    private final LongAdder status4xx = new LongAdder();
+    private final LongAdder status5xx = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder unexpected = new LongAdder();
+
+    public OpenLoopRunner(LoadTestConfig config, HttpClient client, RequestMix mix) {
+        this.config = config;
+        this.client = client;
+        this.mix = mix;
+        this.endpoint = config.baseUrl().resolve("/api/recommendation");
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.rate());
+        long warmupNanos = config.warmup().toNanos();
+        long totalNanos = warmupNanos + config.duration().toNanos();
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+
+        long start = System.nanoTime();
+        long measuredStart = start + warmupNanos;
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart - start >= totalNanos) {
+                break;
+            }
+
+            waitUntil(intendedStart);
+
+            boolean measured = intendedStart >= measuredStart;
+            LoadRequest loadRequest = mix.next();
+
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+
+            if (measured) {
+                sent.increment();
+            }
+            send(loadRequest, intendedStart, measured, inFlight);
+        }
+
+        long measuredEnd = System.nanoTime();
+
+        // Aguarda as requisições pendentes (limitado ao timeout de uma requisição)
+        inFlight.tryAcquire(config.maxInFlight(), config.timeout().toMillis() * 2, TimeUnit.MILLISECONDS);
+
+        Histogram latencies = latencyRecorder.getIntervalHistogram();
+        double measuredSeconds = (measuredEnd - measuredStart) / 1e9;
+
+        return LoadTestReport.from(config, mix.describe(), measuredSeconds, latencies,
+                sent.sum(), completed.sum(), dropped.sum(),
+                status2xx.sum(), status4xx.sum(), status5xx.sum(),
+                transportErrors.sum(), unexpected.sum());
+    }
+
+    private void send(LoadRequest loadRequest, long intendedStart, boolean measured, Semaphore inFlight) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(config.timeout())
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loadRequest.body()))
+                .build();
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    try {
+                        if (measured) {
+                            record(loadRequest, intendedStart, response, error);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    private void record(LoadRequest loadRequest, long intendedStart, HttpResponse<Void> response, Throwable error) {
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+        latencyRecorder.recordValue(Math.max(1, latencyMicros));
+        completed.increment();
+
+        if (error != null) {
+            transportErrors.increment();
+            unexpected.increment();
+            return;
+        }
+
+        int status = response.statusCode();
+        if (status >= 500) {
+            status5xx.increment();
+        } else if (status >= 400) {
+            status4xx.increment();
+        } else if (status >= 200 && status < 300) {
+            status2xx.increment();
+        }
+
+        if (status != loadRequest.expectedStatus()) {
+            unexpected.increment();
+        }
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > 100_000) {
+                LockSupport.parkNanos(remaining - 50_000);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.alvaro.wineselector.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mistura de requisições enviadas pelo gerador de carga.
+ * Usada apenas pela thread de agendamento, então as implementações não precisam ser thread-safe.
+ */
+public interface RequestMix {
+
+    /**
+     * Corpos inválidos usados quando --invalid-share > 0. Todos devem resultar em HTTP 400.
+     */
+    List<String> INVALID_BODIES = List.of(
+            "{}",
+            "{\"occasion\":\"INEXISTENTE\",\"intimacyLevel\":\"AMIGO\",\"mainDish\":\"PIZZA\"}",
+            "{\"occasion\":\"CASUAL\",\"intimacyLevel\":\"AMIGO\"}",
+            "{\"occasion\":",
+            "[1, 2, 3]");
+
+    LoadRequest next();
+
+    String describe();
+
+    static RequestMix create(LoadTestConfig config, List<String> combinations) throws IOException {
+        Random random = new Random(config.seed());
+
+        RequestMix mix = switch (config.mix()) {
+            case "zipf" -> new ZipfMix(combinations, config.zipfExponent(), random);
+            case "replay" -> new ReplayMix(config.replayFile());
+            default -> new UniformMix(combinations, random);
+        };
+
+        return config.invalidShare() > 0 ? new InvalidBodyMix(mix, config.invalidShare(), random) : mix;
+    }
+
+    /**
+     * Todas as combinações com a mesma probabilidade.
+     */
+    final class UniformMix implements RequestMix {
+
+        private final List<String> combinations;
+        private final Random random;
+
+        UniformMix(List<String> combinations, Random random) {
+            this.combinations = combinations;
+            this.random = random;
+        }
+
+        @Override
+        public LoadRequest next() {
+            return new LoadRequest(combinations.get(random.nextInt(combinations.size())), 200);
+        }
+
+        @Override
+        public String describe() {
+            return "uniform(" + combinations.size() + ")";
+        }
+    }
+
+    /**
+     * Combinações com popularidade Zipf: a k-ésima mais popular tem peso 1/k^s.
+     * A ordem de popularidade é um embaralhamento determinístico (semente) das combinações.
+     */
+    final class ZipfMix implements RequestMix {
+
+        private final List<String> rankedCombinations;
+        private final double[] cumulative;
+        private final double exponent;
+        private final Random random;
+
+        ZipfMix(List<String> combinations, double exponent, Random random) {
+            this.rankedCombinations = new ArrayList<>(combinations);
+            Collections.shuffle(rankedCombinations, random);
+            this.exponent = exponent;
+            this.random = random;
+
+            this.cumulative = new double[rankedCombinations.size()];
+            double total = 0;
+            for (int rank = 0; rank < cumulative.length; rank++) {
+                total += 1.0 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = total;
+            }
+            for (int rank = 0; rank < cumulative.length; rank++) {
+                cumulative[rank] /= total;
+            }
+        }
+
+        @Override
+        public LoadRequest next() {
+            int position = Arrays.binarySearch(cumulative, random.nextDouble());
+            int rank = position >= 0 ? position : Math.min(-position - 1, cumulative.length - 1);
+            return new LoadRequest(rankedCombinations.get(rank), 200);
+        }
+
+        @Override
+        public String describe() {
+            return "zipf(s=" + exponent + ", " + rankedCombinations.size() + ")";
+        }
+    }
+
+    /**
+     * Repete, em ordem e de forma cíclica, corpos capturados de um arquivo JSONL (um corpo por linha).
+     * Linhas em branco e iniciadas por # são ignoradas. O status esperado é 200.
+     */
+    final class ReplayMix implements RequestMix {
+
+        private final List<String> bodies;
+        private final Path source;
+        private int position;
+
+        ReplayMix(Path source) throws IOException {
+            this.source = source;
+            this.bodies = Files.readAllLines(source).stream()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+            if (bodies.isEmpty()) {
+                throw new IllegalArgumentException("Arquivo de replay vazio: " + source);
+            }
+        }
+
+        @Override
+        public LoadRequest next() {
+            String body = bodies.get(position);
+            position = (position + 1) % bodies.size();
+            return new LoadRequest(body, 200);
+        }
+
+        @Override
+        public String describe() {
+            return "replay(" + source + ", " + bodies.size() + " corpos)";
+        }
+    }
+
+    /**
+     * Substitui uma fração das requisições por corpos inválidos.
+     */
+    final class InvalidBodyMix implements RequestMix {
+
+        private final RequestMix delegate;
+        private final double share;
+        private final Random random;
+
+        InvalidBodyMix(RequestMix delegate, double share, Random random) {
+            this.delegate = delegate;
+            this.share = share;
+            this.random = random;
+        }
+
+        @Override
+        public LoadRequest next() {
+            if (random.nextDouble() < share) {
+                return new LoadRequest(INVALID_BODIES.get(random.nextInt(INVALID_BODIES.size())), 400);
+            }
+            return delegate.next();
+        }
+
+        @Override
+        public String describe() {
+            return delegate.describe() + " + " + Math.round(share * 100) + "% inválidas";
+        }
+    }
+}
@@ -0,0 +1,27 @@
+#!/usr/bin/env sh
+# Build do perfil "fast-start": Spring AOT + arquivo AppCDS gerado por execução de treino.
+#
+# 1. Empacota a aplicação com o perfil Maven fast-start (process-aot)
+# 2. Extrai o jar em layout compatível com CDS (jars "flat" no classpath)
+# 3. Executa um treino que sobe o contexto e sai logo após o refresh,
+#    gravando as classes carregadas em target/extracted/application.jsa
+set -e
+
+cd "$(dirname "$0")/.."
+
+JAR_NAME=wine-selector-0.0.1-SNAPSHOT.jar
+EXTRACTED_DIR=target/extracted
+
+if [ "$1" != "--skip-package" ]; then
+    ./mvnw -B clean package -DskipTests -Pfast-start
+fi
+
+rm -rf "$EXTRACTED_DIR"
+java -Djarmode=tools -jar "target/$JAR_NAME" extract --destination "$EXTRACTED_DIR"
+
+java -XX:ArchiveClassesAtExit="$EXTRACTED_DIR/application.jsa" -Xlog:cds=off \
+     -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh \
+     -jar "$EXTRACTED_DIR/$JAR_NAME"
+
+echo "Arquivo CDS gerado em $EXTRACTED_DIR/application.jsa"
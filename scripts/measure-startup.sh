@@ -0,0 +1,63 @@
+#!/usr/bin/env sh
+# Mede o tempo até a primeira requisição atendida (time-to-first-request)
+# para a execução convencional e para o perfil fast-start (AOT + AppCDS).
+#
+# Uso: scripts/measure-startup.sh [execuções]   (padrão: 5)
+# Pré-requisito: scripts/build-fast-start.sh já executado.
+# Resultado: scripts/results/startup-<timestamp>.csv
+set -e
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${MEASURE_PORT:-18080}
+JAR_NAME=wine-selector-0.0.1-SNAPSHOT.jar
+EXTRACTED_DIR=target/extracted
+RESULTS_DIR=scripts/results
+RESULT_FILE="$RESULTS_DIR/startup-$(date +%Y%m%d-%H%M%S).csv"
+REQUEST_BODY='{"occasion":"JANTAR_ROMANTICO","intimacyLevel":"PRIMEIRO_ENCONTRO","mainDish":"CARNES_VERMELHAS"}'
+
+if [ ! -f "$EXTRACTED_DIR/application.jsa" ]; then
+    echo "Arquivo CDS não encontrado. Execute scripts/build-fast-start.sh antes." >&2
+    exit 1
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Sobe a aplicação com os argumentos informados e retorna (stdout) os ms até a primeira resposta 200
+measure() {
+    start=$(now_ms)
+    java -Dserver.port="$PORT" "$@" > /dev/null 2>&1 &
+    pid=$!
+
+    until curl -sf -o /dev/null -X POST "http://localhost:$PORT/api/recommendation" \
+            -H "Content-Type: application/json" -d "$REQUEST_BODY"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Aplicação encerrou antes de responder" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+
+    end=$(now_ms)
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo $(( end - start ))
+}
+
+mkdir -p "$RESULTS_DIR"
+echo "mode,run,time_to_first_request_ms" > "$RESULT_FILE"
+
+i=1
+while [ "$i" -le "$RUNS" ]; do
+    echo "baseline,$i,$(measure -jar "target/$JAR_NAME")" >> "$RESULT_FILE"
+    echo "fast-start,$i,$(measure -XX:SharedArchiveFile="$EXTRACTED_DIR/application.jsa" \
+            -Dspring.aot.enabled=true -jar "$EXTRACTED_DIR/$JAR_NAME")" >> "$RESULT_FILE"
+    i=$(( i + 1 ))
+done
+
+awk -F, 'NR > 1 { sum[$1] += $3; n[$1]++ }
+         END { for (m in sum) printf "%-10s média: %d ms (%d execuções)\n", m, sum[m] / n[m], n[m] }' "$RESULT_FILE"
+echo "Resultados gravados em $RESULT_FILE"
@@ -0,0 +1,19 @@
+#!/usr/bin/env sh
+# Inicia a aplicação usando AOT + AppCDS quando o build fast-start estiver disponível.
+# Sem o arquivo CDS, cai para o jar executável convencional.
+set -e
+
+cd "$(dirname "$0")/.."
+
+JAR_NAME=wine-selector-0.0.1-SNAPSHOT.jar
+EXTRACTED_DIR=target/extracted
+PORT_OPT="-Dserver.port=${PORT:-8080}"
+
+if [ -f "$EXTRACTED_DIR/application.jsa" ] && [ -f "$EXTRACTED_DIR/$JAR_NAME" ]; then
+    exec java -XX:SharedArchiveFile="$EXTRACTED_DIR/application.jsa" \
+              -Dspring.aot.enabled=true \
+              $PORT_OPT $JAVA_OPTS \
+              -jar "$EXTRACTED_DIR/$JAR_NAME"
+fi
+
+exec java $PORT_OPT $JAVA_OPTS -jar "target/$JAR_NAME"
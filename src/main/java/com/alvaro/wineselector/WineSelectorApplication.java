@@ -2,12 +2,18 @@ package com.alvaro.wineselector;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class WineSelectorApplication {
 
+	// Capacidade do buffer de passos de inicialização expostos em /actuator/startup
+	private static final int STARTUP_STEPS_CAPACITY = 4096;
+
 	public static void main(String[] args) {
-		SpringApplication.run(WineSelectorApplication.class, args);
+		SpringApplication application = new SpringApplication(WineSelectorApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,246 @@
+package com.alvaro.wineselector.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache limitado em número de entradas, com política W-TinyLFU e expiração após a escrita.
+ *
+ * As entradas novas entram em uma janela LRU pequena (1% da capacidade). Quem sai da janela
+ * disputa lugar com a vítima da área principal (LRU segmentado: probatória e protegida, 80%):
+ * só entra se tiver sido acessado com mais frequência, segundo o {@link FrequencySketch}. Assim
+ * uma varredura de chaves vistas uma única vez não expulsa as entradas populares.
+ *
+ * As operações são sincronizadas; o carregamento de uma chave ausente acontece fora do lock,
+ * então duas threads podem carregar a mesma chave ao mesmo tempo (a última escrita vale). Cada
+ * carregamento recebe uma geração; se a chave for invalidada enquanto ele está em andamento, o
+ * valor é devolvido a quem pediu mas não entra no cache, porque pode ter sido lido antes da
+ * alteração que motivou a invalidação.
+ *
+ * @param <K> Tipo da chave
+ * @param <V> Tipo do valor (não nulo)
+ */
+public final class TinyLfuCache<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final Function<K, V> loader;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier ticker;
+    private final FrequencySketch sketch;
+    private final Map<K, Node<K, V>> entries = new HashMap<>();
+    private final Map<K, Loading> loading = new HashMap<>();
+    private final Node<K, V>[] queues;
+    private final int[] sizes = new int[3];
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final int protectedCapacity;
+
+    private long hits;
+    private long misses;
+    private long generation;
+
+    /**
+     * @param maximumSize Número máximo de entradas
+     * @param expireAfterWrite Tempo de vida de cada entrada desde o carregamento
+     * @param loader Carrega o valor de uma chave ausente (não pode devolver null)
+     */
+    public TinyLfuCache(int maximumSize, Duration expireAfterWrite, Function<K, V> loader) {
+        this(maximumSize, expireAfterWrite, loader, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    TinyLfuCache(int maximumSize, Duration expireAfterWrite, Function<K, V> loader, LongSupplier ticker) {
+        if (maximumSize < 2) {
+            throw new IllegalArgumentException("O cache deve ter ao menos 2 entradas");
+        }
+        this.loader = loader;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.ticker = ticker;
+        this.sketch = new FrequencySketch(maximumSize);
+        this.windowCapacity = Math.max(1, maximumSize / 100);
+        this.mainCapacity = maximumSize - windowCapacity;
+        this.protectedCapacity = (int) (mainCapacity * 0.8);
+
+        // Uma sentinela por fila: sentinel.next = mais recente, sentinel.prev = mais antigo
+        this.queues = new Node[3];
+        for (int q = 0; q < queues.length; q++) {
+            Node<K, V> sentinel = new Node<>(null, null, 0);
+            sentinel.next = sentinel;
+            sentinel.prev = sentinel;
+            queues[q] = sentinel;
+        }
+    }
+
+    /**
+     * Valor da chave, carregado se estiver ausente ou expirado.
+     */
+    public V get(K key) {
+        Objects.requireNonNull(key);
+        long started;
+        synchronized (this) {
+            sketch.increment(key);
+            Node<K, V> node = entries.get(key);
+            if (node != null && ticker.getAsLong() - node.writeTime < expireAfterWriteNanos) {
+                hits++;
+                onHit(node);
+                return node.value;
+            }
+            misses++;
+            if (node != null) {
+                remove(node);
+            }
+            loading.computeIfAbsent(key, k -> new Loading()).count++;
+            started = ++generation;
+        }
+
+        V value = null;
+        try {
+            value = Objects.requireNonNull(loader.apply(key), "O carregador devolveu null");
+        } finally {
+            synchronized (this) {
+                Loading load = loading.get(key);
+                boolean invalidated = load.invalidatedAt > started;
+                if (--load.count == 0) {
+                    loading.remove(key);
+                }
+                if (value != null && !invalidated) {
+                    Node<K, V> existing = entries.get(key);
+                    if (existing != null) {
+                        existing.value = value;
+                        existing.writeTime = ticker.getAsLong();
+                    } else {
+                        insert(new Node<>(key, value, ticker.getAsLong()));
+                    }
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Descarta a entrada da chave (ex: depois de alterar o valor na origem). Carregamentos da
+     * chave já em andamento não entram no cache.
+     */
+    public synchronized void invalidate(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node != null) {
+            remove(node);
+        }
+        Loading load = loading.get(key);
+        if (load != null) {
+            load.invalidatedAt = ++generation;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    synchronized boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    private void onHit(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW, PROTECTED -> moveToFront(node, node.queue);
+            case PROBATION -> {
+                moveToFront(node, PROTECTED);
+                if (sizes[PROTECTED] > protectedCapacity) {
+                    moveToFront(queues[PROTECTED].prev, PROBATION);
+                }
+            }
+            default -> throw new IllegalStateException("Fila inválida: " + node.queue);
+        }
+    }
+
+    private void insert(Node<K, V> node) {
+        entries.put(node.key, node);
+        link(node, WINDOW);
+        if (sizes[WINDOW] <= windowCapacity) {
+            return;
+        }
+
+        // Quem sai da janela vai para a área principal se houver espaço ou se vencer a vítima
+        Node<K, V> candidate = queues[WINDOW].prev;
+        if (sizes[PROBATION] + sizes[PROTECTED] < mainCapacity) {
+            moveToFront(candidate, PROBATION);
+            return;
+        }
+        Node<K, V> victim = queues[PROBATION].prev;
+        if (victim == queues[PROBATION]) {
+            victim = queues[PROTECTED].prev;
+        }
+        if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            remove(victim);
+            moveToFront(candidate, PROBATION);
+        } else {
+            remove(candidate);
+        }
+    }
+
+    private void moveToFront(Node<K, V> node, int queue) {
+        unlink(node);
+        link(node, queue);
+    }
+
+    private void link(Node<K, V> node, int queue) {
+        Node<K, V> sentinel = queues[queue];
+        node.queue = queue;
+        node.prev = sentinel;
+        node.next = sentinel.next;
+        sentinel.next.prev = node;
+        sentinel.next = node;
+        sizes[queue]++;
+    }
+
+    private void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        sizes[node.queue]--;
+    }
+
+    private void remove(Node<K, V> node) {
+        unlink(node);
+        entries.remove(node.key);
+    }
+
+    /**
+     * Carregamentos em andamento de uma chave e a geração da última invalidação durante eles.
+     */
+    private static final class Loading {
+
+        private int count;
+        private long invalidatedAt;
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private V value;
+        private long writeTime;
+        private int queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        Node(K key, V value, long writeTime) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.alvaro.wineselector.catalog;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Filtros de busca no catálogo. Campos nulos não filtram.
+ */
+@Getter
+@Builder
+public class CatalogFilter {
+
+    public static final CatalogFilter NONE = CatalogFilter.builder().build();
+
+    /**
+     * Preço mínimo em centavos (inclusive).
+     */
+    private final Integer minPriceCents;
+
+    /**
+     * Preço máximo em centavos (inclusive).
+     */
+    private final Integer maxPriceCents;
+
+    /**
+     * País (comparação sem diferenciar maiúsculas).
+     */
+    private final String country;
+
+    /**
+     * Uva (comparação sem diferenciar maiúsculas).
+     */
+    private final String grape;
+}
@@ -0,0 +1,452 @@
+package com.alvaro.wineselector.catalog;
+
+import com.alvaro.wineselector.model.enums.TasteDimension;
+import com.alvaro.wineselector.model.enums.WineProfile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Catálogo de garrafas em formato colunar, imutável.
+ *
+ * Cada coluna é um array primitivo indexado pela linha: SKUs em uma arena de bytes com offsets,
+ * produtor, uva e país codificados por dicionário, preço em centavos e perfil pelo ordinal.
+ *
+ * Índices construídos na criação:
+ * - bitsets por perfil, por país e por uva (um bit por linha)
+ * - por perfil, as linhas ordenadas por preço, com os preços em array paralelo para busca binária
+ *
+ * Uma busca combina os bitsets dos filtros com AND palavra a palavra e percorre as linhas do perfil
+ * em ordem de preço a partir do preço mínimo; quando os filtros deixam poucos candidatos, os bits
+ * são percorridos diretamente.
+ *
+ * O vetor de paladar fica em um array por eixo, para que a busca por vizinhos mais próximos calcule
+ * as distâncias de um bloco de linhas com laços simples sobre memória contígua.
+ */
+public final class WineCatalog {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+    private static final TasteDimension[] TASTE = TasteDimension.values();
+
+    public static final WineCatalog EMPTY = new WineCatalog(0, new byte[0], new int[1],
+            new int[0], new String[0], new int[0], new String[0], new int[0], new String[0],
+            new int[0], new byte[0], new float[TASTE.length][0]);
+
+    // Abaixo desta quantidade de candidatos, percorrer os bits é mais barato que a ordem de preço
+    private static final int DIRECT_SCAN_LIMIT = 4096;
+
+    // Linhas por bloco na busca de vizinhos (múltiplo de 64, para alinhar com as palavras dos bitsets)
+    private static final int NEAREST_BLOCK = 1024;
+
+    private final int size;
+    private final int words;
+
+    private final byte[] skuBytes;
+    private final int[] skuOffsets;
+    private final int[] producerIds;
+    private final String[] producers;
+    private final int[] grapeIds;
+    private final String[] grapes;
+    private final int[] countryIds;
+    private final String[] countries;
+    private final int[] priceCents;
+    private final byte[] profiles;
+    private final float[][] taste;
+
+    private final Map<String, Integer> grapeLookup;
+    private final Map<String, Integer> countryLookup;
+
+    private final long[][] profileBits;
+    private final long[][] grapeBits;
+    private final long[][] countryBits;
+    private final int[][] rowsByPrice;
+    private final int[][] sortedPrices;
+
+    WineCatalog(int size, byte[] skuBytes, int[] skuOffsets,
+                int[] producerIds, String[] producers,
+                int[] grapeIds, String[] grapes,
+                int[] countryIds, String[] countries,
+                int[] priceCents, byte[] profiles, float[][] taste) {
+        this.size = size;
+        this.words = (size + 63) >>> 6;
+        this.skuBytes = skuBytes;
+        this.skuOffsets = skuOffsets;
+        this.producerIds = producerIds;
+        this.producers = producers;
+        this.grapeIds = grapeIds;
+        this.grapes = grapes;
+        this.countryIds = countryIds;
+        this.countries = countries;
+        this.priceCents = priceCents;
+        this.profiles = profiles;
+        this.taste = taste;
+
+        this.grapeLookup = lookup(grapes);
+        this.countryLookup = lookup(countries);
+
+        this.profileBits = new long[PROFILES.length][words];
+        this.grapeBits = new long[grapes.length][words];
+        this.countryBits = new long[countries.length][words];
+        int[] profileCounts = new int[PROFILES.length];
+
+        for (int row = 0; row < size; row++) {
+            int word = row >>> 6;
+            long bit = 1L << row;
+            profileBits[profiles[row]][word] |= bit;
+            grapeBits[grapeIds[row]][word] |= bit;
+            countryBits[countryIds[row]][word] |= bit;
+            profileCounts[profiles[row]]++;
+        }
+
+        // Linhas de cada perfil ordenadas por preço: (preço << 32 | linha) ordenado como long
+        long[][] packed = new long[PROFILES.length][];
+        for (int p = 0; p < PROFILES.length; p++) {
+            packed[p] = new long[profileCounts[p]];
+        }
+        int[] fill = new int[PROFILES.length];
+        for (int row = 0; row < size; row++) {
+            int p = profiles[row];
+            packed[p][fill[p]++] = ((long) priceCents[row] << 32) | row;
+        }
+
+        this.rowsByPrice = new int[PROFILES.length][];
+        this.sortedPrices = new int[PROFILES.length][];
+        for (int p = 0; p < PROFILES.length; p++) {
+            Arrays.parallelSort(packed[p]);
+            rowsByPrice[p] = new int[packed[p].length];
+            sortedPrices[p] = new int[packed[p].length];
+            for (int i = 0; i < packed[p].length; i++) {
+                rowsByPrice[p][i] = (int) packed[p][i];
+                sortedPrices[p][i] = (int) (packed[p][i] >>> 32);
+            }
+        }
+    }
+
+    /**
+     * Busca as garrafas mais baratas de um perfil que atendem aos filtros.
+     *
+     * @param profile Perfil de vinho
+     * @param filter Faixa de preço, país e uva (campos nulos não filtram)
+     * @param limit Quantidade máxima de resultados
+     * @return Linhas encontradas, em ordem crescente de preço
+     */
+    public int[] findTop(WineProfile profile, CatalogFilter filter, int limit) {
+        int minPrice = filter.getMinPriceCents() != null ? filter.getMinPriceCents() : 0;
+        int maxPrice = filter.getMaxPriceCents() != null ? filter.getMaxPriceCents() : Integer.MAX_VALUE;
+        if (limit <= 0 || minPrice > maxPrice) {
+            return new int[0];
+        }
+
+        long[] mask = null;
+        if (filter.getCountry() != null || filter.getGrape() != null) {
+            mask = attributeMask(filter, profileBits[profile.ordinal()]);
+            if (mask == null) {
+                return new int[0];
+            }
+            int candidates = 0;
+            for (long value : mask) {
+                candidates += Long.bitCount(value);
+            }
+            if (candidates <= DIRECT_SCAN_LIMIT) {
+                return scanBits(mask, candidates, minPrice, maxPrice, limit);
+            }
+        }
+
+        return scanByPrice(profile, mask, minPrice, maxPrice, limit);
+    }
+
+    /**
+     * Busca exata das k garrafas de paladar mais próximo do alvo (distância euclidiana), entre as que
+     * atendem aos filtros. O perfil não filtra: garrafas de outros perfis entram se estiverem próximas.
+     *
+     * As linhas são percorridas em blocos: as distâncias do bloco são acumuladas eixo a eixo e só as
+     * menores que a pior das k melhores até agora passam pelos filtros e pelo heap.
+     *
+     * @param target Vetor de paladar, na ordem de TasteDimension
+     * @param filter Faixa de preço, país e uva (campos nulos não filtram)
+     * @param k Quantidade máxima de resultados
+     * @return Linhas encontradas, da mais próxima para a mais distante (empates pela ordem no catálogo)
+     */
+    public int[] findNearest(float[] target, CatalogFilter filter, int k) {
+        int minPrice = filter.getMinPriceCents() != null ? filter.getMinPriceCents() : 0;
+        int maxPrice = filter.getMaxPriceCents() != null ? filter.getMaxPriceCents() : Integer.MAX_VALUE;
+        if (k <= 0 || size == 0 || minPrice > maxPrice) {
+            return new int[0];
+        }
+
+        long[] mask = null;
+        if (filter.getCountry() != null || filter.getGrape() != null) {
+            mask = attributeMask(filter, null);
+            if (mask == null) {
+                return new int[0];
+            }
+        }
+
+        // Max-heap das k melhores: a raiz é a pior delas
+        int capacity = Math.min(k, size);
+        float[] heapDistances = new float[capacity];
+        int[] heapRows = new int[capacity];
+        int heapSize = 0;
+        float[] block = new float[NEAREST_BLOCK];
+
+        for (int base = 0; base < size; base += NEAREST_BLOCK) {
+            int length = Math.min(NEAREST_BLOCK, size - base);
+            if (mask != null && isEmpty(mask, base >>> 6, (base + length + 63) >>> 6)) {
+                continue;
+            }
+
+            Arrays.fill(block, 0, length, 0f);
+            for (int d = 0; d < taste.length; d++) {
+                float[] column = taste[d];
+                float value = target[d];
+                for (int i = 0; i < length; i++) {
+                    float diff = column[base + i] - value;
+                    block[i] += diff * diff;
+                }
+            }
+
+            for (int i = 0; i < length; i++) {
+                float distance = block[i];
+                // Linhas chegam em ordem crescente, então um empate com a raiz perde para ela
+                if (heapSize == capacity && distance >= heapDistances[0]) {
+                    continue;
+                }
+                int row = base + i;
+                if (mask != null && (mask[row >>> 6] & (1L << row)) == 0) {
+                    continue;
+                }
+                int price = priceCents[row];
+                if (price < minPrice || price > maxPrice) {
+                    continue;
+                }
+
+                if (heapSize < capacity) {
+                    heapSize++;
+                    siftUp(heapDistances, heapRows, heapSize - 1, distance, row);
+                } else {
+                    siftDown(heapDistances, heapRows, heapSize, 0, distance, row);
+                }
+            }
+        }
+
+        int[] result = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            result[i] = heapRows[0];
+            siftDown(heapDistances, heapRows, i, 0, heapDistances[i], heapRows[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Distância euclidiana entre o paladar de uma garrafa e o alvo.
+     */
+    public float distance(int row, float[] target) {
+        float sum = 0f;
+        for (int d = 0; d < taste.length; d++) {
+            float diff = taste[d][row] - target[d];
+            sum += diff * diff;
+        }
+        return (float) Math.sqrt(sum);
+    }
+
+    /**
+     * AND dos bitsets de país e uva (e de {@code base}, se informado).
+     *
+     * @return Máscara nova, ou null se algum valor filtrado não existir no catálogo
+     */
+    private long[] attributeMask(CatalogFilter filter, long[] base) {
+        long[] countryMask = filter.getCountry() != null ? bitsOf(countryLookup, countryBits, filter.getCountry()) : null;
+        long[] grapeMask = filter.getGrape() != null ? bitsOf(grapeLookup, grapeBits, filter.getGrape()) : null;
+        if ((filter.getCountry() != null && countryMask == null) || (filter.getGrape() != null && grapeMask == null)) {
+            return null;
+        }
+
+        long[] mask = new long[words];
+        Arrays.fill(mask, -1L);
+        for (long[] bits : new long[][] {base, countryMask, grapeMask}) {
+            if (bits != null) {
+                for (int w = 0; w < words; w++) {
+                    mask[w] &= bits[w];
+                }
+            }
+        }
+        return mask;
+    }
+
+    private static boolean isEmpty(long[] mask, int fromWord, int toWord) {
+        for (int w = fromWord; w < Math.min(toWord, mask.length); w++) {
+            if (mask[w] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Ordem do heap: maior distância primeiro; no empate, a linha posterior
+    private static boolean worse(float distance, int row, float otherDistance, int otherRow) {
+        return distance > otherDistance || (distance == otherDistance && row > otherRow);
+    }
+
+    private static void siftUp(float[] distances, int[] rows, int index, float distance, int row) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!worse(distance, row, distances[parent], rows[parent])) {
+                break;
+            }
+            distances[index] = distances[parent];
+            rows[index] = rows[parent];
+            index = parent;
+        }
+        distances[index] = distance;
+        rows[index] = row;
+    }
+
+    private static void siftDown(float[] distances, int[] rows, int heapSize, int index, float distance, int row) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && worse(distances[child + 1], rows[child + 1], distances[child], rows[child])) {
+                child++;
+            }
+            if (!worse(distances[child], rows[child], distance, row)) {
+                break;
+            }
+            distances[index] = distances[child];
+            rows[index] = rows[child];
+            index = child;
+        }
+        distances[index] = distance;
+        rows[index] = row;
+    }
+
+    /**
+     * Percorre as linhas do perfil em ordem de preço, a partir do preço mínimo.
+     */
+    private int[] scanByPrice(WineProfile profile, long[] mask, int minPrice, int maxPrice, int limit) {
+        int[] rows = rowsByPrice[profile.ordinal()];
+        int[] prices = sortedPrices[profile.ordinal()];
+
+        int[] result = new int[Math.min(limit, rows.length)];
+        int found = 0;
+        for (int i = lowerBound(prices, minPrice); i < rows.length && found < result.length; i++) {
+            if (prices[i] > maxPrice) {
+                break;
+            }
+            int row = rows[i];
+            if (mask == null || (mask[row >>> 6] & (1L << row)) != 0) {
+                result[found++] = row;
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    /**
+     * Percorre diretamente os bits de um conjunto pequeno de candidatos e ordena por preço.
+     */
+    private int[] scanBits(long[] mask, int candidates, int minPrice, int maxPrice, int limit) {
+        long[] packed = new long[candidates];
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            long value = mask[w];
+            while (value != 0) {
+                int row = (w << 6) + Long.numberOfTrailingZeros(value);
+                value &= value - 1;
+                int price = priceCents[row];
+                if (price >= minPrice && price <= maxPrice) {
+                    packed[count++] = ((long) price << 32) | row;
+                }
+            }
+        }
+        Arrays.sort(packed, 0, count);
+
+        int[] result = new int[Math.min(limit, count)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) packed[i];
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getSku(int row) {
+        return new String(skuBytes, skuOffsets[row], skuOffsets[row + 1] - skuOffsets[row], StandardCharsets.UTF_8);
+    }
+
+    public String getProducer(int row) {
+        return producers[producerIds[row]];
+    }
+
+    public String getGrape(int row) {
+        return grapes[grapeIds[row]];
+    }
+
+    public String getCountry(int row) {
+        return countries[countryIds[row]];
+    }
+
+    public int getPriceCents(int row) {
+        return priceCents[row];
+    }
+
+    public WineProfile getProfile(int row) {
+        return PROFILES[profiles[row]];
+    }
+
+    public float getTaste(int row, TasteDimension dimension) {
+        return taste[dimension.ordinal()][row];
+    }
+
+    public int getCountryCount() {
+        return countries.length;
+    }
+
+    public int getGrapeCount() {
+        return grapes.length;
+    }
+
+    public int getProducerCount() {
+        return producers.length;
+    }
+
+    public int countByProfile(WineProfile profile) {
+        return rowsByPrice[profile.ordinal()].length;
+    }
+
+    static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] bitsOf(Map<String, Integer> lookup, long[][] bits, String value) {
+        Integer id = lookup.get(normalize(value));
+        return id != null ? bits[id] : null;
+    }
+
+    private static Map<String, Integer> lookup(String[] values) {
+        Map<String, Integer> lookup = new HashMap<>(values.length * 2);
+        for (int id = 0; id < values.length; id++) {
+            lookup.put(normalize(values[id]), id);
+        }
+        return lookup;
+    }
+
+    private static int lowerBound(int[] values, int key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,475 @@
+package com.alvaro.wineselector.catalog;
+
+import com.alvaro.wineselector.model.enums.TasteDimension;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Carrega o catálogo de garrafas a partir de um CSV, mapeado em memória e lido em paralelo.
+ *
+ * Formato (com cabeçalho): sku,producer,grape,country,price,profile[,body,tannin,acidity,sweetness,effervescence]
+ * - price com ponto decimal (ex: 89.90)
+ * - profile com o nome do WineProfile (ex: TINTO_MEDIO)
+ * - colunas de paladar opcionais, de 0 a 5 (ex: 3.5); sem elas a garrafa recebe o vetor típico do perfil
+ * - campos podem vir entre aspas (com "" para aspas internas), mas não podem conter quebra de linha
+ *
+ * O arquivo é dividido em blocos alinhados a quebras de linha; cada bloco é mapeado separadamente
+ * (o que também permite arquivos maiores que 2 GB) e processado em paralelo com dicionários locais.
+ * Os blocos são então concatenados nas colunas finais, remapeando os dicionários para ids globais.
+ * Linhas inválidas são ignoradas e contabilizadas.
+ */
+@Slf4j
+public final class WineCatalogLoader {
+
+    private static final TasteDimension[] TASTE = TasteDimension.values();
+
+    private static final String HEADER = "sku,producer,grape,country,price,profile";
+    private static final String TASTE_HEADER = HEADER + ",body,tannin,acidity,sweetness,effervescence";
+    private static final int FIELD_COUNT = 6;
+    private static final int TASTE_FIELD_COUNT = FIELD_COUNT + TASTE.length;
+    private static final long MIN_CHUNK_SIZE = 8L << 20;
+    private static final long MAX_CHUNK_SIZE = 256L << 20;
+
+    private static final Map<String, WineProfile> PROFILES_BY_NAME = new HashMap<>();
+
+    static {
+        for (WineProfile profile : WineProfile.values()) {
+            PROFILES_BY_NAME.put(profile.name(), profile);
+        }
+    }
+
+    private WineCatalogLoader() {
+    }
+
+    /**
+     * Lê o CSV e monta o catálogo colunar com seus índices.
+     *
+     * @param path Caminho do arquivo CSV
+     * @return Catálogo carregado
+     * @throws UncheckedIOException se o arquivo não puder ser lido
+     * @throws IllegalArgumentException se o cabeçalho não for o esperado
+     */
+    public static WineCatalog load(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long[] header = readHeader(channel, fileSize);
+            int fieldCount = (int) header[1];
+            List<long[]> ranges = split(channel, header[0], fileSize);
+
+            List<Chunk> chunks = ranges.parallelStream()
+                    .map(range -> parse(channel, range[0], range[1], fieldCount))
+                    .toList();
+
+            WineCatalog catalog = merge(chunks);
+
+            long rejected = chunks.stream().mapToLong(chunk -> chunk.rejected).sum();
+            if (rejected > 0) {
+                log.warn("Catálogo {}: {} linhas inválidas ignoradas", path, rejected);
+            }
+            return catalog;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o catálogo " + path, e);
+        }
+    }
+
+    /**
+     * Valida o cabeçalho.
+     *
+     * @return Posição do início dos dados e quantidade de colunas
+     */
+    private static long[] readHeader(FileChannel channel, long fileSize) throws IOException {
+        long headerEnd = Math.min(fileSize, 4096);
+        MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerEnd);
+        int end = 0;
+        while (end < headerEnd && head.get(end) != '\n') {
+            end++;
+        }
+        String header = new String(bytes(head, 0, end), StandardCharsets.UTF_8).trim();
+        int fieldCount;
+        if (header.equalsIgnoreCase(HEADER)) {
+            fieldCount = FIELD_COUNT;
+        } else if (header.equalsIgnoreCase(TASTE_HEADER)) {
+            fieldCount = TASTE_FIELD_COUNT;
+        } else {
+            throw new IllegalArgumentException("Cabeçalho inválido no catálogo: esperado '" + HEADER
+                    + "' ou '" + TASTE_HEADER + "'");
+        }
+        return new long[] {Math.min(fileSize, end + 1L), fieldCount};
+    }
+
+    /**
+     * Divide os dados em blocos [início, fim) que terminam logo após uma quebra de linha.
+     */
+    private static List<long[]> split(FileChannel channel, long start, long fileSize) throws IOException {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, (fileSize - start) / (parallelism * 4L)));
+
+        List<long[]> ranges = new ArrayList<>();
+        while (start < fileSize) {
+            long end = Math.min(fileSize, start + chunkSize);
+            if (end < fileSize) {
+                // Avança até o fim da linha corrente
+                MappedByteBuffer probe = channel.map(FileChannel.MapMode.READ_ONLY, end,
+                        Math.min(fileSize - end, 64 * 1024));
+                int i = 0;
+                while (i < probe.limit() && probe.get(i) != '\n') {
+                    i++;
+                }
+                end = Math.min(fileSize, end + i + 1);
+            }
+            ranges.add(new long[] {start, end});
+            start = end;
+        }
+        return ranges;
+    }
+
+    private static Chunk parse(FileChannel channel, long start, long end, int fieldCount) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Chunk chunk = new Chunk((int) Math.max(16, (end - start) / 48));
+        int limit = buffer.limit();
+        int[] fieldStart = new int[fieldCount];
+        int[] fieldEnd = new int[fieldCount];
+        float[] taste = new float[TASTE.length];
+        byte[] scratch = new byte[256];
+
+        int position = 0;
+        while (position < limit) {
+            int lineEnd = position;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd;
+            if (contentEnd > position && buffer.get(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+            if (contentEnd > position) {
+                if (!parseLine(buffer, position, contentEnd, fieldStart, fieldEnd, taste, chunk, scratch)) {
+                    chunk.rejected++;
+                }
+            }
+            position = lineEnd + 1;
+        }
+        return chunk;
+    }
+
+    /**
+     * Localiza os campos da linha e adiciona a garrafa ao bloco.
+     *
+     * @return false se a linha for inválida
+     */
+    private static boolean parseLine(MappedByteBuffer buffer, int start, int end, int[] fieldStart, int[] fieldEnd,
+                                     float[] taste, Chunk chunk, byte[] scratch) {
+        int fieldCount = fieldStart.length;
+        int field = 0;
+        int position = start;
+        while (field < fieldCount) {
+            if (position < end && buffer.get(position) == '"') {
+                // Campo entre aspas: termina na aspa seguida de vírgula ou fim de linha
+                int close = position + 1;
+                while (close < end) {
+                    if (buffer.get(close) == '"') {
+                        if (close + 1 < end && buffer.get(close + 1) == '"') {
+                            close += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    close++;
+                }
+                if (close >= end) {
+                    return false;
+                }
+                fieldStart[field] = position;
+                fieldEnd[field] = close + 1;
+                position = close + 1;
+            } else {
+                fieldStart[field] = position;
+                while (position < end && buffer.get(position) != ',') {
+                    position++;
+                }
+                fieldEnd[field] = position;
+            }
+            field++;
+
+            if (field < fieldCount) {
+                if (position >= end || buffer.get(position) != ',') {
+                    return false;
+                }
+                position++;
+            }
+        }
+        if (position != end) {
+            return false;
+        }
+
+        int price = parseHundredths(buffer, fieldStart[4], fieldEnd[4]);
+        WineProfile profile = PROFILES_BY_NAME.get(text(buffer, fieldStart[5], fieldEnd[5], scratch).toUpperCase(Locale.ROOT));
+        String sku = text(buffer, fieldStart[0], fieldEnd[0], scratch);
+        if (price < 0 || profile == null || sku.isEmpty()) {
+            return false;
+        }
+        for (int d = 0; d < taste.length; d++) {
+            if (fieldCount == FIELD_COUNT) {
+                taste[d] = profile.getTaste(TASTE[d]);
+                continue;
+            }
+            int value = parseHundredths(buffer, fieldStart[FIELD_COUNT + d], fieldEnd[FIELD_COUNT + d]);
+            if (value < 0 || value > TasteDimension.MAX_VALUE * 100) {
+                return false;
+            }
+            taste[d] = value / 100f;
+        }
+
+        chunk.add(sku,
+                text(buffer, fieldStart[1], fieldEnd[1], scratch),
+                text(buffer, fieldStart[2], fieldEnd[2], scratch),
+                text(buffer, fieldStart[3], fieldEnd[3], scratch),
+                price,
+                profile,
+                taste);
+        return true;
+    }
+
+    /**
+     * Converte "89.90" (ou "89", "89.9") em centésimos sem criar String.
+     *
+     * @return Valor em centésimos (centavos, para preços), ou -1 se inválido
+     */
+    private static int parseHundredths(MappedByteBuffer buffer, int start, int end) {
+        if (end - start >= 2 && buffer.get(start) == '"') {
+            start++;
+            end--;
+        }
+        long units = 0;
+        int cents = 0;
+        int decimals = -1;
+        if (start >= end) {
+            return -1;
+        }
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (b >= '0' && b <= '9') {
+                if (decimals < 0) {
+                    units = units * 10 + (b - '0');
+                    if (units > Integer.MAX_VALUE / 100) {
+                        return -1;
+                    }
+                } else if (decimals < 2) {
+                    cents = cents * 10 + (b - '0');
+                    decimals++;
+                }
+            } else {
+                return -1;
+            }
+        }
+        if (decimals == 1) {
+            cents *= 10;
+        }
+        return (int) (units * 100 + cents);
+    }
+
+    /**
+     * Decodifica um campo (removendo aspas externas e desfazendo "") e apara espaços.
+     */
+    private static String text(MappedByteBuffer buffer, int start, int end, byte[] scratch) {
+        boolean quoted = end - start >= 2 && buffer.get(start) == '"';
+        if (quoted) {
+            start++;
+            end--;
+        }
+        byte[] target = end - start <= scratch.length ? scratch : new byte[end - start];
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            target[length++] = b;
+            if (quoted && b == '"' && i + 1 < end && buffer.get(i + 1) == '"') {
+                i++;
+            }
+        }
+        return new String(target, 0, length, StandardCharsets.UTF_8).trim();
+    }
+
+    private static byte[] bytes(MappedByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return bytes;
+    }
+
+    /**
+     * Concatena os blocos nas colunas finais, unificando os dicionários.
+     */
+    private static WineCatalog merge(List<Chunk> chunks) {
+        int size = 0;
+        int skuLength = 0;
+        for (Chunk chunk : chunks) {
+            size += chunk.count;
+            skuLength += chunk.skuLength;
+        }
+
+        byte[] skuBytes = new byte[skuLength];
+        int[] skuOffsets = new int[size + 1];
+        int[] producerIds = new int[size];
+        int[] grapeIds = new int[size];
+        int[] countryIds = new int[size];
+        int[] priceCents = new int[size];
+        byte[] profiles = new byte[size];
+        float[][] taste = new float[TASTE.length][size];
+
+        Dictionary producers = new Dictionary();
+        Dictionary grapes = new Dictionary();
+        Dictionary countries = new Dictionary();
+
+        int row = 0;
+        int skuPosition = 0;
+        for (Chunk chunk : chunks) {
+            int[] producerMap = producers.merge(chunk.producers);
+            int[] grapeMap = grapes.merge(chunk.grapes);
+            int[] countryMap = countries.merge(chunk.countries);
+
+            System.arraycopy(chunk.skuBytes, 0, skuBytes, skuPosition, chunk.skuLength);
+            for (int i = 0; i < chunk.count; i++) {
+                skuOffsets[row] = skuPosition + chunk.skuOffsets[i];
+                producerIds[row] = producerMap[chunk.producerIds[i]];
+                grapeIds[row] = grapeMap[chunk.grapeIds[i]];
+                countryIds[row] = countryMap[chunk.countryIds[i]];
+                priceCents[row] = chunk.priceCents[i];
+                profiles[row] = chunk.profiles[i];
+                row++;
+            }
+            for (int d = 0; d < taste.length; d++) {
+                System.arraycopy(chunk.taste[d], 0, taste[d], row - chunk.count, chunk.count);
+            }
+            skuPosition += chunk.skuLength;
+        }
+        skuOffsets[size] = skuPosition;
+
+        return new WineCatalog(size, skuBytes, skuOffsets,
+                producerIds, producers.values(), grapeIds, grapes.values(), countryIds, countries.values(),
+                priceCents, profiles, taste);
+    }
+
+    /**
+     * Dicionário de valores textuais (comparação sem diferenciar maiúsculas; exibe a primeira grafia vista).
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int idOf(String value) {
+            String key = WineCatalog.normalize(value);
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = values.size();
+                ids.put(key, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        /**
+         * Incorpora um dicionário local e retorna o mapa id local → id global.
+         */
+        int[] merge(Dictionary local) {
+            int[] mapping = new int[local.values.size()];
+            for (int i = 0; i < mapping.length; i++) {
+                mapping[i] = idOf(local.values.get(i));
+            }
+            return mapping;
+        }
+
+        String[] values() {
+            return values.toArray(new String[0]);
+        }
+    }
+
+    /**
+     * Colunas de um bloco, com dicionários locais e arrays que crescem sob demanda.
+     */
+    private static final class Chunk {
+
+        int count;
+        long rejected;
+
+        byte[] skuBytes;
+        int skuLength;
+        int[] skuOffsets;
+        int[] producerIds;
+        int[] grapeIds;
+        int[] countryIds;
+        int[] priceCents;
+        byte[] profiles;
+        float[][] taste;
+
+        final Dictionary producers = new Dictionary();
+        final Dictionary grapes = new Dictionary();
+        final Dictionary countries = new Dictionary();
+
+        Chunk(int expectedRows) {
+            skuBytes = new byte[expectedRows * 12];
+            skuOffsets = new int[expectedRows];
+            producerIds = new int[expectedRows];
+            grapeIds = new int[expectedRows];
+            countryIds = new int[expectedRows];
+            priceCents = new int[expectedRows];
+            profiles = new byte[expectedRows];
+            taste = new float[TASTE.length][expectedRows];
+        }
+
+        void add(String sku, String producer, String grape, String country, int price, WineProfile profile,
+                 float[] tasteValues) {
+            if (count == priceCents.length) {
+                int capacity = count + (count >> 1) + 16;
+                skuOffsets = Arrays.copyOf(skuOffsets, capacity);
+                producerIds = Arrays.copyOf(producerIds, capacity);
+                grapeIds = Arrays.copyOf(grapeIds, capacity);
+                countryIds = Arrays.copyOf(countryIds, capacity);
+                priceCents = Arrays.copyOf(priceCents, capacity);
+                profiles = Arrays.copyOf(profiles, capacity);
+                for (int d = 0; d < taste.length; d++) {
+                    taste[d] = Arrays.copyOf(taste[d], capacity);
+                }
+            }
+
+            byte[] skuUtf8 = sku.getBytes(StandardCharsets.UTF_8);
+            if (skuLength + skuUtf8.length > skuBytes.length) {
+                skuBytes = Arrays.copyOf(skuBytes, Math.max(skuBytes.length * 2, skuLength + skuUtf8.length));
+            }
+            System.arraycopy(skuUtf8, 0, skuBytes, skuLength, skuUtf8.length);
+
+            skuOffsets[count] = skuLength;
+            skuLength += skuUtf8.length;
+            producerIds[count] = producers.idOf(producer);
+            grapeIds[count] = grapes.idOf(grape);
+            countryIds[count] = countries.idOf(country);
+            priceCents[count] = price;
+            profiles[count] = (byte) profile.ordinal();
+            for (int d = 0; d < taste.length; d++) {
+                taste[d][count] = tasteValues[d];
+            }
+            count++;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.alvaro.wineselector.codec;
+
+import lombok.Getter;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Codificações binárias suportadas nos endpoints de recomendação.
+ * JSON continua sendo o padrão; os formatos binários só são usados quando pedidos explicitamente no Accept.
+ */
+@Getter
+public enum BinaryFormat {
+
+    CBOR(MediaType.APPLICATION_CBOR),
+
+    SMILE(new MediaType("application", "x-jackson-smile")),
+
+    PROTOBUF(MediaType.APPLICATION_PROTOBUF);
+
+    private final MediaType mediaType;
+
+    BinaryFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Determina o formato binário preferido pelo cliente a partir do header Accept.
+     *
+     * Os tipos são avaliados por ordem de qualidade (q). Curingas e JSON encerram a busca,
+     * de modo que clientes que aceitam qualquer coisa continuam recebendo JSON.
+     *
+     * @param acceptHeader Valor do header Accept (pode ser null)
+     * @return Formato binário escolhido, ou vazio para JSON
+     */
+    public static Optional<BinaryFormat> fromAcceptHeader(String acceptHeader) {
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return Optional.empty();
+        }
+
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = new ArrayList<>(MediaType.parseMediaTypes(acceptHeader));
+        } catch (InvalidMediaTypeException ex) {
+            return Optional.empty();
+        }
+
+        acceptedTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType accepted : acceptedTypes) {
+            if (accepted.isWildcardType() || accepted.isWildcardSubtype()
+                    || MediaType.APPLICATION_JSON.equalsTypeAndSubtype(accepted)) {
+                return Optional.empty();
+            }
+            for (BinaryFormat format : values()) {
+                if (format.mediaType.equalsTypeAndSubtype(accepted)) {
+                    return Optional.of(format);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+}
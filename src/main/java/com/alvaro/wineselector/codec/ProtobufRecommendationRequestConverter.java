@@ -0,0 +1,43 @@
+package com.alvaro.wineselector.codec;
+
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Conversor HTTP que lê (e escreve) RecommendationRequest em application/x-protobuf.
+ * As respostas binárias são servidas já codificadas pelo BinaryRecommendationService.
+ */
+public class ProtobufRecommendationRequestConverter extends AbstractHttpMessageConverter<RecommendationRequest> {
+
+    public ProtobufRecommendationRequestConverter() {
+        super(BinaryFormat.PROTOBUF.getMediaType());
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RecommendationRequest.class == clazz;
+    }
+
+    @Override
+    protected RecommendationRequest readInternal(
+            Class<? extends RecommendationRequest> clazz,
+            HttpInputMessage inputMessage) throws IOException {
+
+        byte[] body = inputMessage.getBody().readAllBytes();
+        try {
+            return RecommendationProtobufCodec.decodeRequest(body);
+        } catch (IllegalArgumentException ex) {
+            throw new HttpMessageNotReadableException(ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(RecommendationRequest request, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(RecommendationProtobufCodec.encodeRequest(request));
+    }
+}
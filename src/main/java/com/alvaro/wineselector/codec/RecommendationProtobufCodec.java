@@ -0,0 +1,334 @@
+package com.alvaro.wineselector.codec;
+
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Codificador Protobuf (proto3) dos DTOs de recomendação.
+ *
+ * Implementa diretamente o formato de fio do Protobuf para as duas mensagens da API,
+ * sem depender de classes geradas pelo protoc. O schema publicado é gerado a partir dos
+ * próprios enums por {@link #schema()}, garantindo que os números nunca fiquem dessincronizados.
+ *
+ * Valores de enum são codificados como ordinal + 1 (0 é reservado para "não informado").
+ */
+public final class RecommendationProtobufCodec {
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+    private static final int WIRE_FIXED32 = 5;
+
+    // RecommendationRequest
+    private static final int REQUEST_OCCASION = 1;
+    private static final int REQUEST_INTIMACY_LEVEL = 2;
+    private static final int REQUEST_MAIN_DISH = 3;
+
+    // RecommendationResponse
+    private static final int RESPONSE_RECOMMENDED_PROFILE = 1;
+    private static final int RESPONSE_DISPLAY_NAME = 2;
+    private static final int RESPONSE_DESCRIPTION = 3;
+    private static final int RESPONSE_JUSTIFICATION = 4;
+    private static final int RESPONSE_SCORE = 5;
+    private static final int RESPONSE_ALTERNATIVE_PROFILE = 6;
+    private static final int RESPONSE_ALTERNATIVE_DISPLAY_NAME = 7;
+    private static final int RESPONSE_ALTERNATIVE_DESCRIPTION = 8;
+    private static final int RESPONSE_ALTERNATIVE_SCORE = 9;
+
+    private static final String SCHEMA = buildSchema();
+
+    private RecommendationProtobufCodec() {
+    }
+
+    // ========================================================================
+    // REQUISIÇÃO
+    // ========================================================================
+
+    public static byte[] encodeRequest(RecommendationRequest request) {
+        Writer writer = new Writer(8);
+        writer.writeEnum(REQUEST_OCCASION, request.getOccasion());
+        writer.writeEnum(REQUEST_INTIMACY_LEVEL, request.getIntimacyLevel());
+        writer.writeEnum(REQUEST_MAIN_DISH, request.getMainDish());
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodifica uma requisição. Campos ausentes ficam null e são tratados pela validação (@NotNull).
+     *
+     * @throws IllegalArgumentException se a mensagem estiver malformada ou tiver valores de enum desconhecidos
+     */
+    public static RecommendationRequest decodeRequest(byte[] data) {
+        RecommendationRequest request = new RecommendationRequest();
+        Reader reader = new Reader(data);
+
+        while (reader.hasRemaining()) {
+            int tag = reader.readVarint32();
+            switch (tag >>> 3) {
+                case REQUEST_OCCASION -> request.setOccasion(
+                        reader.readEnum(tag, Occasion.values()));
+                case REQUEST_INTIMACY_LEVEL -> request.setIntimacyLevel(
+                        reader.readEnum(tag, IntimacyLevel.values()));
+                case REQUEST_MAIN_DISH -> request.setMainDish(
+                        reader.readEnum(tag, MainDish.values()));
+                default -> reader.skipField(tag);
+            }
+        }
+
+        return request;
+    }
+
+    // ========================================================================
+    // RESPOSTA
+    // ========================================================================
+
+    public static byte[] encodeResponse(RecommendationResponse response) {
+        Writer writer = new Writer(512);
+        writer.writeEnum(RESPONSE_RECOMMENDED_PROFILE, response.getRecommendedProfile());
+        writer.writeString(RESPONSE_DISPLAY_NAME, response.getDisplayName());
+        writer.writeString(RESPONSE_DESCRIPTION, response.getDescription());
+        writer.writeString(RESPONSE_JUSTIFICATION, response.getJustification());
+        writer.writeInt(RESPONSE_SCORE, response.getScore());
+        writer.writeEnum(RESPONSE_ALTERNATIVE_PROFILE, response.getAlternativeProfile());
+        writer.writeString(RESPONSE_ALTERNATIVE_DISPLAY_NAME, response.getAlternativeDisplayName());
+        writer.writeString(RESPONSE_ALTERNATIVE_DESCRIPTION, response.getAlternativeDescription());
+        writer.writeInt(RESPONSE_ALTERNATIVE_SCORE, response.getAlternativeScore());
+        return writer.toByteArray();
+    }
+
+    public static RecommendationResponse decodeResponse(byte[] data) {
+        RecommendationResponse response = new RecommendationResponse();
+        Reader reader = new Reader(data);
+
+        while (reader.hasRemaining()) {
+            int tag = reader.readVarint32();
+            switch (tag >>> 3) {
+                case RESPONSE_RECOMMENDED_PROFILE -> response.setRecommendedProfile(
+                        reader.readEnum(tag, WineProfile.values()));
+                case RESPONSE_DISPLAY_NAME -> response.setDisplayName(reader.readString(tag));
+                case RESPONSE_DESCRIPTION -> response.setDescription(reader.readString(tag));
+                case RESPONSE_JUSTIFICATION -> response.setJustification(reader.readString(tag));
+                case RESPONSE_SCORE -> response.setScore(reader.readInt(tag));
+                case RESPONSE_ALTERNATIVE_PROFILE -> response.setAlternativeProfile(
+                        reader.readEnum(tag, WineProfile.values()));
+                case RESPONSE_ALTERNATIVE_DISPLAY_NAME -> response.setAlternativeDisplayName(reader.readString(tag));
+                case RESPONSE_ALTERNATIVE_DESCRIPTION -> response.setAlternativeDescription(reader.readString(tag));
+                case RESPONSE_ALTERNATIVE_SCORE -> response.setAlternativeScore(reader.readInt(tag));
+                default -> reader.skipField(tag);
+            }
+        }
+
+        return response;
+    }
+
+    // ========================================================================
+    // SCHEMA
+    // ========================================================================
+
+    /**
+     * Retorna o schema .proto publicado, equivalente ao formato produzido por este codificador.
+     */
+    public static String schema() {
+        return SCHEMA;
+    }
+
+    private static String buildSchema() {
+        StringBuilder schema = new StringBuilder();
+        schema.append("syntax = \"proto3\";\n\n");
+        schema.append("package wineselector;\n\n");
+
+        appendEnum(schema, "MainDish", "MAIN_DISH", MainDish.values());
+        appendEnum(schema, "Occasion", "OCCASION", Occasion.values());
+        appendEnum(schema, "IntimacyLevel", "INTIMACY_LEVEL", IntimacyLevel.values());
+        appendEnum(schema, "WineProfile", "WINE_PROFILE", WineProfile.values());
+
+        schema.append("message RecommendationRequest {\n");
+        schema.append("  Occasion occasion = ").append(REQUEST_OCCASION).append(";\n");
+        schema.append("  IntimacyLevel intimacy_level = ").append(REQUEST_INTIMACY_LEVEL).append(";\n");
+        schema.append("  MainDish main_dish = ").append(REQUEST_MAIN_DISH).append(";\n");
+        schema.append("}\n\n");
+
+        schema.append("message RecommendationResponse {\n");
+        schema.append("  WineProfile recommended_profile = ").append(RESPONSE_RECOMMENDED_PROFILE).append(";\n");
+        schema.append("  string display_name = ").append(RESPONSE_DISPLAY_NAME).append(";\n");
+        schema.append("  string description = ").append(RESPONSE_DESCRIPTION).append(";\n");
+        schema.append("  string justification = ").append(RESPONSE_JUSTIFICATION).append(";\n");
+        schema.append("  int32 score = ").append(RESPONSE_SCORE).append(";\n");
+        schema.append("  WineProfile alternative_profile = ").append(RESPONSE_ALTERNATIVE_PROFILE).append(";\n");
+        schema.append("  string alternative_display_name = ").append(RESPONSE_ALTERNATIVE_DISPLAY_NAME).append(";\n");
+        schema.append("  string alternative_description = ").append(RESPONSE_ALTERNATIVE_DESCRIPTION).append(";\n");
+        schema.append("  optional int32 alternative_score = ").append(RESPONSE_ALTERNATIVE_SCORE).append(";\n");
+        schema.append("}\n");
+
+        return schema.toString();
+    }
+
+    private static void appendEnum(StringBuilder schema, String name, String prefix, Enum<?>[] values) {
+        schema.append("enum ").append(name).append(" {\n");
+        schema.append("  ").append(prefix).append("_UNSPECIFIED = 0;\n");
+        for (Enum<?> value : values) {
+            schema.append("  ").append(prefix).append('_').append(value.name())
+                    .append(" = ").append(value.ordinal() + 1).append(";\n");
+        }
+        schema.append("}\n\n");
+    }
+
+    // ========================================================================
+    // FORMATO DE FIO
+    // ========================================================================
+
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int position;
+
+        Writer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        void writeEnum(int field, Enum<?> value) {
+            if (value != null) {
+                writeTag(field, WIRE_VARINT);
+                writeVarint(value.ordinal() + 1);
+            }
+        }
+
+        void writeInt(int field, Integer value) {
+            if (value != null) {
+                writeTag(field, WIRE_VARINT);
+                writeVarint(value);
+            }
+        }
+
+        void writeString(int field, String value) {
+            if (value != null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeTag(field, WIRE_LENGTH_DELIMITED);
+                writeVarint(bytes.length);
+                ensureCapacity(bytes.length);
+                System.arraycopy(bytes, 0, buffer, position, bytes.length);
+                position += bytes.length;
+            }
+        }
+
+        private void writeTag(int field, int wireType) {
+            writeVarint((field << 3) | wireType);
+        }
+
+        private void writeVarint(int value) {
+            // int32 negativo é codificado com 10 bytes, como no Protobuf oficial
+            long remaining = value;
+            ensureCapacity(10);
+            while ((remaining & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            buffer[position++] = (byte) remaining;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        boolean hasRemaining() {
+            return position < data.length;
+        }
+
+        <E extends Enum<E>> E readEnum(int tag, E[] values) {
+            requireWireType(tag, WIRE_VARINT);
+            int number = (int) readVarint64();
+            if (number == 0) {
+                return null;
+            }
+            if (number < 1 || number > values.length) {
+                throw new IllegalArgumentException("Valor de enum desconhecido no campo " + (tag >>> 3) + ": " + number);
+            }
+            return values[number - 1];
+        }
+
+        Integer readInt(int tag) {
+            requireWireType(tag, WIRE_VARINT);
+            return (int) readVarint64();
+        }
+
+        String readString(int tag) {
+            requireWireType(tag, WIRE_LENGTH_DELIMITED);
+            int length = readLength();
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        void skipField(int tag) {
+            switch (tag & 0x7) {
+                case WIRE_VARINT -> readVarint64();
+                case WIRE_FIXED64 -> skipBytes(8);
+                case WIRE_LENGTH_DELIMITED -> skipBytes(readLength());
+                case WIRE_FIXED32 -> skipBytes(4);
+                default -> throw new IllegalArgumentException("Tipo de fio Protobuf não suportado: " + (tag & 0x7));
+            }
+        }
+
+        int readVarint32() {
+            return (int) readVarint64();
+        }
+
+        private long readVarint64() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= data.length) {
+                    throw new IllegalArgumentException("Mensagem Protobuf truncada");
+                }
+                byte b = data[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Varint Protobuf malformado");
+        }
+
+        private int readLength() {
+            long length = readVarint64();
+            if (length < 0 || length > data.length - position) {
+                throw new IllegalArgumentException("Mensagem Protobuf truncada");
+            }
+            return (int) length;
+        }
+
+        private void skipBytes(int count) {
+            if (count > data.length - position) {
+                throw new IllegalArgumentException("Mensagem Protobuf truncada");
+            }
+            position += count;
+        }
+
+        private void requireWireType(int tag, int expected) {
+            if ((tag & 0x7) != expected) {
+                throw new IllegalArgumentException("Tipo de fio inesperado no campo " + (tag >>> 3));
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.alvaro.wineselector.config;
+
+import com.alvaro.wineselector.codec.ProtobufRecommendationRequestConverter;
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Configuração das codificações binárias (CBOR, Smile e Protobuf).
+ * O conversor Protobuf só trata RecommendationRequest, então pode ficar à frente dos demais.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public CBORMapper cborMapper() {
+        return CBORMapper.builder().build();
+    }
+
+    @Bean
+    public SmileMapper smileMapper() {
+        return SmileMapper.builder().build();
+    }
+
+    /**
+     * Registra CBOR e Smile nas posições padrão dos conversores (depois do JSON),
+     * para que clientes com Accept genérico continuem recebendo JSON.
+     */
+    @Bean
+    public ServerHttpMessageConvertersCustomizer binaryFormatConvertersCustomizer(
+            CBORMapper cborMapper,
+            SmileMapper smileMapper) {
+
+        return builder -> builder
+                .withCborConverter(new JacksonCborHttpMessageConverter(cborMapper))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper));
+    }
+
+    @Bean
+    public ProtobufRecommendationRequestConverter protobufRecommendationRequestConverter() {
+        return new ProtobufRecommendationRequestConverter();
+    }
+}
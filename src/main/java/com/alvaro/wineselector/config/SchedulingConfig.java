@@ -0,0 +1,12 @@
+package com.alvaro.wineselector.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita tarefas agendadas (publicação periódica dos ajustes de feedback).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,52 @@
+package com.alvaro.wineselector.controller;
+
+import com.alvaro.wineselector.model.dto.HistoryResponse;
+import com.alvaro.wineselector.service.HistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para o histórico de recomendações por usuário ou sessão.
+ * Alimentado pelo POST /api/recommendation quando a requisição traz userId ou o header X-Session-Id.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/history/{userId}")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*") // Temporário - ajustar para produção
+public class HistoryController {
+
+    private final HistoryService historyService;
+
+    /**
+     * Consulta o histórico, da recomendação mais recente para a mais antiga.
+     * 
+     * GET /api/history/{userId}?limit=20
+     * GET /api/history/{userId}?before={nextCursor}&limit=20
+     * 
+     * @param userId userId ou id da sessão usado nas recomendações
+     * @param before Cursor da página anterior (nextCursor)
+     * @param limit Tamanho da página (1 a 100)
+     */
+    @GetMapping
+    public ResponseEntity<HistoryResponse> getHistory(
+            @PathVariable String userId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(historyService.getHistory(userId, before, limit));
+    }
+
+    /**
+     * Apaga o histórico do usuário.
+     * 
+     * DELETE /api/history/{userId}
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> deleteHistory(@PathVariable String userId) {
+        return historyService.deleteHistory(userId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.alvaro.wineselector.controller;
+
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.dto.StockReservationRequest;
+import com.alvaro.wineselector.model.dto.StockResponse;
+import com.alvaro.wineselector.model.dto.StockUpdateRequest;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.service.InventoryService;
+import com.alvaro.wineselector.service.RecommendationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para o estoque por estabelecimento e a recomendação que respeita esse estoque.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/venues/{venueId}")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*") // Temporário - ajustar para produção
+public class InventoryController {
+
+    private final InventoryService inventoryService;
+    private final RecommendationService recommendationService;
+
+    /**
+     * Recomendação considerando apenas perfis com estoque no estabelecimento.
+     * 
+     * POST /api/venues/{venueId}/recommendation
+     * 
+     * @param venueId Identificador do estabelecimento
+     * @param request JSON com ocasião, intimidade e prato
+     * @return Recomendação (cai para o próximo perfil do ranking se o vencedor estiver em falta)
+     */
+    @PostMapping("/recommendation")
+    public ResponseEntity<RecommendationResponse> getRecommendation(
+            @PathVariable String venueId,
+            @Valid @RequestBody RecommendationRequest request) {
+        log.info("Recomendação para o estabelecimento {}: {}", venueId, request);
+
+        return ResponseEntity.ok(recommendationService.getRecommendation(request, inventoryService.availableIn(venueId)));
+    }
+
+    /**
+     * Consulta o estoque do estabelecimento.
+     * 
+     * GET /api/venues/{venueId}/stock
+     */
+    @GetMapping("/stock")
+    public ResponseEntity<StockResponse> getStock(@PathVariable String venueId) {
+        return ResponseEntity.ok(new StockResponse(venueId, null, null, inventoryService.getStock(venueId)));
+    }
+
+    /**
+     * Define o estoque de um ou mais perfis.
+     * 
+     * PUT /api/venues/{venueId}/stock
+     * 
+     * Body exemplo:
+     * {
+     *   "stock": {"TINTO_MEDIO": 12, "ESPUMANTE": 0}
+     * }
+     */
+    @PutMapping("/stock")
+    public ResponseEntity<StockResponse> setStock(
+            @PathVariable String venueId,
+            @Valid @RequestBody StockUpdateRequest request) {
+        log.info("Atualizando estoque de {}: {}", venueId, request.getStock());
+
+        return ResponseEntity.ok(new StockResponse(venueId, null, null,
+                inventoryService.setStock(venueId, request.getStock())));
+    }
+
+    /**
+     * Remove o estoque do estabelecimento (todos os perfis voltam a contar como disponíveis).
+     * 
+     * DELETE /api/venues/{venueId}/stock
+     */
+    @DeleteMapping("/stock")
+    public ResponseEntity<Void> removeStock(@PathVariable String venueId) {
+        return inventoryService.removeVenue(venueId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Dá baixa de garrafas vendidas (ou reservadas). Responde 409 se o estoque for insuficiente.
+     * 
+     * POST /api/venues/{venueId}/stock/{profile}/reserve
+     * 
+     * Body exemplo (opcional, padrão 1 garrafa):
+     * {
+     *   "quantity": 2
+     * }
+     */
+    @PostMapping("/stock/{profile}/reserve")
+    public ResponseEntity<StockResponse> reserve(
+            @PathVariable String venueId,
+            @PathVariable WineProfile profile,
+            @Valid @RequestBody(required = false) StockReservationRequest request) {
+        Integer remaining = inventoryService.reserve(venueId, profile, quantityOf(request));
+
+        return ResponseEntity.ok(new StockResponse(venueId, profile, remaining, null));
+    }
+
+    /**
+     * Devolve garrafas ao estoque (ex: reserva cancelada).
+     * 
+     * POST /api/venues/{venueId}/stock/{profile}/release
+     */
+    @PostMapping("/stock/{profile}/release")
+    public ResponseEntity<StockResponse> release(
+            @PathVariable String venueId,
+            @PathVariable WineProfile profile,
+            @Valid @RequestBody(required = false) StockReservationRequest request) {
+        Integer remaining = inventoryService.release(venueId, profile, quantityOf(request));
+
+        return ResponseEntity.ok(new StockResponse(venueId, profile, remaining, null));
+    }
+
+    private static int quantityOf(StockReservationRequest request) {
+        return request != null && request.getQuantity() != null ? request.getQuantity() : 1;
+    }
+}
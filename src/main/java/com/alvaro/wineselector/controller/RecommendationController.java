@@ -1,13 +1,63 @@
 package com.alvaro.wineselector.controller;
 
+import com.alvaro.wineselector.codec.BinaryFormat;
+import com.alvaro.wineselector.codec.RecommendationProtobufCodec;
+import com.alvaro.wineselector.model.dto.AutocompleteResponse;
+import com.alvaro.wineselector.model.dto.BottleRecommendationResponse;
+import com.alvaro.wineselector.model.dto.BottleSearchRequest;
+import com.alvaro.wineselector.model.dto.CounterfactualResponse;
+import com.alvaro.wineselector.model.dto.EventPlanRequest;
+import com.alvaro.wineselector.model.dto.EventPlanResponse;
+import com.alvaro.wineselector.model.dto.FeedbackRequest;
+import com.alvaro.wineselector.model.dto.FeedbackResponse;
+import com.alvaro.wineselector.model.dto.FlightBatchRequest;
+import com.alvaro.wineselector.model.dto.FlightBatchResponse;
+import com.alvaro.wineselector.model.dto.FlightRequest;
+import com.alvaro.wineselector.model.dto.FlightResponse;
+import com.alvaro.wineselector.model.dto.GroupRecommendationRequest;
+import com.alvaro.wineselector.model.dto.GroupRecommendationResponse;
+import com.alvaro.wineselector.model.dto.MealRecommendationRequest;
+import com.alvaro.wineselector.model.dto.MealRecommendationResponse;
+import com.alvaro.wineselector.model.dto.PairingMatrixRequest;
 import com.alvaro.wineselector.model.dto.RecommendationRequest;
 import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.dto.ReversePairingRequest;
+import com.alvaro.wineselector.model.dto.ReversePairingResponse;
+import com.alvaro.wineselector.model.dto.ScoreExplanation;
+import com.alvaro.wineselector.model.dto.TextInterpretationRequest;
+import com.alvaro.wineselector.model.dto.TextInterpretationResponse;
+import com.alvaro.wineselector.service.AutocompleteService;
+import com.alvaro.wineselector.service.BinaryRecommendationService;
+import com.alvaro.wineselector.service.CounterfactualService;
+import com.alvaro.wineselector.service.EventPlanningService;
+import com.alvaro.wineselector.service.FeedbackService;
+import com.alvaro.wineselector.service.FlightSequencingService;
+import com.alvaro.wineselector.service.GroupRecommendationService;
+import com.alvaro.wineselector.service.HistoryService;
+import com.alvaro.wineselector.service.MealRecommendationService;
+import com.alvaro.wineselector.service.PairingMatrixService;
 import com.alvaro.wineselector.service.RecommendationService;
+import com.alvaro.wineselector.service.ResponseViewService;
+import com.alvaro.wineselector.service.ReversePairingService;
+import com.alvaro.wineselector.service.TenantRulesetService;
+import com.alvaro.wineselector.service.TextInterpretationService;
+import com.alvaro.wineselector.service.UserPreferenceService;
+import com.alvaro.wineselector.service.WineCatalogService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller REST para recomendação de vinhos.
@@ -20,74 +70,551 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*") // Temporário - ajustar para produção
 public class RecommendationController {
 
+    private static final String COMPACT_VIEW = "compact";
+
     private final RecommendationService recommendationService;
+    private final BinaryRecommendationService binaryRecommendationService;
+    private final ResponseViewService responseViewService;
+    private final MealRecommendationService mealRecommendationService;
+    private final GroupRecommendationService groupRecommendationService;
+    private final FlightSequencingService flightSequencingService;
+    private final WineCatalogService wineCatalogService;
+    private final EventPlanningService eventPlanningService;
+    private final PairingMatrixService pairingMatrixService;
+    private final TenantRulesetService tenantRulesetService;
+    private final UserPreferenceService userPreferenceService;
+    private final FeedbackService feedbackService;
+    private final HistoryService historyService;
+    private final CounterfactualService counterfactualService;
+    private final ReversePairingService reversePairingService;
+    private final TextInterpretationService textInterpretationService;
+    private final AutocompleteService autocompleteService;
+    private final ApplicationAvailability applicationAvailability;
 
     /**
      * Endpoint principal: retorna recomendação de vinho.
      * 
      * POST /api/recommendation
      * 
-     * @param request JSON com ocasião, intimidade e prato
+     * Responde em JSON por padrão. Clientes que pedirem application/cbor, application/x-jackson-smile
+     * ou application/x-protobuf no Accept recebem a resposta binária (cacheada por combinação).
+     * 
+     * Em JSON, ?view=compact retorna apenas ids, pontuações e a chave da justificativa
+     * (textos em /dictionary), e ?fields=a,b retorna apenas os campos pedidos.
+     * 
+     * O header X-Tenant-Id aplica as regras do cliente e o campo userId soma as preferências do
+     * usuário à pontuação. Essas respostas não estão no cache (que usa as regras base): são
+     * calculadas e codificadas na hora, em qualquer um dos formatos acima.
+     * 
+     * Com userId (ou, na falta dele, o header X-Session-Id) a recomendação é gravada no histórico
+     * consultado em /api/history/{userId}.
+     * 
+     * @param request JSON (ou corpo binário) com ocasião, intimidade e prato
+     * @param accept Header Accept da requisição
+     * @param tenantId Cliente cujas regras devem ser usadas (opcional)
+     * @param sessionId Sessão para o histórico quando não há userId (opcional)
+     * @param view "compact" para a resposta compacta
+     * @param fields Campos da resposta, separados por vírgula
      * @return Resposta com perfil recomendado e justificativa
      */
     @PostMapping
-    public ResponseEntity<RecommendationResponse> getRecommendation(
-            @Valid @RequestBody RecommendationRequest request) {
+    public ResponseEntity<?> getRecommendation(
+            @Valid @RequestBody RecommendationRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = TenantRulesetService.TENANT_HEADER, required = false) String tenantId,
+            @RequestHeader(value = HistoryService.SESSION_HEADER, required = false) String sessionId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields) {
         
         log.info("Recebida requisição de recomendação: {}", request);
 
+        String historyId = request.getUserId() != null ? request.getUserId() : sessionId;
+        Optional<BinaryFormat> binaryFormat = BinaryFormat.fromAcceptHeader(accept);
+
+        // Os campos são validados antes de tudo: uma requisição rejeitada não entra no histórico
+        Integer fieldMask = fields != null && binaryFormat.isEmpty() && !COMPACT_VIEW.equals(view)
+                ? responseViewService.parseFields(fields)
+                : null;
+
+        float[] preferenceBias = request.getUserId() != null ? userPreferenceService.getBias(request.getUserId()) : null;
+        if (preferenceBias != null || tenantRulesetService.hasOverrides(tenantId)) {
+            RecommendationService service = tenantRulesetService.getRecommendationService(tenantId);
+            RecommendationResponse response = preferenceBias != null
+                    ? service.getPersonalizedRecommendation(request, preferenceBias)
+                    : service.getRecommendation(request);
+            ResponseEntity<?> encoded = encode(request, response, binaryFormat, view, fieldMask);
+            historyService.record(historyId, request, response);
+            return encoded;
+        }
+
+        // As respostas abaixo saem já serializadas do cache; o histórico usa o resultado pré-calculado
+        if (binaryFormat.isPresent()) {
+            BinaryFormat format = binaryFormat.get();
+            byte[] body = binaryRecommendationService.getRecommendation(request, format);
+            historyService.record(historyId, request);
+
+            log.info("Recomendação gerada em formato {}", format);
+
+            return ResponseEntity.ok()
+                    .contentType(format.getMediaType())
+                    .body(body);
+        }
+
+        if (COMPACT_VIEW.equals(view)) {
+            byte[] body = responseViewService.getCompact(request);
+            historyService.record(historyId, request);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+        }
+
+        if (fieldMask != null) {
+            byte[] body = responseViewService.getFields(request, fieldMask);
+            historyService.record(historyId, request);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+        }
+
         RecommendationResponse response = recommendationService.getRecommendation(request);
+        historyService.record(historyId, request, response);
 
         log.info("Recomendação gerada: {}", response.getRecommendedProfile().getDisplayName());
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Dicionário de textos dos perfis e justificativas usado pelo modo compacto.
+     * Conteúdo estático, cacheável pelo cliente e revalidado via ETag.
+     * 
+     * GET /api/recommendation/dictionary
+     * 
+     * @param ifNoneMatch ETag já conhecido pelo cliente
+     * @return Dicionário em JSON, ou 304 se o cliente já tiver a versão atual
+     */
+    @GetMapping("/dictionary")
+    public ResponseEntity<byte[]> getDictionary(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = responseViewService.getDictionaryEtag();
+        CacheControl cacheControl = CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic();
+
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(responseViewService.getDictionary());
+    }
+
+    /**
+     * Endpoint que publica o schema Protobuf das mensagens de recomendação.
+     * 
+     * GET /api/recommendation/schema.proto
+     * 
+     * @return Schema .proto (proto3)
+     */
+    @GetMapping(value = "/schema.proto", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getProtobufSchema() {
+        return ResponseEntity.ok(RecommendationProtobufCodec.schema());
+    }
+
     /**
      * Endpoint para obter relatório detalhado do cálculo (debug/transparência).
      * 
      * POST /api/recommendation/report
      * 
      * @param request JSON com ocasião, intimidade e prato
+     * @param tenantId Cliente cujas regras devem ser usadas (opcional)
      * @return Relatório em texto
      */
     @PostMapping("/report")
     public ResponseEntity<String> getCalculationReport(
-            @Valid @RequestBody RecommendationRequest request) {
+            @Valid @RequestBody RecommendationRequest request,
+            @RequestHeader(value = TenantRulesetService.TENANT_HEADER, required = false) String tenantId) {
         
         log.info("Gerando relatório para: {}", request);
 
-        String report = recommendationService.getCalculationReport(request);
+        String report = tenantRulesetService.getRecommendationService(tenantId).getCalculationReport(request);
 
         return ResponseEntity.ok(report);
     }
 
+    /**
+     * Endpoint com a explicação estruturada do cálculo.
+     * 
+     * POST /api/recommendation/explanation
+     * 
+     * @param request JSON com ocasião, intimidade e prato
+     * @param tenantId Cliente cujas regras devem ser usadas (opcional)
+     * @return Para cada perfil: pontuação bruta e contribuição por dimensão, posição e distância ao vencedor
+     */
+    @PostMapping("/explanation")
+    public ResponseEntity<ScoreExplanation> getExplanation(
+            @Valid @RequestBody RecommendationRequest request,
+            @RequestHeader(value = TenantRulesetService.TENANT_HEADER, required = false) String tenantId) {
+        
+        log.info("Gerando explicação para: {}", request);
+
+        return ResponseEntity.ok(tenantRulesetService.getRecommendationService(tenantId).getExplanation(request));
+    }
+
     /**
      * Endpoint para obter sugestão de como servir o vinho.
      * 
      * POST /api/recommendation/serving
      * 
      * @param request JSON com ocasião, intimidade e prato
+     * @param tenantId Cliente cujas regras devem ser usadas (opcional)
      * @return Dica de temperatura e taça
      */
     @PostMapping("/serving")
     public ResponseEntity<String> getServingSuggestion(
-            @Valid @RequestBody RecommendationRequest request) {
+            @Valid @RequestBody RecommendationRequest request,
+            @RequestHeader(value = TenantRulesetService.TENANT_HEADER, required = false) String tenantId) {
         
         log.info("Obtendo sugestão de serviço para: {}", request);
 
-        String suggestion = recommendationService.getServingSuggestion(request);
+        String suggestion = tenantRulesetService.getRecommendationService(tenantId).getServingSuggestion(request);
 
         return ResponseEntity.ok(suggestion);
     }
 
+    /**
+     * Endpoint de recomendação para uma refeição com vários pratos.
+     * 
+     * POST /api/recommendation/meal
+     * 
+     * Body exemplo:
+     * {
+     *   "occasion": "JANTAR_ROMANTICO",
+     *   "intimacyLevel": "AMIGO_PROXIMO",
+     *   "courses": [
+     *     {"mainDish": "PEIXES_FRUTOS_MAR"},
+     *     {"mainDish": "CARNES_VERMELHAS", "importance": 2},
+     *     {"mainDish": "QUEIJOS_FRIOS"}
+     *   ],
+     *   "aggregation": "MAX_MIN"
+     * }
+     * 
+     * @param request JSON com ocasião, intimidade, pratos e agregação (opcional)
+     * @return Perfil que melhor atende a refeição e adequação a cada prato
+     */
+    @PostMapping("/meal")
+    public ResponseEntity<MealRecommendationResponse> getMealRecommendation(
+            @Valid @RequestBody MealRecommendationRequest request) {
+
+        log.info("Recebida requisição de refeição com {} pratos", request.getCourses().size());
+
+        return ResponseEntity.ok(mealRecommendationService.getRecommendation(request));
+    }
+
+    /**
+     * Endpoint de recomendação para um grupo com níveis de intimidade variados.
+     * 
+     * POST /api/recommendation/group
+     * 
+     * Body exemplo:
+     * {
+     *   "occasion": "CELEBRACAO",
+     *   "mainDish": "CHURRASCO",
+     *   "guests": {"CHEFE_SUPERIOR": 1, "AMIGO_PROXIMO": 6, "INTIMO_FAMILIAR": 4},
+     *   "policy": "BOUNDED_BY_MIN_RISK"
+     * }
+     * 
+     * @param request JSON com ocasião, prato, convidados por nível e política (opcional)
+     * @return Perfil recomendado para o grupo
+     */
+    @PostMapping("/group")
+    public ResponseEntity<GroupRecommendationResponse> getGroupRecommendation(
+            @Valid @RequestBody GroupRecommendationRequest request) {
+
+        log.info("Recebida requisição de grupo: {}", request.getGuests());
+
+        return ResponseEntity.ok(groupRecommendationService.getRecommendation(request));
+    }
+
+    /**
+     * Endpoint de sequência de vinhos para menu degustação (um perfil por etapa).
+     * 
+     * POST /api/recommendation/flight
+     * 
+     * Body exemplo:
+     * {
+     *   "occasion": "CELEBRACAO",
+     *   "intimacyLevel": "AMIGO_PROXIMO",
+     *   "courses": ["PEIXES_FRUTOS_MAR", "RISOTO", "CARNES_BRANCAS", "CARNES_VERMELHAS", "QUEIJOS_FRIOS"]
+     * }
+     * 
+     * @param request JSON com ocasião, intimidade e etapas em ordem
+     * @return Perfil por etapa e pontuação total
+     */
+    @PostMapping("/flight")
+    public ResponseEntity<FlightResponse> getFlight(@Valid @RequestBody FlightRequest request) {
+        log.info("Sequenciando menu com {} etapas", request.getCourses().size());
+
+        return ResponseEntity.ok(flightSequencingService.getFlight(request));
+    }
+
+    /**
+     * Endpoint de sequência de vinhos para vários menus de uma vez.
+     * 
+     * POST /api/recommendation/flight/batch
+     * 
+     * @param request JSON com a lista de menus ({"flights": [...]})
+     * @return Uma sequência por menu, na ordem da requisição
+     */
+    @PostMapping("/flight/batch")
+    public ResponseEntity<FlightBatchResponse> getFlights(@Valid @RequestBody FlightBatchRequest request) {
+        log.info("Sequenciando lote de {} menus", request.getFlights().size());
+
+        return ResponseEntity.ok(new FlightBatchResponse(flightSequencingService.getFlights(request.getFlights())));
+    }
+
+    /**
+     * Garrafas do catálogo para o perfil recomendado, das mais baratas para as mais caras.
+     * 
+     * POST /api/recommendation/bottles
+     * 
+     * Body exemplo:
+     * {
+     *   "occasion": "JANTAR_ROMANTICO",
+     *   "intimacyLevel": "AMIGO_PROXIMO",
+     *   "mainDish": "CARNES_VERMELHAS",
+     *   "maxPrice": 150.00,
+     *   "country": "Portugal",
+     *   "limit": 5
+     * }
+     * 
+     * @param request JSON com a combinação, filtros (opcionais) e limite
+     * @return Perfis usados e garrafas encontradas
+     */
+    @PostMapping("/bottles")
+    public ResponseEntity<BottleRecommendationResponse> getBottles(@Valid @RequestBody BottleSearchRequest request) {
+        log.info("Buscando garrafas - Ocasião: {}, Intimidade: {}, Prato: {}",
+                request.getOccasion(), request.getIntimacyLevel(), request.getMainDish());
+
+        return ResponseEntity.ok(wineCatalogService.findBottles(request));
+    }
+
+    /**
+     * Garrafas do catálogo de paladar mais próximo do vetor alvo da combinação (busca exata k-NN).
+     * 
+     * POST /api/recommendation/bottles/nearest
+     * 
+     * @param request JSON com a combinação, filtros (opcionais) e limite, como em /bottles
+     * @return Perfil vencedor, vetor alvo e garrafas da mais próxima para a mais distante
+     */
+    @PostMapping("/bottles/nearest")
+    public ResponseEntity<BottleRecommendationResponse> getNearestBottles(@Valid @RequestBody BottleSearchRequest request) {
+        log.info("Buscando garrafas por paladar - Ocasião: {}, Intimidade: {}, Prato: {}",
+                request.getOccasion(), request.getIntimacyLevel(), request.getMainDish());
+
+        return ResponseEntity.ok(wineCatalogService.findNearestBottles(request));
+    }
+
+    /**
+     * Plano de compra de garrafas para um evento dentro do orçamento.
+     * 
+     * POST /api/recommendation/event-plan
+     * 
+     * Body exemplo:
+     * {
+     *   "headcount": 80,
+     *   "occasion": "CELEBRACAO",
+     *   "intimacyLevel": "AMIGO_PROXIMO",
+     *   "dishes": ["CHURRASCO"],
+     *   "budget": 3000.00,
+     *   "candidates": [
+     *     {"sku": "MALBEC-750", "price": 69.90, "profile": "TINTO_ENCORPADO", "available": 24},
+     *     {"sku": "BRUT-750", "price": 54.00, "profile": "ESPUMANTE"}
+     *   ]
+     * }
+     * 
+     * @param request JSON com convidados, pratos, orçamento e garrafas candidatas
+     * @return Garrafas a comprar, custo, pontuação total e limite superior
+     */
+    @PostMapping("/event-plan")
+    public ResponseEntity<EventPlanResponse> getEventPlan(@Valid @RequestBody EventPlanRequest request) {
+        log.info("Planejando evento para {} convidados com {} candidatas",
+                request.getHeadcount(), request.getCandidates().size());
+
+        return ResponseEntity.ok(eventPlanningService.plan(request));
+    }
+
+    /**
+     * Matriz de harmonização cardápio × carta de vinhos, com o melhor vinho por prato e o melhor prato por vinho.
+     * 
+     * POST /api/recommendation/pairing-matrix
+     * 
+     * Body exemplo:
+     * {
+     *   "occasion": "JANTAR_ROMANTICO",
+     *   "intimacyLevel": "AMIGO_PROXIMO",
+     *   "menu": [{"name": "Picanha na brasa", "mainDish": "CHURRASCO"}],
+     *   "wines": [{"name": "Malbec Reserva", "profile": "TINTO_ENCORPADO"}]
+     * }
+     * 
+     * A resposta é escrita em streaming e identificada pelo hash do conteúdo (ETag).
+     * 
+     * @param request JSON com ocasião, intimidade, cardápio e carta
+     * @param ifNoneMatch ETag já conhecido pelo cliente
+     * @return Matriz em JSON, ou 304 se o cliente já tiver a resposta para o mesmo conteúdo
+     */
+    @PostMapping("/pairing-matrix")
+    public ResponseEntity<StreamingResponseBody> getPairingMatrix(
+            @Valid @RequestBody PairingMatrixRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Matriz de harmonização: {} pratos × {} vinhos", request.getMenu().size(), request.getWines().size());
+
+        PairingMatrixService.PreparedMatrix matrix = pairingMatrixService.prepare(request);
+        String etag = "\"" + matrix.getContentHash() + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .body(out -> pairingMatrixService.writeMatrix(matrix, out));
+    }
+
+    /**
+     * Recebe avaliações das recomendações (gostei, não gostei, comprou).
+     * 
+     * POST /api/recommendation/feedback
+     * 
+     * Body exemplo:
+     * {
+     *   "events": [
+     *     {"occasion": "CELEBRACAO", "intimacyLevel": "AMIGO", "mainDish": "CHURRASCO",
+     *      "profile": "TINTO_ENCORPADO", "rating": "UP"}
+     *   ]
+     * }
+     * 
+     * @param request Lote de avaliações
+     * @return 202 com a quantidade registrada; os ajustes entram na próxima publicação periódica
+     */
+    @PostMapping("/feedback")
+    public ResponseEntity<FeedbackResponse> recordFeedback(@Valid @RequestBody FeedbackRequest request) {
+        int accepted = feedbackService.record(request.getEvents());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new FeedbackResponse(accepted, recommendationService.getRulesVersion()));
+    }
+
+    /**
+     * O que mudaria a recomendação: quantos pontos cada perfil está atrás do vencedor e quais trocas
+     * de uma única escolha (prato, ocasião ou intimidade) mudam o vencedor ou a alternativa.
+     * 
+     * POST /api/recommendation/counterfactuals
+     * 
+     * @param request JSON com ocasião, intimidade e prato
+     * @return Margens por perfil e trocas que mudam a recomendação
+     */
+    @PostMapping("/counterfactuals")
+    public ResponseEntity<CounterfactualResponse> getCounterfactuals(@Valid @RequestBody RecommendationRequest request) {
+        return ResponseEntity.ok(counterfactualService.analyze(request));
+    }
+
+    /**
+     * Harmonização reversa: o que servir com um vinho que o cliente já tem.
+     * 
+     * POST /api/recommendation/reverse-pairing
+     * 
+     * Body exemplo:
+     * {
+     *   "profile": "TINTO_ENCORPADO",
+     *   "occasion": "CELEBRACAO"
+     * }
+     * 
+     * @param request Perfil e, opcionalmente, ocasião e intimidade fixas
+     * @return Pratos (e ocasiões, se a ocasião não foi fixada) ordenados pela força do perfil
+     */
+    @PostMapping("/reverse-pairing")
+    public ResponseEntity<ReversePairingResponse> getReversePairing(@Valid @RequestBody ReversePairingRequest request) {
+        return ResponseEntity.ok(reversePairingService.getPairings(request));
+    }
+
+    /**
+     * Recomendação a partir de texto livre (chat, voz).
+     * 
+     * POST /api/recommendation/interpret
+     * 
+     * Body exemplo:
+     * {
+     *   "text": "picanha com farofa num aniversário"
+     * }
+     * 
+     * @param request Texto livre
+     * @return Prato, ocasião e intimidade reconhecidos (com confiança) e a recomendação, se houver prato
+     */
+    @PostMapping("/interpret")
+    public ResponseEntity<TextInterpretationResponse> interpret(@Valid @RequestBody TextInterpretationRequest request) {
+        return ResponseEntity.ok(textInterpretationService.interpret(request.getText()));
+    }
+
+    /**
+     * Autocompletar tolerante a erros de digitação para pratos, ocasiões e intimidades.
+     * Completa prefixos de nomes, sinônimos e palavras das descrições e, se faltarem sugestões,
+     * corrige palavras com até 2 erros ("churasco" → Churrasco).
+     * 
+     * GET /api/recommendation/autocomplete?q=pica&dimension=mainDish&limit=5
+     * 
+     * @param q Texto digitado até agora
+     * @param dimension "mainDish", "occasion" ou "intimacyLevel" (opcional; padrão: todas)
+     * @param limit Máximo de sugestões, de 1 a 20 (padrão: 10)
+     * @return Sugestões ordenadas: prefixos primeiro, depois as correções por distância
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<AutocompleteResponse> autocomplete(
+            @RequestParam String q,
+            @RequestParam(required = false) String dimension,
+            @RequestParam(defaultValue = "" + AutocompleteService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(q, dimension, limit));
+    }
+
     /**
      * Endpoint de health check.
+     * Responde 503 enquanto o aquecimento da inicialização não terminar.
      * 
      * GET /api/recommendation/health
      */
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
+        if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("Wine Selector API está aquecendo, aguarde...");
+        }
         return ResponseEntity.ok("Wine Selector API está rodando! 🍷");
     }
-}
\ No newline at end of file
+
+    /**
+     * Codifica uma resposta calculada fora do cache no formato pedido (binário, compacto, campos ou JSON).
+     */
+    private ResponseEntity<?> encode(RecommendationRequest request, RecommendationResponse response,
+                                     Optional<BinaryFormat> binaryFormat, String view, Integer fieldMask) {
+        if (binaryFormat.isPresent()) {
+            return ResponseEntity.ok()
+                    .contentType(binaryFormat.get().getMediaType())
+                    .body(binaryRecommendationService.encode(response, binaryFormat.get()));
+        }
+        if (COMPACT_VIEW.equals(view)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(responseViewService.toCompact(request, response));
+        }
+        if (fieldMask != null) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(responseViewService.toFields(response, fieldMask));
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,108 @@
+package com.alvaro.wineselector.controller;
+
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.dto.RulesetOverrideRequest;
+import com.alvaro.wineselector.model.dto.RulesetResponse;
+import com.alvaro.wineselector.model.dto.ScoreExplanation;
+import com.alvaro.wineselector.service.TenantRulesetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para as regras por cliente e a recomendação com essas regras.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/tenants/{tenantId}")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*") // Temporário - ajustar para produção
+public class TenantController {
+
+    private final TenantRulesetService tenantRulesetService;
+
+    /**
+     * Recomendação com as regras do cliente.
+     * 
+     * POST /api/tenants/{tenantId}/recommendation
+     * 
+     * @param tenantId Identificador do cliente
+     * @param request JSON com ocasião, intimidade e prato
+     * @return Recomendação (regras base se o cliente não tiver sobrescritas)
+     */
+    @PostMapping("/recommendation")
+    public ResponseEntity<RecommendationResponse> getRecommendation(
+            @PathVariable String tenantId,
+            @Valid @RequestBody RecommendationRequest request) {
+        log.info("Recomendação para o cliente {}: {}", tenantId, request);
+
+        return ResponseEntity.ok(tenantRulesetService.getRecommendationService(tenantId).getRecommendation(request));
+    }
+
+    /**
+     * Explicação do cálculo com as regras do cliente.
+     * 
+     * POST /api/tenants/{tenantId}/explanation
+     */
+    @PostMapping("/explanation")
+    public ResponseEntity<ScoreExplanation> getExplanation(
+            @PathVariable String tenantId,
+            @Valid @RequestBody RecommendationRequest request) {
+        return ResponseEntity.ok(tenantRulesetService.getRecommendationService(tenantId).getExplanation(request));
+    }
+
+    /**
+     * Sugestão de serviço para o vinho recomendado com as regras do cliente.
+     * 
+     * POST /api/tenants/{tenantId}/serving
+     */
+    @PostMapping("/serving")
+    public ResponseEntity<String> getServingSuggestion(
+            @PathVariable String tenantId,
+            @Valid @RequestBody RecommendationRequest request) {
+        return ResponseEntity.ok(tenantRulesetService.getRecommendationService(tenantId).getServingSuggestion(request));
+    }
+
+    /**
+     * Consulta as sobrescritas do cliente.
+     * 
+     * GET /api/tenants/{tenantId}/rules
+     */
+    @GetMapping("/rules")
+    public ResponseEntity<RulesetResponse> getRules(@PathVariable String tenantId) {
+        return ResponseEntity.ok(tenantRulesetService.getOverrides(tenantId));
+    }
+
+    /**
+     * Define as sobrescritas do cliente (substitui as anteriores).
+     * 
+     * PUT /api/tenants/{tenantId}/rules
+     * 
+     * Body exemplo:
+     * {
+     *   "weights": {"dish": 0.6},
+     *   "scores": [{"dimension": "dish", "value": "CHURRASCO", "profile": "TINTO_MEDIO", "score": 50}]
+     * }
+     */
+    @PutMapping("/rules")
+    public ResponseEntity<RulesetResponse> setRules(
+            @PathVariable String tenantId,
+            @Valid @RequestBody RulesetOverrideRequest request) {
+        return ResponseEntity.ok(tenantRulesetService.setOverrides(tenantId, request));
+    }
+
+    /**
+     * Remove as sobrescritas do cliente (volta às regras base).
+     * 
+     * DELETE /api/tenants/{tenantId}/rules
+     */
+    @DeleteMapping("/rules")
+    public ResponseEntity<Void> removeRules(@PathVariable String tenantId) {
+        return tenantRulesetService.removeOverrides(tenantId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
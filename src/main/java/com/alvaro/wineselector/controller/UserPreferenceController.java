@@ -0,0 +1,63 @@
+package com.alvaro.wineselector.controller;
+
+import com.alvaro.wineselector.model.dto.UserPreferenceRequest;
+import com.alvaro.wineselector.model.dto.UserPreferenceResponse;
+import com.alvaro.wineselector.service.UserPreferenceService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para as preferências de usuários recorrentes.
+ * Usadas pelo POST /api/recommendation quando a requisição traz userId.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/users/{userId}/preferences")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*") // Temporário - ajustar para produção
+public class UserPreferenceController {
+
+    private final UserPreferenceService userPreferenceService;
+
+    /**
+     * Consulta as preferências do usuário.
+     * 
+     * GET /api/users/{userId}/preferences
+     */
+    @GetMapping
+    public ResponseEntity<UserPreferenceResponse> getPreferences(@PathVariable String userId) {
+        return ResponseEntity.ok(userPreferenceService.getPreferences(userId));
+    }
+
+    /**
+     * Define as preferências do usuário (substitui as anteriores).
+     * 
+     * PUT /api/users/{userId}/preferences
+     * 
+     * Body exemplo:
+     * {
+     *   "bias": {"ESPUMANTE": -20, "TINTO_ENCORPADO": 8}
+     * }
+     */
+    @PutMapping
+    public ResponseEntity<UserPreferenceResponse> setPreferences(
+            @PathVariable String userId,
+            @Valid @RequestBody UserPreferenceRequest request) {
+        return ResponseEntity.ok(userPreferenceService.setPreferences(userId, request.getBias()));
+    }
+
+    /**
+     * Remove as preferências do usuário.
+     * 
+     * DELETE /api/users/{userId}/preferences
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> removePreferences(@PathVariable String userId) {
+        return userPreferenceService.removePreferences(userId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -3,10 +3,13 @@ package com.alvaro.wineselector.exception;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -64,6 +67,78 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    /**
+     * Trata parâmetros de caminho ou de consulta com valor inválido (ex: perfil inexistente).
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleTypeMismatchException(
+            MethodArgumentTypeMismatchException ex) {
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("error", "Parâmetro inválido");
+        response.put("message", "Valor inválido para '" + ex.getName() + "': " + ex.getValue());
+
+        log.warn("Parâmetro inválido: {} = {}", ex.getName(), ex.getValue());
+
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    /**
+     * Trata parâmetros de consulta obrigatórios ausentes (ex: ?q= do autocompletar).
+     */
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<Map<String, Object>> handleMissingParameterException(
+            MissingServletRequestParameterException ex) {
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("error", "Parâmetro inválido");
+        response.put("message", "Parâmetro obrigatório ausente: '" + ex.getParameterName() + "'");
+
+        log.warn("Parâmetro obrigatório ausente: {}", ex.getParameterName());
+
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    /**
+     * Trata falta de estoque (reserva maior que o disponível ou nenhum perfil disponível).
+     */
+    @ExceptionHandler(OutOfStockException.class)
+    public ResponseEntity<Map<String, Object>> handleOutOfStockException(
+            OutOfStockException ex) {
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", "Estoque insuficiente");
+        response.put("message", ex.getMessage());
+
+        log.warn("Estoque insuficiente: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Trata corpos de requisição ilegíveis (JSON ou binário malformado).
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, Object>> handleNotReadableException(
+            HttpMessageNotReadableException ex) {
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("error", "Corpo da requisição inválido");
+        response.put("message", "Não foi possível ler o corpo da requisição.");
+
+        log.warn("Corpo da requisição inválido: {}", ex.getMessage());
+
+        return ResponseEntity.badRequest().body(response);
+    }
+
     /**
      * Trata exceções genéricas não capturadas.
      */
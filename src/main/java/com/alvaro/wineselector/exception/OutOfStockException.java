@@ -0,0 +1,11 @@
+package com.alvaro.wineselector.exception;
+
+/**
+ * Estoque insuficiente para atender a operação (respondido com 409).
+ */
+public class OutOfStockException extends RuntimeException {
+
+    public OutOfStockException(String message) {
+        super(message);
+    }
+}
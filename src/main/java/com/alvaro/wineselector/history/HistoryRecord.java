@@ -0,0 +1,38 @@
+package com.alvaro.wineselector.history;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registro de histórico: uma recomendação entregue a um usuário ou sessão.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class HistoryRecord {
+
+    /**
+     * Número de sequência global (crescente na ordem de gravação); usado como cursor de paginação.
+     */
+    private final long sequence;
+
+    /**
+     * Instante da recomendação em milissegundos desde a época.
+     */
+    private final long timestamp;
+
+    /**
+     * Índice da combinação prato × ocasião × intimidade (CombinationIndex).
+     */
+    private final int combination;
+
+    private final int profile;
+
+    /**
+     * Ordinal do perfil alternativo, ou -1 se não houve alternativa.
+     */
+    private final int alternativeProfile;
+
+    private final int score;
+
+    private final int alternativeScore;
+}
@@ -0,0 +1,234 @@
+package com.alvaro.wineselector.history;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Arquivo de segmento do histórico, mapeado em memória, com registros de 32 bytes.
+ *
+ * Um segmento cobre a faixa de sequências [firstSequence, firstSequence + capacity). Enquanto
+ * ativo, o arquivo tem espaço para a faixa inteira e a sequência s fica na posição
+ * s − firstSequence; posições reservadas e ainda não gravadas têm sequência 0. Depois de
+ * compactado, o arquivo guarda apenas os registros vivos, em ordem de sequência, e a busca
+ * é binária.
+ *
+ * Layout do registro: sequência (8), instante (8), chave do usuário (8), combinação (2),
+ * perfil (1), alternativa (1, -1 = nenhuma), pontuação (2), pontuação da alternativa (2).
+ * Chave do usuário 0 marca um registro apagado.
+ *
+ * Leituras e gravações usam apenas acessos absolutos ao buffer, então threads diferentes podem
+ * gravar posições diferentes e ler ao mesmo tempo sem bloqueio.
+ */
+final class HistorySegment {
+
+    static final int RECORD_BYTES = 32;
+
+    private static final int TIMESTAMP = 8;
+    private static final int USER_KEY = 16;
+    private static final int COMBINATION = 24;
+    private static final int PROFILE = 26;
+    private static final int ALTERNATIVE = 27;
+    private static final int SCORE = 28;
+    private static final int ALTERNATIVE_SCORE = 30;
+
+    private final Path file;
+    private final long firstSequence;
+    private final int capacity;
+    private final boolean compacted;
+    private final int recordCount;
+    private final MappedByteBuffer buffer;
+    private volatile long maxTimestamp;
+
+    private HistorySegment(Path file, long firstSequence, int capacity, boolean compacted, int recordCount,
+                           MappedByteBuffer buffer) {
+        this.file = file;
+        this.firstSequence = firstSequence;
+        this.capacity = capacity;
+        this.compacted = compacted;
+        this.recordCount = recordCount;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Cria (ou reabre) um segmento ativo com espaço para a faixa inteira.
+     */
+    static HistorySegment openActive(Path file, long firstSequence, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_BYTES);
+            return new HistorySegment(file, firstSequence, capacity, false, capacity, buffer);
+        }
+    }
+
+    /**
+     * Reabre um segmento compactado (o arquivo tem exatamente os registros vivos).
+     */
+    static HistorySegment openCompacted(Path file, long firstSequence, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int count = (int) (channel.size() / RECORD_BYTES);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) count * RECORD_BYTES);
+            return new HistorySegment(file, firstSequence, capacity, true, count, buffer);
+        }
+    }
+
+    void write(long sequence, long timestamp, long userKey, int combination, int profile, int alternative,
+               int score, int alternativeScore) {
+        int offset = (int) (sequence - firstSequence) * RECORD_BYTES;
+        buffer.putLong(offset + TIMESTAMP, timestamp);
+        buffer.putLong(offset + USER_KEY, userKey);
+        buffer.putShort(offset + COMBINATION, (short) combination);
+        buffer.put(offset + PROFILE, (byte) profile);
+        buffer.put(offset + ALTERNATIVE, (byte) alternative);
+        buffer.putShort(offset + SCORE, (short) score);
+        buffer.putShort(offset + ALTERNATIVE_SCORE, (short) alternativeScore);
+        // A sequência por último: uma posição com sequência gravada está completa
+        buffer.putLong(offset, sequence);
+        updateMaxTimestamp(timestamp);
+    }
+
+    /**
+     * Registro da sequência, se existir, pertencer ao usuário e não for anterior a {@code minTimestamp}.
+     */
+    HistoryRecord read(long sequence, long userKey, long minTimestamp) {
+        int slot = slotOf(sequence);
+        if (slot < 0) {
+            return null;
+        }
+        int offset = slot * RECORD_BYTES;
+        if (buffer.getLong(offset + USER_KEY) != userKey || buffer.getLong(offset + TIMESTAMP) < minTimestamp) {
+            return null;
+        }
+        return toRecord(offset);
+    }
+
+    /**
+     * Apaga o registro da sequência se ele pertencer ao usuário.
+     */
+    boolean delete(long sequence, long userKey) {
+        int slot = slotOf(sequence);
+        if (slot < 0 || buffer.getLong(slot * RECORD_BYTES + USER_KEY) != userKey) {
+            return false;
+        }
+        buffer.putLong(slot * RECORD_BYTES + USER_KEY, 0);
+        return true;
+    }
+
+    /**
+     * Percorre os registros gravados, não apagados e não anteriores a {@code minTimestamp}.
+     */
+    void forEachLive(long minTimestamp, LiveRecordConsumer consumer) {
+        for (int slot = 0; slot < recordCount; slot++) {
+            int offset = slot * RECORD_BYTES;
+            long sequence = buffer.getLong(offset);
+            long userKey = buffer.getLong(offset + USER_KEY);
+            long timestamp = buffer.getLong(offset + TIMESTAMP);
+            if (sequence != 0 && userKey != 0 && timestamp >= minTimestamp) {
+                consumer.accept(sequence, userKey, timestamp, slot);
+            }
+        }
+    }
+
+    /**
+     * Maior sequência gravada no segmento (apagada ou expirada também conta), ou firstSequence − 1.
+     */
+    long getLastWrittenSequence() {
+        for (int slot = recordCount - 1; slot >= 0; slot--) {
+            long sequence = buffer.getLong(slot * RECORD_BYTES);
+            if (sequence != 0) {
+                return sequence;
+            }
+        }
+        return firstSequence - 1;
+    }
+
+    /**
+     * Copia o registro da posição para o buffer de destino (compactação).
+     */
+    void copyRecord(int slot, MappedByteBuffer target, int targetSlot) {
+        for (int i = 0; i < RECORD_BYTES; i += Long.BYTES) {
+            target.putLong(targetSlot * RECORD_BYTES + i, buffer.getLong(slot * RECORD_BYTES + i));
+        }
+    }
+
+    /**
+     * Posição da sequência no arquivo, ou -1 se ela não estiver gravada.
+     */
+    private int slotOf(long sequence) {
+        if (!compacted) {
+            long slot = sequence - firstSequence;
+            if (slot < 0 || slot >= capacity || buffer.getLong((int) slot * RECORD_BYTES) != sequence) {
+                return -1;
+            }
+            return (int) slot;
+        }
+
+        int low = 0;
+        int high = recordCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long value = buffer.getLong(middle * RECORD_BYTES);
+            if (value < sequence) {
+                low = middle + 1;
+            } else if (value > sequence) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private HistoryRecord toRecord(int offset) {
+        return new HistoryRecord(
+                buffer.getLong(offset),
+                buffer.getLong(offset + TIMESTAMP),
+                buffer.getShort(offset + COMBINATION),
+                buffer.get(offset + PROFILE),
+                buffer.get(offset + ALTERNATIVE),
+                buffer.getShort(offset + SCORE),
+                buffer.getShort(offset + ALTERNATIVE_SCORE));
+    }
+
+    void updateMaxTimestamp(long timestamp) {
+        // Corrida benigna: o máximo só é usado para decidir a retenção de segmentos selados
+        if (timestamp > maxTimestamp) {
+            maxTimestamp = timestamp;
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    long getFirstSequence() {
+        return firstSequence;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    boolean isCompacted() {
+        return compacted;
+    }
+
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    @FunctionalInterface
+    interface LiveRecordConsumer {
+        void accept(long sequence, long userKey, long timestamp, int slot);
+    }
+}
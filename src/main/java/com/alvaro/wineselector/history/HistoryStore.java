@@ -0,0 +1,489 @@
+package com.alvaro.wineselector.history;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+
+/**
+ * Histórico de recomendações por usuário em segmentos só de acréscimo, mapeados em memória.
+ *
+ * Cada gravação recebe uma sequência global (AtomicLong) que determina o segmento e a posição
+ * do registro, então gravações concorrentes não disputam nenhum lock (exceto na criação de um
+ * segmento novo). O índice por usuário é uma lista ordenada das sequências dele; consultas leem
+ * o índice e os segmentos sem bloqueio, do mais recente para o mais antigo.
+ *
+ * A manutenção periódica:
+ * 1. descarta segmentos selados cujo registro mais novo é anterior à retenção
+ * 2. compacta segmentos selados com menos da metade dos registros vivos (apagados ou expirados)
+ * 3. remove do índice as sequências que deixaram de existir
+ *
+ * Um segmento é considerado selado quando já houve, depois dele, gravações suficientes para
+ * preencher um segmento inteiro, então nenhuma gravação em andamento ainda o usa.
+ *
+ * O usuário é identificado pelos primeiros 8 bytes do SHA-256 do id. Os dados vão para o page cache
+ * a cada gravação e para o disco na manutenção e no fechamento; uma queda do sistema operacional
+ * pode perder as gravações desde a última manutenção, e na reabertura a sequência continua depois
+ * do último registro gravado, no mesmo segmento.
+ */
+@Slf4j
+public class HistoryStore implements AutoCloseable {
+
+    private static final String PREFIX = "history-";
+    private static final String ACTIVE_SUFFIX = ".seg";
+    private static final String COMPACTED_SUFFIX = ".cseg";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    // Limite de 2 GB de um MappedByteBuffer
+    private static final int MAX_SEGMENT_RECORDS = Integer.MAX_VALUE / HistorySegment.RECORD_BYTES;
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final long retentionMillis;
+    private final LongSupplier clock;
+
+    private final ConcurrentSkipListMap<Long, HistorySegment> segments = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, UserIndex> users = new ConcurrentHashMap<>();
+    private final AtomicLong lastSequence = new AtomicLong();
+    private final Object rolloverLock = new Object();
+
+    // Serializa compactação, descarte e exclusões (nunca usado por gravações ou consultas)
+    private final Object maintenanceLock = new Object();
+
+    /**
+     * Abre (ou cria) o histórico no diretório e reconstrói o índice a partir dos segmentos.
+     *
+     * @param segmentRecords Registros por segmento novo
+     * @param retentionMillis Idade máxima de um registro, em milissegundos
+     * @param clock Relógio em milissegundos desde a época
+     * @throws UncheckedIOException se o diretório ou os segmentos não puderem ser abertos
+     */
+    public HistoryStore(Path directory, int segmentRecords, long retentionMillis, LongSupplier clock) {
+        if (segmentRecords < 1 || segmentRecords > MAX_SEGMENT_RECORDS) {
+            throw new IllegalStateException("wineselector.history.segment-records deve estar entre 1 e "
+                    + MAX_SEGMENT_RECORDS);
+        }
+        if (retentionMillis <= 0) {
+            throw new IllegalStateException("wineselector.history.retention deve ser positiva");
+        }
+
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.retentionMillis = retentionMillis;
+        this.clock = clock;
+
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o histórico em " + directory, e);
+        }
+    }
+
+    /**
+     * Grava um registro no histórico do usuário.
+     *
+     * @param alternative Ordinal do perfil alternativo, ou -1
+     * @return Sequência do registro
+     */
+    public long append(String userId, int combination, int profile, int alternative, int score,
+                       int alternativeScore) {
+        long userKey = keyOf(userId);
+        long sequence = lastSequence.incrementAndGet();
+        segmentFor(sequence).write(sequence, clock.getAsLong(), userKey, combination, profile, alternative,
+                clampToShort(score), clampToShort(alternativeScore));
+
+        // O índice só recebe a sequência depois que o registro está completo no segmento
+        while (!users.computeIfAbsent(userKey, key -> new UserIndex()).add(sequence)) {
+            // Índice removido pela manutenção entre o get e o add: tenta com um novo
+        }
+        return sequence;
+    }
+
+    /**
+     * Registros do usuário do mais recente para o mais antigo.
+     *
+     * @param before Só sequências menores que esta (cursor da página anterior), ou null
+     * @param limit Máximo de registros
+     */
+    public List<HistoryRecord> find(String userId, Long before, int limit) {
+        long userKey = keyOf(userId);
+        UserIndex index = users.get(userKey);
+        if (index == null || limit <= 0) {
+            return List.of();
+        }
+
+        int size = index.size;
+        long[] sequences = index.sequences;
+        int position = before == null ? size : lowerBound(sequences, size, before);
+        long minTimestamp = cutoff();
+
+        List<HistoryRecord> records = new ArrayList<>(Math.min(limit, position));
+        while (--position >= 0 && records.size() < limit) {
+            long sequence = sequences[position];
+            Map.Entry<Long, HistorySegment> segment = segments.floorEntry(sequence);
+            HistoryRecord record = segment != null ? segment.getValue().read(sequence, userKey, minTimestamp) : null;
+            if (record == null) {
+                // Registros mais antigos que a retenção: os anteriores também são
+                if (segment != null && isExpired(segment.getValue(), sequence, userKey)) {
+                    break;
+                }
+                continue;
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Apaga todo o histórico do usuário.
+     *
+     * @return Quantidade de registros apagados
+     */
+    public int delete(String userId) {
+        long userKey = keyOf(userId);
+        int deleted = 0;
+
+        synchronized (maintenanceLock) {
+            UserIndex index = users.remove(userKey);
+            if (index == null) {
+                return 0;
+            }
+            long[] sequences = index.remove();
+            for (long sequence : sequences) {
+                Map.Entry<Long, HistorySegment> segment = segments.floorEntry(sequence);
+                if (segment != null && segment.getValue().delete(sequence, userKey)) {
+                    deleted++;
+                }
+            }
+        }
+
+        log.debug("Histórico apagado: {} registros", deleted);
+        return deleted;
+    }
+
+    /**
+     * Descarta segmentos expirados, compacta os esparsos, limpa o índice e grava os segmentos no disco.
+     */
+    public void maintain() {
+        long minTimestamp = cutoff();
+        int dropped = 0;
+        int compacted = 0;
+
+        synchronized (maintenanceLock) {
+            for (HistorySegment segment : List.copyOf(segments.values())) {
+                if (!isSealed(segment)) {
+                    segment.force();
+                    continue;
+                }
+
+                int[] live = new int[1];
+                segment.forEachLive(minTimestamp, (sequence, userKey, timestamp, slot) -> live[0]++);
+
+                try {
+                    if (live[0] == 0) {
+                        segments.remove(segment.getFirstSequence());
+                        Files.deleteIfExists(segment.getFile());
+                        dropped++;
+                    } else if (live[0] * 2L < segment.getRecordCount()) {
+                        segments.put(segment.getFirstSequence(), compact(segment, live[0], minTimestamp));
+                        compacted++;
+                    }
+                } catch (IOException e) {
+                    log.warn("Falha na manutenção do segmento {}: {}", segment.getFile(), e.getMessage());
+                }
+            }
+        }
+
+        int removed = prune(minTimestamp);
+        if (dropped > 0 || compacted > 0 || removed > 0) {
+            log.info("Manutenção do histórico: {} segmentos descartados, {} compactados, {} entradas removidas do índice",
+                    dropped, compacted, removed);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (HistorySegment segment : segments.values()) {
+            segment.force();
+        }
+    }
+
+    int getSegmentCount() {
+        return segments.size();
+    }
+
+    int getIndexedCount(String userId) {
+        UserIndex index = users.get(keyOf(userId));
+        return index == null ? 0 : index.size;
+    }
+
+    private HistorySegment segmentFor(long sequence) {
+        Map.Entry<Long, HistorySegment> entry = segments.floorEntry(sequence);
+        if (entry != null && sequence < entry.getKey() + entry.getValue().getCapacity()) {
+            return entry.getValue();
+        }
+
+        synchronized (rolloverLock) {
+            while (true) {
+                Map.Entry<Long, HistorySegment> last = segments.lastEntry();
+                long first = last == null ? 1 : last.getKey() + last.getValue().getCapacity();
+                if (last != null && sequence < first) {
+                    return segments.floorEntry(sequence).getValue();
+                }
+                try {
+                    HistorySegment segment = HistorySegment.openActive(fileOf(first, ACTIVE_SUFFIX), first,
+                            segmentRecords);
+                    segments.put(first, segment);
+                    log.debug("Segmento de histórico criado a partir da sequência {}", first);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Falha ao criar segmento de histórico", e);
+                }
+            }
+        }
+    }
+
+    private boolean isSealed(HistorySegment segment) {
+        long end = segment.getFirstSequence() + segment.getCapacity();
+        return end + segmentRecords <= lastSequence.get() + 1;
+    }
+
+    /**
+     * Se o registro existe e é do usuário (chamado quando a leitura com a retenção falhou).
+     */
+    private boolean isExpired(HistorySegment segment, long sequence, long userKey) {
+        return segment.read(sequence, userKey, Long.MIN_VALUE) != null;
+    }
+
+    private HistorySegment compact(HistorySegment segment, int live, long minTimestamp) throws IOException {
+        Path temporary = fileOf(segment.getFirstSequence(), TEMPORARY_SUFFIX);
+        Path target = fileOf(segment.getFirstSequence(), COMPACTED_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    (long) live * HistorySegment.RECORD_BYTES);
+            int[] next = new int[1];
+            segment.forEachLive(minTimestamp, (sequence, userKey, timestamp, slot) ->
+                    segment.copyRecord(slot, buffer, next[0]++));
+            buffer.force();
+        }
+
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        if (!segment.getFile().equals(target)) {
+            Files.deleteIfExists(segment.getFile());
+        }
+
+        HistorySegment compacted = HistorySegment.openCompacted(target, segment.getFirstSequence(),
+                segment.getCapacity());
+        compacted.updateMaxTimestamp(segment.getMaxTimestamp());
+        return compacted;
+    }
+
+    /**
+     * Remove do índice as sequências sem registro vivo.
+     */
+    private int prune(long minTimestamp) {
+        int removed = 0;
+        for (Map.Entry<Long, UserIndex> entry : users.entrySet()) {
+            long userKey = entry.getKey();
+            UserIndex index = entry.getValue();
+            removed += index.retain(sequence -> {
+                Map.Entry<Long, HistorySegment> segment = segments.floorEntry(sequence);
+                return segment != null && segment.getValue().read(sequence, userKey, minTimestamp) != null;
+            });
+            if (index.removeIfEmpty()) {
+                users.remove(userKey, index);
+            }
+        }
+        return removed;
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*")) {
+            stream.forEach(files::add);
+        }
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(TEMPORARY_SUFFIX)) {
+                // Compactação interrompida: o segmento original continua válido
+                Files.deleteIfExists(file);
+                continue;
+            }
+            boolean compactedFile = name.endsWith(COMPACTED_SUFFIX);
+            if (!compactedFile && !name.endsWith(ACTIVE_SUFFIX)) {
+                continue;
+            }
+
+            long first = Long.parseLong(name.substring(PREFIX.length(), name.lastIndexOf('.')));
+            if (compactedFile) {
+                // Queda entre a renomeação e a exclusão do original
+                Files.deleteIfExists(fileOf(first, ACTIVE_SUFFIX));
+            } else if (Files.exists(fileOf(first, COMPACTED_SUFFIX))) {
+                continue;
+            }
+
+            HistorySegment segment;
+            if (compactedFile) {
+                // A capacidade original não fica no arquivo; vale a configurada, que só afeta a selagem
+                segment = HistorySegment.openCompacted(file, first, segmentRecords);
+            } else {
+                segment = HistorySegment.openActive(file, first,
+                        (int) (Files.size(file) / HistorySegment.RECORD_BYTES));
+            }
+            segments.put(first, segment);
+        }
+
+        long minTimestamp = cutoff();
+        int records = 0;
+        for (HistorySegment segment : segments.values()) {
+            int[] count = new int[1];
+            segment.forEachLive(minTimestamp, (sequence, userKey, timestamp, slot) -> {
+                users.computeIfAbsent(userKey, key -> new UserIndex()).add(sequence);
+                segment.updateMaxTimestamp(timestamp);
+                count[0]++;
+            });
+            records += count[0];
+        }
+
+        // Gravações novas continuam depois do último registro gravado, sem abrir um segmento a cada
+        // reinício; um segmento compactado não recebe gravações, então elas vão para o próximo
+        Map.Entry<Long, HistorySegment> last = segments.lastEntry();
+        if (last != null) {
+            HistorySegment segment = last.getValue();
+            lastSequence.set(segment.isCompacted()
+                    ? last.getKey() + segment.getCapacity() - 1
+                    : segment.getLastWrittenSequence());
+            log.info("Histórico recuperado: {} segmentos, {} registros, {} usuários", segments.size(), records,
+                    users.size());
+        }
+    }
+
+    private long cutoff() {
+        return clock.getAsLong() - retentionMillis;
+    }
+
+    private Path fileOf(long firstSequence, String suffix) {
+        return directory.resolve(PREFIX + String.format("%019d", firstSequence) + suffix);
+    }
+
+    private static int lowerBound(long[] sequences, int size, long value) {
+        int position = Arrays.binarySearch(sequences, 0, size, value);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private static int clampToShort(int value) {
+        return Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+    }
+
+    /**
+     * Chave de 64 bits do usuário; 0 é reservado para registros apagados.
+     */
+    static long keyOf(String userId) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(userId.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+        long key = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            key = (key << 8) | (digest[i] & 0xFF);
+        }
+        return key == 0 ? 1 : key;
+    }
+
+    /**
+     * Sequências de um usuário em ordem crescente.
+     *
+     * Gravações são serializadas pelo monitor do índice; leitores não bloqueiam: leem o tamanho
+     * (volátil) e depois o array, e as primeiras posições até o tamanho lido estão sempre ordenadas.
+     * Acréscimos no fim escrevem a posição antes de publicar o tamanho; inserções fora de ordem e
+     * remoções publicam um array novo.
+     */
+    private static final class UserIndex {
+
+        private volatile long[] sequences = new long[4];
+        private volatile int size;
+        private boolean removed;
+
+        synchronized boolean add(long sequence) {
+            if (removed) {
+                return false;
+            }
+            long[] current = sequences;
+            int count = size;
+
+            if (count == 0 || current[count - 1] < sequence) {
+                if (count == current.length) {
+                    current = Arrays.copyOf(current, count * 2);
+                    sequences = current;
+                }
+                current[count] = sequence;
+                size = count + 1;
+                return true;
+            }
+
+            // Gravação concorrente de outra thread terminou antes: insere em ordem em uma cópia
+            int position = lowerBound(current, count, sequence);
+            long[] copy = new long[Math.max(current.length, count + 1)];
+            System.arraycopy(current, 0, copy, 0, position);
+            copy[position] = sequence;
+            System.arraycopy(current, position, copy, position + 1, count - position);
+            sequences = copy;
+            size = count + 1;
+            return true;
+        }
+
+        synchronized int retain(LongPredicate live) {
+            long[] current = sequences;
+            int count = size;
+            long[] kept = new long[Math.max(4, count)];
+            int keptCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (live.test(current[i])) {
+                    kept[keptCount++] = current[i];
+                }
+            }
+            if (keptCount < count) {
+                // Tamanho antes do array: um leitor nunca vê posições além das válidas
+                size = keptCount;
+                sequences = kept;
+            }
+            return count - keptCount;
+        }
+
+        synchronized boolean removeIfEmpty() {
+            if (size == 0) {
+                removed = true;
+            }
+            return removed;
+        }
+
+        synchronized long[] remove() {
+            removed = true;
+            return Arrays.copyOf(sequences, size);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.alvaro.wineselector.model;
+
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+
+/**
+ * Índice denso das combinações prato × ocasião × intimidade.
+ *
+ * Cada combinação é mapeada para um inteiro em [0, SIZE), permitindo que tabelas
+ * e caches por combinação sejam simples arrays em vez de mapas.
+ *
+ * Layout: index = (prato × |ocasiões| + ocasião) × |intimidades| + intimidade
+ */
+public final class CombinationIndex {
+
+    private static final MainDish[] DISHES = MainDish.values();
+    private static final Occasion[] OCCASIONS = Occasion.values();
+    private static final IntimacyLevel[] INTIMACY_LEVELS = IntimacyLevel.values();
+
+    /**
+     * Quantidade total de combinações (12 pratos × 10 ocasiões × 10 intimidades = 1.200).
+     */
+    public static final int SIZE = DISHES.length * OCCASIONS.length * INTIMACY_LEVELS.length;
+
+    private CombinationIndex() {
+    }
+
+    /**
+     * Calcula o índice de uma combinação.
+     *
+     * @param dish Prato principal
+     * @param occasion Ocasião
+     * @param intimacyLevel Nível de intimidade
+     * @return Índice em [0, SIZE)
+     */
+    public static int of(MainDish dish, Occasion occasion, IntimacyLevel intimacyLevel) {
+        return (dish.ordinal() * OCCASIONS.length + occasion.ordinal()) * INTIMACY_LEVELS.length
+                + intimacyLevel.ordinal();
+    }
+
+    /**
+     * Calcula o índice da combinação de uma requisição.
+     *
+     * @param request Requisição com as três dimensões preenchidas
+     * @return Índice em [0, SIZE)
+     */
+    public static int of(RecommendationRequest request) {
+        return of(request.getMainDish(), request.getOccasion(), request.getIntimacyLevel());
+    }
+
+    public static MainDish dishOf(int index) {
+        return DISHES[index / (OCCASIONS.length * INTIMACY_LEVELS.length)];
+    }
+
+    public static Occasion occasionOf(int index) {
+        return OCCASIONS[(index / INTIMACY_LEVELS.length) % OCCASIONS.length];
+    }
+
+    public static IntimacyLevel intimacyOf(int index) {
+        return INTIMACY_LEVELS[index % INTIMACY_LEVELS.length];
+    }
+
+    /**
+     * Reconstrói a requisição correspondente a um índice.
+     *
+     * @param index Índice da combinação
+     * @return Nova requisição com as três dimensões
+     */
+    public static RecommendationRequest toRequest(int index) {
+        return new RecommendationRequest(occasionOf(index), intimacyOf(index), dishOf(index));
+    }
+}
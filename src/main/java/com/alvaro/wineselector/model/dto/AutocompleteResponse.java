@@ -0,0 +1,52 @@
+package com.alvaro.wineselector.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de resposta do autocompletar: sugestões ordenadas, completando prefixos primeiro e corrigindo erros depois.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteResponse {
+
+    private String query;
+
+    private List<Suggestion> suggestions;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Suggestion {
+
+        /**
+         * Campo da requisição de recomendação: "mainDish", "occasion" ou "intimacyLevel".
+         */
+        private String dimension;
+
+        /**
+         * Nome do valor no enum (ex: "CHURRASCO").
+         */
+        private String value;
+
+        private String displayName;
+
+        /**
+         * Termo que casou com o texto (nome, sinônimo ou palavra da descrição, sem acentos).
+         */
+        private String matchedTerm;
+
+        /**
+         * 0 quando o texto é prefixo do termo; senão, a menor distância de edição entre uma palavra digitada
+         * e uma palavra do termo.
+         */
+        private int distance;
+    }
+}
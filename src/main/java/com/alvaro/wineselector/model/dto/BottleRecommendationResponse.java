@@ -0,0 +1,58 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO de resposta com as garrafas do catálogo para o perfil recomendado (e o alternativo, se houver),
+ * ou com as garrafas de paladar mais próximo do vetor alvo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BottleRecommendationResponse {
+
+    private WineProfile recommendedProfile;
+
+    private WineProfile alternativeProfile;
+
+    /**
+     * Vetor de paladar alvo (apenas na busca por vizinhos).
+     */
+    private TasteVector targetTaste;
+
+    /**
+     * Total de garrafas no catálogo carregado.
+     */
+    private Integer catalogSize;
+
+    /**
+     * Garrafas encontradas: primeiro as do perfil recomendado, depois as do alternativo,
+     * cada grupo em ordem crescente de preço; na busca por vizinhos, da mais próxima para a mais distante.
+     */
+    private List<Bottle> bottles;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Bottle {
+        private String sku;
+        private String producer;
+        private String grape;
+        private String country;
+        private BigDecimal price;
+        private WineProfile profile;
+        private TasteVector taste;
+        private Double distance;
+    }
+}
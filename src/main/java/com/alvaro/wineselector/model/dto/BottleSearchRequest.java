@@ -0,0 +1,68 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de requisição para buscar garrafas do catálogo que atendem a recomendação.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BottleSearchRequest {
+
+    public static final int MAX_LIMIT = 100;
+
+    @NotNull(message = "A ocasião é obrigatória")
+    private Occasion occasion;
+
+    @NotNull(message = "O nível de intimidade é obrigatório")
+    private IntimacyLevel intimacyLevel;
+
+    @NotNull(message = "O prato principal é obrigatório")
+    private MainDish mainDish;
+
+    /**
+     * Quantidade máxima de garrafas (opcional, padrão 10).
+     */
+    @Min(value = 1, message = "O limite deve ser ao menos 1")
+    @Max(value = MAX_LIMIT, message = "O limite máximo é " + MAX_LIMIT)
+    private Integer limit;
+
+    @PositiveOrZero(message = "O preço mínimo não pode ser negativo")
+    private BigDecimal minPrice;
+
+    @PositiveOrZero(message = "O preço máximo não pode ser negativo")
+    private BigDecimal maxPrice;
+
+    /**
+     * País (opcional, sem diferenciar maiúsculas). Exemplo: "Portugal"
+     */
+    private String country;
+
+    /**
+     * Uva (opcional, sem diferenciar maiúsculas). Exemplo: "Touriga Nacional"
+     */
+    private String grape;
+
+    /**
+     * Completar com garrafas do perfil alternativo quando houver (opcional, padrão true).
+     */
+    private Boolean includeAlternative;
+
+    public RecommendationRequest toRecommendationRequest() {
+        return new RecommendationRequest(occasion, intimacyLevel, mainDish);
+    }
+}
@@ -0,0 +1,38 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Garrafa candidata à compra para um evento.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateBottle {
+
+    /**
+     * Identificador da garrafa (opcional). Exemplo: "MALBEC-RES-750"
+     */
+    private String sku;
+
+    @NotNull(message = "O preço é obrigatório")
+    @Positive(message = "O preço deve ser positivo")
+    private BigDecimal price;
+
+    @NotNull(message = "O perfil é obrigatório")
+    private WineProfile profile;
+
+    /**
+     * Unidades disponíveis (opcional; sem limite se ausente).
+     */
+    @PositiveOrZero(message = "A disponibilidade não pode ser negativa")
+    private Integer available;
+}
@@ -0,0 +1,46 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resposta compacta da recomendação: apenas identificadores e pontuações.
+ * Os textos (nome, descrição, justificativa) são obtidos uma única vez pelo dicionário.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactRecommendationResponse {
+
+    /**
+     * Perfil recomendado (valor do enum).
+     */
+    private WineProfile profile;
+
+    /**
+     * Pontuação do perfil recomendado.
+     */
+    private Integer score;
+
+    /**
+     * Perfil alternativo, quando houver.
+     */
+    private WineProfile alternativeProfile;
+
+    /**
+     * Pontuação do perfil alternativo, quando houver.
+     */
+    private Integer alternativeScore;
+
+    /**
+     * Chave da justificativa no dicionário (índice em "justifications"). Depende só da combinação
+     * e do perfil recomendado, então o dicionário em cache continua válido quando o vencedor muda.
+     */
+    private Integer justificationKey;
+}
@@ -0,0 +1,74 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de resposta com o que mudaria a recomendação: distância de cada perfil ao vencedor e
+ * as trocas de uma única escolha (prato, ocasião ou intimidade) que mudam o vencedor ou a alternativa.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CounterfactualResponse {
+
+    private WineProfile recommendedProfile;
+
+    private WineProfile alternativeProfile;
+
+    /**
+     * Todos os perfis, do vencedor ao último colocado.
+     */
+    private List<ProfileMargin> margins;
+
+    /**
+     * Trocas que mudam o vencedor primeiro, depois as que só mudam a alternativa.
+     */
+    private List<Change> changes;
+
+    /**
+     * Pontuação de um perfil e quantos pontos faltam para ele vencer.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProfileMargin {
+        private WineProfile profile;
+        private Integer score;
+        private Integer margin;
+    }
+
+    /**
+     * Troca de uma escolha e a recomendação que ela produz.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Change {
+
+        /**
+         * Campo trocado: "mainDish", "occasion" ou "intimacyLevel".
+         */
+        private String dimension;
+
+        /**
+         * Novo valor do campo (nome do enum).
+         */
+        private String value;
+
+        private WineProfile recommendedProfile;
+        private Integer score;
+        private WineProfile alternativeProfile;
+        private boolean recommendationChanged;
+        private boolean alternativeChanged;
+    }
+}
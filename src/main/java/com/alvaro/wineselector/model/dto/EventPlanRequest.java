@@ -0,0 +1,65 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO de requisição para planejar a compra de garrafas de um evento dentro de um orçamento.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPlanRequest {
+
+    public static final int MAX_HEADCOUNT = 5_000;
+    public static final int MAX_BOTTLES = MAX_HEADCOUNT;
+    public static final int MAX_DISHES = 20;
+    public static final int MAX_CANDIDATES = 5_000;
+
+    @NotNull(message = "A quantidade de convidados é obrigatória")
+    @Positive(message = "A quantidade de convidados deve ser positiva")
+    @Max(value = MAX_HEADCOUNT, message = "Máximo de " + MAX_HEADCOUNT + " convidados")
+    private Integer headcount;
+
+    @NotNull(message = "A ocasião é obrigatória")
+    private Occasion occasion;
+
+    @NotNull(message = "O nível de intimidade é obrigatório")
+    private IntimacyLevel intimacyLevel;
+
+    /**
+     * Pratos servidos no evento; a pontuação de cada perfil é a média entre eles.
+     */
+    @NotEmpty(message = "Informe ao menos um prato")
+    @Size(max = MAX_DISHES, message = "Máximo de " + MAX_DISHES + " pratos")
+    private List<@NotNull MainDish> dishes;
+
+    @NotNull(message = "O orçamento é obrigatório")
+    @Positive(message = "O orçamento deve ser positivo")
+    private BigDecimal budget;
+
+    /**
+     * Limite de garrafas (opcional; padrão: convidados / wineselector.event.guests-per-bottle, arredondado para cima;
+     * nunca mais que MAX_BOTTLES).
+     */
+    @Positive(message = "O limite de garrafas deve ser positivo")
+    @Max(value = MAX_BOTTLES, message = "Máximo de " + MAX_BOTTLES + " garrafas")
+    private Integer maxBottles;
+
+    @NotEmpty(message = "Informe ao menos uma garrafa candidata")
+    @Size(max = MAX_CANDIDATES, message = "Máximo de " + MAX_CANDIDATES + " garrafas candidatas")
+    private List<@Valid @NotNull CandidateBottle> candidates;
+}
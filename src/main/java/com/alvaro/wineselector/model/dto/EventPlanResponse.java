@@ -0,0 +1,69 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO de resposta com o plano de compra de garrafas para um evento.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventPlanResponse {
+
+    /**
+     * Limite de garrafas considerado.
+     */
+    private Integer maxBottles;
+
+    private Integer bottleCount;
+
+    private BigDecimal totalCost;
+
+    private BigDecimal remainingBudget;
+
+    /**
+     * Soma das pontuações das garrafas compradas.
+     */
+    private Double totalScore;
+
+    /**
+     * Limite superior para a soma de pontuações de qualquer plano viável (relaxação lagrangiana).
+     */
+    private Double upperBound;
+
+    /**
+     * true se totalScore atinge o limite superior, ou seja, o plano é comprovadamente ótimo.
+     */
+    private Boolean optimal;
+
+    /**
+     * Garrafas a comprar, agrupadas por candidata, em ordem decrescente de pontuação do perfil.
+     */
+    private List<PlanItem> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class PlanItem {
+        private String sku;
+        private WineProfile profile;
+        private BigDecimal price;
+        private Integer quantity;
+        private BigDecimal subtotal;
+        /**
+         * Pontuação do perfil para o evento (média entre os pratos).
+         */
+        private Double score;
+    }
+}
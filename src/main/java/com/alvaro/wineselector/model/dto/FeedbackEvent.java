@@ -0,0 +1,38 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.FeedbackRating;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Avaliação de um perfil para uma combinação prato × ocasião × intimidade.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackEvent {
+
+    @NotNull(message = "A ocasião é obrigatória")
+    private Occasion occasion;
+
+    @NotNull(message = "O nível de intimidade é obrigatório")
+    private IntimacyLevel intimacyLevel;
+
+    @NotNull(message = "O prato principal é obrigatório")
+    private MainDish mainDish;
+
+    /**
+     * Perfil avaliado (o recomendado ou o que foi de fato comprado).
+     */
+    @NotNull(message = "O perfil é obrigatório")
+    private WineProfile profile;
+
+    @NotNull(message = "A avaliação é obrigatória")
+    private FeedbackRating rating;
+}
@@ -0,0 +1,26 @@
+package com.alvaro.wineselector.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de requisição com um lote de avaliações.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackRequest {
+
+    public static final int MAX_EVENTS = 10_000;
+
+    @NotEmpty(message = "Informe ao menos uma avaliação")
+    @Size(max = MAX_EVENTS, message = "Máximo de " + MAX_EVENTS + " avaliações por requisição")
+    private List<@Valid @NotNull FeedbackEvent> events;
+}
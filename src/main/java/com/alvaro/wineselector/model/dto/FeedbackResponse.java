@@ -0,0 +1,24 @@
+package com.alvaro.wineselector.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de resposta ao envio de avaliações.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackResponse {
+
+    /**
+     * Avaliações registradas nesta requisição.
+     */
+    private int accepted;
+
+    /**
+     * Versão das regras em uso. Os ajustes do feedback recebido entram na próxima publicação.
+     */
+    private String rulesVersion;
+}
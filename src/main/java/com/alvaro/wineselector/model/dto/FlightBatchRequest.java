@@ -0,0 +1,26 @@
+package com.alvaro.wineselector.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Lote de menus degustação a sequenciar em uma única requisição.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightBatchRequest {
+
+    public static final int MAX_FLIGHTS = 100;
+
+    @NotEmpty(message = "Informe ao menos um menu")
+    @Size(max = MAX_FLIGHTS, message = "Máximo de " + MAX_FLIGHTS + " menus por lote")
+    private List<@Valid @NotNull FlightRequest> flights;
+}
@@ -0,0 +1,18 @@
+package com.alvaro.wineselector.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de um lote de menus degustação, na mesma ordem da requisição.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightBatchResponse {
+
+    private List<FlightResponse> flights;
+}
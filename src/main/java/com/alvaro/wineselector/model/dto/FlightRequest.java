@@ -0,0 +1,40 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de requisição para montar a sequência de vinhos de um menu degustação.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightRequest {
+
+    /**
+     * Quantidade máxima de etapas por menu.
+     */
+    public static final int MAX_COURSES = 30;
+
+    @NotNull(message = "A ocasião é obrigatória")
+    private Occasion occasion;
+
+    @NotNull(message = "O nível de intimidade é obrigatório")
+    private IntimacyLevel intimacyLevel;
+
+    /**
+     * Etapas do menu, na ordem em que são servidas.
+     */
+    @NotEmpty(message = "Informe ao menos uma etapa")
+    @Size(max = MAX_COURSES, message = "Máximo de " + MAX_COURSES + " etapas por menu")
+    private List<@NotNull(message = "O prato da etapa é obrigatório") MainDish> courses;
+}
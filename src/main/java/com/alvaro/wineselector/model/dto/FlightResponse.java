@@ -0,0 +1,48 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de resposta com a sequência de perfis escolhida para um menu degustação.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightResponse {
+
+    /**
+     * Um perfil por etapa, na ordem do menu.
+     */
+    private List<FlightStep> steps;
+
+    /**
+     * Soma das pontuações das etapas menos as penalidades de transição.
+     */
+    private double totalScore;
+
+    /**
+     * Soma das penalidades de transição entre etapas consecutivas.
+     */
+    private double transitionPenalty;
+
+    /**
+     * Etapa do menu com o perfil escolhido e sua pontuação para o prato.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FlightStep {
+        private MainDish mainDish;
+        private WineProfile profile;
+        private String displayName;
+        private Integer score;
+    }
+}
@@ -0,0 +1,41 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.GroupPolicy;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO de requisição para recomendar um vinho a um grupo com níveis de intimidade variados.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupRecommendationRequest {
+
+    @NotNull(message = "A ocasião é obrigatória")
+    private Occasion occasion;
+
+    @NotNull(message = "O prato principal é obrigatório")
+    private MainDish mainDish;
+
+    /**
+     * Quantidade de convidados por nível de intimidade.
+     * Exemplo: {"CHEFE_SUPERIOR": 1, "AMIGO_PROXIMO": 4, "INTIMO_FAMILIAR": 3}
+     */
+    @NotEmpty(message = "Informe a composição dos convidados")
+    private Map<IntimacyLevel, @NotNull @PositiveOrZero(message = "A quantidade de convidados não pode ser negativa") Integer> guests;
+
+    /**
+     * Política de agregação (opcional; padrão definido em wineselector.group.policy).
+     */
+    private GroupPolicy policy;
+}
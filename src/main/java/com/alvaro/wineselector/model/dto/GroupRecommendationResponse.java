@@ -0,0 +1,42 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.GroupPolicy;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de resposta da recomendação para um grupo de convidados.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupRecommendationResponse {
+
+    private WineProfile recommendedProfile;
+
+    private String displayName;
+
+    private String description;
+
+    /**
+     * Pontuação do perfil recomendado segundo a política aplicada.
+     */
+    private Integer score;
+
+    private GroupPolicy policy;
+
+    /**
+     * Total de convidados considerados.
+     */
+    private long guestCount;
+
+    /**
+     * Nível presente de menor tolerância a risco (o que limita as escolhas do grupo).
+     */
+    private IntimacyLevel mostConservativeLevel;
+}
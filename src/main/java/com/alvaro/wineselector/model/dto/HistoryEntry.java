@@ -0,0 +1,39 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO de uma recomendação do histórico do usuário.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryEntry {
+
+    /**
+     * Identificador do registro; serve de cursor para a próxima página.
+     */
+    private long sequence;
+
+    private Instant recommendedAt;
+
+    private MainDish mainDish;
+
+    private Occasion occasion;
+
+    private IntimacyLevel intimacyLevel;
+
+    /**
+     * Recomendação entregue (a justificativa é regenerada a partir da combinação).
+     */
+    private RecommendationResponse recommendation;
+}
@@ -0,0 +1,30 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de resposta com uma página do histórico de recomendações de um usuário.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HistoryResponse {
+
+    private String userId;
+
+    /**
+     * Recomendações da mais recente para a mais antiga.
+     */
+    private List<HistoryEntry> entries;
+
+    /**
+     * Valor de "before" para a próxima página; ausente na última.
+     */
+    private Long nextCursor;
+}
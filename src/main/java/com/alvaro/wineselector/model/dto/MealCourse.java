@@ -0,0 +1,27 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.MainDish;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Prato de uma refeição com vários tempos (entrada, principal, queijos...).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealCourse {
+
+    @NotNull(message = "O prato é obrigatório")
+    private MainDish mainDish;
+
+    /**
+     * Importância relativa do prato na refeição (opcional, padrão 1).
+     * Exemplo: 2 para o prato principal e 1 para entrada e sobremesa.
+     */
+    @Positive(message = "A importância deve ser positiva")
+    private Double importance;
+}
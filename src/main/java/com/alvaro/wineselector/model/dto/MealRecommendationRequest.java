@@ -0,0 +1,46 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MealAggregation;
+import com.alvaro.wineselector.model.enums.Occasion;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de requisição para recomendar um único vinho para uma refeição com vários pratos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealRecommendationRequest {
+
+    /**
+     * Quantidade máxima de pratos por refeição.
+     */
+    public static final int MAX_COURSES = 20;
+
+    @NotNull(message = "A ocasião é obrigatória")
+    private Occasion occasion;
+
+    @NotNull(message = "O nível de intimidade é obrigatório")
+    private IntimacyLevel intimacyLevel;
+
+    /**
+     * Pratos da refeição, na ordem em que são servidos.
+     */
+    @NotEmpty(message = "Informe ao menos um prato")
+    @Size(max = MAX_COURSES, message = "Máximo de " + MAX_COURSES + " pratos por refeição")
+    private List<@Valid @NotNull MealCourse> courses;
+
+    /**
+     * Forma de agregação (opcional; padrão definido em wineselector.meal.aggregation).
+     */
+    private MealAggregation aggregation;
+}
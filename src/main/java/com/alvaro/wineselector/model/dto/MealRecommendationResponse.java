@@ -0,0 +1,52 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.MealAggregation;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de resposta com o perfil que melhor atende a refeição inteira e a adequação a cada prato.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealRecommendationResponse {
+
+    private WineProfile recommendedProfile;
+
+    private String displayName;
+
+    private String description;
+
+    /**
+     * Pontuação agregada do perfil recomendado na refeição.
+     */
+    private Integer score;
+
+    private MealAggregation aggregation;
+
+    /**
+     * Adequação do perfil recomendado a cada prato, na ordem da requisição.
+     */
+    private List<CourseFit> courses;
+
+    /**
+     * Adequação a um prato: pontuação do perfil recomendado e o melhor perfil para o prato isolado.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CourseFit {
+        private MainDish mainDish;
+        private double importance;
+        private Integer score;
+        private WineProfile bestProfile;
+    }
+}
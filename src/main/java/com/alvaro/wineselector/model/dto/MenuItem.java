@@ -0,0 +1,28 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.MainDish;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Item do cardápio de um restaurante, mapeado para um dos pratos conhecidos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItem {
+
+    /**
+     * Nome no cardápio. Exemplo: "Picanha na brasa"
+     */
+    @NotBlank(message = "O nome do prato é obrigatório")
+    @Size(max = 200, message = "O nome do prato deve ter no máximo 200 caracteres")
+    private String name;
+
+    @NotNull(message = "O prato é obrigatório")
+    private MainDish mainDish;
+}
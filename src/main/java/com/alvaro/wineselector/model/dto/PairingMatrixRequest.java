@@ -0,0 +1,39 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.Occasion;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de requisição para a matriz de harmonização cardápio × carta de vinhos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PairingMatrixRequest {
+
+    public static final int MAX_MENU_ITEMS = 1_000;
+    public static final int MAX_WINES = 10_000;
+
+    @NotNull(message = "A ocasião é obrigatória")
+    private Occasion occasion;
+
+    @NotNull(message = "O nível de intimidade é obrigatório")
+    private IntimacyLevel intimacyLevel;
+
+    @NotEmpty(message = "Informe ao menos um prato do cardápio")
+    @Size(max = MAX_MENU_ITEMS, message = "Máximo de " + MAX_MENU_ITEMS + " pratos no cardápio")
+    private List<@Valid @NotNull MenuItem> menu;
+
+    @NotEmpty(message = "Informe ao menos um vinho da carta")
+    @Size(max = MAX_WINES, message = "Máximo de " + MAX_WINES + " vinhos na carta")
+    private List<@Valid @NotNull WineListItem> wines;
+}
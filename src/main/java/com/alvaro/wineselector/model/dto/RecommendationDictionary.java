@@ -0,0 +1,40 @@
+package com.alvaro.wineselector.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dicionário de textos usado pelo modo compacto.
+ * Conteúdo estático: pode ser cacheado pelo cliente e revalidado via ETag.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationDictionary {
+
+    /**
+     * Textos de cada perfil, indexados pelo nome do enum.
+     */
+    private Map<String, ProfileText> profiles;
+
+    /**
+     * Justificativas de todas as combinações × perfis, sem repetição, indexadas pela chave
+     * retornada em CompactRecommendationResponse.
+     */
+    private List<String> justifications;
+
+    /**
+     * Nome de exibição e descrição de um perfil.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProfileText {
+        private String displayName;
+        private String description;
+    }
+}
@@ -4,6 +4,7 @@ import com.alvaro.wineselector.model.enums.IntimacyLevel;
 import com.alvaro.wineselector.model.enums.MainDish;
 import com.alvaro.wineselector.model.enums.Occasion;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -38,6 +39,16 @@ public class RecommendationRequest {
     @NotNull(message = "O prato principal é obrigatório")
     private MainDish mainDish;
 
+    /**
+     * Usuário recorrente (opcional). Se tiver preferências salvas, elas ajustam a pontuação.
+     */
+    @Size(max = 128, message = "O id do usuário deve ter no máximo 128 caracteres")
+    private String userId;
+
+    public RecommendationRequest(Occasion occasion, IntimacyLevel intimacyLevel, MainDish mainDish) {
+        this(occasion, intimacyLevel, mainDish, null);
+    }
+
     /**
      * Retorna uma representação textual resumida da requisição.
      *
@@ -0,0 +1,31 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de requisição da harmonização reversa: o que servir com um perfil de vinho.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReversePairingRequest {
+
+    @NotNull(message = "O perfil de vinho é obrigatório")
+    private WineProfile profile;
+
+    /**
+     * Ocasião fixa (opcional; sem ela os pratos são avaliados em todas as ocasiões).
+     */
+    private Occasion occasion;
+
+    /**
+     * Intimidade fixa (opcional; sem ela os pratos são avaliados em todos os níveis).
+     */
+    private IntimacyLevel intimacyLevel;
+}
@@ -0,0 +1,67 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da harmonização reversa: pratos (e ocasiões) ordenados pela força do perfil.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReversePairingResponse {
+
+    private WineProfile profile;
+
+    private Occasion occasion;
+
+    private IntimacyLevel intimacyLevel;
+
+    /**
+     * Todos os pratos, do mais favorável ao perfil ao menos favorável.
+     */
+    private List<DishRanking> dishes;
+
+    /**
+     * Todas as ocasiões, na mesma ordem; ausente quando a ocasião foi fixada.
+     */
+    private List<OccasionRanking> occasions;
+
+    /**
+     * Prato com a pontuação média do perfil, a margem média sobre o melhor outro perfil
+     * (positiva quando o perfil vence) e a fração das combinações em que ele é o recomendado.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DishRanking {
+        private MainDish mainDish;
+        private Integer score;
+        private Integer margin;
+        private double winRate;
+    }
+
+    /**
+     * Ocasião com as mesmas medidas, sobre todos os pratos.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OccasionRanking {
+        private Occasion occasion;
+        private Integer score;
+        private Integer margin;
+        private double winRate;
+    }
+}
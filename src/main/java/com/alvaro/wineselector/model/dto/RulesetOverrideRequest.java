@@ -0,0 +1,35 @@
+package com.alvaro.wineselector.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO de requisição com as regras de um cliente: só o que difere das regras base.
+ * Substitui por completo as sobrescritas anteriores do cliente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RulesetOverrideRequest {
+
+    public static final int MAX_SCORES = 10_000;
+
+    /**
+     * Peso por dimensão. Exemplo: {"dish": 0.6, "occasion": 0.25}
+     */
+    private Map<String, @NotNull @Positive(message = "O peso deve ser positivo") Double> weights;
+
+    /**
+     * Células sobrescritas das tabelas de pontuação.
+     */
+    @Size(max = MAX_SCORES, message = "Máximo de " + MAX_SCORES + " pontuações sobrescritas")
+    private List<@Valid @NotNull ScoreOverride> scores;
+}
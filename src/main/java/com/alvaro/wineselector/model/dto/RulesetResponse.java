@@ -0,0 +1,30 @@
+package com.alvaro.wineselector.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO de resposta com as regras de um cliente.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RulesetResponse {
+
+    private String tenantId;
+
+    /**
+     * Versão das regras efetivas do cliente (igual à base quando não há sobrescritas).
+     */
+    private String rulesVersion;
+
+    private Map<String, Double> weights;
+
+    private List<ScoreOverride> scores;
+}
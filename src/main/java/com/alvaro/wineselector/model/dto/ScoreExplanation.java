@@ -0,0 +1,102 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Explicação estruturada do cálculo de uma recomendação.
+ * Substitui a leitura do relatório em texto: traz, para cada perfil, a pontuação bruta
+ * e a contribuição ponderada de cada dimensão, a posição no ranking e a distância ao vencedor.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreExplanation {
+
+    /**
+     * Versão das regras usadas no cálculo (impressão digital das tabelas e pesos).
+     */
+    private String rulesVersion;
+
+    private MainDish mainDish;
+
+    private Occasion occasion;
+
+    private IntimacyLevel intimacyLevel;
+
+    /**
+     * Dimensões consideradas, na ordem em que aparecem nas contribuições.
+     */
+    private List<Dimension> dimensions;
+
+    /**
+     * Regras de interação aplicadas à combinação (vazio se nenhuma).
+     */
+    private List<String> interactions;
+
+    /**
+     * Perfil vencedor (primeiro do ranking).
+     */
+    private WineProfile winner;
+
+    /**
+     * Todos os perfis, ordenados do maior para o menor total.
+     */
+    private List<ProfileExplanation> profiles;
+
+    /**
+     * Dimensão de pontuação e seu peso.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Dimension {
+        private String id;
+        private String label;
+        private double weight;
+    }
+
+    /**
+     * Resultado de um perfil: total, ranking e contribuições por dimensão.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProfileExplanation {
+        private WineProfile profile;
+        private int rank;
+        private double totalScore;
+        private double gapToWinner;
+        /**
+         * Ajuste das regras de interação já incluído em totalScore.
+         */
+        private double interactionAdjustment;
+        /**
+         * Ajuste do feedback dos usuários já incluído em totalScore.
+         */
+        private double feedbackAdjustment;
+        private List<Contribution> contributions;
+    }
+
+    /**
+     * Pontuação bruta de uma dimensão para um perfil e sua contribuição ponderada ao total.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Contribution {
+        private String dimension;
+        private int rawScore;
+        private double contribution;
+    }
+}
@@ -0,0 +1,39 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pontuação sobrescrita de uma célula da tabela de uma dimensão (valor × perfil).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreOverride {
+
+    /**
+     * Identificador da dimensão (ex: "dish", "occasion", "intimacy").
+     */
+    @NotBlank(message = "A dimensão é obrigatória")
+    private String dimension;
+
+    /**
+     * Valor da dimensão, pelo nome do enum (ex: "CHURRASCO").
+     */
+    @NotBlank(message = "O valor da dimensão é obrigatório")
+    private String value;
+
+    @NotNull(message = "O perfil é obrigatório")
+    private WineProfile profile;
+
+    @NotNull(message = "A pontuação é obrigatória")
+    @Min(value = 0, message = "A pontuação não pode ser negativa")
+    @Max(value = 100, message = "A pontuação deve ser no máximo 100")
+    private Integer score;
+}
@@ -0,0 +1,21 @@
+package com.alvaro.wineselector.model.dto;
+
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de requisição para reservar (ou devolver) garrafas de um perfil.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequest {
+
+    /**
+     * Quantidade de garrafas (opcional, padrão 1).
+     */
+    @Positive(message = "A quantidade deve ser ao menos 1")
+    private Integer quantity;
+}
@@ -0,0 +1,36 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO de resposta com o estoque de um estabelecimento.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockResponse {
+
+    private String venueId;
+
+    /**
+     * Perfil reservado ou devolvido (apenas nas operações de reserva).
+     */
+    private WineProfile profile;
+
+    /**
+     * Estoque restante do perfil (apenas nas operações de reserva; ausente se o perfil não for controlado).
+     */
+    private Integer remaining;
+
+    /**
+     * Estoque por perfil controlado (apenas na consulta e na atualização).
+     */
+    private Map<WineProfile, Integer> stock;
+}
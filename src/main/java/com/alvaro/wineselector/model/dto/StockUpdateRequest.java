@@ -0,0 +1,27 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO de requisição para definir o estoque de um estabelecimento.
+ * Perfis omitidos mantêm o valor atual.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockUpdateRequest {
+
+    /**
+     * Quantidade de garrafas por perfil. Exemplo: {"TINTO_MEDIO": 12, "ESPUMANTE": 0}
+     */
+    @NotEmpty(message = "Informe o estoque de ao menos um perfil")
+    private Map<WineProfile, @NotNull @PositiveOrZero(message = "A quantidade não pode ser negativa") Integer> stock;
+}
@@ -0,0 +1,37 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.TasteDimension;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Vetor de paladar (escala de 0 a 5 por eixo).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TasteVector {
+
+    private Double body;
+    private Double tannin;
+    private Double acidity;
+    private Double sweetness;
+    private Double effervescence;
+
+    /**
+     * Converte um vetor na ordem de TasteDimension, arredondado a duas casas.
+     */
+    public static TasteVector of(float[] values) {
+        return new TasteVector(
+                round(values[TasteDimension.BODY.ordinal()]),
+                round(values[TasteDimension.TANNIN.ordinal()]),
+                round(values[TasteDimension.ACIDITY.ordinal()]),
+                round(values[TasteDimension.SWEETNESS.ordinal()]),
+                round(values[TasteDimension.EFFERVESCENCE.ordinal()]));
+    }
+
+    private static double round(float value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
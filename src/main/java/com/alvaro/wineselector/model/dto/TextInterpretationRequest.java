@@ -0,0 +1,23 @@
+package com.alvaro.wineselector.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de requisição com o texto livre a interpretar (chat, voz).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextInterpretationRequest {
+
+    /**
+     * Exemplo: "picanha com farofa num aniversário com o meu chefe"
+     */
+    @NotBlank(message = "O texto é obrigatório")
+    @Size(max = 2000, message = "O texto deve ter no máximo 2000 caracteres")
+    private String text;
+}
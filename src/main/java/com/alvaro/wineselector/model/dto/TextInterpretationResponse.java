@@ -0,0 +1,50 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO de resposta da interpretação de texto livre, com a recomendação quando o prato foi reconhecido.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TextInterpretationResponse {
+
+    /**
+     * Prato reconhecido; ausente se não houver prato no texto (sem recomendação).
+     */
+    private MainDish mainDish;
+
+    private Occasion occasion;
+
+    private IntimacyLevel intimacyLevel;
+
+    /**
+     * Confiança por campo ("mainDish", "occasion", "intimacyLevel"), de 0 a 1.
+     */
+    private Map<String, Double> confidence;
+
+    /**
+     * Campos não reconhecidos no texto e preenchidos com o valor padrão.
+     */
+    private List<String> defaulted;
+
+    /**
+     * Termos do vocabulário encontrados no texto (sem acentos).
+     */
+    private List<String> matchedTerms;
+
+    private RecommendationResponse recommendation;
+}
@@ -0,0 +1,29 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO de requisição com as preferências de um usuário. Substitui as preferências anteriores.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPreferenceRequest {
+
+    /**
+     * Ajuste somado à pontuação de cada perfil. Exemplo: {"ESPUMANTE": -20, "TINTO_ENCORPADO": 8}
+     */
+    @NotEmpty(message = "Informe o ajuste de ao menos um perfil")
+    private Map<WineProfile, @NotNull
+            @DecimalMin(value = "-50", message = "O ajuste deve ser no mínimo -50")
+            @DecimalMax(value = "50", message = "O ajuste deve ser no máximo 50") Double> bias;
+}
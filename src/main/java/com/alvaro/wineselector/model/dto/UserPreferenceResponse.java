@@ -0,0 +1,24 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO de resposta com as preferências de um usuário.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPreferenceResponse {
+
+    private String userId;
+
+    /**
+     * Ajuste por perfil (perfis sem ajuste são omitidos).
+     */
+    private Map<WineProfile, Double> bias;
+}
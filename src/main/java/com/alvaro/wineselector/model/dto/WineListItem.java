@@ -0,0 +1,28 @@
+package com.alvaro.wineselector.model.dto;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Vinho da carta de um restaurante, mapeado para um dos perfis conhecidos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WineListItem {
+
+    /**
+     * Nome na carta. Exemplo: "Malbec Reserva 2021"
+     */
+    @NotBlank(message = "O nome do vinho é obrigatório")
+    @Size(max = 200, message = "O nome do vinho deve ter no máximo 200 caracteres")
+    private String name;
+
+    @NotNull(message = "O perfil é obrigatório")
+    private WineProfile profile;
+}
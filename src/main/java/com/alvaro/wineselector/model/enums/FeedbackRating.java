@@ -0,0 +1,22 @@
+package com.alvaro.wineselector.model.enums;
+
+/**
+ * Avaliação de um usuário sobre um perfil recomendado.
+ */
+public enum FeedbackRating {
+
+    /**
+     * Gostou da recomendação.
+     */
+    UP,
+
+    /**
+     * Não gostou da recomendação.
+     */
+    DOWN,
+
+    /**
+     * Comprou o perfil (sinal positivo mais forte que UP).
+     */
+    PURCHASED
+}
@@ -0,0 +1,22 @@
+package com.alvaro.wineselector.model.enums;
+
+/**
+ * Política para combinar os níveis de intimidade de um grupo de convidados.
+ */
+public enum GroupPolicy {
+
+    /**
+     * Vale o convidado de menor tolerância a risco (empates entre níveis são ponderados pelo número de pessoas).
+     */
+    MOST_CONSERVATIVE,
+
+    /**
+     * Média dos níveis ponderada pelo número de convidados em cada um.
+     */
+    HEADCOUNT_WEIGHTED,
+
+    /**
+     * Média ponderada, mas nenhum perfil pode pontuar acima do que pontuaria para o convidado mais conservador.
+     */
+    BOUNDED_BY_MIN_RISK
+}
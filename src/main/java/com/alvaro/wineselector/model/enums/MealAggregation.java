@@ -0,0 +1,18 @@
+package com.alvaro.wineselector.model.enums;
+
+/**
+ * Forma de agregar a adequação de um perfil aos vários pratos de uma refeição.
+ */
+public enum MealAggregation {
+
+    /**
+     * Média das pontuações por prato, ponderada pela importância de cada prato.
+     */
+    WEIGHTED_SUM,
+
+    /**
+     * Justiça max-min: vence o perfil cuja pior pontuação entre os pratos é a maior.
+     * Evita escolher um vinho ótimo para um prato e ruim para outro.
+     */
+    MAX_MIN
+}
@@ -0,0 +1,26 @@
+package com.alvaro.wineselector.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Eixos do vetor de paladar, na escala de 0 a 5 das fichas de degustação.
+ * A ordem dos valores é a ordem das coordenadas nos vetores.
+ */
+@Getter
+public enum TasteDimension {
+
+    BODY("Corpo"),
+    TANNIN("Tanino"),
+    ACIDITY("Acidez"),
+    SWEETNESS("Doçura"),
+    EFFERVESCENCE("Efervescência");
+
+    public static final float MIN_VALUE = 0f;
+    public static final float MAX_VALUE = 5f;
+
+    private final String displayName;
+
+    TasteDimension(String displayName) {
+        this.displayName = displayName;
+    }
+}
@@ -1,6 +1,7 @@
 package com.alvaro.wineselector.model.enums;
 
 import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 /**
@@ -15,58 +16,85 @@ public enum WineProfile {
     TINTO_LEVE(
             "Tinto Leve",
             "Vinho tinto com taninos suaves, corpo leve e fácil de beber. " +
-            "Ideal para quem busca algo menos intenso e mais versátil."
+            "Ideal para quem busca algo menos intenso e mais versátil.",
+            new float[] {2.0f, 1.5f, 3.0f, 0.5f, 0.0f}
     ),
 
     TINTO_MEDIO(
             "Tinto Médio",
             "Vinho tinto equilibrado com boa estrutura e taninos moderados. " +
-            "A escolha mais versátil e segura para diversas ocasiões."
+            "A escolha mais versátil e segura para diversas ocasiões.",
+            new float[] {3.0f, 3.0f, 3.0f, 0.5f, 0.0f}
     ),
 
     TINTO_ENCORPADO(
             "Tinto Encorpado",
             "Vinho tinto intenso, com taninos marcantes e grande estrutura. " +
-            "Para quem aprecia vinhos mais robustos e com personalidade forte."
+            "Para quem aprecia vinhos mais robustos e com personalidade forte.",
+            new float[] {4.5f, 4.5f, 2.5f, 0.5f, 0.0f}
     ),
 
     BRANCO_LEVE(
             "Branco Leve",
             "Vinho branco fresco, delicado e com boa acidez. " +
-            "Perfeito para momentos mais leves e descontraídos."
+            "Perfeito para momentos mais leves e descontraídos.",
+            new float[] {1.5f, 0.0f, 4.0f, 1.0f, 0.0f}
     ),
 
     BRANCO_ESTRUTURADO(
             "Branco Estruturado",
             "Vinho branco com mais corpo, complexidade e presença gastronômica. " +
-            "Harmoniza bem com pratos mais elaborados."
+            "Harmoniza bem com pratos mais elaborados.",
+            new float[] {3.0f, 0.5f, 3.0f, 1.0f, 0.0f}
     ),
 
     ROSE(
             "Rosé",
             "Vinho rosé versátil, fresco e elegante. " +
-            "Excelente para ocasiões informais e clima descontraído."
+            "Excelente para ocasiões informais e clima descontraído.",
+            new float[] {2.0f, 0.5f, 3.5f, 1.5f, 0.0f}
     ),
 
     ESPUMANTE(
             "Espumante",
             "Vinho espumante festivo e elegante, com finas bolhas. " +
-            "Perfeito para celebrações e momentos especiais."
+            "Perfeito para celebrações e momentos especiais.",
+            new float[] {1.5f, 0.0f, 4.5f, 1.0f, 5.0f}
     );
 
     // Atributos do enum
     private final String displayName;
     private final String description;
 
+    // Vetor de paladar típico, na ordem de TasteDimension
+    @Getter(AccessLevel.NONE)
+    private final float[] taste;
+
     /**
      * Construtor do enum.
      *
      * @param displayName Nome a ser exibido para o usuário
      * @param description Descrição detalhada do perfil
+     * @param taste Corpo, tanino, acidez, doçura e efervescência (0 a 5)
      */
-    WineProfile(String displayName, String description) {
+    WineProfile(String displayName, String description, float[] taste) {
         this.displayName = displayName;
         this.description = description;
+        this.taste = taste;
+    }
+
+    /**
+     * Valor típico do perfil em um eixo de paladar.
+     */
+    public float getTaste(TasteDimension dimension) {
+        return taste[dimension.ordinal()];
+    }
+
+    /**
+     * Cópia do vetor de paladar típico, na ordem de TasteDimension.
+     */
+    public float[] getTasteVector() {
+        return taste.clone();
     }
 
     @JsonValue  // ← ADICIONAR ESTA LINHA
@@ -1,7 +1,9 @@
 package com.alvaro.wineselector.rules;
 
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
 import com.alvaro.wineselector.model.enums.MainDish;
 import com.alvaro.wineselector.model.enums.WineProfile;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.util.EnumMap;
@@ -21,6 +23,7 @@ import java.util.Map;
  * - 0-5: Não recomendado
  */
 @Component
+@Order(1)
 public class DishRules implements ScoringRules<MainDish> {
 
     private static final double WEIGHT = 0.50; // 50% do peso total
@@ -63,6 +66,26 @@ public class DishRules implements ScoringRules<MainDish> {
         return "Regras de Harmonização por Prato";
     }
 
+    @Override
+    public Class<MainDish> getValueType() {
+        return MainDish.class;
+    }
+
+    @Override
+    public MainDish extractValue(RecommendationRequest request) {
+        return request.getMainDish();
+    }
+
+    @Override
+    public String getDimensionId() {
+        return "dish";
+    }
+
+    @Override
+    public String getDimensionLabel() {
+        return "Prato";
+    }
+
     // ========================================================================
     // TABELAS DE PONTUAÇÃO POR PRATO
     // ========================================================================
@@ -0,0 +1,17 @@
+package com.alvaro.wineselector.rules;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+
+/**
+ * Condição de uma regra de interação, avaliada sobre a combinação prato × ocasião × intimidade.
+ * 
+ * Pode usar os métodos auxiliares dos enums (isRedMeatBased, requiresMaxSafety, allowsBoldChoices...).
+ * É avaliada apenas na compilação da tabela de interações, nunca por requisição.
+ */
+@FunctionalInterface
+public interface InteractionCondition {
+
+    boolean matches(MainDish dish, Occasion occasion, IntimacyLevel intimacyLevel);
+}
@@ -0,0 +1,40 @@
+package com.alvaro.wineselector.rules;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.Map;
+
+/**
+ * Regra condicional que ajusta a pontuação final quando uma combinação específica ocorre.
+ * 
+ * Expressa interações que o modelo aditivo não captura, como "comida apimentada em jantar
+ * romântico favorece rosé". Os ajustes são somados ao total do perfil; os tetos limitam o
+ * total final, depois de todas as parcelas (dimensões, inclusive as opcionais, ajustes e feedback).
+ * As preferências de um usuário são somadas por cima, fora dos tetos.
+ */
+@Getter
+@Builder
+public class InteractionRule {
+
+    /**
+     * Nome da regra, exibido na explicação do cálculo.
+     */
+    private final String name;
+
+    private final InteractionCondition condition;
+
+    /**
+     * Pontos somados (ou subtraídos) ao total de cada perfil.
+     */
+    @Singular
+    private final Map<WineProfile, Integer> adjustments;
+
+    /**
+     * Pontuação máxima permitida para cada perfil.
+     */
+    @Singular
+    private final Map<WineProfile, Integer> caps;
+}
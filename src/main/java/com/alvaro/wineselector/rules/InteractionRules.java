@@ -0,0 +1,73 @@
+package com.alvaro.wineselector.rules;
+
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Regras de interação entre prato, ocasião e intimidade.
+ * 
+ * Complementam as dimensões aditivas com ajustes que só fazem sentido na combinação.
+ * São compiladas pelo ScoreCalculator em uma tabela densa de ajustes por combinação,
+ * então o custo do cálculo não depende da quantidade de regras.
+ */
+@Component
+public class InteractionRules {
+
+    private static final List<InteractionRule> RULES = List.of(
+
+            // Picância pede vinho fresco e levemente adocicado; tinto tânico acentua o ardor
+            InteractionRule.builder()
+                    .name("Comida apimentada em jantar romântico")
+                    .condition((dish, occasion, intimacy) ->
+                            dish == MainDish.COMIDA_APIMENTADA && occasion == Occasion.JANTAR_ROMANTICO)
+                    .adjustment(WineProfile.ROSE, 15)
+                    .adjustment(WineProfile.ESPUMANTE, 5)
+                    .adjustment(WineProfile.TINTO_ENCORPADO, -10)
+                    .build(),
+
+            // Almoço de trabalho: tinto encorpado pesa demais mesmo com carne vermelha
+            InteractionRule.builder()
+                    .name("Carne vermelha em almoço de negócios")
+                    .condition((dish, occasion, intimacy) ->
+                            dish.isRedMeatBased() && occasion == Occasion.ALMOCO_NEGOCIOS)
+                    .cap(WineProfile.TINTO_ENCORPADO, 30)
+                    .adjustment(WineProfile.TINTO_MEDIO, 5)
+                    .build(),
+
+            // Prato intenso com quem exige segurança máxima: preferir o tinto mais versátil
+            InteractionRule.builder()
+                    .name("Prato intenso com segurança máxima")
+                    .condition((dish, occasion, intimacy) ->
+                            dish.isIntenseFlavored() && intimacy.requiresMaxSafety())
+                    .adjustment(WineProfile.TINTO_MEDIO, 5)
+                    .adjustment(WineProfile.TINTO_ENCORPADO, -5)
+                    .build(),
+
+            // Celebração entre pessoas próximas abre espaço para o espumante
+            InteractionRule.builder()
+                    .name("Celebração com liberdade para ousar")
+                    .condition((dish, occasion, intimacy) ->
+                            occasion == Occasion.CELEBRACAO && intimacy.allowsBoldChoices())
+                    .adjustment(WineProfile.ESPUMANTE, 8)
+                    .build(),
+
+            // Prato leve em reunião formal: branco com estrutura transmite mais seriedade
+            InteractionRule.builder()
+                    .name("Prato leve em reunião de negócios")
+                    .condition((dish, occasion, intimacy) ->
+                            dish.isLightDish() && occasion == Occasion.REUNIAO_NEGOCIOS)
+                    .adjustment(WineProfile.BRANCO_ESTRUTURADO, 5)
+                    .build()
+    );
+
+    /**
+     * Retorna as regras de interação, na ordem de aplicação.
+     */
+    public List<InteractionRule> getRules() {
+        return RULES;
+    }
+}
@@ -1,7 +1,9 @@
 package com.alvaro.wineselector.rules;
 
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
 import com.alvaro.wineselector.model.enums.IntimacyLevel;
 import com.alvaro.wineselector.model.enums.WineProfile;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.util.EnumMap;
@@ -11,6 +13,7 @@ import java.util.Map;
  * Regras de pontuação baseadas no nível de intimidade.
  */
 @Component
+@Order(3)
 public class IntimacyRules implements ScoringRules<IntimacyLevel> {
 
     private static final double WEIGHT = 0.20;
@@ -45,6 +48,26 @@ public class IntimacyRules implements ScoringRules<IntimacyLevel> {
         return "Regras de Nível de Intimidade";
     }
 
+    @Override
+    public Class<IntimacyLevel> getValueType() {
+        return IntimacyLevel.class;
+    }
+
+    @Override
+    public IntimacyLevel extractValue(RecommendationRequest request) {
+        return request.getIntimacyLevel();
+    }
+
+    @Override
+    public String getDimensionId() {
+        return "intimacy";
+    }
+
+    @Override
+    public String getDimensionLabel() {
+        return "Intimidade";
+    }
+
     private Map<WineProfile, Integer> getPrimeiroEncontroScores() {
         Map<WineProfile, Integer> scores = new EnumMap<>(WineProfile.class);
         scores.put(WineProfile.BRANCO_LEVE, 20);
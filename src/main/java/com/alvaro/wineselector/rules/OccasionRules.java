@@ -1,7 +1,9 @@
 package com.alvaro.wineselector.rules;
 
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
 import com.alvaro.wineselector.model.enums.Occasion;
 import com.alvaro.wineselector.model.enums.WineProfile;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.util.EnumMap;
@@ -11,6 +13,7 @@ import java.util.Map;
  * Regras de pontuação baseadas na ocasião social.
  */
 @Component
+@Order(2)
 public class OccasionRules implements ScoringRules<Occasion> {
 
     private static final double WEIGHT = 0.30;
@@ -45,6 +48,26 @@ public class OccasionRules implements ScoringRules<Occasion> {
         return "Regras de Contexto Social";
     }
 
+    @Override
+    public Class<Occasion> getValueType() {
+        return Occasion.class;
+    }
+
+    @Override
+    public Occasion extractValue(RecommendationRequest request) {
+        return request.getOccasion();
+    }
+
+    @Override
+    public String getDimensionId() {
+        return "occasion";
+    }
+
+    @Override
+    public String getDimensionLabel() {
+        return "Ocasião";
+    }
+
     private Map<WineProfile, Integer> getReuniaoNegociosScores() {
         Map<WineProfile, Integer> scores = new EnumMap<>(WineProfile.class);
         scores.put(WineProfile.TINTO_MEDIO, 30);
@@ -1,5 +1,6 @@
 package com.alvaro.wineselector.rules;
 
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
 import com.alvaro.wineselector.model.enums.WineProfile;
 
 import java.util.Map;
@@ -12,6 +13,10 @@ import java.util.Map;
  * 
  * O sistema soma todas as pontuações e escolhe o perfil vencedor.
  * 
+ * Toda implementação registrada como bean é descoberta pelo ScoreCalculator e vira uma
+ * dimensão do cálculo, na ordem definida por @Order. Para adicionar uma dimensão (estação,
+ * horário, clima, orçamento...) basta implementar esta interface e expor o valor na requisição.
+ * 
  * @param <T> Tipo do enum que esta regra processa (MainDish, Occasion, ou IntimacyLevel)
  */
 public interface ScoringRules<T extends Enum<T>> {
@@ -52,6 +57,43 @@ public interface ScoringRules<T extends Enum<T>> {
      */
     String getRuleName();
 
+    /**
+     * Retorna o tipo do enum processado, usado para pré-compilar a tabela de todos os valores.
+     * 
+     * @return Classe do enum (ex: MainDish.class)
+     */
+    Class<T> getValueType();
+
+    /**
+     * Extrai da requisição o valor desta dimensão.
+     * 
+     * @param request Requisição de recomendação
+     * @return Valor da dimensão, ou null se ausente
+     */
+    T extractValue(RecommendationRequest request);
+
+    /**
+     * Identificador estável da dimensão (ex: "dish"), usado na explicação do cálculo.
+     */
+    String getDimensionId();
+
+    /**
+     * Nome de exibição da dimensão (ex: "Prato"), usado no relatório.
+     */
+    String getDimensionLabel();
+
+    /**
+     * Indica se a dimensão pode faltar na requisição.
+     * 
+     * Dimensões opcionais ausentes são ignoradas e os pesos das presentes são renormalizados;
+     * a ausência de uma dimensão obrigatória é um erro.
+     * 
+     * @return true se a dimensão é opcional
+     */
+    default boolean isOptional() {
+        return false;
+    }
+
     /**
      * Valida se um valor é suportado por esta regra.
      * 
@@ -76,4 +118,21 @@ public interface ScoringRules<T extends Enum<T>> {
         Map<WineProfile, Integer> scores = getScores(value);
         return scores.getOrDefault(profile, 0);
     }
+
+    /**
+     * Retorna a pontuação de todos os perfis como vetor primitivo, indexado pelo ordinal do WineProfile.
+     * Usado para pré-compilar as tabelas de pontuação; perfis sem pontuação ficam com 0.
+     * 
+     * @param value Valor do enum
+     * @return Vetor com uma posição por WineProfile
+     */
+    default int[] getScoreVector(T value) {
+        Map<WineProfile, Integer> scores = getScores(value);
+        WineProfile[] profiles = WineProfile.values();
+        int[] vector = new int[profiles.length];
+        for (WineProfile profile : profiles) {
+            vector[profile.ordinal()] = scores.getOrDefault(profile, 0);
+        }
+        return vector;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.dto.AutocompleteResponse;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.text.AutocompleteIndex;
+import com.alvaro.wineselector.text.TextInterpreter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Autocompletar de pratos, ocasiões e intimidades para campos de busca.
+ *
+ * O {@link AutocompleteIndex} é montado uma vez na inicialização; cada consulta só percorre a trie
+ * e, se faltarem sugestões, a BK-tree.
+ */
+@Slf4j
+@Service
+public class AutocompleteService {
+
+    public static final int DEFAULT_LIMIT = 10;
+
+    private static final String[] FIELDS = {"mainDish", "occasion", "intimacyLevel"};
+
+    private final AutocompleteIndex index;
+
+    public AutocompleteService() {
+        long start = System.nanoTime();
+        this.index = new AutocompleteIndex();
+        log.info("Índice de autocompletar montado em {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Sugestões para o texto digitado.
+     *
+     * @param query Texto parcial, possivelmente com erros de digitação
+     * @param dimension "mainDish", "occasion" ou "intimacyLevel"; null para todas
+     * @param limit Máximo de sugestões, de 1 a {@link AutocompleteIndex#MAX_SUGGESTIONS}
+     * @throws IllegalArgumentException se a dimensão ou o limite forem inválidos
+     */
+    public AutocompleteResponse suggest(String query, String dimension, int limit) {
+        if (limit < 1 || limit > AutocompleteIndex.MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException(
+                    "limit deve estar entre 1 e " + AutocompleteIndex.MAX_SUGGESTIONS);
+        }
+
+        List<AutocompleteResponse.Suggestion> suggestions = new ArrayList<>(limit);
+        for (AutocompleteIndex.Suggestion suggestion : index.suggest(query, dimensionOf(dimension), limit)) {
+            suggestions.add(AutocompleteResponse.Suggestion.builder()
+                    .dimension(FIELDS[suggestion.getDimension()])
+                    .value(nameOf(suggestion.getDimension(), suggestion.getOrdinal()))
+                    .displayName(displayNameOf(suggestion.getDimension(), suggestion.getOrdinal()))
+                    .matchedTerm(suggestion.getTerm())
+                    .distance(suggestion.getDistance())
+                    .build());
+        }
+
+        return AutocompleteResponse.builder()
+                .query(query)
+                .suggestions(suggestions)
+                .build();
+    }
+
+    private static int dimensionOf(String dimension) {
+        if (dimension == null || dimension.isBlank()) {
+            return -1;
+        }
+        for (int d = 0; d < FIELDS.length; d++) {
+            if (FIELDS[d].equals(dimension)) {
+                return d;
+            }
+        }
+        throw new IllegalArgumentException(
+                "dimension inválida: " + dimension + " (use mainDish, occasion ou intimacyLevel)");
+    }
+
+    private static String nameOf(int dimension, int ordinal) {
+        return switch (dimension) {
+            case TextInterpreter.DISH -> MainDish.values()[ordinal].name();
+            case TextInterpreter.OCCASION -> Occasion.values()[ordinal].name();
+            default -> IntimacyLevel.values()[ordinal].name();
+        };
+    }
+
+    private static String displayNameOf(int dimension, int ordinal) {
+        return switch (dimension) {
+            case TextInterpreter.DISH -> MainDish.values()[ordinal].getDisplayName();
+            case TextInterpreter.OCCASION -> Occasion.values()[ordinal].getDisplayName();
+            default -> IntimacyLevel.values()[ordinal].getDisplayName();
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.codec.BinaryFormat;
+import com.alvaro.wineselector.codec.RecommendationProtobufCodec;
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import org.springframework.stereotype.Service;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Serviço de recomendação em codificação binária.
+ *
+ * A resposta depende apenas da combinação prato × ocasião × intimidade, então cada formato
+ * mantém um array com os bytes já codificados por combinação. A primeira requisição de uma
+ * combinação codifica e guarda; as demais apenas devolvem os bytes. Os arrays pertencem a uma
+ * versão das regras e são descartados quando ela muda.
+ */
+@Service
+public class BinaryRecommendationService {
+
+    private final RecommendationService recommendationService;
+    private final CBORMapper cborMapper;
+    private final SmileMapper smileMapper;
+    private volatile EncodedResponses encodedResponses;
+
+    public BinaryRecommendationService(
+            RecommendationService recommendationService,
+            CBORMapper cborMapper,
+            SmileMapper smileMapper) {
+
+        this.recommendationService = recommendationService;
+        this.cborMapper = cborMapper;
+        this.smileMapper = smileMapper;
+        this.encodedResponses = new EncodedResponses(recommendationService.getRulesVersion());
+    }
+
+    /**
+     * Retorna a recomendação codificada no formato pedido.
+     * O array retornado é compartilhado pelo cache e não deve ser modificado.
+     *
+     * @param request Requisição com ocasião, intimidade e prato
+     * @param format Formato binário da resposta
+     * @return Bytes da resposta codificada
+     */
+    public byte[] getRecommendation(RecommendationRequest request, BinaryFormat format) {
+        EncodedResponses current = encodedResponses;
+        String rulesVersion = recommendationService.getRulesVersion();
+        if (!current.rulesVersion.equals(rulesVersion)) {
+            current = new EncodedResponses(rulesVersion);
+            encodedResponses = current;
+        }
+        AtomicReferenceArray<byte[]> cache = current.byFormat.get(format);
+        int index = CombinationIndex.of(request);
+
+        byte[] encoded = cache.get(index);
+        if (encoded == null) {
+            // Corrida benigna: duas threads podem codificar a mesma combinação, com resultado idêntico
+            encoded = encode(recommendationService.getRecommendation(request), format);
+            cache.set(index, encoded);
+        }
+
+        return encoded;
+    }
+
+    /**
+     * Codifica uma resposta no formato informado, sem passar pelo cache.
+     */
+    public byte[] encode(RecommendationResponse response, BinaryFormat format) {
+        return switch (format) {
+            case CBOR -> cborMapper.writeValueAsBytes(response);
+            case SMILE -> smileMapper.writeValueAsBytes(response);
+            case PROTOBUF -> RecommendationProtobufCodec.encodeResponse(response);
+        };
+    }
+
+    /**
+     * Bytes codificados por formato e combinação, de uma versão das regras.
+     */
+    private static final class EncodedResponses {
+
+        private final String rulesVersion;
+        private final Map<BinaryFormat, AtomicReferenceArray<byte[]>> byFormat = new EnumMap<>(BinaryFormat.class);
+
+        EncodedResponses(String rulesVersion) {
+            this.rulesVersion = rulesVersion;
+            for (BinaryFormat format : BinaryFormat.values()) {
+                byFormat.put(format, new AtomicReferenceArray<>(CombinationIndex.SIZE));
+            }
+        }
+    }
+}
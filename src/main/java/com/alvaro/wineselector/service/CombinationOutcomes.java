@@ -0,0 +1,58 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+
+/**
+ * Vencedor, alternativa (-1 = nenhuma) e pontuações de cada combinação em uma versão das regras,
+ * junto com os totais por combinação × perfil dessa mesma versão.
+ * Imutável: quem lê várias combinações vê sempre a mesma versão.
+ */
+final class CombinationOutcomes {
+
+    private final double[] combinationTotals;
+    private final byte[] winner = new byte[CombinationIndex.SIZE];
+    private final byte[] alternative = new byte[CombinationIndex.SIZE];
+    private final int[] score = new int[CombinationIndex.SIZE];
+    private final int[] alternativeScore = new int[CombinationIndex.SIZE];
+
+    /**
+     * @param combinationTotals Totais da versão das regras cujos resultados serão preenchidos
+     */
+    CombinationOutcomes(double[] combinationTotals) {
+        this.combinationTotals = combinationTotals;
+    }
+
+    /**
+     * Preenchido pelo dono do snapshot durante a construção, antes de publicá-lo.
+     */
+    void set(int combination, RecommendationResponse response) {
+        winner[combination] = (byte) response.getRecommendedProfile().ordinal();
+        alternative[combination] = (byte) (response.hasAlternative() ? response.getAlternativeProfile().ordinal() : -1);
+        score[combination] = response.getScore();
+        alternativeScore[combination] = response.hasAlternative() ? response.getAlternativeScore() : 0;
+    }
+
+    int getWinner(int combination) {
+        return winner[combination];
+    }
+
+    int getAlternative(int combination) {
+        return alternative[combination];
+    }
+
+    int getScore(int combination) {
+        return score[combination];
+    }
+
+    int getAlternativeScore(int combination) {
+        return alternativeScore[combination];
+    }
+
+    /**
+     * Totais por [combinação × |perfis| + perfil]. O array é compartilhado e não deve ser modificado.
+     */
+    double[] getCombinationTotals() {
+        return combinationTotals;
+    }
+}
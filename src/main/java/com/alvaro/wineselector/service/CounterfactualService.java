@@ -0,0 +1,148 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.CounterfactualResponse;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Análise contrafactual: o que precisaria mudar para a recomendação ser outra.
+ *
+ * As vizinhas de uma combinação são as que diferem em exatamente uma dimensão
+ * (11 pratos + 9 ocasiões + 9 intimidades = 29). O índice de vizinhança é fixo e calculado uma vez;
+ * o vencedor, a alternativa, a pontuação e os totais de cada combinação vêm do snapshot por versão
+ * das regras do {@link ResponseViewService}, lidos juntos de uma vez. Responder custa 29 consultas a
+ * arrays mais a ordenação dos sete perfis da própria combinação, sem recalcular pontuações.
+ */
+@Slf4j
+@Service
+public class CounterfactualService {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+    private static final MainDish[] DISHES = MainDish.values();
+    private static final Occasion[] OCCASIONS = Occasion.values();
+    private static final IntimacyLevel[] INTIMACY_LEVELS = IntimacyLevel.values();
+
+    private static final String[] DIMENSIONS = {"mainDish", "occasion", "intimacyLevel"};
+    private static final int NEIGHBOURS = DISHES.length - 1 + OCCASIONS.length - 1 + INTIMACY_LEVELS.length - 1;
+
+    // Vizinhas de cada combinação: [combinação × NEIGHBOURS + k]; a dimensão trocada depende só de k
+    private static final int[] NEIGHBOUR_INDEX = new int[CombinationIndex.SIZE * NEIGHBOURS];
+    private static final byte[] NEIGHBOUR_DIMENSION = new byte[NEIGHBOURS];
+
+    static {
+        for (int k = 0; k < NEIGHBOURS; k++) {
+            NEIGHBOUR_DIMENSION[k] = (byte) (k < DISHES.length - 1 ? 0
+                    : k < DISHES.length - 1 + OCCASIONS.length - 1 ? 1 : 2);
+        }
+
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            MainDish dish = CombinationIndex.dishOf(index);
+            Occasion occasion = CombinationIndex.occasionOf(index);
+            IntimacyLevel intimacy = CombinationIndex.intimacyOf(index);
+            int k = index * NEIGHBOURS;
+
+            for (MainDish other : DISHES) {
+                if (other != dish) {
+                    NEIGHBOUR_INDEX[k++] = CombinationIndex.of(other, occasion, intimacy);
+                }
+            }
+            for (Occasion other : OCCASIONS) {
+                if (other != occasion) {
+                    NEIGHBOUR_INDEX[k++] = CombinationIndex.of(dish, other, intimacy);
+                }
+            }
+            for (IntimacyLevel other : INTIMACY_LEVELS) {
+                if (other != intimacy) {
+                    NEIGHBOUR_INDEX[k++] = CombinationIndex.of(dish, occasion, other);
+                }
+            }
+        }
+    }
+
+    private final ResponseViewService responseViewService;
+
+    public CounterfactualService(ResponseViewService responseViewService) {
+        this.responseViewService = responseViewService;
+    }
+
+    /**
+     * Distâncias ao vencedor e trocas de uma escolha que mudam o vencedor ou a alternativa.
+     *
+     * @param request Ocasião, intimidade e prato
+     * @return Margens de todos os perfis e as trocas que mudam a recomendação
+     */
+    public CounterfactualResponse analyze(RecommendationRequest request) {
+        CombinationOutcomes outcomes = responseViewService.getOutcomes();
+        double[] combinationTotals = outcomes.getCombinationTotals();
+        int index = CombinationIndex.of(request);
+        int winner = outcomes.getWinner(index);
+        int alternative = outcomes.getAlternative(index);
+
+        int offset = index * PROFILES.length;
+        Integer[] ranking = new Integer[PROFILES.length];
+        for (int p = 0; p < ranking.length; p++) {
+            ranking[p] = p;
+        }
+        // Ordenação estável: empates na ordem dos perfis, como no ranking do ScoreCalculator
+        Arrays.sort(ranking, Comparator.comparingDouble(p -> -combinationTotals[offset + p]));
+
+        List<CounterfactualResponse.ProfileMargin> margins = new ArrayList<>(PROFILES.length);
+        for (int p : ranking) {
+            margins.add(new CounterfactualResponse.ProfileMargin(
+                    PROFILES[p],
+                    (int) Math.round(combinationTotals[offset + p]),
+                    (int) Math.round(combinationTotals[offset + winner] - combinationTotals[offset + p])));
+        }
+
+        List<CounterfactualResponse.Change> recommendationChanges = new ArrayList<>();
+        List<CounterfactualResponse.Change> alternativeChanges = new ArrayList<>();
+        int base = index * NEIGHBOURS;
+        for (int k = 0; k < NEIGHBOURS; k++) {
+            int neighbour = NEIGHBOUR_INDEX[base + k];
+            boolean recommendationChanged = outcomes.getWinner(neighbour) != winner;
+            boolean alternativeChanged = outcomes.getAlternative(neighbour) != alternative;
+            if (!recommendationChanged && !alternativeChanged) {
+                continue;
+            }
+
+            CounterfactualResponse.Change change = new CounterfactualResponse.Change(
+                    DIMENSIONS[NEIGHBOUR_DIMENSION[k]],
+                    valueOf(neighbour, NEIGHBOUR_DIMENSION[k]),
+                    PROFILES[outcomes.getWinner(neighbour)],
+                    outcomes.getScore(neighbour),
+                    outcomes.getAlternative(neighbour) >= 0 ? PROFILES[outcomes.getAlternative(neighbour)] : null,
+                    recommendationChanged,
+                    alternativeChanged);
+            (recommendationChanged ? recommendationChanges : alternativeChanges).add(change);
+        }
+        recommendationChanges.addAll(alternativeChanges);
+
+        log.debug("Contrafactual de {}: {} trocas mudam a recomendação", request, recommendationChanges.size());
+
+        return CounterfactualResponse.builder()
+                .recommendedProfile(PROFILES[winner])
+                .alternativeProfile(alternative >= 0 ? PROFILES[alternative] : null)
+                .margins(margins)
+                .changes(recommendationChanges)
+                .build();
+    }
+
+    private static String valueOf(int index, int dimension) {
+        return switch (dimension) {
+            case 0 -> CombinationIndex.dishOf(index).name();
+            case 1 -> CombinationIndex.occasionOf(index).name();
+            default -> CombinationIndex.intimacyOf(index).name();
+        };
+    }
+}
@@ -0,0 +1,442 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.CandidateBottle;
+import com.alvaro.wineselector.model.dto.EventPlanRequest;
+import com.alvaro.wineselector.model.dto.EventPlanResponse;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Plano de compra de garrafas para um evento: maximiza a soma das pontuações das garrafas
+ * compradas sem passar do orçamento nem do limite de garrafas (mochila limitada com duas restrições).
+ *
+ * O valor de uma garrafa depende só do perfil (média da tabela de totais por combinação entre os
+ * pratos), então, dentro de um perfil, comprar as mais baratas primeiro é sempre melhor. O problema
+ * se reduz a escolher quantas unidades de cada perfil comprar, com custo acumulado crescente.
+ *
+ * Solução por relaxação lagrangiana do orçamento: para um multiplicador λ, cada unidade vale
+ * pontuação - λ × preço, e o melhor plano com até N garrafas é pegar as N unidades de maior valor
+ * positivo (intercalando as listas por perfil, já ordenadas). Uma busca binária em λ encontra o
+ * menor multiplicador cujo plano cabe no orçamento; esse plano é ótimo para o valor que gasta.
+ * O saldo é aproveitado com acréscimos e trocas por perfis de maior pontuação, e cada λ avaliado
+ * fornece um limite superior, devolvido para indicar quão perto do ótimo o plano está.
+ */
+@Slf4j
+@Service
+public class EventPlanningService {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+    private static final int SEARCH_ITERATIONS = 60;
+    private static final long MAX_CENTS = Long.MAX_VALUE / 4;
+    private static final double EPSILON = 1e-9;
+
+    private final ScoreCalculator scoreCalculator;
+    private final double guestsPerBottle;
+
+    public EventPlanningService(
+            ScoreCalculator scoreCalculator,
+            @Value("${wineselector.event.guests-per-bottle:2}") double guestsPerBottle) {
+        if (guestsPerBottle <= 0) {
+            throw new IllegalStateException("wineselector.event.guests-per-bottle deve ser positivo");
+        }
+        this.scoreCalculator = scoreCalculator;
+        this.guestsPerBottle = guestsPerBottle;
+    }
+
+    /**
+     * Calcula o plano de compra.
+     *
+     * @param request Convidados, pratos, ocasião, intimidade, orçamento e garrafas candidatas
+     * @return Garrafas a comprar, custo, pontuação total e limite superior
+     */
+    public EventPlanResponse plan(EventPlanRequest request) {
+        double[] scores = getProfileScores(request);
+        // As tabelas de unidades e os laços crescem com o limite: nunca passa de MAX_BOTTLES
+        int maxBottles = request.getMaxBottles() != null
+                ? Math.min(request.getMaxBottles(), EventPlanRequest.MAX_BOTTLES)
+                : (int) Math.min(Math.ceil(request.getHeadcount() / guestsPerBottle), EventPlanRequest.MAX_BOTTLES);
+        long budget = toCents(request.getBudget(), RoundingMode.FLOOR);
+
+        Units units = Units.of(request.getCandidates(), scores, maxBottles);
+        Solution solution = solve(units, scores, maxBottles, budget);
+        int[] counts = solution.counts;
+        double upperBound = solution.upperBound;
+
+        List<EventPlanResponse.PlanItem> items = toItems(request.getCandidates(), units, counts, scores);
+        long cost = units.cost(counts);
+        double totalScore = 0;
+        int bottleCount = 0;
+        for (int p = 0; p < counts.length; p++) {
+            totalScore += counts[p] * scores[p];
+            bottleCount += counts[p];
+        }
+
+        log.debug("Plano de evento: {} garrafas, custo {} de {} centavos, pontuação {} (limite {})",
+                bottleCount, cost, budget, totalScore, upperBound);
+
+        return EventPlanResponse.builder()
+                .maxBottles(maxBottles)
+                .bottleCount(bottleCount)
+                .totalCost(BigDecimal.valueOf(cost, 2))
+                .remainingBudget(BigDecimal.valueOf(budget - cost, 2))
+                .totalScore(round(totalScore))
+                .upperBound(round(upperBound))
+                .optimal(totalScore >= upperBound - 1e-6)
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Pontuação de cada perfil para o evento: média dos totais por combinação entre os pratos.
+     */
+    double[] getProfileScores(EventPlanRequest request) {
+        double[] combinationTotals = scoreCalculator.getCombinationTotals();
+        List<MainDish> dishes = request.getDishes();
+        double[] scores = new double[PROFILES.length];
+        for (MainDish dish : dishes) {
+            int offset = CombinationIndex.of(dish, request.getOccasion(), request.getIntimacyLevel()) * PROFILES.length;
+            for (int p = 0; p < scores.length; p++) {
+                scores[p] += combinationTotals[offset + p];
+            }
+        }
+        for (int p = 0; p < scores.length; p++) {
+            scores[p] /= dishes.size();
+        }
+        return scores;
+    }
+
+    /**
+     * Quantidade de unidades de cada perfil (sempre as mais baratas do perfil) e o menor limite
+     * superior encontrado.
+     */
+    Solution solve(Units units, double[] scores, int maxBottles, long budget) {
+        int[] counts = new int[PROFILES.length];
+        double upperBound = select(units, scores, maxBottles, 0, counts);
+        if (units.cost(counts) <= budget) {
+            // Sem o orçamento como restrição ativa, o plano guloso já é ótimo
+            return new Solution(counts, upperBound);
+        }
+
+        double maxScore = 0;
+        long minCost = Long.MAX_VALUE;
+        for (int p = 0; p < PROFILES.length; p++) {
+            if (units.length(p) > 0) {
+                maxScore = Math.max(maxScore, scores[p]);
+                minCost = Math.min(minCost, units.costs[p][0]);
+            }
+        }
+
+        // low: plano acima do orçamento; high: plano dentro (em high nenhuma unidade tem valor positivo)
+        double low = 0;
+        double high = maxScore / minCost * 2;
+        int[] feasible = new int[PROFILES.length];
+        int[] candidate = new int[PROFILES.length];
+        for (int i = 0; i < SEARCH_ITERATIONS; i++) {
+            double lambda = (low + high) / 2;
+            double dual = select(units, scores, maxBottles, lambda, candidate);
+            upperBound = Math.min(upperBound, dual + lambda * budget);
+            if (units.cost(candidate) <= budget) {
+                high = lambda;
+                System.arraycopy(candidate, 0, feasible, 0, candidate.length);
+            } else {
+                low = lambda;
+            }
+        }
+
+        repair(units, scores, maxBottles, budget, feasible);
+        return new Solution(feasible, upperBound);
+    }
+
+    /**
+     * Melhor plano com até maxBottles unidades para o multiplicador λ: intercala as listas dos perfis
+     * (valor decrescente dentro de cada uma) pegando as unidades de maior pontuação - λ × preço positiva.
+     *
+     * @return Valor lagrangiano do plano (soma de pontuação - λ × preço)
+     */
+    private static double select(Units units, double[] scores, int maxBottles, double lambda, int[] counts) {
+        Arrays.fill(counts, 0);
+        double total = 0;
+        for (int taken = 0; taken < maxBottles; taken++) {
+            int best = -1;
+            double bestGain = EPSILON;
+            for (int p = 0; p < counts.length; p++) {
+                if (counts[p] < units.length(p)) {
+                    double gain = scores[p] - lambda * units.costs[p][counts[p]];
+                    if (gain > bestGain || (best >= 0 && gain == bestGain && scores[p] > scores[best])) {
+                        best = p;
+                        bestGain = gain;
+                    }
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            counts[best]++;
+            total += bestGain;
+        }
+        return total;
+    }
+
+    /**
+     * Aproveita o saldo, enquanto houver ganho:
+     * - acrescenta unidades que ainda cabem
+     * - troca a unidade mais cara de um perfil pela próxima de um perfil de pontuação maior
+     * - devolve a unidade mais cara de um perfil e preenche o saldo liberado com as melhores que couberem
+     */
+    private static void repair(Units units, double[] scores, int maxBottles, long budget, int[] counts) {
+        long cost = units.cost(counts);
+        int total = Arrays.stream(counts).sum();
+        int limit = maxBottles * PROFILES.length;
+
+        for (int step = 0; step < limit; step++) {
+            // Acréscimo: perfil de maior pontuação cuja próxima unidade cabe
+            int add = -1;
+            if (total < maxBottles) {
+                for (int p = 0; p < counts.length; p++) {
+                    if (counts[p] < units.length(p) && cost + units.costs[p][counts[p]] <= budget
+                            && (add < 0 || scores[p] > scores[add])) {
+                        add = p;
+                    }
+                }
+            }
+            if (add >= 0) {
+                cost += units.costs[add][counts[add]];
+                counts[add]++;
+                total++;
+                continue;
+            }
+
+            // Troca: maior ganho de pontuação que cabe no orçamento
+            int from = -1;
+            int to = -1;
+            double bestGain = EPSILON;
+            for (int q = 0; q < counts.length; q++) {
+                if (counts[q] == 0) {
+                    continue;
+                }
+                long released = cost - units.costs[q][counts[q] - 1];
+                for (int p = 0; p < counts.length; p++) {
+                    double gain = scores[p] - scores[q];
+                    if (gain > bestGain && counts[p] < units.length(p) && released + units.costs[p][counts[p]] <= budget) {
+                        from = q;
+                        to = p;
+                        bestGain = gain;
+                    }
+                }
+            }
+            if (from >= 0) {
+                cost += units.costs[to][counts[to]] - units.costs[from][counts[from] - 1];
+                counts[from]--;
+                counts[to]++;
+                continue;
+            }
+
+            if (!refill(units, scores, maxBottles, budget, counts)) {
+                return;
+            }
+            cost = units.cost(counts);
+            total = Arrays.stream(counts).sum();
+        }
+    }
+
+    /**
+     * Melhor movimento "devolver uma unidade e preencher o saldo": para cada perfil, retira a unidade
+     * mais cara e acrescenta gulosamente as de maior pontuação que couberem.
+     *
+     * @return true se algum movimento aumentou a pontuação (e foi aplicado em counts)
+     */
+    private static boolean refill(Units units, double[] scores, int maxBottles, long budget, int[] counts) {
+        double current = value(counts, scores);
+        int[] best = null;
+        double bestValue = current + EPSILON;
+        int[] trial = new int[counts.length];
+
+        for (int q = 0; q < counts.length; q++) {
+            if (counts[q] == 0) {
+                continue;
+            }
+            System.arraycopy(counts, 0, trial, 0, counts.length);
+            trial[q]--;
+            long cost = units.cost(trial);
+            int total = Arrays.stream(trial).sum();
+
+            while (total < maxBottles) {
+                int add = -1;
+                for (int p = 0; p < trial.length; p++) {
+                    if (p != q && trial[p] < units.length(p) && cost + units.costs[p][trial[p]] <= budget
+                            && (add < 0 || scores[p] > scores[add])) {
+                        add = p;
+                    }
+                }
+                if (add < 0) {
+                    break;
+                }
+                cost += units.costs[add][trial[add]];
+                trial[add]++;
+                total++;
+            }
+
+            double trialValue = value(trial, scores);
+            if (trialValue > bestValue) {
+                bestValue = trialValue;
+                best = trial.clone();
+            }
+        }
+
+        if (best == null) {
+            return false;
+        }
+        System.arraycopy(best, 0, counts, 0, counts.length);
+        return true;
+    }
+
+    private static double value(int[] counts, double[] scores) {
+        double value = 0;
+        for (int p = 0; p < counts.length; p++) {
+            value += counts[p] * scores[p];
+        }
+        return value;
+    }
+
+    private static List<EventPlanResponse.PlanItem> toItems(List<CandidateBottle> candidates, Units units,
+                                                            int[] counts, double[] scores) {
+        Integer[] order = new Integer[PROFILES.length];
+        for (int p = 0; p < order.length; p++) {
+            order[p] = p;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer p) -> scores[p]).reversed());
+
+        List<EventPlanResponse.PlanItem> items = new ArrayList<>();
+        for (int p : order) {
+            int i = 0;
+            while (i < counts[p]) {
+                int candidateIndex = units.candidates[p][i];
+                int quantity = 0;
+                while (i < counts[p] && units.candidates[p][i] == candidateIndex) {
+                    quantity++;
+                    i++;
+                }
+                CandidateBottle bottle = candidates.get(candidateIndex);
+                long price = units.costs[p][i - 1];
+                items.add(new EventPlanResponse.PlanItem(
+                        bottle.getSku(),
+                        bottle.getProfile(),
+                        BigDecimal.valueOf(price, 2),
+                        quantity,
+                        BigDecimal.valueOf(price * quantity, 2),
+                        round(scores[p])));
+            }
+        }
+        return items;
+    }
+
+    private static long toCents(BigDecimal value, RoundingMode rounding) {
+        BigDecimal cents = value.movePointRight(2).setScale(0, rounding);
+        return cents.min(BigDecimal.valueOf(MAX_CENTS)).longValue();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    static final class Solution {
+
+        final int[] counts;
+        final double upperBound;
+
+        Solution(int[] counts, double upperBound) {
+            this.counts = counts;
+            this.upperBound = upperBound;
+        }
+    }
+
+    /**
+     * Unidades compráveis de cada perfil, da mais barata para a mais cara (até maxBottles por perfil).
+     * Perfis de pontuação não positiva ficam vazios: nunca vale a pena comprá-los.
+     */
+    static final class Units {
+
+        final long[][] costs;
+        final int[][] candidates;
+        final long[][] prefix;
+
+        private Units(long[][] costs, int[][] candidates) {
+            this.costs = costs;
+            this.candidates = candidates;
+            this.prefix = new long[costs.length][];
+            for (int p = 0; p < costs.length; p++) {
+                prefix[p] = new long[costs[p].length + 1];
+                for (int i = 0; i < costs[p].length; i++) {
+                    prefix[p][i + 1] = prefix[p][i] + costs[p][i];
+                }
+            }
+        }
+
+        static Units of(List<CandidateBottle> bottles, double[] scores, int maxBottles) {
+            long[] prices = new long[bottles.size()];
+            List<List<Integer>> byProfile = new ArrayList<>(PROFILES.length);
+            for (int p = 0; p < PROFILES.length; p++) {
+                byProfile.add(new ArrayList<>());
+            }
+            for (int i = 0; i < bottles.size(); i++) {
+                CandidateBottle bottle = bottles.get(i);
+                prices[i] = toCents(bottle.getPrice(), RoundingMode.CEILING);
+                if (scores[bottle.getProfile().ordinal()] > 0) {
+                    byProfile.get(bottle.getProfile().ordinal()).add(i);
+                }
+            }
+
+            long[][] costs = new long[PROFILES.length][];
+            int[][] candidates = new int[PROFILES.length][];
+            for (int p = 0; p < PROFILES.length; p++) {
+                List<Integer> indexes = byProfile.get(p);
+                indexes.sort(Comparator.comparingLong(i -> prices[i]));
+
+                long[] unitCosts = new long[Math.min(maxBottles, 16)];
+                int[] unitCandidates = new int[unitCosts.length];
+                int filled = 0;
+                for (int i : indexes) {
+                    Integer available = bottles.get(i).getAvailable();
+                    int quantity = available != null ? Math.min(available, maxBottles - filled) : maxBottles - filled;
+                    if (filled + quantity > unitCosts.length) {
+                        int capacity = Math.min(maxBottles, Math.max(unitCosts.length * 2, filled + quantity));
+                        unitCosts = Arrays.copyOf(unitCosts, capacity);
+                        unitCandidates = Arrays.copyOf(unitCandidates, capacity);
+                    }
+                    Arrays.fill(unitCosts, filled, filled + quantity, prices[i]);
+                    Arrays.fill(unitCandidates, filled, filled + quantity, i);
+                    filled += quantity;
+                    if (filled == maxBottles) {
+                        break;
+                    }
+                }
+                costs[p] = Arrays.copyOf(unitCosts, filled);
+                candidates[p] = Arrays.copyOf(unitCandidates, filled);
+            }
+            return new Units(costs, candidates);
+        }
+
+        int length(int profile) {
+            return costs[profile].length;
+        }
+
+        long cost(int[] counts) {
+            long total = 0;
+            for (int p = 0; p < counts.length; p++) {
+                total += prefix[p][counts[p]];
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.alvaro.wineselector.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Persistência dos contadores de feedback: snapshot dos totais mais um log só de acréscimos.
+ *
+ * Cada descarga acrescenta ao log um registro com as diferenças desde a anterior, apenas das
+ * células alteradas. Quando o log passa do limite, os totais são gravados em um novo snapshot
+ * (arquivo temporário renomeado) e o log é zerado. Registros levam um número de sequência e o
+ * snapshot guarda o último que inclui, então uma queda entre o snapshot e a limpeza do log não
+ * conta nada duas vezes.
+ *
+ * Formato de um registro: magic, sequência, quantidade de células, (célula, positivos, negativos)
+ * por célula e CRC32 do conteúdo. Um registro final incompleto ou corrompido (queda durante a
+ * escrita) é descartado na recuperação.
+ *
+ * Não é thread-safe; o FeedbackService serializa as chamadas.
+ */
+@Slf4j
+final class FeedbackLog {
+
+    private static final int MAGIC = 0x46424B31;
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int CELL_BYTES = Integer.BYTES + Long.BYTES + Long.BYTES;
+
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final long compactBytes;
+    private long nextSequence = 1;
+
+    FeedbackLog(Path directory, long compactBytes) {
+        this.snapshotFile = directory.resolve("feedback.snapshot");
+        this.logFile = directory.resolve("feedback.log");
+        this.compactBytes = compactBytes;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar o diretório de feedback " + directory, e);
+        }
+    }
+
+    /**
+     * Lê o snapshot e refaz o log sobre ele.
+     *
+     * @param positive Recebe os totais positivos por célula
+     * @param negative Recebe os totais negativos por célula
+     */
+    void recover(long[] positive, long[] negative) {
+        long snapshotSequence = 0;
+        try {
+            ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+            snapshotSequence = readRecord(snapshot, positive, negative, -1);
+            if (snapshotSequence < 0) {
+                throw new IllegalStateException("Snapshot de feedback corrompido: " + snapshotFile);
+            }
+        } catch (NoSuchFileException e) {
+            // Primeira execução
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o snapshot de feedback", e);
+        }
+
+        long lastSequence = snapshotSequence;
+        int replayed = 0;
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+            while (content.hasRemaining() && channel.read(content) >= 0) {
+                // lê o log inteiro
+            }
+            content.flip();
+
+            int validEnd = 0;
+            while (content.hasRemaining()) {
+                long sequence = readRecord(content, positive, negative, snapshotSequence);
+                if (sequence < 0) {
+                    log.warn("Log de feedback truncado em {} bytes (registro incompleto ou corrompido)", validEnd);
+                    channel.truncate(validEnd);
+                    break;
+                }
+                validEnd = content.position();
+                lastSequence = Math.max(lastSequence, sequence);
+                replayed++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o log de feedback", e);
+        }
+
+        nextSequence = lastSequence + 1;
+        log.info("Feedback recuperado: snapshot até {} e {} registros do log", snapshotSequence, replayed);
+    }
+
+    /**
+     * Acrescenta um registro com as diferenças das células alteradas e, se o log passar do limite,
+     * grava um snapshot com os totais e zera o log.
+     *
+     * @throws UncheckedIOException se o registro não for gravado (o log fica como estava e as
+     *         diferenças podem ser gravadas de novo); uma falha no snapshot só é registrada em log,
+     *         porque o registro já está no log e o snapshot é tentado de novo na próxima gravação
+     */
+    void append(int[] cells, long[] positiveDeltas, long[] negativeDeltas, int count,
+                long[] positiveTotals, long[] negativeTotals) {
+        ByteBuffer record = encode(nextSequence, cells, positiveDeltas, negativeDeltas, count);
+        long size;
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long start = channel.size();
+            try {
+                channel.position(start);
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                // Descarta o registro parcial: a nova tentativa não pode ficar depois de um trecho inválido
+                channel.truncate(start);
+                throw e;
+            }
+            size = channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o log de feedback", e);
+        }
+        nextSequence++;
+
+        if (size >= compactBytes) {
+            try {
+                compact(positiveTotals, negativeTotals);
+            } catch (IOException e) {
+                log.warn("Falha ao gravar o snapshot de feedback: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void compact(long[] positive, long[] negative) throws IOException {
+        int count = 0;
+        int[] cells = new int[positive.length];
+        for (int cell = 0; cell < positive.length; cell++) {
+            if (positive[cell] != 0 || negative[cell] != 0) {
+                cells[count++] = cell;
+            }
+        }
+        long[] compactPositive = new long[count];
+        long[] compactNegative = new long[count];
+        for (int i = 0; i < count; i++) {
+            compactPositive[i] = positive[cells[i]];
+            compactNegative[i] = negative[cells[i]];
+        }
+
+        // O snapshot inclui tudo até o último registro gravado
+        ByteBuffer record = encode(nextSequence - 1, cells, compactPositive, compactNegative, count);
+        Path temporary = Files.createTempFile(snapshotFile.getParent(), "feedback", ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+            channel.force(false);
+        }
+        log.info("Snapshot de feedback gravado ({} células, sequência {})", count, nextSequence - 1);
+    }
+
+    private static ByteBuffer encode(long sequence, int[] cells, long[] positive, long[] negative, int count) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + count * CELL_BYTES + Integer.BYTES);
+        buffer.putInt(MAGIC).putLong(sequence).putInt(count);
+        for (int i = 0; i < count; i++) {
+            buffer.putInt(cells[i]).putLong(positive[i]).putLong(negative[i]);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+
+    /**
+     * Lê um registro e soma suas células, se a sequência for maior que {@code skipUpTo}.
+     *
+     * @return Sequência do registro, ou -1 se estiver incompleto ou corrompido (nada é somado)
+     */
+    private static long readRecord(ByteBuffer buffer, long[] positive, long[] negative, long skipUpTo) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt(start) != MAGIC) {
+            return -1;
+        }
+        long sequence = buffer.getLong(start + Integer.BYTES);
+        int count = buffer.getInt(start + Integer.BYTES + Long.BYTES);
+        if (count < 0 || count > positive.length
+                || buffer.remaining() < HEADER_BYTES + (long) count * CELL_BYTES + Integer.BYTES) {
+            return -1;
+        }
+
+        int end = start + HEADER_BYTES + count * CELL_BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), buffer.arrayOffset() + start, end - start);
+        if ((int) crc.getValue() != buffer.getInt(end)) {
+            return -1;
+        }
+
+        // Valida as células antes de somar qualquer uma
+        for (int offset = start + HEADER_BYTES; offset < end; offset += CELL_BYTES) {
+            int cell = buffer.getInt(offset);
+            if (cell < 0 || cell >= positive.length) {
+                return -1;
+            }
+        }
+        if (sequence > skipUpTo) {
+            for (int offset = start + HEADER_BYTES; offset < end; offset += CELL_BYTES) {
+                int cell = buffer.getInt(offset);
+                positive[cell] += buffer.getLong(offset + Integer.BYTES);
+                negative[cell] += buffer.getLong(offset + Integer.BYTES + Long.BYTES);
+            }
+        }
+        buffer.position(end + Integer.BYTES);
+        return sequence;
+    }
+}
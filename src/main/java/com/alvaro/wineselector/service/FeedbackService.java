@@ -0,0 +1,175 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.FeedbackEvent;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Avaliações dos usuários (gostei, não gostei, comprou) transformadas em ajustes de pontuação.
+ *
+ * A ingestão só incrementa contadores LongAdder (striped, sem bloqueio) por combinação × perfil,
+ * positivos e negativos. Periodicamente o agendador:
+ * 1. descarrega as diferenças desde a última descarga no log de feedback (snapshot + log só de acréscimos)
+ * 2. calcula o ajuste de cada célula e publica todos no ScoreCalculator de uma vez
+ *
+ * O ajuste é limitado e suavizado: maxAdjustment × (positivos − negativos) / (total + priorWeight).
+ * Com poucas avaliações ele fica perto de zero; com muitas, tende a ±maxAdjustment, nunca além.
+ *
+ * Avaliações recebidas depois da última descarga se perdem em uma queda do processo
+ * (no encerramento normal há uma descarga final).
+ */
+@Slf4j
+@Service
+public class FeedbackService {
+
+    // Uma compra vale mais que um "gostei"
+    private static final int PURCHASE_WEIGHT = 2;
+
+    private static final int PROFILE_COUNT = WineProfile.values().length;
+    private static final int CELLS = CombinationIndex.SIZE * PROFILE_COUNT;
+
+    private final ScoreCalculator scoreCalculator;
+    private final FeedbackLog feedbackLog;
+    private final double maxAdjustment;
+    private final double priorWeight;
+
+    private final LongAdder[] positive = new LongAdder[CELLS];
+    private final LongAdder[] negative = new LongAdder[CELLS];
+    private final LongAdder events = new LongAdder();
+
+    // Totais já gravados no log; só acessados dentro de refresh()
+    private final long[] persistedPositive = new long[CELLS];
+    private final long[] persistedNegative = new long[CELLS];
+    private long publishedEvents = -1;
+
+    public FeedbackService(
+            ScoreCalculator scoreCalculator,
+            @Value("${wineselector.feedback.path:data/feedback}") Path directory,
+            @Value("${wineselector.feedback.max-adjustment:10}") double maxAdjustment,
+            @Value("${wineselector.feedback.prior-weight:20}") double priorWeight,
+            @Value("${wineselector.feedback.compact-bytes:8388608}") long compactBytes) {
+
+        if (maxAdjustment < 0 || priorWeight <= 0) {
+            throw new IllegalStateException("wineselector.feedback.max-adjustment deve ser >= 0 e prior-weight > 0");
+        }
+
+        this.scoreCalculator = scoreCalculator;
+        this.feedbackLog = new FeedbackLog(directory, compactBytes);
+        this.maxAdjustment = maxAdjustment;
+        this.priorWeight = priorWeight;
+
+        feedbackLog.recover(persistedPositive, persistedNegative);
+        for (int cell = 0; cell < CELLS; cell++) {
+            positive[cell] = new LongAdder();
+            negative[cell] = new LongAdder();
+            positive[cell].add(persistedPositive[cell]);
+            negative[cell].add(persistedNegative[cell]);
+        }
+        publish();
+    }
+
+    /**
+     * Registra um lote de avaliações. Não bloqueia: cada avaliação é um incremento em um contador.
+     *
+     * @return Quantidade registrada
+     */
+    public int record(List<FeedbackEvent> feedback) {
+        for (FeedbackEvent event : feedback) {
+            int cell = CombinationIndex.of(event.getMainDish(), event.getOccasion(), event.getIntimacyLevel())
+                    * PROFILE_COUNT + event.getProfile().ordinal();
+            switch (event.getRating()) {
+                case UP -> positive[cell].increment();
+                case PURCHASED -> positive[cell].add(PURCHASE_WEIGHT);
+                case DOWN -> negative[cell].increment();
+            }
+        }
+        events.add(feedback.size());
+        return feedback.size();
+    }
+
+    /**
+     * Descarrega as diferenças no log e publica os ajustes, se houver avaliações novas.
+     */
+    @Scheduled(fixedDelayString = "${wineselector.feedback.refresh-interval:PT1M}",
+            initialDelayString = "${wineselector.feedback.refresh-interval:PT1M}")
+    public synchronized void refresh() {
+        flush();
+        publish();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        flush();
+    }
+
+    /**
+     * Ajuste de uma célula pelos contadores atuais (inclui avaliações ainda não publicadas).
+     */
+    double getAdjustment(int cell) {
+        return adjustment(positive[cell].sum(), negative[cell].sum());
+    }
+
+    private void flush() {
+        int[] cells = new int[CELLS];
+        long[] positiveDeltas = new long[CELLS];
+        long[] negativeDeltas = new long[CELLS];
+        long[] positiveTotals = persistedPositive.clone();
+        long[] negativeTotals = persistedNegative.clone();
+        int count = 0;
+
+        for (int cell = 0; cell < CELLS; cell++) {
+            long positiveTotal = positive[cell].sum();
+            long negativeTotal = negative[cell].sum();
+            if (positiveTotal != persistedPositive[cell] || negativeTotal != persistedNegative[cell]) {
+                cells[count] = cell;
+                positiveDeltas[count] = positiveTotal - persistedPositive[cell];
+                negativeDeltas[count] = negativeTotal - persistedNegative[cell];
+                positiveTotals[cell] = positiveTotal;
+                negativeTotals[cell] = negativeTotal;
+                count++;
+            }
+        }
+
+        if (count > 0) {
+            feedbackLog.append(cells, positiveDeltas, negativeDeltas, count, positiveTotals, negativeTotals);
+            // Só depois da gravação: se ela falhar, as diferenças ficam para a próxima descarga
+            System.arraycopy(positiveTotals, 0, persistedPositive, 0, CELLS);
+            System.arraycopy(negativeTotals, 0, persistedNegative, 0, CELLS);
+            log.debug("Feedback descarregado: {} células alteradas", count);
+        }
+    }
+
+    private void publish() {
+        long eventCount = events.sum();
+        if (eventCount == publishedEvents) {
+            return;
+        }
+
+        double[] adjustments = new double[CELLS];
+        boolean adjusted = false;
+        for (int cell = 0; cell < CELLS; cell++) {
+            adjustments[cell] = adjustment(persistedPositive[cell], persistedNegative[cell]);
+            adjusted |= adjustments[cell] != 0;
+        }
+        scoreCalculator.applyFeedbackAdjustments(adjusted ? adjustments : null);
+        publishedEvents = eventCount;
+
+        if (adjusted) {
+            log.info("Ajustes de feedback publicados: {} avaliações desde o início do processo (regras {})", eventCount,
+                    scoreCalculator.getRulesVersion());
+        }
+    }
+
+    private double adjustment(long positiveCount, long negativeCount) {
+        return maxAdjustment * (positiveCount - negativeCount) / (positiveCount + negativeCount + priorWeight);
+    }
+}
@@ -0,0 +1,205 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.FlightRequest;
+import com.alvaro.wineselector.model.dto.FlightResponse;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sequência ótima de perfis para um menu degustação (um vinho por etapa).
+ *
+ * Programação dinâmica (Viterbi) sobre as etapas: cada estado é (perfil, repetições seguidas),
+ * a pontuação de uma etapa vem da tabela de totais por combinação do ScoreCalculator e cada troca
+ * de perfil paga a penalidade de transição, pré-calculada em uma matriz perfil × perfil:
+ * - voltar para um vinho mais leve custa lighterStepPenalty por degrau de corpo
+ *   (o espumante é o mais leve, então tende a abrir a sequência)
+ * - repetir o perfil da etapa anterior custa repeatPenalty, até maxConsecutiveRepeats etapas seguidas
+ *
+ * Custo O(etapas × estados²), com estados = |perfis| × maxConsecutiveRepeats.
+ */
+@Slf4j
+@Service
+public class FlightSequencingService {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+
+    // Degrau de corpo de cada perfil (índice = ordinal), do mais leve ao mais encorpado
+    private static final int[] BODY_RANK = new int[PROFILES.length];
+
+    static {
+        BODY_RANK[WineProfile.ESPUMANTE.ordinal()] = 0;
+        BODY_RANK[WineProfile.BRANCO_LEVE.ordinal()] = 1;
+        BODY_RANK[WineProfile.ROSE.ordinal()] = 2;
+        BODY_RANK[WineProfile.BRANCO_ESTRUTURADO.ordinal()] = 3;
+        BODY_RANK[WineProfile.TINTO_LEVE.ordinal()] = 4;
+        BODY_RANK[WineProfile.TINTO_MEDIO.ordinal()] = 5;
+        BODY_RANK[WineProfile.TINTO_ENCORPADO.ordinal()] = 6;
+    }
+
+    private final ScoreCalculator scoreCalculator;
+    private final int maxConsecutiveRepeats;
+    private final double[] transitionPenalties;
+
+    public FlightSequencingService(
+            ScoreCalculator scoreCalculator,
+            @Value("${wineselector.flight.lighter-step-penalty:3}") double lighterStepPenalty,
+            @Value("${wineselector.flight.repeat-penalty:4}") double repeatPenalty,
+            @Value("${wineselector.flight.max-consecutive-repeats:2}") int maxConsecutiveRepeats) {
+
+        if (maxConsecutiveRepeats < 1) {
+            throw new IllegalStateException("wineselector.flight.max-consecutive-repeats deve ser ao menos 1");
+        }
+
+        this.scoreCalculator = scoreCalculator;
+        this.maxConsecutiveRepeats = maxConsecutiveRepeats;
+        this.transitionPenalties = new double[PROFILES.length * PROFILES.length];
+
+        for (int from = 0; from < PROFILES.length; from++) {
+            for (int to = 0; to < PROFILES.length; to++) {
+                double penalty;
+                if (from == to) {
+                    penalty = repeatPenalty;
+                } else {
+                    penalty = Math.max(0, BODY_RANK[from] - BODY_RANK[to]) * lighterStepPenalty;
+                }
+                transitionPenalties[from * PROFILES.length + to] = penalty;
+            }
+        }
+    }
+
+    /**
+     * Sequencia vários menus. Cada menu é independente; a ordem da resposta é a da requisição.
+     */
+    public List<FlightResponse> getFlights(List<FlightRequest> requests) {
+        List<FlightResponse> responses = new ArrayList<>(requests.size());
+        for (FlightRequest request : requests) {
+            responses.add(getFlight(request));
+        }
+        return responses;
+    }
+
+    /**
+     * Calcula a sequência de perfis de maior pontuação total para o menu.
+     *
+     * @param request Ocasião, intimidade e etapas do menu em ordem
+     * @return Perfil por etapa, pontuação total e penalidades de transição
+     */
+    public FlightResponse getFlight(FlightRequest request) {
+        double[] combinationTotals = scoreCalculator.getCombinationTotals();
+        List<MainDish> courses = request.getCourses();
+        int courseCount = courses.size();
+        int profileCount = PROFILES.length;
+        int stateCount = profileCount * maxConsecutiveRepeats;
+
+        // Estado s = perfil × maxConsecutiveRepeats + (repetições seguidas - 1)
+        int[] offsets = new int[courseCount];
+        for (int i = 0; i < courseCount; i++) {
+            offsets[i] = CombinationIndex.of(courses.get(i), request.getOccasion(), request.getIntimacyLevel())
+                    * profileCount;
+        }
+
+        double[] best = new double[stateCount];
+        double[] next = new double[stateCount];
+        int[] previous = new int[courseCount * stateCount];
+
+        Arrays.fill(best, Double.NEGATIVE_INFINITY);
+        for (int p = 0; p < profileCount; p++) {
+            best[p * maxConsecutiveRepeats] = combinationTotals[offsets[0] + p];
+        }
+
+        for (int i = 1; i < courseCount; i++) {
+            Arrays.fill(next, Double.NEGATIVE_INFINITY);
+            int row = i * stateCount;
+
+            for (int from = 0; from < stateCount; from++) {
+                double value = best[from];
+                if (value == Double.NEGATIVE_INFINITY) {
+                    continue;
+                }
+                int fromProfile = from / maxConsecutiveRepeats;
+                int run = from % maxConsecutiveRepeats;
+                int penaltyRow = fromProfile * profileCount;
+
+                for (int to = 0; to < profileCount; to++) {
+                    int state;
+                    if (to == fromProfile) {
+                        if (run + 1 >= maxConsecutiveRepeats) {
+                            continue;
+                        }
+                        state = to * maxConsecutiveRepeats + run + 1;
+                    } else {
+                        state = to * maxConsecutiveRepeats;
+                    }
+
+                    double candidate = value - transitionPenalties[penaltyRow + to] + combinationTotals[offsets[i] + to];
+                    if (candidate > next[state]) {
+                        next[state] = candidate;
+                        previous[row + state] = from;
+                    }
+                }
+            }
+
+            double[] swap = best;
+            best = next;
+            next = swap;
+        }
+
+        // Melhor estado final e reconstrução do caminho
+        int state = 0;
+        for (int s = 1; s < stateCount; s++) {
+            if (best[s] > best[state]) {
+                state = s;
+            }
+        }
+        double totalScore = best[state];
+
+        int[] sequence = new int[courseCount];
+        for (int i = courseCount - 1; i >= 0; i--) {
+            sequence[i] = state / maxConsecutiveRepeats;
+            if (i > 0) {
+                state = previous[i * stateCount + state];
+            }
+        }
+
+        List<FlightResponse.FlightStep> steps = new ArrayList<>(courseCount);
+        double penalty = 0;
+        for (int i = 0; i < courseCount; i++) {
+            WineProfile profile = PROFILES[sequence[i]];
+            steps.add(new FlightResponse.FlightStep(
+                    courses.get(i),
+                    profile,
+                    profile.getDisplayName(),
+                    (int) Math.round(combinationTotals[offsets[i] + sequence[i]])));
+            if (i > 0) {
+                penalty += getTransitionPenalty(PROFILES[sequence[i - 1]], profile);
+            }
+        }
+
+        log.debug("Menu com {} etapas sequenciado (pontuação {})", courseCount, totalScore);
+
+        return FlightResponse.builder()
+                .steps(steps)
+                .totalScore(totalScore)
+                .transitionPenalty(penalty)
+                .build();
+    }
+
+    /**
+     * Penalidade de servir {@code to} logo depois de {@code from}.
+     */
+    double getTransitionPenalty(WineProfile from, WineProfile to) {
+        return transitionPenalties[from.ordinal() * PROFILES.length + to.ordinal()];
+    }
+
+    int getMaxConsecutiveRepeats() {
+        return maxConsecutiveRepeats;
+    }
+}
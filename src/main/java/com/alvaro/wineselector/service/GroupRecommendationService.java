@@ -0,0 +1,128 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.GroupRecommendationRequest;
+import com.alvaro.wineselector.model.dto.GroupRecommendationResponse;
+import com.alvaro.wineselector.model.enums.GroupPolicy;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Recomendação para um grupo de convidados com níveis de intimidade variados.
+ *
+ * A composição chega como quantidade por nível, então o custo não depende do número de convidados:
+ * os níveis são percorridos uma vez, em ordem crescente de tolerância a risco (pré-ordenada), acumulando
+ * as linhas da tabela de totais por combinação ponderadas pela quantidade. O agregado do prefixo de
+ * menor risco é o do convidado mais conservador; o agregado completo é a média por pessoa.
+ */
+@Slf4j
+@Service
+public class GroupRecommendationService {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+
+    // Níveis em ordem crescente de tolerância a risco (estável para empates)
+    private static final IntimacyLevel[] BY_RISK = Arrays.stream(IntimacyLevel.values())
+            .sorted(Comparator.comparingInt(IntimacyLevel::getRiskTolerance))
+            .toArray(IntimacyLevel[]::new);
+
+    private final ScoreCalculator scoreCalculator;
+    private final GroupPolicy defaultPolicy;
+
+    public GroupRecommendationService(
+            ScoreCalculator scoreCalculator,
+            @Value("${wineselector.group.policy:BOUNDED_BY_MIN_RISK}") GroupPolicy defaultPolicy) {
+        this.scoreCalculator = scoreCalculator;
+        this.defaultPolicy = defaultPolicy;
+    }
+
+    /**
+     * Calcula o perfil recomendado para o grupo.
+     *
+     * @param request Ocasião, prato, convidados por nível de intimidade e política (opcional)
+     * @return Perfil recomendado, pontuação e nível mais conservador presente
+     * @throws IllegalArgumentException se não houver nenhum convidado
+     */
+    public GroupRecommendationResponse getRecommendation(GroupRecommendationRequest request) {
+        double[] combinationTotals = scoreCalculator.getCombinationTotals();
+        Map<IntimacyLevel, Integer> guests = request.getGuests();
+
+        double[] weighted = new double[PROFILES.length];
+        double[] conservative = null;
+        long guestCount = 0;
+        long conservativeCount = 0;
+        IntimacyLevel mostConservative = null;
+
+        for (IntimacyLevel level : BY_RISK) {
+            Integer count = guests.get(level);
+            if (count == null || count == 0) {
+                continue;
+            }
+            if (mostConservative == null) {
+                mostConservative = level;
+            } else if (conservative == null && level.getRiskTolerance() > mostConservative.getRiskTolerance()) {
+                // Fim do prefixo de menor risco
+                conservative = weighted.clone();
+                conservativeCount = guestCount;
+            }
+
+            int offset = CombinationIndex.of(request.getMainDish(), request.getOccasion(), level) * PROFILES.length;
+            for (int p = 0; p < weighted.length; p++) {
+                weighted[p] += combinationTotals[offset + p] * count;
+            }
+            guestCount += count;
+        }
+
+        if (guestCount == 0) {
+            throw new IllegalArgumentException("Informe ao menos um convidado");
+        }
+        if (conservative == null) {
+            conservative = weighted.clone();
+            conservativeCount = guestCount;
+        }
+        for (int p = 0; p < weighted.length; p++) {
+            weighted[p] /= guestCount;
+            conservative[p] /= conservativeCount;
+        }
+
+        GroupPolicy policy = request.getPolicy() != null ? request.getPolicy() : defaultPolicy;
+        double[] scores = switch (policy) {
+            case MOST_CONSERVATIVE -> conservative;
+            case HEADCOUNT_WEIGHTED -> weighted;
+            case BOUNDED_BY_MIN_RISK -> {
+                for (int p = 0; p < weighted.length; p++) {
+                    weighted[p] = Math.min(weighted[p], conservative[p]);
+                }
+                yield weighted;
+            }
+        };
+
+        // Em caso de empate vence o primeiro perfil, como no ranking do ScoreCalculator
+        int best = 0;
+        for (int p = 1; p < scores.length; p++) {
+            if (scores[p] > scores[best]) {
+                best = p;
+            }
+        }
+        WineProfile recommended = PROFILES[best];
+
+        log.debug("Grupo de {} convidados ({}): {}", guestCount, policy, recommended.getDisplayName());
+
+        return GroupRecommendationResponse.builder()
+                .recommendedProfile(recommended)
+                .displayName(recommended.getDisplayName())
+                .description(recommended.getDescription())
+                .score((int) Math.round(scores[best]))
+                .policy(policy)
+                .guestCount(guestCount)
+                .mostConservativeLevel(mostConservative)
+                .build();
+    }
+}
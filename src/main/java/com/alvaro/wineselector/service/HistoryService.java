@@ -0,0 +1,166 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.history.HistoryRecord;
+import com.alvaro.wineselector.history.HistoryStore;
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.HistoryEntry;
+import com.alvaro.wineselector.model.dto.HistoryResponse;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Histórico das recomendações entregues a cada usuário ou sessão.
+ *
+ * Cada recomendação vira um registro de 32 bytes no {@link HistoryStore} (combinação, perfis e
+ * pontuações); os textos não são guardados e voltam a ser gerados na consulta. A gravação nunca
+ * falha a requisição: erros são apenas registrados no log.
+ *
+ * As respostas servidas já serializadas (binárias, compacta, fields) são gravadas a partir do
+ * resultado pré-calculado da combinação no {@link ResponseViewService}, sem recalcular a recomendação.
+ */
+@Slf4j
+@Service
+public class HistoryService {
+
+    /**
+     * Header com o id da sessão, usado quando a requisição não traz userId.
+     */
+    public static final String SESSION_HEADER = "X-Session-Id";
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+
+    private final HistoryStore store;
+    private final JustificationGenerator justificationGenerator;
+    private final ResponseViewService responseViewService;
+
+    public HistoryService(
+            JustificationGenerator justificationGenerator,
+            ResponseViewService responseViewService,
+            @Value("${wineselector.history.path:data/history}") Path directory,
+            @Value("${wineselector.history.segment-records:1048576}") int segmentRecords,
+            @Value("${wineselector.history.retention:P90D}") Duration retention) {
+        this.store = new HistoryStore(directory, segmentRecords, retention.toMillis(), System::currentTimeMillis);
+        this.justificationGenerator = justificationGenerator;
+        this.responseViewService = responseViewService;
+    }
+
+    /**
+     * Grava a recomendação no histórico do usuário. Não faz nada se {@code historyId} for nulo.
+     */
+    public void record(String historyId, RecommendationRequest request, RecommendationResponse response) {
+        if (historyId == null) {
+            return;
+        }
+        try {
+            store.append(historyId,
+                    CombinationIndex.of(request),
+                    response.getRecommendedProfile().ordinal(),
+                    response.hasAlternative() ? response.getAlternativeProfile().ordinal() : -1,
+                    response.getScore(),
+                    response.hasAlternative() ? response.getAlternativeScore() : 0);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar histórico: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Grava a recomendação das regras base da combinação, lida do resultado pré-calculado (sem montar a resposta).
+     * Não faz nada se {@code historyId} for nulo.
+     */
+    public void record(String historyId, RecommendationRequest request) {
+        if (historyId == null) {
+            return;
+        }
+        try {
+            CombinationOutcomes outcomes = responseViewService.getOutcomes();
+            int combination = CombinationIndex.of(request);
+            store.append(historyId,
+                    combination,
+                    outcomes.getWinner(combination),
+                    outcomes.getAlternative(combination),
+                    outcomes.getScore(combination),
+                    outcomes.getAlternativeScore(combination));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar histórico: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Página do histórico do usuário, da recomendação mais recente para a mais antiga.
+     *
+     * @param before Cursor recebido na página anterior (opcional)
+     * @param limit Tamanho da página (1 a 100)
+     * @throws IllegalArgumentException se o tamanho da página for inválido
+     */
+    public HistoryResponse getHistory(String historyId, Long before, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+
+        // Um registro a mais indica se existe próxima página
+        List<HistoryRecord> records = store.find(historyId, before, limit + 1);
+        int count = Math.min(limit, records.size());
+
+        List<HistoryEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(toEntry(records.get(i)));
+        }
+        Long nextCursor = records.size() > limit ? records.get(limit - 1).getSequence() : null;
+
+        return new HistoryResponse(historyId, entries, nextCursor);
+    }
+
+    /**
+     * Apaga o histórico do usuário.
+     *
+     * @return true se havia algum registro
+     */
+    public boolean deleteHistory(String historyId) {
+        return store.delete(historyId) > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${wineselector.history.maintenance-interval:PT10M}",
+            initialDelayString = "${wineselector.history.maintenance-interval:PT10M}")
+    public void maintain() {
+        store.maintain();
+    }
+
+    @PreDestroy
+    public void close() {
+        store.close();
+    }
+
+    private HistoryEntry toEntry(HistoryRecord record) {
+        RecommendationRequest request = CombinationIndex.toRequest(record.getCombination());
+        WineProfile profile = PROFILES[record.getProfile()];
+        String justification = justificationGenerator.generateJustification(request, profile);
+
+        RecommendationResponse recommendation = record.getAlternativeProfile() >= 0
+                ? RecommendationResponse.withAlternative(profile, justification, record.getScore(),
+                        PROFILES[record.getAlternativeProfile()], record.getAlternativeScore())
+                : RecommendationResponse.withMainProfile(profile, justification, record.getScore());
+
+        return HistoryEntry.builder()
+                .sequence(record.getSequence())
+                .recommendedAt(Instant.ofEpochMilli(record.getTimestamp()))
+                .mainDish(request.getMainDish())
+                .occasion(request.getOccasion())
+                .intimacyLevel(request.getIntimacyLevel())
+                .recommendation(recommendation)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.rules.InteractionRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Regras de interação compiladas em tabelas densas de ajustes e tetos por combinação.
+ *
+ * Layout: deltas[combinação × |perfis| + perfil] e caps[combinação × |perfis| + perfil]. Todas as
+ * condições são avaliadas uma única vez na compilação; aplicar as interações a uma requisição é
+ * somar |perfis| valores e, depois de todas as outras parcelas (dimensões e feedback), limitar
+ * cada total ao teto da combinação, não importa quantas regras existam.
+ */
+final class InteractionTable {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+    private static final String[] NO_RULES = new String[0];
+
+    static final InteractionTable NONE = new InteractionTable(null, null, null, 0);
+
+    private final double[] deltas;
+    private final double[] caps;
+    private final String[][] appliedRules;
+    private final int ruleCount;
+
+    private InteractionTable(double[] deltas, double[] caps, String[][] appliedRules, int ruleCount) {
+        this.deltas = deltas;
+        this.caps = caps;
+        this.appliedRules = appliedRules;
+        this.ruleCount = ruleCount;
+    }
+
+    /**
+     * Compila as regras sobre todas as combinações.
+     *
+     * Os ajustes de todas as regras que casam são somados; o teto de um perfil é o menor entre
+     * os declarados por essas regras (sem teto: infinito).
+     *
+     * @param rules Regras de interação, na ordem de aplicação
+     */
+    static InteractionTable compile(List<InteractionRule> rules) {
+        if (rules.isEmpty()) {
+            return NONE;
+        }
+
+        double[] deltas = new double[CombinationIndex.SIZE * PROFILES.length];
+        double[] caps = new double[CombinationIndex.SIZE * PROFILES.length];
+        Arrays.fill(caps, Double.POSITIVE_INFINITY);
+        boolean capped = false;
+        String[][] appliedRules = new String[CombinationIndex.SIZE][];
+        List<String> matched = new ArrayList<>();
+
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            MainDish dish = CombinationIndex.dishOf(index);
+            Occasion occasion = CombinationIndex.occasionOf(index);
+            IntimacyLevel intimacyLevel = CombinationIndex.intimacyOf(index);
+            int offset = index * PROFILES.length;
+
+            matched.clear();
+            for (InteractionRule rule : rules) {
+                if (!rule.getCondition().matches(dish, occasion, intimacyLevel)) {
+                    continue;
+                }
+                matched.add(rule.getName());
+                for (Map.Entry<WineProfile, Integer> adjustment : rule.getAdjustments().entrySet()) {
+                    deltas[offset + adjustment.getKey().ordinal()] += adjustment.getValue();
+                }
+                for (Map.Entry<WineProfile, Integer> cap : rule.getCaps().entrySet()) {
+                    int cell = offset + cap.getKey().ordinal();
+                    caps[cell] = Math.min(caps[cell], cap.getValue());
+                    capped = true;
+                }
+            }
+            appliedRules[index] = matched.isEmpty() ? NO_RULES : matched.toArray(NO_RULES);
+        }
+
+        return new InteractionTable(deltas, capped ? caps : null, appliedRules, rules.size());
+    }
+
+    /**
+     * Soma os ajustes da combinação aos totais.
+     */
+    void apply(double[] totals, int combination) {
+        if (deltas == null) {
+            return;
+        }
+        int offset = combination * PROFILES.length;
+        for (int p = 0; p < totals.length; p++) {
+            totals[p] += deltas[offset + p];
+        }
+    }
+
+    /**
+     * Limita os totais da combinação aos tetos; chamado depois de somar todas as parcelas.
+     *
+     * @return Quanto cada perfil perdeu para o teto, ou null se nenhum total foi limitado
+     */
+    double[] applyCaps(double[] totals, int combination) {
+        if (caps == null) {
+            return null;
+        }
+        double[] reductions = null;
+        int offset = combination * PROFILES.length;
+        for (int p = 0; p < totals.length; p++) {
+            double cap = caps[offset + p];
+            if (totals[p] > cap) {
+                if (reductions == null) {
+                    reductions = new double[totals.length];
+                }
+                reductions[p] = totals[p] - cap;
+                totals[p] = cap;
+            }
+        }
+        return reductions;
+    }
+
+    /**
+     * Teto de uma célula [combinação × |perfis| + perfil] (infinito se nenhuma regra limitar).
+     */
+    double getCap(int cell) {
+        return caps == null ? Double.POSITIVE_INFINITY : caps[cell];
+    }
+
+    double getDelta(int combination, WineProfile profile) {
+        return deltas == null ? 0 : deltas[combination * PROFILES.length + profile.ordinal()];
+    }
+
+    /**
+     * Nomes das regras que se aplicam à combinação. O array é compartilhado e não deve ser modificado.
+     */
+    String[] getAppliedRules(int combination) {
+        return appliedRules == null ? NO_RULES : appliedRules[combination];
+    }
+
+    int getRuleCount() {
+        return ruleCount;
+    }
+
+    double[] getDeltas() {
+        return deltas == null ? new double[0] : deltas;
+    }
+
+    double[] getCaps() {
+        return caps == null ? new double[0] : caps;
+    }
+}
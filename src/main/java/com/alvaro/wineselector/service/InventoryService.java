@@ -0,0 +1,174 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.exception.OutOfStockException;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Estoque de garrafas por estabelecimento e perfil.
+ *
+ * Cada estabelecimento tem um AtomicIntegerArray indexado pelo ordinal do perfil. Leituras são
+ * leituras voláteis simples, sem bloqueio; reservas são laços de compare-and-set na posição do perfil,
+ * então atualizações de perfis (ou estabelecimentos) diferentes não disputam entre si.
+ *
+ * Perfis nunca informados para o estabelecimento não são controlados e contam como disponíveis,
+ * assim como todos os perfis de um estabelecimento sem estoque cadastrado.
+ */
+@Slf4j
+@Service
+public class InventoryService {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+    private static final int UNTRACKED = -1;
+    private static final Pattern VENUE_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final Map<String, AtomicIntegerArray> stocks = new ConcurrentHashMap<>();
+
+    /**
+     * Define o estoque de alguns perfis do estabelecimento; os demais perfis mantêm o valor atual.
+     *
+     * @param venueId Identificador do estabelecimento
+     * @param quantities Quantidade de garrafas por perfil (≥ 0)
+     * @return Estoque atualizado
+     * @throws IllegalArgumentException se o identificador ou alguma quantidade for inválida
+     */
+    public Map<WineProfile, Integer> setStock(String venueId, Map<WineProfile, Integer> quantities) {
+        validateVenueId(venueId);
+        quantities.forEach((profile, quantity) -> {
+            if (quantity == null || quantity < 0) {
+                throw new IllegalArgumentException("Quantidade inválida para " + profile + ": " + quantity);
+            }
+        });
+
+        AtomicIntegerArray stock = stocks.computeIfAbsent(venueId, id -> newStock());
+        quantities.forEach((profile, quantity) -> stock.set(profile.ordinal(), quantity));
+
+        log.debug("Estoque de {} atualizado: {}", venueId, quantities);
+        return snapshot(stock);
+    }
+
+    /**
+     * Reserva (ou dá baixa de) garrafas de um perfil de forma atômica.
+     *
+     * @param venueId Identificador do estabelecimento
+     * @param profile Perfil vendido
+     * @param quantity Quantidade de garrafas (≥ 1)
+     * @return Estoque restante do perfil, ou null se o perfil não for controlado
+     * @throws OutOfStockException se o estoque for menor que a quantidade
+     */
+    public Integer reserve(String venueId, WineProfile profile, int quantity) {
+        validateQuantity(quantity);
+        AtomicIntegerArray stock = stocks.get(venueId);
+        if (stock == null) {
+            return null;
+        }
+
+        int index = profile.ordinal();
+        while (true) {
+            int current = stock.get(index);
+            if (current == UNTRACKED) {
+                return null;
+            }
+            if (current < quantity) {
+                throw new OutOfStockException("Estoque insuficiente de " + profile.getDisplayName()
+                        + " em " + venueId + ": " + current + " disponíveis");
+            }
+            if (stock.compareAndSet(index, current, current - quantity)) {
+                return current - quantity;
+            }
+        }
+    }
+
+    /**
+     * Devolve garrafas ao estoque (ex: reserva cancelada).
+     *
+     * @return Estoque resultante do perfil, ou null se o perfil não for controlado
+     */
+    public Integer release(String venueId, WineProfile profile, int quantity) {
+        validateQuantity(quantity);
+        AtomicIntegerArray stock = stocks.get(venueId);
+        if (stock == null) {
+            return null;
+        }
+
+        int index = profile.ordinal();
+        while (true) {
+            int current = stock.get(index);
+            if (current == UNTRACKED) {
+                return null;
+            }
+            int updated = (int) Math.min(Integer.MAX_VALUE, (long) current + quantity);
+            if (stock.compareAndSet(index, current, updated)) {
+                return updated;
+            }
+        }
+    }
+
+    /**
+     * Critério de elegibilidade para a recomendação: perfis com estoque (ou não controlados).
+     * O estoque é lido no momento de cada teste, sem cópia.
+     */
+    public Predicate<WineProfile> availableIn(String venueId) {
+        AtomicIntegerArray stock = stocks.get(venueId);
+        if (stock == null) {
+            return profile -> true;
+        }
+        return profile -> stock.get(profile.ordinal()) != 0;
+    }
+
+    /**
+     * Estoque atual do estabelecimento (apenas perfis controlados).
+     */
+    public Map<WineProfile, Integer> getStock(String venueId) {
+        AtomicIntegerArray stock = stocks.get(venueId);
+        return stock != null ? snapshot(stock) : Map.of();
+    }
+
+    /**
+     * Remove o estoque do estabelecimento; todos os perfis voltam a contar como disponíveis.
+     *
+     * @return true se havia estoque cadastrado
+     */
+    public boolean removeVenue(String venueId) {
+        return stocks.remove(venueId) != null;
+    }
+
+    private static AtomicIntegerArray newStock() {
+        AtomicIntegerArray stock = new AtomicIntegerArray(PROFILES.length);
+        for (int i = 0; i < PROFILES.length; i++) {
+            stock.set(i, UNTRACKED);
+        }
+        return stock;
+    }
+
+    private static Map<WineProfile, Integer> snapshot(AtomicIntegerArray stock) {
+        Map<WineProfile, Integer> snapshot = new EnumMap<>(WineProfile.class);
+        for (WineProfile profile : PROFILES) {
+            int quantity = stock.get(profile.ordinal());
+            if (quantity != UNTRACKED) {
+                snapshot.put(profile, quantity);
+            }
+        }
+        return snapshot;
+    }
+
+    private static void validateVenueId(String venueId) {
+        if (venueId == null || !VENUE_ID.matcher(venueId).matches()) {
+            throw new IllegalArgumentException("Identificador de estabelecimento inválido: use até 64 letras, números, '-' ou '_'");
+        }
+    }
+
+    private static void validateQuantity(int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("A quantidade deve ser ao menos 1");
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.MealCourse;
+import com.alvaro.wineselector.model.dto.MealRecommendationRequest;
+import com.alvaro.wineselector.model.dto.MealRecommendationResponse;
+import com.alvaro.wineselector.model.enums.MealAggregation;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Recomendação de um único vinho para uma refeição com vários pratos.
+ *
+ * Cada prato é uma linha da tabela de totais por combinação do ScoreCalculator (prato × ocasião
+ * × intimidade, já com interações). Agregar a refeição é percorrer essas linhas uma vez, perfil a
+ * perfil, então uma refeição de seis pratos custa praticamente o mesmo que um prato só.
+ */
+@Slf4j
+@Service
+public class MealRecommendationService {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+    private static final double DEFAULT_IMPORTANCE = 1.0;
+
+    private final ScoreCalculator scoreCalculator;
+    private final MealAggregation defaultAggregation;
+
+    public MealRecommendationService(
+            ScoreCalculator scoreCalculator,
+            @Value("${wineselector.meal.aggregation:WEIGHTED_SUM}") MealAggregation defaultAggregation) {
+        this.scoreCalculator = scoreCalculator;
+        this.defaultAggregation = defaultAggregation;
+    }
+
+    /**
+     * Calcula o perfil que melhor atende a refeição inteira.
+     *
+     * @param request Ocasião, intimidade, pratos (com importância opcional) e forma de agregação
+     * @return Perfil recomendado, pontuação agregada e adequação a cada prato
+     */
+    public MealRecommendationResponse getRecommendation(MealRecommendationRequest request) {
+        double[] combinationTotals = scoreCalculator.getCombinationTotals();
+        List<MealCourse> courses = request.getCourses();
+        int courseCount = courses.size();
+
+        int[] offsets = new int[courseCount];
+        double[] importances = new double[courseCount];
+        double importanceSum = 0;
+        for (int i = 0; i < courseCount; i++) {
+            MealCourse course = courses.get(i);
+            offsets[i] = CombinationIndex.of(course.getMainDish(), request.getOccasion(), request.getIntimacyLevel())
+                    * PROFILES.length;
+            importances[i] = course.getImportance() != null ? course.getImportance() : DEFAULT_IMPORTANCE;
+            importanceSum += importances[i];
+        }
+
+        MealAggregation aggregation = request.getAggregation() != null ? request.getAggregation() : defaultAggregation;
+        double[] aggregate = new double[PROFILES.length];
+
+        switch (aggregation) {
+            case WEIGHTED_SUM -> {
+                for (int i = 0; i < courseCount; i++) {
+                    double weight = importances[i] / importanceSum;
+                    for (int p = 0; p < aggregate.length; p++) {
+                        aggregate[p] += combinationTotals[offsets[i] + p] * weight;
+                    }
+                }
+            }
+            case MAX_MIN -> {
+                Arrays.fill(aggregate, Double.POSITIVE_INFINITY);
+                for (int i = 0; i < courseCount; i++) {
+                    for (int p = 0; p < aggregate.length; p++) {
+                        aggregate[p] = Math.min(aggregate[p], combinationTotals[offsets[i] + p]);
+                    }
+                }
+            }
+        }
+
+        int best = argMax(aggregate, 0);
+        WineProfile recommended = PROFILES[best];
+
+        List<MealRecommendationResponse.CourseFit> fits = new ArrayList<>(courseCount);
+        for (int i = 0; i < courseCount; i++) {
+            fits.add(new MealRecommendationResponse.CourseFit(
+                    courses.get(i).getMainDish(),
+                    importances[i],
+                    (int) Math.round(combinationTotals[offsets[i] + best]),
+                    PROFILES[argMax(combinationTotals, offsets[i])]));
+        }
+
+        log.debug("Refeição com {} pratos ({}): {}", courseCount, aggregation, recommended.getDisplayName());
+
+        return MealRecommendationResponse.builder()
+                .recommendedProfile(recommended)
+                .displayName(recommended.getDisplayName())
+                .description(recommended.getDescription())
+                .score((int) Math.round(aggregate[best]))
+                .aggregation(aggregation)
+                .courses(fits)
+                .build();
+    }
+
+    /**
+     * Índice do maior valor entre values[offset] e values[offset + |perfis| - 1], relativo ao offset.
+     * Em caso de empate vence o primeiro perfil, como no ranking do ScoreCalculator.
+     */
+    private static int argMax(double[] values, int offset) {
+        int best = 0;
+        for (int p = 1; p < PROFILES.length; p++) {
+            if (values[offset + p] > values[offset + best]) {
+                best = p;
+            }
+        }
+        return best;
+    }
+}
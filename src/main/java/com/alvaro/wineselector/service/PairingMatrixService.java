@@ -0,0 +1,389 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.MenuItem;
+import com.alvaro.wineselector.model.dto.PairingMatrixRequest;
+import com.alvaro.wineselector.model.dto.WineListItem;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matriz de harmonização cardápio × carta de vinhos para uma ocasião e intimidade.
+ *
+ * A pontuação de um par depende só do prato e do perfil do vinho, então a matriz inteira sai das
+ * linhas da tabela de totais por combinação dos pratos presentes: cada linha da matriz é montada uma
+ * vez por prato distinto (um valor por vinho da carta) e reaproveitada para todos os itens do
+ * cardápio com aquele prato. Os melhores pares por prato e por vinho são calculados sobre os sete
+ * perfis, sem percorrer a matriz.
+ *
+ * A resposta é escrita em JSON direto na saída (resumos primeiro, matriz por último) e guardada em um
+ * cache LRU limitado em bytes, indexado pelo hash do conteúdo da requisição e da versão das regras.
+ * Totais e versão são lidos uma vez, em {@link #prepare}, e a escrita (que acontece depois, fora da
+ * thread da requisição) usa os mesmos: uma publicação de feedback no meio do caminho não faz a matriz
+ * nova ser guardada sob o hash antigo.
+ */
+@Slf4j
+@Service
+public class PairingMatrixService {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+    private static final MainDish[] DISHES = MainDish.values();
+
+    private final ScoreCalculator scoreCalculator;
+    private final JsonMapper jsonMapper;
+    private final ByteLruCache cache;
+    private final int maxEntryBytes;
+
+    public PairingMatrixService(
+            ScoreCalculator scoreCalculator,
+            JsonMapper jsonMapper,
+            @Value("${wineselector.pairing.cache-max-bytes:33554432}") long cacheMaxBytes) {
+        this.scoreCalculator = scoreCalculator;
+        this.jsonMapper = jsonMapper;
+        this.cache = new ByteLruCache(cacheMaxBytes);
+        // Uma resposta sozinha não ocupa mais que um quarto do cache
+        this.maxEntryBytes = (int) Math.min(Integer.MAX_VALUE - 8, cacheMaxBytes / 4);
+    }
+
+    /**
+     * Fixa os totais e a versão das regras atuais para a requisição e calcula o hash do conteúdo.
+     *
+     * @param request Ocasião, intimidade, cardápio e carta
+     * @return Matriz pronta para {@link #writeMatrix}, identificada pelo hash (ETag e cache)
+     */
+    public PreparedMatrix prepare(PairingMatrixRequest request) {
+        ScoreCalculator.Published published = scoreCalculator.getPublished();
+        return new PreparedMatrix(request, published, contentHash(request, published.getRulesVersion()));
+    }
+
+    /**
+     * Hash SHA-256 (hex) da requisição e da versão das regras atuais.
+     */
+    public String getContentHash(PairingMatrixRequest request) {
+        return prepare(request).getContentHash();
+    }
+
+    private static String contentHash(PairingMatrixRequest request, String rulesVersion) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+
+        update(digest, rulesVersion);
+        update(digest, request.getOccasion().ordinal());
+        update(digest, request.getIntimacyLevel().ordinal());
+        update(digest, request.getMenu().size());
+        for (MenuItem item : request.getMenu()) {
+            update(digest, item.getName());
+            update(digest, item.getMainDish().ordinal());
+        }
+        update(digest, request.getWines().size());
+        for (WineListItem wine : request.getWines()) {
+            update(digest, wine.getName());
+            update(digest, wine.getProfile().ordinal());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Escreve a matriz em JSON na saída, do cache quando possível.
+     *
+     * Formato: {"contentHash", "rulesVersion", "occasion", "intimacyLevel", "bestByDish": [...],
+     * "bestByWine": [...], "matrix": [[pontuação do vinho j para o prato i, ...], ...]}
+     *
+     * @param matrix Requisição com totais e versão fixados em {@link #prepare}
+     * @param out Saída da resposta (não é fechada)
+     */
+    public void writeMatrix(PreparedMatrix matrix, OutputStream out) throws IOException {
+        PairingMatrixRequest request = matrix.request;
+        String contentHash = matrix.contentHash;
+        byte[] cached = cache.get(contentHash);
+        if (cached != null) {
+            log.debug("Matriz de harmonização {} servida do cache", contentHash);
+            out.write(cached);
+            return;
+        }
+
+        CapturingOutputStream capture = new CapturingOutputStream(out, maxEntryBytes);
+        try (JsonGenerator generator = jsonMapper.createGenerator(capture)) {
+            write(request, contentHash, matrix.published, generator);
+        }
+
+        byte[] body = capture.getCaptured();
+        if (body != null) {
+            cache.put(contentHash, body);
+        }
+        log.debug("Matriz de harmonização {} ({} × {}) gerada", contentHash,
+                request.getMenu().size(), request.getWines().size());
+    }
+
+    private void write(PairingMatrixRequest request, String contentHash, ScoreCalculator.Published published,
+                       JsonGenerator generator) {
+        double[] combinationTotals = published.getCombinationTotals();
+        List<MenuItem> menu = request.getMenu();
+        List<WineListItem> wines = request.getWines();
+
+        // Primeira ocorrência de cada prato no cardápio e de cada perfil na carta (-1 = ausente)
+        int[] firstMenuItem = new int[DISHES.length];
+        int[] firstWine = new int[PROFILES.length];
+        Arrays.fill(firstMenuItem, -1);
+        Arrays.fill(firstWine, -1);
+        for (int i = 0; i < menu.size(); i++) {
+            int dish = menu.get(i).getMainDish().ordinal();
+            if (firstMenuItem[dish] < 0) {
+                firstMenuItem[dish] = i;
+            }
+        }
+        int[] wineProfiles = new int[wines.size()];
+        for (int j = 0; j < wines.size(); j++) {
+            wineProfiles[j] = wines.get(j).getProfile().ordinal();
+            if (firstWine[wineProfiles[j]] < 0) {
+                firstWine[wineProfiles[j]] = j;
+            }
+        }
+
+        // Pontuações por prato presente: uma linha de sete perfis da tabela de totais
+        double[][] dishScores = new double[DISHES.length][];
+        for (int d = 0; d < DISHES.length; d++) {
+            if (firstMenuItem[d] >= 0) {
+                int offset = CombinationIndex.of(DISHES[d], request.getOccasion(), request.getIntimacyLevel()) * PROFILES.length;
+                dishScores[d] = Arrays.copyOfRange(combinationTotals, offset, offset + PROFILES.length);
+            }
+        }
+
+        // Melhor perfil presente na carta para cada prato (empate: o vinho que aparece primeiro)
+        int[] bestProfileByDish = new int[DISHES.length];
+        for (int d = 0; d < DISHES.length; d++) {
+            if (dishScores[d] == null) {
+                continue;
+            }
+            int best = -1;
+            for (int p = 0; p < PROFILES.length; p++) {
+                if (firstWine[p] >= 0 && (best < 0 || dishScores[d][p] > dishScores[d][best]
+                        || (dishScores[d][p] == dishScores[d][best] && firstWine[p] < firstWine[best]))) {
+                    best = p;
+                }
+            }
+            bestProfileByDish[d] = best;
+        }
+
+        // Melhor prato presente no cardápio para cada perfil (empate: o item que aparece primeiro)
+        int[] bestDishByProfile = new int[PROFILES.length];
+        for (int p = 0; p < PROFILES.length; p++) {
+            int best = -1;
+            for (int d = 0; d < DISHES.length; d++) {
+                if (dishScores[d] != null && (best < 0 || dishScores[d][p] > dishScores[best][p]
+                        || (dishScores[d][p] == dishScores[best][p] && firstMenuItem[d] < firstMenuItem[best]))) {
+                    best = d;
+                }
+            }
+            bestDishByProfile[p] = best;
+        }
+
+        generator.writeStartObject();
+        generator.writeStringProperty("contentHash", contentHash);
+        generator.writeStringProperty("rulesVersion", published.getRulesVersion());
+        generator.writeStringProperty("occasion", request.getOccasion().name());
+        generator.writeStringProperty("intimacyLevel", request.getIntimacyLevel().name());
+
+        generator.writeName("bestByDish");
+        generator.writeStartArray();
+        for (MenuItem item : menu) {
+            int d = item.getMainDish().ordinal();
+            int p = bestProfileByDish[d];
+            WineListItem wine = wines.get(firstWine[p]);
+            generator.writeStartObject();
+            generator.writeStringProperty("dish", item.getName());
+            generator.writeStringProperty("mainDish", item.getMainDish().name());
+            generator.writeStringProperty("wine", wine.getName());
+            generator.writeStringProperty("profile", wine.getProfile().name());
+            generator.writeNumberProperty("score", (int) Math.round(dishScores[d][p]));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeName("bestByWine");
+        generator.writeStartArray();
+        for (WineListItem wine : wines) {
+            int p = wine.getProfile().ordinal();
+            int d = bestDishByProfile[p];
+            MenuItem item = menu.get(firstMenuItem[d]);
+            generator.writeStartObject();
+            generator.writeStringProperty("wine", wine.getName());
+            generator.writeStringProperty("profile", wine.getProfile().name());
+            generator.writeStringProperty("dish", item.getName());
+            generator.writeStringProperty("mainDish", item.getMainDish().name());
+            generator.writeNumberProperty("score", (int) Math.round(dishScores[d][p]));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        // Cada linha é montada uma vez por prato distinto e reaproveitada
+        int[][] rows = new int[DISHES.length][];
+        generator.writeName("matrix");
+        generator.writeStartArray();
+        for (MenuItem item : menu) {
+            int d = item.getMainDish().ordinal();
+            int[] row = rows[d];
+            if (row == null) {
+                int[] rounded = new int[PROFILES.length];
+                for (int p = 0; p < PROFILES.length; p++) {
+                    rounded[p] = (int) Math.round(dishScores[d][p]);
+                }
+                row = new int[wineProfiles.length];
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = rounded[wineProfiles[j]];
+                }
+                rows[d] = row;
+            }
+            generator.writeArray(row, 0, row.length);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private static void update(MessageDigest digest, int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    // Prefixo de tamanho: ("ab", "c") e ("a", "bc") geram hashes diferentes
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        update(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    /**
+     * Requisição com os totais e a versão das regras lidos junto com o hash.
+     */
+    public static final class PreparedMatrix {
+
+        private final PairingMatrixRequest request;
+        private final ScoreCalculator.Published published;
+        private final String contentHash;
+
+        private PreparedMatrix(PairingMatrixRequest request, ScoreCalculator.Published published, String contentHash) {
+            this.request = request;
+            this.published = published;
+            this.contentHash = contentHash;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+    }
+
+    /**
+     * Repassa tudo para a saída e guarda uma cópia enquanto couber no limite.
+     * close() apenas descarrega: a saída pertence ao chamador.
+     */
+    private static final class CapturingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+        private final int limit;
+        private ByteArrayOutputStream captured = new ByteArrayOutputStream(8192);
+
+        CapturingOutputStream(OutputStream delegate, int limit) {
+            this.delegate = delegate;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (captured != null) {
+                if (captured.size() + 1 > limit) {
+                    captured = null;
+                } else {
+                    captured.write(b);
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            if (captured != null) {
+                if (captured.size() + len > limit) {
+                    captured = null;
+                } else {
+                    captured.write(b, off, len);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.flush();
+        }
+
+        byte[] getCaptured() {
+            return captured != null ? captured.toByteArray() : null;
+        }
+    }
+
+    /**
+     * LRU de respostas codificadas, limitado pela soma dos tamanhos.
+     */
+    static final class ByteLruCache {
+
+        private final long maxBytes;
+        private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long totalBytes;
+
+        ByteLruCache(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized byte[] get(String key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(String key, byte[] value) {
+            if (value.length > maxBytes) {
+                return;
+            }
+            byte[] previous = entries.put(key, value);
+            totalBytes += value.length - (previous != null ? previous.length : 0);
+
+            Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, byte[]> entry = eldest.next();
+                totalBytes -= entry.getValue().length;
+                eldest.remove();
+            }
+        }
+
+        synchronized long getTotalBytes() {
+            return totalBytes;
+        }
+    }
+}
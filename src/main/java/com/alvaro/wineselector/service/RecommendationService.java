@@ -1,7 +1,9 @@
 package com.alvaro.wineselector.service;
 
+import com.alvaro.wineselector.exception.OutOfStockException;
 import com.alvaro.wineselector.model.dto.RecommendationRequest;
 import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.dto.ScoreExplanation;
 import com.alvaro.wineselector.model.enums.WineProfile;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Serviço principal de recomendação.
@@ -29,7 +32,7 @@ public class RecommendationService {
      * @return Resposta com perfil recomendado, justificativa e alternativa (se houver)
      */
     public RecommendationResponse getRecommendation(RecommendationRequest request) {
-        log.info("Processando recomendação para: {}", request);
+        log.debug("Processando recomendação para: {}", request);
 
         // 1. Calcular pontuações
         Map<WineProfile, Double> scores = scoreCalculator.calculateScores(request);
@@ -38,7 +41,7 @@ public class RecommendationService {
         WineProfile recommendedProfile = scoreCalculator.getRecommendedProfile(scores);
         int recommendedScore = scoreCalculator.getScore(scores, recommendedProfile);
 
-        log.info("Perfil recomendado: {} ({} pontos)", 
+        log.debug("Perfil recomendado: {} ({} pontos)", 
                 recommendedProfile.getDisplayName(), recommendedScore);
 
         // 3. Gerar justificativa
@@ -52,7 +55,7 @@ public class RecommendationService {
             WineProfile alternative = alternativeProfile.get();
             int alternativeScore = scoreCalculator.getScore(scores, alternative);
 
-            log.info("Perfil alternativo: {} ({} pontos)", 
+            log.debug("Perfil alternativo: {} ({} pontos)", 
                     alternative.getDisplayName(), alternativeScore);
 
             return RecommendationResponse.withAlternative(
@@ -71,6 +74,59 @@ public class RecommendationService {
         }
     }
 
+    /**
+     * Recomendação restrita aos perfis elegíveis (ex: com estoque no estabelecimento).
+     * Se o vencedor não for elegível, cai para o próximo perfil do ranking.
+     * 
+     * @param request Requisição com ocasião, intimidade e prato
+     * @param eligible Critério de elegibilidade dos perfis
+     * @return Resposta com o perfil elegível de maior pontuação e alternativa elegível (se houver)
+     * @throws OutOfStockException se nenhum perfil for elegível
+     */
+    public RecommendationResponse getRecommendation(RecommendationRequest request, Predicate<WineProfile> eligible) {
+        return respond(request, scoreCalculator.calculateBreakdown(request), eligible);
+    }
+
+    /**
+     * Recomendação personalizada: o ajuste de preferência do usuário é somado à pontuação de cada perfil.
+     * 
+     * @param request Requisição com ocasião, intimidade e prato
+     * @param preferenceBias Ajuste por perfil, indexado pelo ordinal do WineProfile
+     * @return Resposta com o perfil de maior pontuação ajustada e alternativa (se houver)
+     */
+    public RecommendationResponse getPersonalizedRecommendation(RecommendationRequest request, float[] preferenceBias) {
+        ScoreBreakdown breakdown = scoreCalculator.calculateBreakdown(request).withPreferenceBias(preferenceBias);
+        return respond(request, breakdown, profile -> true);
+    }
+
+    private RecommendationResponse respond(RecommendationRequest request, ScoreBreakdown breakdown,
+                                           Predicate<WineProfile> eligible) {
+        WineProfile recommendedProfile = scoreCalculator.getBestEligibleProfile(breakdown, eligible)
+                .orElseThrow(() -> new OutOfStockException("Nenhum perfil de vinho disponível em estoque"));
+        int recommendedScore = (int) Math.round(breakdown.getTotal(recommendedProfile));
+
+        if (recommendedProfile != breakdown.getWinner()) {
+            log.debug("Perfil {} indisponível, recomendando {}",
+                    breakdown.getWinner().getDisplayName(), recommendedProfile.getDisplayName());
+        }
+
+        String justification = justificationGenerator.generateJustification(request, recommendedProfile);
+
+        Optional<WineProfile> alternativeProfile =
+                scoreCalculator.getAlternativeEligibleProfile(breakdown, recommendedProfile, eligible);
+        if (alternativeProfile.isPresent()) {
+            WineProfile alternative = alternativeProfile.get();
+            return RecommendationResponse.withAlternative(
+                    recommendedProfile,
+                    justification,
+                    recommendedScore,
+                    alternative,
+                    (int) Math.round(breakdown.getTotal(alternative))
+            );
+        }
+        return RecommendationResponse.withMainProfile(recommendedProfile, justification, recommendedScore);
+    }
+
     /**
      * Gera relatório detalhado do cálculo (para debug/transparência).
      * 
@@ -78,8 +134,38 @@ public class RecommendationService {
      * @return Relatório em formato texto
      */
     public String getCalculationReport(RecommendationRequest request) {
-        Map<WineProfile, Double> scores = scoreCalculator.calculateScores(request);
-        return scoreCalculator.generateCalculationReport(request, scores);
+        return scoreCalculator.generateCalculationReport(scoreCalculator.explain(request));
+    }
+
+    /**
+     * Retorna a explicação estruturada do cálculo (contribuições por dimensão, ranking e distâncias).
+     * 
+     * @param request Requisição original
+     * @return Explicação do cálculo
+     */
+    public ScoreExplanation getExplanation(RecommendationRequest request) {
+        return scoreCalculator.explain(request);
+    }
+
+    /**
+     * Versão das regras usadas por este serviço (muda quando ajustes de feedback são publicados).
+     */
+    public String getRulesVersion() {
+        return scoreCalculator.getRulesVersion();
+    }
+
+    /**
+     * Totais por combinação × perfil das regras atuais (ver {@link ScoreCalculator#getCombinationTotals()}).
+     */
+    double[] getCombinationTotals() {
+        return scoreCalculator.getCombinationTotals();
+    }
+
+    /**
+     * Ação executada depois de cada mudança da versão das regras (ver {@link ScoreCalculator#addPublishListener}).
+     */
+    void addRulesListener(Runnable listener) {
+        scoreCalculator.addPublishListener(listener);
     }
 
     /**
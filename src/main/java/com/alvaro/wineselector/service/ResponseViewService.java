@@ -0,0 +1,303 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.CompactRecommendationResponse;
+import com.alvaro.wineselector.model.dto.RecommendationDictionary;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Visões pré-serializadas da recomendação: campos selecionados (?fields=), modo compacto e dicionário.
+ *
+ * Na inicialização, cada combinação é calculada uma vez e serializada em fragmentos JSON
+ * ("campo":valor) por campo, além da resposta compacta completa. Atender uma requisição
+ * se resume a concatenar bytes já prontos, sem cálculo nem serialização.
+ *
+ * Os bytes pertencem a uma versão das regras: quando a versão muda (ajustes de feedback
+ * publicados), as visões são refeitas na thread que publicou, e as requisições continuam com as
+ * visões anteriores até as novas serem trocadas, sem esperar a reconstrução.
+ *
+ * O dicionário não depende das regras: traz a justificativa de cada combinação × perfil
+ * (textos repetidos aparecem uma vez só), então continua válido quando o feedback troca o
+ * vencedor de uma combinação.
+ */
+@Slf4j
+@Service
+public class ResponseViewService {
+
+    private static final byte[] OPEN_BRACE = {'{'};
+    private static final byte COMMA = ',';
+    private static final byte CLOSE_BRACE = '}';
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+
+    private final RecommendationService recommendationService;
+    private final JsonMapper jsonMapper;
+
+    // Índice da justificativa no dicionário por [combinação × perfis + perfil]
+    private final int[] justificationKeys = new int[CombinationIndex.SIZE * PROFILES.length];
+    private final byte[] dictionary;
+    private final String dictionaryEtag;
+
+    // Trocadas de uma vez; durante uma reconstrução, as requisições leem as da versão anterior
+    private volatile Views views;
+
+    public ResponseViewService(RecommendationService recommendationService, JustificationGenerator justificationGenerator,
+                               JsonMapper jsonMapper) {
+        this.recommendationService = recommendationService;
+        this.jsonMapper = jsonMapper;
+        this.dictionary = buildDictionary(justificationGenerator);
+        this.dictionaryEtag = "\"" + DigestUtils.md5DigestAsHex(dictionary) + "\"";
+        this.views = build(recommendationService.getRulesVersion());
+        recommendationService.addRulesListener(this::refresh);
+    }
+
+    /**
+     * Refaz as visões para a versão atual das regras (chamado depois de cada publicação).
+     */
+    private synchronized void refresh() {
+        String rulesVersion = recommendationService.getRulesVersion();
+        if (!views.rulesVersion.equals(rulesVersion)) {
+            views = build(rulesVersion);
+        }
+    }
+
+    private Views build(String rulesVersion) {
+        byte[][][] fieldFragments = new byte[CombinationIndex.SIZE][ResponseField.COUNT][];
+        byte[][] compactResponses = new byte[CombinationIndex.SIZE][];
+        CombinationOutcomes outcomes = new CombinationOutcomes(recommendationService.getCombinationTotals());
+
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            RecommendationResponse response = recommendationService.getRecommendation(CombinationIndex.toRequest(index));
+
+            for (ResponseField field : ResponseField.VALUES) {
+                Object value = field.accessor.apply(response);
+                if (value != null) {
+                    fieldFragments[index][field.ordinal()] = toFragment(jsonMapper, field.jsonName, value);
+                }
+            }
+
+            compactResponses[index] = jsonMapper.writeValueAsBytes(toCompact(response, index));
+            outcomes.set(index, response);
+        }
+
+        log.info("Visões pré-serializadas geradas para {} combinações (regras {})", CombinationIndex.SIZE, rulesVersion);
+        return new Views(rulesVersion, fieldFragments, compactResponses, outcomes);
+    }
+
+    /**
+     * Serializa o dicionário e preenche as chaves de justificativa de cada combinação × perfil.
+     */
+    private byte[] buildDictionary(JustificationGenerator justificationGenerator) {
+        List<String> justifications = new ArrayList<>();
+        Map<String, Integer> keyByText = new HashMap<>();
+
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            RecommendationRequest request = CombinationIndex.toRequest(index);
+            for (WineProfile profile : PROFILES) {
+                String justification = justificationGenerator.generateJustification(request, profile);
+                Integer key = keyByText.get(justification);
+                if (key == null) {
+                    key = justifications.size();
+                    keyByText.put(justification, key);
+                    justifications.add(justification);
+                }
+                justificationKeys[index * PROFILES.length + profile.ordinal()] = key;
+            }
+        }
+
+        Map<String, RecommendationDictionary.ProfileText> profiles = new LinkedHashMap<>();
+        for (WineProfile profile : PROFILES) {
+            profiles.put(profile.name(),
+                    new RecommendationDictionary.ProfileText(profile.getDisplayName(), profile.getDescription()));
+        }
+
+        log.info("Dicionário de textos gerado: {} justificativas distintas", justifications.size());
+        return jsonMapper.writeValueAsBytes(new RecommendationDictionary(profiles, justifications));
+    }
+
+    /**
+     * Converte a lista de campos de ?fields= em uma máscara de bits.
+     *
+     * @param fields Nomes separados por vírgula (ex: "recommendedProfile,score")
+     * @return Máscara com um bit por campo
+     * @throws IllegalArgumentException se algum campo não existir
+     */
+    public int parseFields(String fields) {
+        int mask = 0;
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                mask |= 1 << ResponseField.fromJsonName(trimmed).ordinal();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Monta o JSON da recomendação apenas com os campos da máscara.
+     * Campos sem valor (ex: alternativa inexistente) são omitidos, como na resposta completa.
+     */
+    public byte[] getFields(RecommendationRequest request, int fieldMask) {
+        return join(views.fieldFragments[CombinationIndex.of(request)], fieldMask);
+    }
+
+    /**
+     * Monta o JSON de uma resposta fora do cache (ex: preferências do usuário) apenas com os campos da máscara.
+     */
+    public byte[] toFields(RecommendationResponse response, int fieldMask) {
+        byte[][] fragments = new byte[ResponseField.COUNT][];
+        for (ResponseField field : ResponseField.VALUES) {
+            Object value = field.accessor.apply(response);
+            if ((fieldMask & (1 << field.ordinal())) != 0 && value != null) {
+                fragments[field.ordinal()] = toFragment(jsonMapper, field.jsonName, value);
+            }
+        }
+        return join(fragments, fieldMask);
+    }
+
+    private static byte[] join(byte[][] fragments, int fieldMask) {
+        int length = 2;
+        int count = 0;
+        for (int field = 0; field < ResponseField.COUNT; field++) {
+            if ((fieldMask & (1 << field)) != 0 && fragments[field] != null) {
+                length += fragments[field].length;
+                count++;
+            }
+        }
+        length += Math.max(0, count - 1);
+
+        byte[] json = Arrays.copyOf(OPEN_BRACE, length);
+        int position = 1;
+        for (int field = 0; field < ResponseField.COUNT; field++) {
+            if ((fieldMask & (1 << field)) != 0 && fragments[field] != null) {
+                if (position > 1) {
+                    json[position++] = COMMA;
+                }
+                System.arraycopy(fragments[field], 0, json, position, fragments[field].length);
+                position += fragments[field].length;
+            }
+        }
+        json[position] = CLOSE_BRACE;
+
+        return json;
+    }
+
+    /**
+     * Retorna a resposta compacta já serializada. O array é compartilhado e não deve ser modificado.
+     */
+    public byte[] getCompact(RecommendationRequest request) {
+        return views.compactResponses[CombinationIndex.of(request)];
+    }
+
+    /**
+     * Serializa a resposta compacta de uma resposta fora do cache (ex: preferências do usuário).
+     * A chave da justificativa vale para o dicionário publicado, como nas respostas em cache.
+     */
+    public byte[] toCompact(RecommendationRequest request, RecommendationResponse response) {
+        return jsonMapper.writeValueAsBytes(toCompact(response, CombinationIndex.of(request)));
+    }
+
+    /**
+     * Vencedor, alternativa e pontuações de cada combinação, da mesma versão das regras das visões em cache.
+     */
+    CombinationOutcomes getOutcomes() {
+        return views.outcomes;
+    }
+
+    /**
+     * Retorna o dicionário de textos já serializado. O array é compartilhado e não deve ser modificado.
+     */
+    public byte[] getDictionary() {
+        return dictionary;
+    }
+
+    public String getDictionaryEtag() {
+        return dictionaryEtag;
+    }
+
+    private CompactRecommendationResponse toCompact(RecommendationResponse response, int index) {
+        return CompactRecommendationResponse.builder()
+                .profile(response.getRecommendedProfile())
+                .score(response.getScore())
+                .alternativeProfile(response.getAlternativeProfile())
+                .alternativeScore(response.getAlternativeScore())
+                .justificationKey(justificationKeys[index * PROFILES.length + response.getRecommendedProfile().ordinal()])
+                .build();
+    }
+
+    /**
+     * Serializa {"nome": valor} e remove as chaves, deixando apenas "nome":valor.
+     */
+    private static byte[] toFragment(JsonMapper jsonMapper, String name, Object value) {
+        byte[] object = jsonMapper.writeValueAsBytes(Map.of(name, value));
+        return Arrays.copyOfRange(object, 1, object.length - 1);
+    }
+
+    /**
+     * Bytes pré-serializados de uma versão das regras.
+     */
+    private static final class Views {
+
+        private final String rulesVersion;
+        private final byte[][][] fieldFragments;
+        private final byte[][] compactResponses;
+        private final CombinationOutcomes outcomes;
+
+        Views(String rulesVersion, byte[][][] fieldFragments, byte[][] compactResponses, CombinationOutcomes outcomes) {
+            this.rulesVersion = rulesVersion;
+            this.fieldFragments = fieldFragments;
+            this.compactResponses = compactResponses;
+            this.outcomes = outcomes;
+        }
+    }
+
+    /**
+     * Campos selecionáveis de RecommendationResponse, na ordem em que aparecem no JSON.
+     */
+    private enum ResponseField {
+
+        RECOMMENDED_PROFILE("recommendedProfile", RecommendationResponse::getRecommendedProfile),
+        DISPLAY_NAME("displayName", RecommendationResponse::getDisplayName),
+        DESCRIPTION("description", RecommendationResponse::getDescription),
+        JUSTIFICATION("justification", RecommendationResponse::getJustification),
+        SCORE("score", RecommendationResponse::getScore),
+        ALTERNATIVE_PROFILE("alternativeProfile", RecommendationResponse::getAlternativeProfile),
+        ALTERNATIVE_DISPLAY_NAME("alternativeDisplayName", RecommendationResponse::getAlternativeDisplayName),
+        ALTERNATIVE_DESCRIPTION("alternativeDescription", RecommendationResponse::getAlternativeDescription),
+        ALTERNATIVE_SCORE("alternativeScore", RecommendationResponse::getAlternativeScore);
+
+        static final ResponseField[] VALUES = values();
+        static final int COUNT = VALUES.length;
+
+        final String jsonName;
+        final Function<RecommendationResponse, Object> accessor;
+
+        ResponseField(String jsonName, Function<RecommendationResponse, Object> accessor) {
+            this.jsonName = jsonName;
+            this.accessor = accessor;
+        }
+
+        static ResponseField fromJsonName(String jsonName) {
+            for (ResponseField field : VALUES) {
+                if (field.jsonName.equals(jsonName)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Campo desconhecido em fields: " + jsonName);
+        }
+    }
+}
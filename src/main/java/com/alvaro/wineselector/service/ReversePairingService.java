@@ -0,0 +1,211 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.ReversePairingRequest;
+import com.alvaro.wineselector.model.dto.ReversePairingResponse;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Harmonização reversa: dado um perfil de vinho, quais pratos (e ocasiões) combinam mais com ele.
+ *
+ * O índice invertido transpõe a tabela de totais por combinação: para cada perfil e cada recorte
+ * (ocasião fixa ou qualquer, intimidade fixa ou qualquer) guarda os pratos e as ocasiões já ordenados.
+ * Cada item traz a pontuação média do perfil, a margem média sobre o melhor outro perfil e a fração
+ * das combinações em que ele vence; a ordem é pela margem (quão forte o perfil vence), depois pela
+ * pontuação. Uma consulta é uma leitura de array.
+ *
+ * O índice pertence a uma versão das regras e é refeito na thread que publica uma mudança (ex: ajustes
+ * de feedback); as consultas usam o índice anterior até o novo ser trocado.
+ */
+@Slf4j
+@Service
+public class ReversePairingService {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+    private static final MainDish[] DISHES = MainDish.values();
+    private static final Occasion[] OCCASIONS = Occasion.values();
+    private static final IntimacyLevel[] INTIMACY_LEVELS = IntimacyLevel.values();
+
+    // Recorte "qualquer" ocupa a última posição de cada dimensão fixável
+    private static final int ANY_OCCASION = OCCASIONS.length;
+    private static final int ANY_INTIMACY = INTIMACY_LEVELS.length;
+
+    private final ScoreCalculator scoreCalculator;
+    private volatile InvertedIndex index;
+
+    public ReversePairingService(ScoreCalculator scoreCalculator) {
+        this.scoreCalculator = scoreCalculator;
+        this.index = build(scoreCalculator.getRulesVersion());
+        scoreCalculator.addPublishListener(this::refresh);
+    }
+
+    /**
+     * Pratos e ocasiões ordenados pela força do perfil.
+     *
+     * @param request Perfil e, opcionalmente, ocasião e intimidade fixas
+     * @return Rankings de pratos e (se a ocasião não foi fixada) de ocasiões
+     */
+    public ReversePairingResponse getPairings(ReversePairingRequest request) {
+        InvertedIndex current = index;
+        int profile = request.getProfile().ordinal();
+        int occasion = request.getOccasion() != null ? request.getOccasion().ordinal() : ANY_OCCASION;
+        int intimacy = request.getIntimacyLevel() != null ? request.getIntimacyLevel().ordinal() : ANY_INTIMACY;
+
+        return ReversePairingResponse.builder()
+                .profile(request.getProfile())
+                .occasion(request.getOccasion())
+                .intimacyLevel(request.getIntimacyLevel())
+                .dishes(current.dishes[(profile * (ANY_OCCASION + 1) + occasion) * (ANY_INTIMACY + 1) + intimacy])
+                .occasions(request.getOccasion() == null ? current.occasions[profile * (ANY_INTIMACY + 1) + intimacy] : null)
+                .build();
+    }
+
+    /**
+     * Refaz o índice para a versão atual das regras (chamado depois de cada publicação).
+     */
+    private synchronized void refresh() {
+        String rulesVersion = scoreCalculator.getRulesVersion();
+        if (!index.rulesVersion.equals(rulesVersion)) {
+            index = build(rulesVersion);
+        }
+    }
+
+    private InvertedIndex build(String rulesVersion) {
+        double[] totals = scoreCalculator.getCombinationTotals();
+        int profiles = PROFILES.length;
+        int occasionSlots = ANY_OCCASION + 1;
+        int intimacySlots = ANY_INTIMACY + 1;
+
+        // Somas por [perfil][ocasião ou qualquer][intimidade ou qualquer][prato] e
+        // [perfil][intimidade ou qualquer][ocasião]: pontuação, margem e vitórias
+        int dishCells = profiles * occasionSlots * intimacySlots * DISHES.length;
+        int occasionCells = profiles * intimacySlots * OCCASIONS.length;
+        double[] dishScore = new double[dishCells];
+        double[] dishMargin = new double[dishCells];
+        int[] dishWins = new int[dishCells];
+        int[] dishCount = new int[dishCells];
+        double[] occasionScore = new double[occasionCells];
+        double[] occasionMargin = new double[occasionCells];
+        int[] occasionWins = new int[occasionCells];
+        int[] occasionCount = new int[occasionCells];
+
+        for (int combination = 0; combination < CombinationIndex.SIZE; combination++) {
+            int offset = combination * profiles;
+            int dish = CombinationIndex.dishOf(combination).ordinal();
+            int occasion = CombinationIndex.occasionOf(combination).ordinal();
+            int intimacy = CombinationIndex.intimacyOf(combination).ordinal();
+
+            // Primeiro e segundo colocados; em empate vence o primeiro perfil, como no ranking do ScoreCalculator
+            int first = 0;
+            int second = -1;
+            for (int p = 1; p < profiles; p++) {
+                if (totals[offset + p] > totals[offset + first]) {
+                    second = first;
+                    first = p;
+                } else if (second < 0 || totals[offset + p] > totals[offset + second]) {
+                    second = p;
+                }
+            }
+
+            for (int p = 0; p < profiles; p++) {
+                double score = totals[offset + p];
+                double margin = score - totals[offset + (p == first ? second : first)];
+                int win = p == first ? 1 : 0;
+
+                for (int o : new int[]{occasion, ANY_OCCASION}) {
+                    for (int i : new int[]{intimacy, ANY_INTIMACY}) {
+                        int cell = ((p * occasionSlots + o) * intimacySlots + i) * DISHES.length + dish;
+                        dishScore[cell] += score;
+                        dishMargin[cell] += margin;
+                        dishWins[cell] += win;
+                        dishCount[cell]++;
+                    }
+                }
+                for (int i : new int[]{intimacy, ANY_INTIMACY}) {
+                    int cell = (p * intimacySlots + i) * OCCASIONS.length + occasion;
+                    occasionScore[cell] += score;
+                    occasionMargin[cell] += margin;
+                    occasionWins[cell] += win;
+                    occasionCount[cell]++;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        List<ReversePairingResponse.DishRanking>[] dishes = new List[profiles * occasionSlots * intimacySlots];
+        for (int slot = 0; slot < dishes.length; slot++) {
+            int base = slot * DISHES.length;
+            List<ReversePairingResponse.DishRanking> ranking = new ArrayList<>(DISHES.length);
+            for (int d : rank(dishScore, dishMargin, dishCount, base, DISHES.length)) {
+                int cell = base + d;
+                ranking.add(new ReversePairingResponse.DishRanking(
+                        DISHES[d],
+                        (int) Math.round(dishScore[cell] / dishCount[cell]),
+                        (int) Math.round(dishMargin[cell] / dishCount[cell]),
+                        (double) dishWins[cell] / dishCount[cell]));
+            }
+            dishes[slot] = List.copyOf(ranking);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<ReversePairingResponse.OccasionRanking>[] occasions = new List[profiles * intimacySlots];
+        for (int slot = 0; slot < occasions.length; slot++) {
+            int base = slot * OCCASIONS.length;
+            List<ReversePairingResponse.OccasionRanking> ranking = new ArrayList<>(OCCASIONS.length);
+            for (int o : rank(occasionScore, occasionMargin, occasionCount, base, OCCASIONS.length)) {
+                int cell = base + o;
+                ranking.add(new ReversePairingResponse.OccasionRanking(
+                        OCCASIONS[o],
+                        (int) Math.round(occasionScore[cell] / occasionCount[cell]),
+                        (int) Math.round(occasionMargin[cell] / occasionCount[cell]),
+                        (double) occasionWins[cell] / occasionCount[cell]));
+            }
+            occasions[slot] = List.copyOf(ranking);
+        }
+
+        log.debug("Índice reverso gerado: {} recortes de pratos, {} de ocasiões (regras {})",
+                dishes.length, occasions.length, rulesVersion);
+        return new InvertedIndex(rulesVersion, dishes, occasions);
+    }
+
+    /**
+     * Posições [0, length) ordenadas por margem média e depois pontuação média, decrescentes.
+     */
+    private static Integer[] rank(double[] score, double[] margin, int[] count, int base, int length) {
+        Integer[] order = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator
+                .<Integer>comparingDouble(i -> -margin[base + i] / count[base + i])
+                .thenComparingDouble(i -> -score[base + i] / count[base + i]));
+        return order;
+    }
+
+    /**
+     * Rankings pré-ordenados de uma versão das regras.
+     */
+    private static final class InvertedIndex {
+
+        private final String rulesVersion;
+        private final List<ReversePairingResponse.DishRanking>[] dishes;
+        private final List<ReversePairingResponse.OccasionRanking>[] occasions;
+
+        InvertedIndex(String rulesVersion, List<ReversePairingResponse.DishRanking>[] dishes,
+                      List<ReversePairingResponse.OccasionRanking>[] occasions) {
+            this.rulesVersion = rulesVersion;
+            this.dishes = dishes;
+            this.occasions = occasions;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.dto.RulesetOverrideRequest;
+import com.alvaro.wineselector.model.dto.ScoreOverride;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sobrescritas de um cliente resolvidas contra as regras base: índices de dimensão, valor e perfil
+ * em arrays primitivos, um elemento por célula sobrescrita. O tamanho depende só do número de
+ * sobrescritas; as tabelas completas só existem nas regras materializadas.
+ */
+final class RulesetOverrides {
+
+    private final int[] cellDimensions;
+    private final int[] cellValues;
+    private final int[] cellProfiles;
+    private final int[] cellScores;
+    private final double[] weights;
+    private final Map<String, Double> declaredWeights;
+    private final List<ScoreOverride> declaredScores;
+
+    private RulesetOverrides(int[] cellDimensions, int[] cellValues, int[] cellProfiles, int[] cellScores,
+                             double[] weights, Map<String, Double> declaredWeights, List<ScoreOverride> declaredScores) {
+        this.cellDimensions = cellDimensions;
+        this.cellValues = cellValues;
+        this.cellProfiles = cellProfiles;
+        this.cellScores = cellScores;
+        this.weights = weights;
+        this.declaredWeights = declaredWeights;
+        this.declaredScores = declaredScores;
+    }
+
+    /**
+     * Resolve a requisição contra as regras base.
+     *
+     * @throws IllegalArgumentException se uma dimensão ou valor não existir, ou se uma célula se repetir
+     */
+    static RulesetOverrides resolve(RulesetOverrideRequest request, ScoreCalculator base) {
+        Map<String, Double> declaredWeights = request.getWeights() != null ? request.getWeights() : Map.of();
+        List<ScoreOverride> declaredScores = request.getScores() != null ? request.getScores() : List.of();
+
+        // NaN = peso não sobrescrito
+        double[] weights = new double[base.getDimensionCount()];
+        Arrays.fill(weights, Double.NaN);
+        for (Map.Entry<String, Double> entry : declaredWeights.entrySet()) {
+            weights[dimensionIndex(base, entry.getKey())] = entry.getValue();
+        }
+
+        int count = declaredScores.size();
+        int[] cellDimensions = new int[count];
+        int[] cellValues = new int[count];
+        int[] cellProfiles = new int[count];
+        int[] cellScores = new int[count];
+        Set<String> cells = new HashSet<>();
+
+        for (int i = 0; i < count; i++) {
+            ScoreOverride override = declaredScores.get(i);
+            int d = dimensionIndex(base, override.getDimension());
+            int value = valueOrdinal(base.getDimensionValues(d), override);
+            if (!cells.add(d + ":" + value + ":" + override.getProfile().ordinal())) {
+                throw new IllegalArgumentException("Pontuação repetida: " + override.getDimension() + " "
+                        + override.getValue() + " " + override.getProfile().name());
+            }
+            cellDimensions[i] = d;
+            cellValues[i] = value;
+            cellProfiles[i] = override.getProfile().ordinal();
+            cellScores[i] = override.getScore();
+        }
+
+        return new RulesetOverrides(cellDimensions, cellValues, cellProfiles, cellScores, weights,
+                new LinkedHashMap<>(declaredWeights), List.copyOf(declaredScores));
+    }
+
+    private static int dimensionIndex(ScoreCalculator base, String dimensionId) {
+        int d = base.getDimensionIndex(dimensionId);
+        if (d < 0) {
+            throw new IllegalArgumentException("Dimensão desconhecida: " + dimensionId);
+        }
+        return d;
+    }
+
+    private static int valueOrdinal(Enum<?>[] values, ScoreOverride override) {
+        for (Enum<?> value : values) {
+            if (value.name().equals(override.getValue())) {
+                return value.ordinal();
+            }
+        }
+        throw new IllegalArgumentException("Valor desconhecido para " + override.getDimension() + ": " + override.getValue());
+    }
+
+    boolean isEmpty() {
+        if (cellScores.length > 0) {
+            return false;
+        }
+        for (double weight : weights) {
+            if (!Double.isNaN(weight)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int getCellCount() {
+        return cellScores.length;
+    }
+
+    int getCellDimension(int cell) {
+        return cellDimensions[cell];
+    }
+
+    int getCellValue(int cell) {
+        return cellValues[cell];
+    }
+
+    int getCellProfile(int cell) {
+        return cellProfiles[cell];
+    }
+
+    int getCellScore(int cell) {
+        return cellScores[cell];
+    }
+
+    boolean hasWeight(int dimension) {
+        return !Double.isNaN(weights[dimension]);
+    }
+
+    double getWeight(int dimension) {
+        return weights[dimension];
+    }
+
+    Map<String, Double> getDeclaredWeights() {
+        return declaredWeights;
+    }
+
+    List<ScoreOverride> getDeclaredScores() {
+        return declaredScores;
+    }
+}
@@ -0,0 +1,160 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+
+/**
+ * Dados primitivos de um cálculo de pontuação.
+ *
+ * É o mesmo material usado para escolher o vencedor: as linhas de pontuação bruta
+ * são referências às tabelas pré-compiladas do ScoreCalculator (não devem ser modificadas),
+ * e a explicação estruturada é derivada daqui sem nenhuma consulta adicional às regras.
+ */
+public final class ScoreBreakdown {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+
+    private final String[] dimensionIds;
+    private final String[] dimensionLabels;
+    private final int[][] rawScores;
+    private final double[] weights;
+    private final double[] totals;
+    private final int[] ranking;
+    private final InteractionTable interactions;
+    private final int combination;
+    private final double[] feedback;
+    private final double[] capReductions;
+
+    ScoreBreakdown(String[] dimensionIds, String[] dimensionLabels, int[][] rawScores, double[] weights,
+                   double[] totals, InteractionTable interactions, int combination, double[] feedback,
+                   double[] capReductions) {
+        this.dimensionIds = dimensionIds;
+        this.dimensionLabels = dimensionLabels;
+        this.rawScores = rawScores;
+        this.weights = weights;
+        this.totals = totals;
+        this.ranking = rank(totals);
+        this.interactions = interactions;
+        this.combination = combination;
+        this.feedback = feedback;
+        this.capReductions = capReductions;
+    }
+
+    /**
+     * Cópia com os ajustes de preferência de um usuário somados aos totais (e o ranking refeito).
+     *
+     * @param bias Ajuste por perfil, indexado pelo ordinal
+     */
+    ScoreBreakdown withPreferenceBias(float[] bias) {
+        double[] biased = totals.clone();
+        for (int p = 0; p < biased.length; p++) {
+            biased[p] += bias[p];
+        }
+        return new ScoreBreakdown(dimensionIds, dimensionLabels, rawScores, weights, biased, interactions, combination,
+                feedback, capReductions);
+    }
+
+    /**
+     * Pontuação bruta de uma dimensão para um perfil.
+     */
+    public int getRawScore(int dimension, WineProfile profile) {
+        return rawScores[dimension][profile.ordinal()];
+    }
+
+    /**
+     * Contribuição ponderada de uma dimensão ao total de um perfil.
+     */
+    public double getContribution(int dimension, WineProfile profile) {
+        return rawScores[dimension][profile.ordinal()] * weights[dimension];
+    }
+
+    public double getWeight(int dimension) {
+        return weights[dimension];
+    }
+
+    public String getDimensionId(int dimension) {
+        return dimensionIds[dimension];
+    }
+
+    public String getDimensionLabel(int dimension) {
+        return dimensionLabels[dimension];
+    }
+
+    /**
+     * Quantidade de dimensões presentes no cálculo (opcionais ausentes não entram).
+     */
+    public int getDimensionCount() {
+        return weights.length;
+    }
+
+    public double getTotal(WineProfile profile) {
+        return totals[profile.ordinal()];
+    }
+
+    /**
+     * Ajuste das regras de interação incluído no total do perfil, já descontado o que o teto cortou.
+     */
+    public double getInteractionAdjustment(WineProfile profile) {
+        double delta = interactions.getDelta(combination, profile);
+        return capReductions != null ? delta - capReductions[profile.ordinal()] : delta;
+    }
+
+    /**
+     * Ajuste de feedback dos usuários incluído no total do perfil (0 se não houver).
+     */
+    public double getFeedbackAdjustment(WineProfile profile) {
+        return feedback != null ? feedback[combination * PROFILES.length + profile.ordinal()] : 0;
+    }
+
+    /**
+     * Nomes das regras de interação aplicadas. O array é compartilhado e não deve ser modificado.
+     */
+    public String[] getAppliedInteractions() {
+        return interactions.getAppliedRules(combination);
+    }
+
+    double[] getTotals() {
+        return totals;
+    }
+
+    /**
+     * Totais antes dos tetos das interações.
+     */
+    double[] getUncappedTotals() {
+        if (capReductions == null) {
+            return totals;
+        }
+        double[] uncapped = totals.clone();
+        for (int p = 0; p < uncapped.length; p++) {
+            uncapped[p] += capReductions[p];
+        }
+        return uncapped;
+    }
+
+    /**
+     * Perfil na posição informada do ranking (0 = vencedor).
+     */
+    public WineProfile getProfileAtRank(int rank) {
+        return PROFILES[ranking[rank]];
+    }
+
+    public WineProfile getWinner() {
+        return getProfileAtRank(0);
+    }
+
+    /**
+     * Ordena os índices dos perfis por total decrescente (estável: empates mantêm a ordem do enum).
+     * Inserção direta: são apenas sete perfis.
+     */
+    private static int[] rank(double[] totals) {
+        int[] order = new int[totals.length];
+        for (int i = 0; i < order.length; i++) {
+            int j = i;
+            while (j > 0 && totals[order[j - 1]] < totals[i]) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+        return order;
+    }
+}
@@ -1,81 +1,331 @@
 package com.alvaro.wineselector.service;
 
+import com.alvaro.wineselector.model.CombinationIndex;
 import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.ScoreExplanation;
 import com.alvaro.wineselector.model.enums.WineProfile;
-import com.alvaro.wineselector.rules.DishRules;
-import com.alvaro.wineselector.rules.IntimacyRules;
-import com.alvaro.wineselector.rules.OccasionRules;
-import lombok.RequiredArgsConstructor;
+import com.alvaro.wineselector.rules.InteractionRule;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.ScoringRules;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
 
 /**
  * Calculadora de pontuação que orquestra as regras e determina o perfil vencedor.
  * 
  * Responsabilidades:
- * - Aplicar as três dimensões de pontuação (prato, ocasião, intimidade)
- * - Somar pontuações ponderadas pelos respectivos pesos
+ * - Aplicar todas as dimensões de pontuação registradas (prato, ocasião, intimidade...)
+ * - Somar pontuações ponderadas pelos respectivos pesos (normalizados para somar 1)
  * - Determinar perfil recomendado e alternativa
  * - Fornecer transparência no cálculo
+ * 
+ * Cada ScoringRules é pré-compilada na construção em uma tabela primitiva [valor][perfil].
+ * O cálculo é um único laço que acumula, por dimensão presente, uma leitura de tabela por perfil,
+ * sem consultar mapas nem criar estruturas intermediárias.
+ * 
+ * As regras de interação (InteractionRules) são compiladas em uma tabela densa de ajustes por
+ * combinação prato × ocasião × intimidade, somada aos totais com custo fixo.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ScoreCalculator {
 
-    private final DishRules dishRules;
-    private final OccasionRules occasionRules;
-    private final IntimacyRules intimacyRules;
+    private static final WineProfile[] PROFILES = WineProfile.values();
 
     // Diferença mínima para considerar "empate técnico" e sugerir alternativa
     private static final int ALTERNATIVE_THRESHOLD = 10;
 
+    private final List<ScoringRules<?>> dimensions;
+    private final int[][][] tables;
+    private final double[] rawWeights;
+    private final double[] weights;
+    private final String[] dimensionIds;
+    private final String[] dimensionLabels;
+    private final List<InteractionRule> interactionRules;
+    private final InteractionTable interactions;
+    private final double[] baseCombinationTotals;
+    // Totais base antes dos tetos: o feedback é somado aqui e o teto aplicado por último
+    private final double[] baseUncappedTotals;
+    private final String baseRulesVersion;
+    private volatile Published published;
+
+    // Chamados na thread que publicou, depois da troca (ex: caches por versão das regras)
+    private final List<Runnable> publishListeners = new CopyOnWriteArrayList<>();
+
     /**
-     * Calcula a pontuação final de todos os perfis baseado na requisição.
+     * @param dimensions Regras de pontuação, uma por dimensão, na ordem de aplicação
+     * @param interactionRules Regras condicionais aplicadas sobre a combinação
+     */
+    @Autowired
+    public ScoreCalculator(List<ScoringRules<?>> dimensions, InteractionRules interactionRules) {
+        this(List.copyOf(dimensions), compileAll(dimensions), weightsOf(dimensions), interactionRules.getRules());
+    }
+
+    private ScoreCalculator(List<ScoringRules<?>> dimensions, int[][][] tables, double[] rawWeights,
+                            List<InteractionRule> interactionRules) {
+        if (dimensions.isEmpty()) {
+            throw new IllegalStateException("Nenhuma regra de pontuação registrada");
+        }
+
+        int count = dimensions.size();
+        this.dimensions = dimensions;
+        this.tables = tables;
+        this.rawWeights = rawWeights;
+        this.interactionRules = interactionRules;
+        this.dimensionIds = new String[count];
+        this.dimensionLabels = new String[count];
+
+        double weightSum = 0;
+        for (int d = 0; d < count; d++) {
+            ScoringRules<?> rules = dimensions.get(d);
+            if (rawWeights[d] <= 0) {
+                throw new IllegalStateException("Peso inválido em " + rules.getRuleName() + ": " + rawWeights[d]);
+            }
+            dimensionIds[d] = rules.getDimensionId();
+            dimensionLabels[d] = rules.getDimensionLabel();
+            weightSum += rawWeights[d];
+        }
+
+        this.weights = normalize(rawWeights, weightSum);
+        this.interactions = InteractionTable.compile(interactionRules);
+        this.baseCombinationTotals = new double[CombinationIndex.SIZE * PROFILES.length];
+        this.baseUncappedTotals = interactions.getCaps().length == 0
+                ? baseCombinationTotals : new double[baseCombinationTotals.length];
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            ScoreBreakdown breakdown = evaluate(CombinationIndex.toRequest(index), interactions, null);
+            System.arraycopy(breakdown.getTotals(), 0, baseCombinationTotals, index * PROFILES.length, PROFILES.length);
+            if (baseUncappedTotals != baseCombinationTotals) {
+                System.arraycopy(breakdown.getUncappedTotals(), 0, baseUncappedTotals, index * PROFILES.length,
+                        PROFILES.length);
+            }
+        }
+        this.baseRulesVersion = fingerprint(dimensionIds, weights, tables, interactions.getDeltas(),
+                interactions.getCaps());
+        this.published = new Published(null, baseCombinationTotals, baseRulesVersion);
+
+        log.info("Regras compiladas: {} dimensões {}, {} interações (versão {})",
+                count, Arrays.toString(dimensionIds), interactions.getRuleCount(), baseRulesVersion);
+    }
+
+    /**
+     * Cópia destas regras com pontuações e pesos sobrescritos (regras de um cliente).
+     * 
+     * Copy-on-write: só as linhas [valor] com alguma célula sobrescrita são copiadas; as demais
+     * tabelas e linhas continuam compartilhadas com estas regras, que nunca são modificadas.
+     * Interações e totais por combinação são recalculados sobre o resultado.
+     * 
+     * @param overrides Células e pesos sobrescritos, resolvidos contra estas regras
+     * @return Novas regras compiladas
+     */
+    ScoreCalculator withOverrides(RulesetOverrides overrides) {
+        int[][][] effective = tables.clone();
+        for (int i = 0; i < overrides.getCellCount(); i++) {
+            int d = overrides.getCellDimension(i);
+            int value = overrides.getCellValue(i);
+            if (effective[d] == tables[d]) {
+                effective[d] = tables[d].clone();
+            }
+            if (effective[d][value] == tables[d][value]) {
+                effective[d][value] = tables[d][value].clone();
+            }
+            effective[d][value][overrides.getCellProfile(i)] = overrides.getCellScore(i);
+        }
+
+        double[] effectiveWeights = rawWeights.clone();
+        for (int d = 0; d < effectiveWeights.length; d++) {
+            if (overrides.hasWeight(d)) {
+                effectiveWeights[d] = overrides.getWeight(d);
+            }
+        }
+
+        ScoreCalculator calculator = new ScoreCalculator(dimensions, effective, effectiveWeights, interactionRules);
+        calculator.applyFeedbackAdjustments(published.feedback);
+        return calculator;
+    }
+
+    /**
+     * Publica os ajustes de feedback dos usuários, somados ao total de cada combinação × perfil
+     * depois das interações. Substitui os ajustes anteriores; null volta às regras compiladas.
+     * 
+     * Totais, ajustes e versão são trocados juntos (uma única referência volátil): quem já leu
+     * os totais continua com um conjunto consistente, e a versão das regras muda com os ajustes.
+     * 
+     * @param adjustments Ajuste por [combinação × |perfis| + perfil], ou null
+     */
+    void applyFeedbackAdjustments(double[] adjustments) {
+        if (adjustments == null) {
+            published = new Published(null, baseCombinationTotals, baseRulesVersion);
+            notifyPublished();
+            return;
+        }
+        if (adjustments.length != baseCombinationTotals.length) {
+            throw new IllegalArgumentException("Ajustes de feedback com tamanho inválido: " + adjustments.length);
+        }
+
+        // O teto das interações vale para o total com o feedback, como em evaluate
+        double[] feedback = adjustments.clone();
+        double[] totals = new double[baseUncappedTotals.length];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = Math.min(baseUncappedTotals[i] + feedback[i], interactions.getCap(i));
+        }
+        CRC32 crc = new CRC32();
+        update(crc, feedback);
+        published = new Published(feedback, totals, String.format("%s-f%08x", baseRulesVersion, crc.getValue()));
+        notifyPublished();
+    }
+
+    /**
+     * Registra uma ação executada depois de cada publicação de ajustes, na thread que publicou.
+     * Serve para refazer caches por versão das regras fora do caminho das requisições: quem lê
+     * o cache continua com o snapshot anterior até a ação trocá-lo.
+     */
+    void addPublishListener(Runnable listener) {
+        publishListeners.add(listener);
+    }
+
+    private void notifyPublished() {
+        for (Runnable listener : publishListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.warn("Falha ao atualizar cache após publicar as regras {}: {}", published.rulesVersion,
+                        e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Índice da dimensão com o identificador informado, ou -1 se não existir.
+     */
+    int getDimensionIndex(String dimensionId) {
+        for (int d = 0; d < dimensionIds.length; d++) {
+            if (dimensionIds[d].equals(dimensionId)) {
+                return d;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Valores (constantes do enum) da dimensão, na ordem dos ordinais.
+     */
+    Enum<?>[] getDimensionValues(int dimension) {
+        return dimensions.get(dimension).getValueType().getEnumConstants();
+    }
+
+    int getDimensionCount() {
+        return dimensions.size();
+    }
+
+    /**
+     * Calcula os dados primitivos da pontuação (brutos, pesos, totais e ranking) de uma requisição.
+     * 
+     * Dimensões opcionais ausentes são ignoradas; nesse caso os pesos das dimensões presentes
+     * são renormalizados para somar 1.
      * 
      * @param request Requisição com ocasião, intimidade e prato
-     * @return Mapa com pontuação final de cada perfil (ordenado decrescente)
+     * @return Detalhamento do cálculo
+     * @throws IllegalArgumentException se uma dimensão obrigatória estiver ausente
      */
-    public Map<WineProfile, Double> calculateScores(RecommendationRequest request) {
-        log.info("Iniciando cálculo de pontuação para: {}", request);
+    public ScoreBreakdown calculateBreakdown(RecommendationRequest request) {
+        return evaluate(request, interactions, published.feedback);
+    }
 
-        // Obter pontuações brutas de cada dimensão
-        Map<WineProfile, Integer> dishScores = dishRules.getScores(request.getMainDish());
-        Map<WineProfile, Integer> occasionScores = occasionRules.getScores(request.getOccasion());
-        Map<WineProfile, Integer> intimacyScores = intimacyRules.getScores(request.getIntimacyLevel());
+    private ScoreBreakdown evaluate(RecommendationRequest request, InteractionTable interactionTable, double[] feedback) {
+        int count = tables.length;
+        int[][] rows = new int[count][];
+        int present = 0;
+        double presentWeight = 0;
 
-        // Obter pesos de cada dimensão
-        double dishWeight = dishRules.getWeight();
-        double occasionWeight = occasionRules.getWeight();
-        double intimacyWeight = intimacyRules.getWeight();
+        for (int d = 0; d < count; d++) {
+            Enum<?> value = dimensions.get(d).extractValue(request);
+            if (value != null) {
+                rows[d] = tables[d][value.ordinal()];
+                presentWeight += rawWeights[d];
+                present++;
+            } else if (!dimensions.get(d).isOptional()) {
+                throw new IllegalArgumentException("Dimensão obrigatória ausente: " + dimensionLabels[d]);
+            }
+        }
 
-        // Calcular pontuação final ponderada para cada perfil
-        Map<WineProfile, Double> finalScores = new EnumMap<>(WineProfile.class);
+        // Interações dependem da combinação completa das dimensões principais
+        int combination = -1;
+        if (request.getMainDish() != null && request.getOccasion() != null && request.getIntimacyLevel() != null) {
+            combination = CombinationIndex.of(request);
+        } else {
+            interactionTable = InteractionTable.NONE;
+            feedback = null;
+        }
 
-        for (WineProfile profile : WineProfile.values()) {
-            double dishScore = dishScores.getOrDefault(profile, 0) * dishWeight;
-            double occasionScore = occasionScores.getOrDefault(profile, 0) * occasionWeight;
-            double intimacyScore = intimacyScores.getOrDefault(profile, 0) * intimacyWeight;
+        // Os tetos das interações valem para o total final, depois de todas as parcelas
+        if (present == count) {
+            double[] totals = accumulate(rows, weights);
+            interactionTable.apply(totals, combination);
+            addFeedback(totals, feedback, combination);
+            double[] capReductions = interactionTable.applyCaps(totals, combination);
+            return new ScoreBreakdown(dimensionIds, dimensionLabels, rows, weights, totals, interactionTable, combination,
+                    feedback, capReductions);
+        }
 
-            double totalScore = dishScore + occasionScore + intimacyScore;
-            finalScores.put(profile, totalScore);
+        // Dimensões opcionais ausentes: compactar as presentes e renormalizar os pesos
+        String[] ids = new String[present];
+        String[] labels = new String[present];
+        int[][] presentRows = new int[present][];
+        double[] presentWeights = new double[present];
+        for (int d = 0, i = 0; d < count; d++) {
+            if (rows[d] != null) {
+                ids[i] = dimensionIds[d];
+                labels[i] = dimensionLabels[d];
+                presentRows[i] = rows[d];
+                presentWeights[i] = rawWeights[d];
+                i++;
+            }
+        }
+        presentWeights = normalize(presentWeights, presentWeight);
+
+        double[] totals = accumulate(presentRows, presentWeights);
+        interactionTable.apply(totals, combination);
+        addFeedback(totals, feedback, combination);
+        double[] capReductions = interactionTable.applyCaps(totals, combination);
+        return new ScoreBreakdown(ids, labels, presentRows, presentWeights, totals, interactionTable, combination,
+                feedback, capReductions);
+    }
 
-            log.debug("Perfil: {} | Prato: {:.2f} | Ocasião: {:.2f} | Intimidade: {:.2f} | Total: {:.2f}",
-                    profile.getDisplayName(), dishScore, occasionScore, intimacyScore, totalScore);
+    private static void addFeedback(double[] totals, double[] feedback, int combination) {
+        if (feedback != null) {
+            int offset = combination * PROFILES.length;
+            for (int p = 0; p < totals.length; p++) {
+                totals[p] += feedback[offset + p];
+            }
         }
+    }
+
+    /**
+     * Calcula a pontuação final de todos os perfis baseado na requisição.
+     * 
+     * @param request Requisição com ocasião, intimidade e prato
+     * @return Mapa com pontuação final de cada perfil (ordenado decrescente)
+     */
+    public Map<WineProfile, Double> calculateScores(RecommendationRequest request) {
+        log.debug("Iniciando cálculo de pontuação para: {}", request);
+
+        ScoreBreakdown breakdown = calculateBreakdown(request);
 
         // Ordenar por pontuação (maior para menor)
-        return finalScores.entrySet().stream()
-                .sorted(Map.Entry.<WineProfile, Double>comparingByValue().reversed())
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (e1, e2) -> e1,
-                        LinkedHashMap::new
-                ));
+        Map<WineProfile, Double> finalScores = new LinkedHashMap<>();
+        for (int rank = 0; rank < PROFILES.length; rank++) {
+            WineProfile profile = breakdown.getProfileAtRank(rank);
+            finalScores.put(profile, breakdown.getTotal(profile));
+        }
+
+        return finalScores;
     }
 
     /**
@@ -115,7 +365,7 @@ public class ScoreCalculator {
 
         if (difference <= ALTERNATIVE_THRESHOLD) {
             WineProfile alternative = sortedEntries.get(1).getKey();
-            log.info("Perfil alternativo encontrado: {} (diferença: {:.2f})", 
+            log.debug("Perfil alternativo encontrado: {} (diferença: {:.2f})", 
                     alternative.getDisplayName(), difference);
             return Optional.of(alternative);
         }
@@ -123,6 +373,49 @@ public class ScoreCalculator {
         return Optional.empty();
     }
 
+    /**
+     * Perfil elegível de maior pontuação (ex: com estoque no estabelecimento).
+     * Percorre o ranking e cai para o próximo perfil enquanto o critério não for atendido.
+     * 
+     * @param breakdown Cálculo da combinação
+     * @param eligible Critério de elegibilidade
+     * @return Primeiro perfil elegível do ranking, ou vazio se nenhum for elegível
+     */
+    public Optional<WineProfile> getBestEligibleProfile(ScoreBreakdown breakdown, Predicate<WineProfile> eligible) {
+        return nextEligible(breakdown, eligible, 0);
+    }
+
+    /**
+     * Alternativa elegível: o próximo perfil elegível do ranking depois do recomendado,
+     * se a diferença de pontuação for pequena (≤ threshold).
+     * 
+     * @param breakdown Cálculo da combinação
+     * @param recommended Perfil recomendado (elegível)
+     * @param eligible Critério de elegibilidade
+     * @return Optional com perfil alternativo, ou vazio se não houver
+     */
+    public Optional<WineProfile> getAlternativeEligibleProfile(ScoreBreakdown breakdown, WineProfile recommended,
+                                                               Predicate<WineProfile> eligible) {
+        int rank = 0;
+        while (breakdown.getProfileAtRank(rank) != recommended) {
+            rank++;
+        }
+        return nextEligible(breakdown, eligible, rank + 1)
+                .filter(alternative -> breakdown.getTotal(recommended) - breakdown.getTotal(alternative)
+                        <= ALTERNATIVE_THRESHOLD);
+    }
+
+    private static Optional<WineProfile> nextEligible(ScoreBreakdown breakdown, Predicate<WineProfile> eligible,
+                                                      int fromRank) {
+        for (int rank = fromRank; rank < PROFILES.length; rank++) {
+            WineProfile profile = breakdown.getProfileAtRank(rank);
+            if (eligible.test(profile)) {
+                return Optional.of(profile);
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
      * Obtém a pontuação de um perfil específico.
      * 
@@ -135,34 +428,121 @@ public class ScoreCalculator {
     }
 
     /**
-     * Gera um relatório detalhado do cálculo (útil para debug e transparência).
+     * Monta a explicação estruturada do cálculo a partir dos mesmos dados primitivos da pontuação.
      * 
      * @param request Requisição original
-     * @param scores Pontuações finais
+     * @return Explicação com contribuições por dimensão, ranking e distância ao vencedor
+     */
+    public ScoreExplanation explain(RecommendationRequest request) {
+        Published state = published;
+        ScoreBreakdown breakdown = evaluate(request, interactions, state.feedback);
+        double winnerTotal = breakdown.getTotal(breakdown.getWinner());
+
+        int dimensionCount = breakdown.getDimensionCount();
+
+        List<ScoreExplanation.Dimension> dimensions = new ArrayList<>(dimensionCount);
+        for (int d = 0; d < dimensionCount; d++) {
+            dimensions.add(new ScoreExplanation.Dimension(
+                    breakdown.getDimensionId(d), breakdown.getDimensionLabel(d), breakdown.getWeight(d)));
+        }
+
+        List<ScoreExplanation.ProfileExplanation> profiles = new ArrayList<>(PROFILES.length);
+        for (int rank = 0; rank < PROFILES.length; rank++) {
+            WineProfile profile = breakdown.getProfileAtRank(rank);
+
+            List<ScoreExplanation.Contribution> contributions = new ArrayList<>(dimensionCount);
+            for (int d = 0; d < dimensionCount; d++) {
+                contributions.add(new ScoreExplanation.Contribution(
+                        breakdown.getDimensionId(d), breakdown.getRawScore(d, profile), breakdown.getContribution(d, profile)));
+            }
+
+            profiles.add(ScoreExplanation.ProfileExplanation.builder()
+                    .profile(profile)
+                    .rank(rank + 1)
+                    .interactionAdjustment(breakdown.getInteractionAdjustment(profile))
+                    .feedbackAdjustment(breakdown.getFeedbackAdjustment(profile))
+                    .totalScore(breakdown.getTotal(profile))
+                    .gapToWinner(winnerTotal - breakdown.getTotal(profile))
+                    .contributions(contributions)
+                    .build());
+        }
+
+        return ScoreExplanation.builder()
+                .rulesVersion(state.rulesVersion)
+                .mainDish(request.getMainDish())
+                .occasion(request.getOccasion())
+                .intimacyLevel(request.getIntimacyLevel())
+                .dimensions(dimensions)
+                .interactions(List.of(breakdown.getAppliedInteractions()))
+                .winner(breakdown.getWinner())
+                .profiles(profiles)
+                .build();
+    }
+
+    /**
+     * Gera um relatório em texto (debug e transparência) a partir da explicação estruturada.
+     * 
+     * @param explanation Explicação do cálculo
      * @return String formatada com detalhes do cálculo
      */
-    public String generateCalculationReport(RecommendationRequest request, Map<WineProfile, Double> scores) {
+    public String generateCalculationReport(ScoreExplanation explanation) {
         StringBuilder report = new StringBuilder();
         report.append("========== RELATÓRIO DE CÁLCULO ==========\n");
-        report.append(String.format("Prato: %s\n", request.getMainDish().getDisplayName()));
-        report.append(String.format("Ocasião: %s\n", request.getOccasion().getDisplayName()));
-        report.append(String.format("Intimidade: %s\n\n", request.getIntimacyLevel().getDisplayName()));
+        report.append(String.format("Prato: %s\n", explanation.getMainDish().getDisplayName()));
+        report.append(String.format("Ocasião: %s\n", explanation.getOccasion().getDisplayName()));
+        report.append(String.format("Intimidade: %s\n\n", explanation.getIntimacyLevel().getDisplayName()));
 
         report.append("Pesos aplicados:\n");
-        report.append(String.format("- Prato: %.0f%%\n", dishRules.getWeight() * 100));
-        report.append(String.format("- Ocasião: %.0f%%\n", occasionRules.getWeight() * 100));
-        report.append(String.format("- Intimidade: %.0f%%\n\n", intimacyRules.getWeight() * 100));
+        for (ScoreExplanation.Dimension dimension : explanation.getDimensions()) {
+            report.append(String.format("- %s: %.0f%%\n", dimension.getLabel(), dimension.getWeight() * 100));
+        }
+        report.append("\n");
+
+        if (!explanation.getInteractions().isEmpty()) {
+            report.append("Interações aplicadas:\n");
+            for (String interaction : explanation.getInteractions()) {
+                report.append("- ").append(interaction).append("\n");
+            }
+            report.append("\n");
+        }
 
         report.append("Pontuação Final:\n");
-        scores.forEach((profile, score) -> 
-            report.append(String.format("- %s: %.2f pontos\n", profile.getDisplayName(), score))
-        );
+        for (ScoreExplanation.ProfileExplanation profile : explanation.getProfiles()) {
+            report.append(String.format("- %s: %.2f pontos\n",
+                    profile.getProfile().getDisplayName(), profile.getTotalScore()));
+        }
 
         report.append("==========================================\n");
 
         return report.toString();
     }
 
+    /**
+     * Totais finais (com interações) de todas as combinações prato × ocasião × intimidade.
+     * 
+     * Layout: [índice da combinação × |perfis| + ordinal do perfil]. Usado por cálculos que
+     * combinam várias combinações (refeições, grupos) sem refazer a soma por dimensão.
+     * Inclui os ajustes de feedback publicados. O array é compartilhado e não deve ser modificado.
+     */
+    double[] getCombinationTotals() {
+        return published.combinationTotals;
+    }
+
+    /**
+     * Versão das regras compiladas (impressão digital das tabelas e pesos).
+     */
+    public String getRulesVersion() {
+        return published.rulesVersion;
+    }
+
+    /**
+     * Totais e versão de uma mesma publicação, para quem precisa dos dois consistentes entre si
+     * (ex: uma resposta identificada pela versão e escrita depois).
+     */
+    Published getPublished() {
+        return published;
+    }
+
     /**
      * Calcula a "confiança" da recomendação baseada na diferença entre 1º e 2º lugar.
      * Quanto maior a diferença, maior a confiança.
@@ -186,4 +566,119 @@ public class ScoreCalculator {
         if (difference >= 6) return 0.7;       // Média confiança
         return 0.4;                             // Baixa confiança (empate técnico)
     }
-}
\ No newline at end of file
+
+    /**
+     * Núcleo do cálculo: acumula, perfil a perfil, a pontuação bruta de cada dimensão multiplicada pelo peso.
+     */
+    private static double[] accumulate(int[][] rows, double[] weights) {
+        double[] totals = new double[PROFILES.length];
+        for (int d = 0; d < rows.length; d++) {
+            int[] row = rows[d];
+            double weight = weights[d];
+            for (int p = 0; p < totals.length; p++) {
+                totals[p] += row[p] * weight;
+            }
+        }
+        return totals;
+    }
+
+    private static int[][][] compileAll(List<ScoringRules<?>> dimensions) {
+        int[][][] tables = new int[dimensions.size()][][];
+        for (int d = 0; d < tables.length; d++) {
+            tables[d] = compile(dimensions.get(d));
+        }
+        return tables;
+    }
+
+    private static double[] weightsOf(List<ScoringRules<?>> dimensions) {
+        double[] weights = new double[dimensions.size()];
+        for (int d = 0; d < weights.length; d++) {
+            weights[d] = dimensions.get(d).getWeight();
+        }
+        return weights;
+    }
+
+    /**
+     * Pré-compila uma regra em tabela [ordinal do valor][ordinal do perfil].
+     */
+    private static <T extends Enum<T>> int[][] compile(ScoringRules<T> rules) {
+        T[] values = rules.getValueType().getEnumConstants();
+        int[][] table = new int[values.length][];
+        for (T value : values) {
+            table[value.ordinal()] = rules.getScoreVector(value);
+        }
+        return table;
+    }
+
+    /**
+     * Divide os pesos pela soma. Se já somam 1, são mantidos exatamente como declarados.
+     */
+    private static double[] normalize(double[] weights, double sum) {
+        double[] normalized = weights.clone();
+        if (sum != 1.0) {
+            for (int d = 0; d < normalized.length; d++) {
+                normalized[d] = weights[d] / sum;
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Impressão digital (CRC32) das dimensões, pesos e tabelas, usada como versão das regras.
+     */
+    private static String fingerprint(String[] ids, double[] weights, int[][][] tables, double[] interactionDeltas,
+                                      double[] interactionCaps) {
+        CRC32 crc = new CRC32();
+        for (String id : ids) {
+            crc.update(id.getBytes(StandardCharsets.UTF_8));
+        }
+        update(crc, weights);
+        update(crc, interactionDeltas);
+        update(crc, interactionCaps);
+        for (int[][] table : tables) {
+            for (int[] row : table) {
+                for (int score : row) {
+                    crc.update(score);
+                    crc.update(score >>> 8);
+                }
+            }
+        }
+        return String.format("r-%08x", crc.getValue());
+    }
+
+    /**
+     * Totais e versão publicados juntos; trocados de uma vez a cada publicação de feedback.
+     */
+    static final class Published {
+
+        private final double[] feedback;
+        private final double[] combinationTotals;
+        private final String rulesVersion;
+
+        private Published(double[] feedback, double[] combinationTotals, String rulesVersion) {
+            this.feedback = feedback;
+            this.combinationTotals = combinationTotals;
+            this.rulesVersion = rulesVersion;
+        }
+
+        /**
+         * Ver {@link ScoreCalculator#getCombinationTotals()}. O array é compartilhado e não deve ser modificado.
+         */
+        double[] getCombinationTotals() {
+            return combinationTotals;
+        }
+
+        String getRulesVersion() {
+            return rulesVersion;
+        }
+    }
+
+    private static void update(CRC32 crc, double[] values) {
+        for (double value : values) {
+            long bits = Double.doubleToLongBits(value);
+            for (int shift = 0; shift < 64; shift += 8) {
+                crc.update((int) (bits >>> shift));
+            }
+        }
+    }
+}
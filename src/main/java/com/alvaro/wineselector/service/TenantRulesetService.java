@@ -0,0 +1,191 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.dto.RulesetOverrideRequest;
+import com.alvaro.wineselector.model.dto.RulesetResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Regras por cliente (rede de restaurantes, região...) sobre as regras base.
+ *
+ * Cada cliente guarda só as células e pesos que sobrescreve; clientes sem sobrescritas usam
+ * diretamente as regras base. As regras efetivas de um cliente (tabelas, interações e totais por
+ * combinação) são materializadas na primeira consulta, compartilhando com a base as linhas não
+ * sobrescritas, e mantidas em um cache LRU de tamanho fixo. A memória cresce com o número de
+ * sobrescritas e com o tamanho do cache, não com o número de clientes.
+ */
+@Slf4j
+@Service
+public class TenantRulesetService {
+
+    /**
+     * Header que seleciona o cliente nos endpoints de /api/recommendation.
+     */
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private final ScoreCalculator baseCalculator;
+    private final RecommendationService baseRecommendationService;
+    private final JustificationGenerator justificationGenerator;
+    private final Map<String, RulesetOverrides> overridesByTenant = new ConcurrentHashMap<>();
+    private final Map<String, Materialized> materialized;
+
+    public TenantRulesetService(
+            ScoreCalculator baseCalculator,
+            RecommendationService baseRecommendationService,
+            JustificationGenerator justificationGenerator,
+            @Value("${wineselector.tenants.cache-size:32}") int cacheSize) {
+
+        if (cacheSize < 1) {
+            throw new IllegalStateException("wineselector.tenants.cache-size deve ser ao menos 1");
+        }
+
+        this.baseCalculator = baseCalculator;
+        this.baseRecommendationService = baseRecommendationService;
+        this.justificationGenerator = justificationGenerator;
+        this.materialized = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Materialized> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Serviço de recomendação com as regras do cliente.
+     *
+     * @param tenantId Cliente, ou null para as regras base
+     */
+    public RecommendationService getRecommendationService(String tenantId) {
+        Materialized rules = materialize(tenantId);
+        return rules != null ? rules.recommendationService : baseRecommendationService;
+    }
+
+    /**
+     * Regras compiladas do cliente.
+     *
+     * @param tenantId Cliente, ou null para as regras base
+     */
+    public ScoreCalculator getScoreCalculator(String tenantId) {
+        Materialized rules = materialize(tenantId);
+        return rules != null ? rules.calculator : baseCalculator;
+    }
+
+    /**
+     * Indica se o cliente tem regras próprias (alguma sobrescrita).
+     */
+    public boolean hasOverrides(String tenantId) {
+        return tenantId != null && overridesByTenant.containsKey(tenantId);
+    }
+
+    /**
+     * Substitui as sobrescritas do cliente. Sobrescritas vazias voltam o cliente às regras base.
+     *
+     * @throws IllegalArgumentException se uma dimensão ou valor não existir, ou se uma célula se repetir
+     */
+    public RulesetResponse setOverrides(String tenantId, RulesetOverrideRequest request) {
+        RulesetOverrides overrides = RulesetOverrides.resolve(request, baseCalculator);
+        if (overrides.isEmpty()) {
+            overridesByTenant.remove(tenantId);
+        } else {
+            overridesByTenant.put(tenantId, overrides);
+        }
+        synchronized (materialized) {
+            materialized.remove(tenantId);
+        }
+
+        log.info("Regras do cliente {}: {} pesos e {} pontuações sobrescritos", tenantId,
+                overrides.getDeclaredWeights().size(), overrides.getCellCount());
+        return getOverrides(tenantId);
+    }
+
+    /**
+     * Sobrescritas do cliente e versão das regras efetivas.
+     */
+    public RulesetResponse getOverrides(String tenantId) {
+        RulesetOverrides overrides = overridesByTenant.get(tenantId);
+        return RulesetResponse.builder()
+                .tenantId(tenantId)
+                .rulesVersion(getScoreCalculator(tenantId).getRulesVersion())
+                .weights(overrides != null ? overrides.getDeclaredWeights() : Map.of())
+                .scores(overrides != null ? overrides.getDeclaredScores() : List.of())
+                .build();
+    }
+
+    /**
+     * Remove as sobrescritas do cliente, que volta às regras base.
+     *
+     * @return true se o cliente tinha sobrescritas
+     */
+    public boolean removeOverrides(String tenantId) {
+        boolean removed = overridesByTenant.remove(tenantId) != null;
+        synchronized (materialized) {
+            materialized.remove(tenantId);
+        }
+        return removed;
+    }
+
+    int getMaterializedCount() {
+        synchronized (materialized) {
+            return materialized.size();
+        }
+    }
+
+    /**
+     * Regras efetivas do cliente, ou null se ele não tiver sobrescritas.
+     *
+     * A compilação acontece fora do lock; se as sobrescritas ou a versão base (feedback publicado)
+     * mudarem no meio, a entrada é descartada na próxima consulta, porque cada entrada guarda as
+     * sobrescritas e a versão base de que veio.
+     */
+    private Materialized materialize(String tenantId) {
+        if (tenantId == null) {
+            return null;
+        }
+        RulesetOverrides overrides = overridesByTenant.get(tenantId);
+        if (overrides == null) {
+            return null;
+        }
+
+        String baseVersion = baseCalculator.getRulesVersion();
+        synchronized (materialized) {
+            Materialized cached = materialized.get(tenantId);
+            if (cached != null && cached.source == overrides && cached.baseVersion.equals(baseVersion)) {
+                return cached;
+            }
+        }
+
+        ScoreCalculator calculator = baseCalculator.withOverrides(overrides);
+        Materialized rules = new Materialized(overrides, baseVersion, calculator,
+                new RecommendationService(calculator, justificationGenerator));
+        log.debug("Regras do cliente {} materializadas (versão {})", tenantId, calculator.getRulesVersion());
+
+        synchronized (materialized) {
+            if (overridesByTenant.get(tenantId) == overrides) {
+                materialized.put(tenantId, rules);
+            }
+        }
+        return rules;
+    }
+
+    private static final class Materialized {
+
+        private final RulesetOverrides source;
+        private final String baseVersion;
+        private final ScoreCalculator calculator;
+        private final RecommendationService recommendationService;
+
+        Materialized(RulesetOverrides source, String baseVersion, ScoreCalculator calculator,
+                     RecommendationService recommendationService) {
+            this.source = source;
+            this.baseVersion = baseVersion;
+            this.calculator = calculator;
+            this.recommendationService = recommendationService;
+        }
+    }
+}
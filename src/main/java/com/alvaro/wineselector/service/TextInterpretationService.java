@@ -0,0 +1,97 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.TextInterpretationResponse;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.text.TextInterpreter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recomendação a partir de texto livre ("picanha com farofa num aniversário").
+ *
+ * O {@link TextInterpreter} reconhece prato, ocasião e intimidade; valores com confiança abaixo
+ * de wineselector.text.min-confidence são descartados. Sem prato não há recomendação (o cliente
+ * deve perguntar); ocasião e intimidade ausentes usam os padrões configurados.
+ */
+@Slf4j
+@Service
+public class TextInterpretationService {
+
+    private final RecommendationService recommendationService;
+    private final TextInterpreter interpreter = new TextInterpreter();
+    private final double minConfidence;
+    private final Occasion defaultOccasion;
+    private final IntimacyLevel defaultIntimacy;
+
+    public TextInterpretationService(
+            RecommendationService recommendationService,
+            @Value("${wineselector.text.min-confidence:0.3}") double minConfidence,
+            @Value("${wineselector.text.default-occasion:CASUAL}") Occasion defaultOccasion,
+            @Value("${wineselector.text.default-intimacy:AMIGO}") IntimacyLevel defaultIntimacy) {
+        this.recommendationService = recommendationService;
+        this.minConfidence = minConfidence;
+        this.defaultOccasion = defaultOccasion;
+        this.defaultIntimacy = defaultIntimacy;
+    }
+
+    /**
+     * Interpreta o texto e, se houver prato, recomenda.
+     *
+     * @param text Texto livre
+     * @return Valores reconhecidos, confianças, termos encontrados e a recomendação
+     */
+    public TextInterpretationResponse interpret(String text) {
+        TextInterpreter.Interpretation interpretation = interpreter.interpret(text);
+
+        Map<String, Double> confidence = new LinkedHashMap<>();
+        List<String> defaulted = new ArrayList<>(2);
+
+        MainDish dish = accept(interpretation, TextInterpreter.DISH, "mainDish", interpretation.getMainDish(), confidence);
+        Occasion occasion = accept(interpretation, TextInterpreter.OCCASION, "occasion", interpretation.getOccasion(),
+                confidence);
+        IntimacyLevel intimacy = accept(interpretation, TextInterpreter.INTIMACY, "intimacyLevel",
+                interpretation.getIntimacyLevel(), confidence);
+
+        if (occasion == null) {
+            occasion = defaultOccasion;
+            defaulted.add("occasion");
+        }
+        if (intimacy == null) {
+            intimacy = defaultIntimacy;
+            defaulted.add("intimacyLevel");
+        }
+
+        TextInterpretationResponse.TextInterpretationResponseBuilder response = TextInterpretationResponse.builder()
+                .mainDish(dish)
+                .occasion(occasion)
+                .intimacyLevel(intimacy)
+                .confidence(confidence)
+                .defaulted(defaulted)
+                .matchedTerms(interpretation.getMatchedTerms());
+
+        if (dish != null) {
+            response.recommendation(recommendationService.getRecommendation(
+                    new RecommendationRequest(occasion, intimacy, dish)));
+        }
+
+        log.debug("Texto interpretado: prato {}, ocasião {}, intimidade {} (padrão: {})", dish, occasion, intimacy,
+                defaulted);
+        return response.build();
+    }
+
+    private <E> E accept(TextInterpreter.Interpretation interpretation, int dimension, String field, E value,
+                         Map<String, Double> confidence) {
+        double score = interpretation.getConfidence(dimension);
+        confidence.put(field, Math.round(score * 100) / 100.0);
+        return value != null && score >= minConfidence ? value : null;
+    }
+}
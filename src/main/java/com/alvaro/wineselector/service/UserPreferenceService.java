@@ -0,0 +1,96 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.cache.TinyLfuCache;
+import com.alvaro.wineselector.model.dto.UserPreferenceResponse;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Preferências de usuários recorrentes: um ajuste por perfil somado à pontuação final
+ * (ex: -20 em Espumante para quem nunca bebe espumante).
+ *
+ * As preferências vêm do {@link UserPreferenceStore} através de um cache W-TinyLFU limitado em
+ * número de usuários e com expiração; usuários sem preferências também ficam em cache, para não
+ * consultar o armazenamento a cada requisição. Só o vetor de sete ajustes é guardado por usuário:
+ * a linha efetiva de uma combinação é a linha base mais o vetor, calculada apenas quando o
+ * usuário pede aquela combinação.
+ */
+@Slf4j
+@Service
+public class UserPreferenceService {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+    private static final float[] NO_PREFERENCES = new float[0];
+
+    private final UserPreferenceStore store;
+    private final TinyLfuCache<String, float[]> cache;
+
+    public UserPreferenceService(
+            UserPreferenceStore store,
+            @Value("${wineselector.preferences.cache-size:100000}") int cacheSize,
+            @Value("${wineselector.preferences.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.store = store;
+        this.cache = new TinyLfuCache<>(cacheSize, expireAfterWrite,
+                userId -> store.load(userId).orElse(NO_PREFERENCES));
+    }
+
+    /**
+     * Ajustes do usuário por perfil (índice = ordinal), ou null se ele não tiver preferências.
+     * O array é compartilhado e não deve ser modificado.
+     */
+    public float[] getBias(String userId) {
+        float[] bias = cache.get(userId);
+        return bias == NO_PREFERENCES ? null : bias;
+    }
+
+    /**
+     * Preferências do usuário (vazias se não houver).
+     */
+    public UserPreferenceResponse getPreferences(String userId) {
+        return toResponse(userId, getBias(userId));
+    }
+
+    /**
+     * Substitui as preferências do usuário. Perfis omitidos ficam sem ajuste.
+     */
+    public UserPreferenceResponse setPreferences(String userId, Map<WineProfile, Double> bias) {
+        float[] vector = new float[PROFILES.length];
+        for (Map.Entry<WineProfile, Double> entry : bias.entrySet()) {
+            vector[entry.getKey().ordinal()] = entry.getValue().floatValue();
+        }
+        store.save(userId, vector);
+        cache.invalidate(userId);
+
+        log.info("Preferências do usuário {} atualizadas: {}", userId, bias);
+        return toResponse(userId, vector);
+    }
+
+    /**
+     * Remove as preferências do usuário.
+     *
+     * @return true se havia preferências salvas
+     */
+    public boolean removePreferences(String userId) {
+        boolean removed = store.delete(userId);
+        cache.invalidate(userId);
+        return removed;
+    }
+
+    private static UserPreferenceResponse toResponse(String userId, float[] bias) {
+        Map<WineProfile, Double> values = new EnumMap<>(WineProfile.class);
+        if (bias != null) {
+            for (WineProfile profile : PROFILES) {
+                if (bias[profile.ordinal()] != 0) {
+                    values.put(profile, (double) bias[profile.ordinal()]);
+                }
+            }
+        }
+        return new UserPreferenceResponse(userId, values);
+    }
+}
@@ -0,0 +1,117 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Armazenamento local das preferências dos usuários: um arquivo texto por usuário
+ * ("PERFIL=ajuste" por linha), distribuídos em 256 subdiretórios.
+ *
+ * O nome do arquivo é o SHA-256 do id do usuário, então qualquer id vira um nome de arquivo
+ * seguro e de tamanho fixo. A escrita vai para um arquivo temporário e é renomeada, para que uma leitura
+ * concorrente nunca veja um arquivo pela metade.
+ */
+@Slf4j
+@Component
+public class UserPreferenceStore {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+
+    private final Path directory;
+
+    public UserPreferenceStore(@Value("${wineselector.preferences.path:data/preferences}") Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Ajustes do usuário por perfil (índice = ordinal), se houver preferências salvas.
+     *
+     * @throws UncheckedIOException se o arquivo existir e não puder ser lido
+     */
+    public Optional<float[]> load(String userId) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(fileOf(userId), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler preferências do usuário " + userId, e);
+        }
+
+        float[] bias = new float[PROFILES.length];
+        for (String line : lines) {
+            int separator = line.indexOf('=');
+            if (separator < 0) {
+                continue;
+            }
+            try {
+                WineProfile profile = WineProfile.valueOf(line.substring(0, separator).trim());
+                bias[profile.ordinal()] = Float.parseFloat(line.substring(separator + 1).trim());
+            } catch (IllegalArgumentException e) {
+                log.warn("Linha ignorada nas preferências do usuário {}: {}", userId, line);
+            }
+        }
+        return Optional.of(bias);
+    }
+
+    /**
+     * Salva (substitui) os ajustes do usuário.
+     */
+    public void save(String userId, float[] bias) {
+        StringBuilder content = new StringBuilder();
+        for (WineProfile profile : PROFILES) {
+            if (bias[profile.ordinal()] != 0) {
+                content.append(profile.name()).append('=').append(bias[profile.ordinal()]).append('\n');
+            }
+        }
+
+        Path file = fileOf(userId);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temporary = Files.createTempFile(file.getParent(), "prefs", ".tmp");
+            Files.writeString(temporary, content, StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao salvar preferências do usuário " + userId, e);
+        }
+    }
+
+    /**
+     * Remove as preferências do usuário.
+     *
+     * @return true se havia preferências salvas
+     */
+    public boolean delete(String userId) {
+        try {
+            return Files.deleteIfExists(fileOf(userId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao remover preferências do usuário " + userId, e);
+        }
+    }
+
+    private Path fileOf(String userId) {
+        String name;
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(userId.getBytes(StandardCharsets.UTF_8));
+            name = HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+        return directory.resolve(name.substring(0, 2)).resolve(name + ".prefs");
+    }
+}
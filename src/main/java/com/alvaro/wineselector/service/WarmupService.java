@@ -0,0 +1,124 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aquecimento do JIT executado na inicialização, antes de a aplicação aceitar tráfego.
+ *
+ * Percorre todas as combinações de prato, ocasião e intimidade pelo caminho completo
+ * (desserialização da requisição, RecommendationService e serialização da resposta),
+ * para que ScoreCalculator e os serializadores Jackson já estejam compilados
+ * quando as primeiras requisições reais chegarem.
+ *
+ * Como roda como ApplicationRunner, o Spring Boot só publica ReadinessState.ACCEPTING_TRAFFIC
+ * depois que o aquecimento termina: até lá /actuator/health/readiness responde OUT_OF_SERVICE.
+ * Uma falha durante o aquecimento apenas o interrompe (com aviso no log): o aquecimento é uma
+ * otimização e não pode impedir a aplicação de ficar pronta.
+ */
+@Slf4j
+@Service
+public class WarmupService implements ApplicationRunner {
+
+    private final RecommendationService recommendationService;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int iterations;
+
+    public WarmupService(
+            RecommendationService recommendationService,
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry,
+            @Value("${wineselector.warmup.enabled:true}") boolean enabled,
+            @Value("${wineselector.warmup.iterations:10}") int iterations) {
+
+        this.recommendationService = recommendationService;
+        this.jsonMapper = jsonMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || iterations <= 0) {
+            log.info("Aquecimento desabilitado");
+            return;
+        }
+
+        log.info("Iniciando aquecimento: {} iterações sobre todas as combinações", iterations);
+
+        long start = System.nanoTime();
+        long requests = 0;
+
+        try {
+            for (int i = 0; i < iterations; i++) {
+                requests += warmUpAllCombinations();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Aquecimento interrompido após {} iterações completas: {}", requests / CombinationIndex.SIZE,
+                    e.toString());
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+
+        Timer.builder("wineselector.warmup.duration")
+                .description("Duração do aquecimento do JIT na inicialização")
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        long totalRequests = requests;
+        Gauge.builder("wineselector.warmup.iterations", () -> iterations)
+                .description("Iterações de aquecimento sobre todas as combinações")
+                .register(meterRegistry);
+        Gauge.builder("wineselector.warmup.requests", () -> totalRequests)
+                .description("Requisições processadas durante o aquecimento")
+                .register(meterRegistry);
+
+        log.info("Aquecimento concluído: {} requisições em {} ms",
+                requests, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    /**
+     * Executa uma passagem completa por todas as combinações.
+     *
+     * @return Quantidade de requisições processadas
+     */
+    private long warmUpAllCombinations() {
+        long requests = 0;
+
+        for (MainDish dish : MainDish.values()) {
+            for (Occasion occasion : Occasion.values()) {
+                for (IntimacyLevel intimacy : IntimacyLevel.values()) {
+                    RecommendationRequest request = new RecommendationRequest(occasion, intimacy, dish);
+
+                    // Mesmo caminho de uma requisição HTTP: JSON -> DTO -> serviço -> JSON
+                    byte[] requestJson = jsonMapper.writeValueAsBytes(request);
+                    RecommendationRequest parsed = jsonMapper.readValue(requestJson, RecommendationRequest.class);
+                    RecommendationResponse response = recommendationService.getRecommendation(parsed);
+                    jsonMapper.writeValueAsBytes(response);
+
+                    requests++;
+                }
+            }
+        }
+
+        return requests;
+    }
+}
@@ -0,0 +1,210 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.catalog.CatalogFilter;
+import com.alvaro.wineselector.catalog.WineCatalog;
+import com.alvaro.wineselector.catalog.WineCatalogLoader;
+import com.alvaro.wineselector.model.dto.BottleRecommendationResponse;
+import com.alvaro.wineselector.model.dto.BottleSearchRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.dto.TasteVector;
+import com.alvaro.wineselector.model.enums.TasteDimension;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Busca de garrafas concretas no catálogo para o perfil recomendado.
+ *
+ * O catálogo é carregado uma vez na inicialização a partir de wineselector.catalog.path (CSV);
+ * sem caminho configurado o catálogo fica vazio e as buscas não retornam garrafas.
+ *
+ * Na busca por paladar, a pontuação de todos os perfis vira um vetor alvo: a média dos vetores típicos
+ * dos perfis ponderada por softmax das pontuações (temperatura wineselector.taste.temperature; quanto
+ * menor, mais o alvo se aproxima do perfil vencedor).
+ */
+@Slf4j
+@Service
+public class WineCatalogService {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+    private static final int TASTE_DIMENSIONS = TasteDimension.values().length;
+
+    private final RecommendationService recommendationService;
+    private final ScoreCalculator scoreCalculator;
+    private final double temperature;
+    private final WineCatalog catalog;
+
+    public WineCatalogService(
+            RecommendationService recommendationService,
+            ScoreCalculator scoreCalculator,
+            @Value("${wineselector.catalog.path:}") String catalogPath,
+            @Value("${wineselector.taste.temperature:8}") double temperature) {
+        if (temperature <= 0) {
+            throw new IllegalStateException("wineselector.taste.temperature deve ser positiva");
+        }
+        this.recommendationService = recommendationService;
+        this.scoreCalculator = scoreCalculator;
+        this.temperature = temperature;
+        this.catalog = load(catalogPath);
+    }
+
+    private static WineCatalog load(String catalogPath) {
+        if (catalogPath == null || catalogPath.isBlank()) {
+            log.info("Nenhum catálogo configurado (wineselector.catalog.path)");
+            return WineCatalog.EMPTY;
+        }
+        long start = System.nanoTime();
+        WineCatalog loaded = WineCatalogLoader.load(Path.of(catalogPath));
+        log.info("Catálogo carregado: {} garrafas, {} produtores, {} uvas, {} países em {} ms",
+                loaded.size(), loaded.getProducerCount(), loaded.getGrapeCount(), loaded.getCountryCount(),
+                (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    /**
+     * Recomenda o perfil e busca as garrafas mais baratas do catálogo que atendem aos filtros.
+     * Se o perfil recomendado não preencher o limite, completa com o perfil alternativo.
+     *
+     * @param request Combinação a recomendar, filtros e limite
+     * @return Perfis usados e garrafas encontradas
+     * @throws IllegalArgumentException se o preço mínimo for maior que o máximo
+     */
+    public BottleRecommendationResponse findBottles(BottleSearchRequest request) {
+        CatalogFilter filter = toFilter(request);
+        RecommendationResponse recommendation = recommendationService.getRecommendation(request.toRecommendationRequest());
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT;
+
+        List<BottleRecommendationResponse.Bottle> bottles = new ArrayList<>(limit);
+        addBottles(bottles, recommendation.getRecommendedProfile(), filter, limit);
+
+        WineProfile alternative = recommendation.getAlternativeProfile();
+        boolean includeAlternative = request.getIncludeAlternative() == null || request.getIncludeAlternative();
+        if (alternative != null && includeAlternative && bottles.size() < limit) {
+            addBottles(bottles, alternative, filter, limit - bottles.size());
+        }
+
+        log.debug("{} garrafas encontradas para {}", bottles.size(), recommendation.getRecommendedProfile());
+
+        return BottleRecommendationResponse.builder()
+                .recommendedProfile(recommendation.getRecommendedProfile())
+                .alternativeProfile(includeAlternative ? alternative : null)
+                .catalogSize(catalog.size())
+                .bottles(bottles)
+                .build();
+    }
+
+    /**
+     * Busca as garrafas de paladar mais próximo do vetor alvo da combinação, de qualquer perfil.
+     * {@code includeAlternative} não se aplica.
+     *
+     * @param request Combinação a recomendar, filtros e limite
+     * @return Perfil vencedor, vetor alvo e garrafas da mais próxima para a mais distante
+     * @throws IllegalArgumentException se o preço mínimo for maior que o máximo
+     */
+    public BottleRecommendationResponse findNearestBottles(BottleSearchRequest request) {
+        CatalogFilter filter = toFilter(request);
+        ScoreBreakdown breakdown = scoreCalculator.calculateBreakdown(request.toRecommendationRequest());
+        float[] target = getTargetTaste(breakdown);
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT;
+
+        int[] rows = catalog.findNearest(target, filter, limit);
+        List<BottleRecommendationResponse.Bottle> bottles = new ArrayList<>(rows.length);
+        float[] taste = new float[TASTE_DIMENSIONS];
+        for (int row : rows) {
+            for (TasteDimension dimension : TasteDimension.values()) {
+                taste[dimension.ordinal()] = catalog.getTaste(row, dimension);
+            }
+            bottles.add(new BottleRecommendationResponse.Bottle(
+                    catalog.getSku(row),
+                    catalog.getProducer(row),
+                    catalog.getGrape(row),
+                    catalog.getCountry(row),
+                    BigDecimal.valueOf(catalog.getPriceCents(row), 2),
+                    catalog.getProfile(row),
+                    TasteVector.of(taste),
+                    Math.round(catalog.distance(row, target) * 1000.0) / 1000.0));
+        }
+
+        log.debug("{} garrafas próximas do paladar de {}", bottles.size(), breakdown.getWinner());
+
+        return BottleRecommendationResponse.builder()
+                .recommendedProfile(breakdown.getWinner())
+                .targetTaste(TasteVector.of(target))
+                .catalogSize(catalog.size())
+                .bottles(bottles)
+                .build();
+    }
+
+    /**
+     * Vetor alvo: média dos vetores típicos dos perfis ponderada por softmax(pontuação / temperatura).
+     */
+    float[] getTargetTaste(ScoreBreakdown breakdown) {
+        double best = breakdown.getTotal(breakdown.getWinner());
+        double[] weights = new double[PROFILES.length];
+        double weightSum = 0;
+        for (WineProfile profile : PROFILES) {
+            // Subtrair o máximo evita overflow em exp
+            double weight = Math.exp((breakdown.getTotal(profile) - best) / temperature);
+            weights[profile.ordinal()] = weight;
+            weightSum += weight;
+        }
+
+        float[] target = new float[TASTE_DIMENSIONS];
+        for (WineProfile profile : PROFILES) {
+            double share = weights[profile.ordinal()] / weightSum;
+            for (TasteDimension dimension : TasteDimension.values()) {
+                target[dimension.ordinal()] += (float) (profile.getTaste(dimension) * share);
+            }
+        }
+        return target;
+    }
+
+    private static CatalogFilter toFilter(BottleSearchRequest request) {
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("O preço mínimo não pode ser maior que o máximo");
+        }
+        return CatalogFilter.builder()
+                .minPriceCents(toCents(request.getMinPrice(), RoundingMode.CEILING))
+                .maxPriceCents(toCents(request.getMaxPrice(), RoundingMode.FLOOR))
+                .country(request.getCountry())
+                .grape(request.getGrape())
+                .build();
+    }
+
+    private void addBottles(List<BottleRecommendationResponse.Bottle> bottles, WineProfile profile,
+                            CatalogFilter filter, int limit) {
+        for (int row : catalog.findTop(profile, filter, limit)) {
+            bottles.add(new BottleRecommendationResponse.Bottle(
+                    catalog.getSku(row),
+                    catalog.getProducer(row),
+                    catalog.getGrape(row),
+                    catalog.getCountry(row),
+                    BigDecimal.valueOf(catalog.getPriceCents(row), 2),
+                    catalog.getProfile(row),
+                    null,
+                    null));
+        }
+    }
+
+    private static Integer toCents(BigDecimal price, RoundingMode rounding) {
+        if (price == null) {
+            return null;
+        }
+        BigDecimal cents = price.movePointRight(2).setScale(0, rounding);
+        return cents.compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) > 0 ? Integer.MAX_VALUE : cents.intValue();
+    }
+
+    WineCatalog getCatalog() {
+        return catalog;
+    }
+}
@@ -0,0 +1,160 @@
+package com.alvaro.wineselector.text;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Autômato de Aho-Corasick sobre palavras inteiras, insensível a acentos e maiúsculas.
+ *
+ * Os padrões (já normalizados pelo {@link TextNormalizer}) são guardados entre separadores,
+ * e o texto é percorrido como se também estivesse entre separadores, com separadores repetidos
+ * colapsados; assim um padrão só casa com palavras inteiras ("bife" não casa com "bifeteca").
+ *
+ * As transições são uma tabela densa (estado × 37 símbolos: separador, a-z, 0-9) com as falhas
+ * já resolvidas, então cada caractere do texto custa uma leitura de array, e o casamento é linear
+ * no tamanho do texto mais o número de ocorrências, sem alocação.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int ALPHABET = 37;
+    private static final int SEPARATOR_SYMBOL = 0;
+
+    private final int[] transitions;
+
+    // Primeiro padrão que termina em cada estado (-1 = nenhum) e os seguintes no mesmo estado
+    private final int[] firstPattern;
+    private final int[] nextPattern;
+
+    // Estado mais próximo na cadeia de falhas que tem padrões (-1 = nenhum)
+    private final int[] outputLink;
+
+    /**
+     * Compila o autômato. O id de cada padrão é a posição dele na lista.
+     *
+     * @param patterns Padrões normalizados e sem separadores nas pontas
+     * @throws IllegalArgumentException se algum padrão for vazio
+     */
+    public AhoCorasickMatcher(List<String> patterns) {
+        int maxStates = 1;
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Padrão vazio");
+            }
+            maxStates += pattern.length() + 2;
+        }
+
+        int[] table = new int[maxStates * ALPHABET];
+        Arrays.fill(table, -1);
+        int[] first = new int[maxStates];
+        Arrays.fill(first, -1);
+        nextPattern = new int[patterns.size()];
+        Arrays.fill(nextPattern, -1);
+
+        // 1. Trie dos padrões entre separadores
+        int states = 1;
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            int state = 0;
+            for (int i = -1; i <= pattern.length(); i++) {
+                int symbol = i < 0 || i == pattern.length() ? SEPARATOR_SYMBOL : symbolOf(pattern.charAt(i));
+                int next = table[state * ALPHABET + symbol];
+                if (next < 0) {
+                    next = states++;
+                    table[state * ALPHABET + symbol] = next;
+                }
+                state = next;
+            }
+            nextPattern[id] = first[state];
+            first[state] = id;
+        }
+
+        // 2. Falhas em largura, resolvendo as transições ausentes
+        int[] failure = new int[states];
+        int[] output = new int[states];
+        Arrays.fill(output, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int next = table[symbol];
+            if (next < 0) {
+                table[symbol] = 0;
+            } else {
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fallback = failure[state];
+            output[state] = first[fallback] >= 0 ? fallback : output[fallback];
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int next = table[state * ALPHABET + symbol];
+                if (next < 0) {
+                    table[state * ALPHABET + symbol] = table[fallback * ALPHABET + symbol];
+                } else {
+                    failure[next] = table[fallback * ALPHABET + symbol];
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.transitions = Arrays.copyOf(table, states * ALPHABET);
+        this.firstPattern = Arrays.copyOf(first, states);
+        this.outputLink = output;
+    }
+
+    /**
+     * Percorre o texto e informa cada ocorrência de padrão (inclusive sobrepostas).
+     */
+    public void match(CharSequence text, MatchListener listener) {
+        int state = transitions[SEPARATOR_SYMBOL];
+        boolean separator = true;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = TextNormalizer.fold(text.charAt(i));
+            if (c == TextNormalizer.SEPARATOR) {
+                if (separator) {
+                    continue;
+                }
+                separator = true;
+            } else {
+                separator = false;
+            }
+            state = transitions[state * ALPHABET + symbolOf(c)];
+            emit(state, i, listener);
+        }
+
+        if (!separator) {
+            state = transitions[state * ALPHABET + SEPARATOR_SYMBOL];
+            emit(state, text.length(), listener);
+        }
+    }
+
+    private void emit(int state, int end, MatchListener listener) {
+        int current = firstPattern[state] >= 0 ? state : outputLink[state];
+        while (current >= 0) {
+            for (int id = firstPattern[current]; id >= 0; id = nextPattern[id]) {
+                listener.onMatch(id, end);
+            }
+            current = outputLink[current];
+        }
+    }
+
+    private static int symbolOf(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return 1 + c - 'a';
+        }
+        if (c >= '0' && c <= '9') {
+            return 27 + c - '0';
+        }
+        return SEPARATOR_SYMBOL;
+    }
+
+    /**
+     * Receptor das ocorrências; {@code end} é a posição no texto logo após a palavra casada.
+     */
+    @FunctionalInterface
+    public interface MatchListener {
+        void onMatch(int patternId, int end);
+    }
+}
@@ -0,0 +1,384 @@
+package com.alvaro.wineselector.text;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Autocompletar tolerante a erros sobre pratos, ocasiões e intimidades.
+ *
+ * Os termos de cada valor são o nome de exibição (peso 3), os sinônimos curados do
+ * {@link Vocabulary} e a categoria técnica do prato (peso 2) e as palavras da descrição (peso 1),
+ * todos normalizados pelo {@link TextNormalizer}. Duas estruturas, montadas uma vez:
+ * - trie de prefixos com cada termo indexado a partir de cada palavra ("molho" encontra
+ *   "massa com molho vermelho"); cada nó já guarda, por dimensão, os melhores valores da sua
+ *   subárvore, então completar um prefixo é percorrer o prefixo e ler uma lista
+ * - BK-tree das palavras dos termos, para palavras digitadas com erro (até 1 edição em palavras de
+ *   até 4 letras, 2 nas maiores)
+ *
+ * Sugestões de prefixo vêm primeiro; as aproximadas completam a lista, por distância.
+ */
+public final class AutocompleteIndex {
+
+    public static final int DIMENSIONS = 3;
+
+    /**
+     * Quantidade máxima de sugestões por consulta.
+     */
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final int ALPHABET = 37;
+
+    // Chave de um valor: dimensão × STRIDE + ordinal
+    private static final int STRIDE = Math.max(MainDish.values().length,
+            Math.max(Occasion.values().length, IntimacyLevel.values().length));
+    private static final int NAME_WEIGHT = 3;
+    private static final int ALIAS_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MIN_DESCRIPTION_WORD = 4;
+    private static final int MIN_FUZZY_WORD = 3;
+
+    // Palavras que não iniciam uma entrada na trie ("com" não sugere "massa com molho")
+    private static final Set<String> CONNECTIVES = Set.of(
+            "a", "o", "e", "as", "os", "ao", "de", "da", "do", "das", "dos", "em", "no", "na", "com", "que", "para");
+
+    // Entradas: um termo indexado a partir de uma palavra
+    private final int[] entryDimension;
+    private final int[] entryOrdinal;
+    private final int[] entryRank;
+    private final String[] entryTerm;
+
+    private final int[] transitions;
+    private final int[][][] topEntries;
+
+    private final BkTree words = new BkTree();
+    private final int[][] wordEntries;
+
+    public AutocompleteIndex() {
+        List<Term> terms = new ArrayList<>();
+        collect(terms, TextInterpreter.DISH, MainDish.values(), Vocabulary.DISHES, MainDish::getDisplayName,
+                MainDish::getDescription);
+        collect(terms, TextInterpreter.OCCASION, Occasion.values(), Vocabulary.OCCASIONS, Occasion::getDisplayName,
+                Occasion::getDescription);
+        collect(terms, TextInterpreter.INTIMACY, IntimacyLevel.values(), Vocabulary.INTIMACY_LEVELS,
+                IntimacyLevel::getDisplayName, IntimacyLevel::getDescription);
+        for (MainDish dish : MainDish.values()) {
+            terms.add(new Term(TextInterpreter.DISH, dish.ordinal(),
+                    TextNormalizer.normalize(dish.getCategory()), ALIAS_WEIGHT));
+        }
+
+        // 1. Entradas (termo a partir de cada palavra que não seja conectivo) e palavras da BK-tree
+        List<Term> entries = new ArrayList<>();
+        List<Integer> entryOffsets = new ArrayList<>();
+        Map<Integer, List<Integer>> entriesByWord = new HashMap<>();
+        for (Term term : terms) {
+            int offset = 0;
+            for (String word : term.text.split(" ")) {
+                if (!CONNECTIVES.contains(word)) {
+                    int entry = entries.size();
+                    entries.add(term);
+                    entryOffsets.add(offset);
+                    if (word.length() >= MIN_FUZZY_WORD) {
+                        entriesByWord.computeIfAbsent(words.add(word), ignored -> new ArrayList<>()).add(entry);
+                    }
+                }
+                offset += word.length() + 1;
+            }
+        }
+
+        int count = entries.size();
+        entryDimension = new int[count];
+        entryOrdinal = new int[count];
+        entryRank = new int[count];
+        entryTerm = new String[count];
+        for (int entry = 0; entry < count; entry++) {
+            Term term = entries.get(entry);
+            entryDimension[entry] = term.dimension;
+            entryOrdinal[entry] = term.ordinal;
+            // Termo que começa pela palavra digitada vale mais que um que a contém no meio
+            entryRank[entry] = term.weight * 2 + (entryOffsets.get(entry) == 0 ? 1 : 0);
+            entryTerm[entry] = term.text;
+        }
+
+        wordEntries = new int[words.size()][];
+        for (int word = 0; word < wordEntries.length; word++) {
+            wordEntries[word] = entriesByWord.getOrDefault(word, List.of()).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // 2. Trie densa (estado × símbolo), com o pai de cada estado
+        int maxStates = 1;
+        for (int entry = 0; entry < count; entry++) {
+            maxStates += entryTerm[entry].length() - entryOffsets.get(entry);
+        }
+        int[] table = new int[maxStates * ALPHABET];
+        Arrays.fill(table, -1);
+        int[] parent = new int[maxStates];
+        List<List<Integer>> own = new ArrayList<>();
+        own.add(new ArrayList<>());
+        int states = 1;
+        for (int entry = 0; entry < count; entry++) {
+            int state = 0;
+            String text = entryTerm[entry];
+            for (int i = entryOffsets.get(entry); i < text.length(); i++) {
+                int cell = state * ALPHABET + symbolOf(text.charAt(i));
+                if (table[cell] < 0) {
+                    table[cell] = states;
+                    parent[states] = state;
+                    own.add(new ArrayList<>());
+                    states++;
+                }
+                state = table[cell];
+            }
+            own.get(state).add(entry);
+        }
+        transitions = Arrays.copyOf(table, states * ALPHABET);
+
+        // 3. Melhores entradas por nó e dimensão; filhos têm ids maiores que o pai, então
+        //    percorrer os ids em ordem decrescente completa cada nó antes de subir para o pai
+        topEntries = new int[states][DIMENSIONS][];
+        for (int state = 0; state < states; state++) {
+            for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+                topEntries[state][dimension] = new int[0];
+            }
+        }
+        for (int state = states - 1; state >= 0; state--) {
+            for (int entry : own.get(state)) {
+                int dimension = entryDimension[entry];
+                topEntries[state][dimension] = best(topEntries[state][dimension], new int[]{entry});
+            }
+            if (state > 0) {
+                for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+                    topEntries[parent[state]][dimension] =
+                            best(topEntries[parent[state]][dimension], topEntries[state][dimension]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sugestões para o texto digitado.
+     *
+     * @param query Texto parcial, possivelmente com erros
+     * @param dimension Só uma dimensão ({@link TextInterpreter#DISH}, ...), ou -1 para todas
+     * @param limit Máximo de sugestões (até {@link #MAX_SUGGESTIONS})
+     * @return Sugestões de prefixo primeiro, depois as aproximadas; no máximo uma por valor
+     */
+    public List<Suggestion> suggest(String query, int dimension, int limit) {
+        String normalized = TextNormalizer.normalize(query);
+        List<Suggestion> suggestions = new ArrayList<>(limit);
+        if (normalized.isEmpty() || limit <= 0) {
+            return suggestions;
+        }
+        boolean[] seen = new boolean[DIMENSIONS * STRIDE];
+
+        // Prefixo: percorre a trie e junta as listas já ordenadas das dimensões pedidas
+        int state = 0;
+        for (int i = 0; i < normalized.length() && state >= 0; i++) {
+            state = transitions[state * ALPHABET + symbolOf(normalized.charAt(i))];
+        }
+        if (state >= 0) {
+            int[] merged = new int[0];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                if (dimension < 0 || dimension == d) {
+                    merged = best(merged, topEntries[state][d]);
+                }
+            }
+            for (int entry : merged) {
+                if (suggestions.size() == limit) {
+                    break;
+                }
+                if (markSeen(seen, entry)) {
+                    suggestions.add(new Suggestion(entryDimension[entry], entryOrdinal[entry], entryTerm[entry], 0));
+                }
+            }
+        }
+
+        if (suggestions.size() < limit) {
+            addFuzzy(normalized, dimension, limit, seen, suggestions);
+        }
+        return suggestions;
+    }
+
+    private void addFuzzy(String normalized, int dimension, int limit, boolean[] seen, List<Suggestion> suggestions) {
+        // Melhor (distância, posto) por valor entre as palavras do texto
+        int[] bestEntry = new int[DIMENSIONS * STRIDE];
+        int[] bestDistance = new int[DIMENSIONS * STRIDE];
+        Arrays.fill(bestEntry, -1);
+
+        for (String token : normalized.split(" ")) {
+            if (token.length() < MIN_FUZZY_WORD) {
+                continue;
+            }
+            int maxDistance = token.length() <= 4 ? 1 : 2;
+            words.search(token, maxDistance, (word, distance) -> {
+                for (int entry : wordEntries[word]) {
+                    if (dimension >= 0 && entryDimension[entry] != dimension) {
+                        continue;
+                    }
+                    int key = entryDimension[entry] * STRIDE + entryOrdinal[entry];
+                    int current = bestEntry[key];
+                    if (current < 0 || distance < bestDistance[key]
+                            || (distance == bestDistance[key] && entryRank[entry] > entryRank[current])) {
+                        bestEntry[key] = entry;
+                        bestDistance[key] = distance;
+                    }
+                }
+            });
+        }
+
+        List<Integer> candidates = new ArrayList<>();
+        for (int key = 0; key < bestEntry.length; key++) {
+            if (bestEntry[key] >= 0 && !seen[key]) {
+                candidates.add(key);
+            }
+        }
+        candidates.sort(Comparator.<Integer>comparingInt(key -> bestDistance[key])
+                .thenComparingInt(key -> -entryRank[bestEntry[key]])
+                .thenComparingInt(key -> key));
+
+        for (int key : candidates) {
+            if (suggestions.size() == limit) {
+                break;
+            }
+            int entry = bestEntry[key];
+            seen[key] = true;
+            suggestions.add(new Suggestion(entryDimension[entry], entryOrdinal[entry], entryTerm[entry],
+                    bestDistance[key]));
+        }
+    }
+
+    int getStateCount() {
+        return topEntries.length;
+    }
+
+    int getWordCount() {
+        return words.size();
+    }
+
+    private boolean markSeen(boolean[] seen, int entry) {
+        int key = entryDimension[entry] * STRIDE + entryOrdinal[entry];
+        if (seen[key]) {
+            return false;
+        }
+        seen[key] = true;
+        return true;
+    }
+
+    /**
+     * Junta duas listas de entradas: maior posto primeiro (empate: termo mais curto), uma entrada por valor,
+     * no máximo {@link #MAX_SUGGESTIONS}.
+     */
+    private int[] best(int[] a, int[] b) {
+        if (b.length == 0) {
+            return a;
+        }
+        Integer[] all = new Integer[a.length + b.length];
+        for (int i = 0; i < a.length; i++) {
+            all[i] = a[i];
+        }
+        for (int i = 0; i < b.length; i++) {
+            all[a.length + i] = b[i];
+        }
+        Arrays.sort(all, Comparator.<Integer>comparingInt(entry -> -entryRank[entry])
+                .thenComparingInt(entry -> entryTerm[entry].length())
+                .thenComparingInt(entry -> entryDimension[entry] * STRIDE + entryOrdinal[entry])
+                .thenComparingInt(entry -> entry));
+
+        int[] result = new int[Math.min(all.length, MAX_SUGGESTIONS)];
+        boolean[] seen = new boolean[DIMENSIONS * STRIDE];
+        int size = 0;
+        for (int entry : all) {
+            if (size == result.length) {
+                break;
+            }
+            if (markSeen(seen, entry)) {
+                result[size++] = entry;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static <E extends Enum<E>> void collect(List<Term> terms, int dimension, E[] values,
+                                                    Map<E, List<String>> synonyms,
+                                                    Function<E, String> displayName, Function<E, String> description) {
+        for (E value : values) {
+            terms.add(new Term(dimension, value.ordinal(), TextNormalizer.normalize(displayName.apply(value)), NAME_WEIGHT));
+            for (String synonym : synonyms.getOrDefault(value, List.of())) {
+                terms.add(new Term(dimension, value.ordinal(), TextNormalizer.normalize(synonym), ALIAS_WEIGHT));
+            }
+            for (String word : TextNormalizer.normalize(description.apply(value)).split(" ")) {
+                if (word.length() >= MIN_DESCRIPTION_WORD && !Vocabulary.DESCRIPTION_STOPWORDS.contains(word)) {
+                    terms.add(new Term(dimension, value.ordinal(), word, DESCRIPTION_WEIGHT));
+                }
+            }
+        }
+    }
+
+    private static int symbolOf(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return 1 + c - 'a';
+        }
+        if (c >= '0' && c <= '9') {
+            return 27 + c - '0';
+        }
+        return 0;
+    }
+
+    private static final class Term {
+
+        private final int dimension;
+        private final int ordinal;
+        private final String text;
+        private final int weight;
+
+        Term(int dimension, int ordinal, String text, int weight) {
+            this.dimension = dimension;
+            this.ordinal = ordinal;
+            this.text = text;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Sugestão: valor (dimensão e ordinal), termo que casou e distância de edição (0 = prefixo).
+     */
+    public static final class Suggestion {
+
+        private final int dimension;
+        private final int ordinal;
+        private final String term;
+        private final int distance;
+
+        Suggestion(int dimension, int ordinal, String term, int distance) {
+            this.dimension = dimension;
+            this.ordinal = ordinal;
+            this.term = term;
+            this.distance = distance;
+        }
+
+        public int getDimension() {
+            return dimension;
+        }
+
+        public int getOrdinal() {
+            return ordinal;
+        }
+
+        public String getTerm() {
+            return term;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+    }
+}
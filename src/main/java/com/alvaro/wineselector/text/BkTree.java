@@ -0,0 +1,119 @@
+package com.alvaro.wineselector.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BK-tree de palavras pela distância de Levenshtein, para sugestões com erros de digitação.
+ *
+ * Cada nó guarda uma palavra e os filhos pela distância até ela; uma busca com tolerância d só
+ * desce nos filhos com distância em [dist − d, dist + d] (desigualdade triangular), visitando uma
+ * fração pequena das palavras. Imutável depois de construída.
+ */
+final class BkTree {
+
+    private final List<String> words = new ArrayList<>();
+    private final List<int[]> children = new ArrayList<>();
+
+    /**
+     * Adiciona uma palavra (repetidas são ignoradas).
+     *
+     * @return Id da palavra (posição de inserção), ou o id existente
+     */
+    int add(String word) {
+        if (words.isEmpty()) {
+            return append(word);
+        }
+        int node = 0;
+        while (true) {
+            int distance = distance(word, words.get(node));
+            if (distance == 0) {
+                return node;
+            }
+            int[] nodeChildren = children.get(node);
+            if (distance >= nodeChildren.length) {
+                nodeChildren = Arrays.copyOf(nodeChildren, distance + 1);
+                Arrays.fill(nodeChildren, children.get(node).length, nodeChildren.length, -1);
+                children.set(node, nodeChildren);
+            }
+            if (nodeChildren[distance] < 0) {
+                int id = append(word);
+                nodeChildren[distance] = id;
+                return id;
+            }
+            node = nodeChildren[distance];
+        }
+    }
+
+    /**
+     * Palavras a no máximo {@code maxDistance} edições de {@code word}.
+     *
+     * @param consumer Recebe o id e a distância de cada palavra encontrada
+     */
+    void search(String word, int maxDistance, MatchConsumer consumer) {
+        if (words.isEmpty()) {
+            return;
+        }
+        int[] stack = new int[words.size()];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int distance = distance(word, words.get(node));
+            if (distance <= maxDistance) {
+                consumer.accept(node, distance);
+            }
+            int[] nodeChildren = children.get(node);
+            int from = Math.max(1, distance - maxDistance);
+            int to = Math.min(nodeChildren.length - 1, distance + maxDistance);
+            for (int d = from; d <= to; d++) {
+                if (nodeChildren[d] >= 0) {
+                    stack[top++] = nodeChildren[d];
+                }
+            }
+        }
+    }
+
+    String getWord(int id) {
+        return words.get(id);
+    }
+
+    int size() {
+        return words.size();
+    }
+
+    private int append(String word) {
+        words.add(word);
+        children.add(new int[0]);
+        return words.size() - 1;
+    }
+
+    /**
+     * Distância de Levenshtein com duas linhas (O(|a| × |b|) tempo, O(|b|) espaço).
+     */
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    @FunctionalInterface
+    interface MatchConsumer {
+        void accept(int id, int distance);
+    }
+}
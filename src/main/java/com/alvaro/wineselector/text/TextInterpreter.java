@@ -0,0 +1,227 @@
+package com.alvaro.wineselector.text;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Reconhecimento de prato, ocasião e intimidade em texto livre
+ * (ex: "picanha com farofa num aniversário").
+ *
+ * O vocabulário de cada valor vem de três fontes, com pesos diferentes:
+ * - nome de exibição do enum e sinônimos curados ({@link Vocabulary}): peso 3
+ * - palavras da descrição do enum (sem conectivos e termos genéricos): peso 1
+ * Cada termo também é registrado no plural (de todas as palavras, "carnes vermelhas", e só da
+ * primeira, "colegas de trabalho"). Um termo presente em n valores da mesma dimensão
+ * pesa 1/n em cada um.
+ *
+ * Todos os termos vão para um único autômato de Aho-Corasick; a interpretação percorre o texto uma
+ * vez e soma os pesos por valor. A confiança de uma dimensão é a vantagem do vencedor sobre o segundo
+ * (proporcional ao total do vencedor), reduzida quando a evidência total é menor que a de um termo forte.
+ */
+public final class TextInterpreter {
+
+    public static final int DISH = 0;
+    public static final int OCCASION = 1;
+    public static final int INTIMACY = 2;
+
+    private static final double STRONG_WEIGHT = 3;
+    private static final double DESCRIPTION_WEIGHT = 1;
+    private static final int MIN_DESCRIPTION_WORD = 4;
+
+    private static final int[] DIMENSION_SIZES = {
+            MainDish.values().length, Occasion.values().length, IntimacyLevel.values().length};
+
+    private final AhoCorasickMatcher matcher;
+    private final String[] terms;
+    private final int[] dimensions;
+    private final int[] ordinals;
+    private final double[] weights;
+
+    public TextInterpreter() {
+        // termo -> (dimensão × 64 + ordinal) -> peso; a ordem de inserção fixa os ids dos padrões
+        Map<String, Map<Integer, Double>> vocabulary = new LinkedHashMap<>();
+        addAll(vocabulary, DISH, MainDish.values(), Vocabulary.DISHES, MainDish::getDisplayName, MainDish::getDescription);
+        addAll(vocabulary, OCCASION, Occasion.values(), Vocabulary.OCCASIONS, Occasion::getDisplayName,
+                Occasion::getDescription);
+        addAll(vocabulary, INTIMACY, IntimacyLevel.values(), Vocabulary.INTIMACY_LEVELS, IntimacyLevel::getDisplayName,
+                IntimacyLevel::getDescription);
+
+        List<String> patterns = new ArrayList<>();
+        List<int[]> targets = new ArrayList<>();
+        List<Double> targetWeights = new ArrayList<>();
+        for (Map.Entry<String, Map<Integer, Double>> term : vocabulary.entrySet()) {
+            int[] shared = new int[DIMENSION_SIZES.length];
+            for (int key : term.getValue().keySet()) {
+                shared[key / 64]++;
+            }
+            for (Map.Entry<Integer, Double> target : term.getValue().entrySet()) {
+                patterns.add(term.getKey());
+                targets.add(new int[]{target.getKey() / 64, target.getKey() % 64});
+                targetWeights.add(target.getValue() / shared[target.getKey() / 64]);
+            }
+        }
+
+        this.matcher = new AhoCorasickMatcher(patterns);
+        this.terms = patterns.toArray(String[]::new);
+        this.dimensions = new int[patterns.size()];
+        this.ordinals = new int[patterns.size()];
+        this.weights = new double[patterns.size()];
+        for (int id = 0; id < patterns.size(); id++) {
+            dimensions[id] = targets.get(id)[0];
+            ordinals[id] = targets.get(id)[1];
+            weights[id] = targetWeights.get(id);
+        }
+    }
+
+    /**
+     * Interpreta o texto em uma única passada.
+     */
+    public Interpretation interpret(CharSequence text) {
+        double[][] scores = new double[DIMENSION_SIZES.length][];
+        for (int dimension = 0; dimension < scores.length; dimension++) {
+            scores[dimension] = new double[DIMENSION_SIZES[dimension]];
+        }
+        Set<String> matched = new LinkedHashSet<>();
+
+        matcher.match(text, (id, end) -> {
+            scores[dimensions[id]][ordinals[id]] += weights[id];
+            matched.add(terms[id]);
+        });
+
+        int[] best = new int[DIMENSION_SIZES.length];
+        double[] confidence = new double[DIMENSION_SIZES.length];
+        for (int dimension = 0; dimension < scores.length; dimension++) {
+            double[] values = scores[dimension];
+            int first = -1;
+            double second = 0;
+            for (int v = 0; v < values.length; v++) {
+                if (first < 0 || values[v] > values[first]) {
+                    if (first >= 0) {
+                        second = values[first];
+                    }
+                    first = v;
+                } else if (values[v] > second) {
+                    second = values[v];
+                }
+            }
+            double top = values[first];
+            if (top > 0 && top > second) {
+                best[dimension] = first;
+                confidence[dimension] = (top - second) / top * Math.min(1, top / STRONG_WEIGHT);
+            } else {
+                best[dimension] = -1;
+            }
+        }
+
+        return new Interpretation(best, confidence, List.copyOf(matched));
+    }
+
+    /**
+     * Quantidade de padrões no autômato (termos × valores).
+     */
+    int getPatternCount() {
+        return terms.length;
+    }
+
+    private static <E extends Enum<E>> void addAll(Map<String, Map<Integer, Double>> vocabulary, int dimension,
+                                                   E[] values, Map<E, List<String>> synonyms,
+                                                   Function<E, String> displayName, Function<E, String> description) {
+        for (E value : values) {
+            int key = dimension * 64 + value.ordinal();
+            add(vocabulary, TextNormalizer.normalize(displayName.apply(value)), key, STRONG_WEIGHT);
+            for (String synonym : synonyms.getOrDefault(value, List.of())) {
+                add(vocabulary, TextNormalizer.normalize(synonym), key, STRONG_WEIGHT);
+            }
+            for (String word : TextNormalizer.normalize(description.apply(value)).split(" ")) {
+                if (word.length() >= MIN_DESCRIPTION_WORD && !Vocabulary.DESCRIPTION_STOPWORDS.contains(word)) {
+                    add(vocabulary, word, key, DESCRIPTION_WEIGHT);
+                }
+            }
+        }
+    }
+
+    private static void add(Map<String, Map<Integer, Double>> vocabulary, String term, int key, double weight) {
+        if (term.isEmpty()) {
+            return;
+        }
+        for (String form : new String[]{term, plural(term, true), plural(term, false)}) {
+            vocabulary.computeIfAbsent(form, ignored -> new LinkedHashMap<>()).merge(key, weight, Math::max);
+        }
+    }
+
+    /**
+     * Plural simples das palavras com três letras ou mais ("tabua de queijo" → "tabuas de queijos"),
+     * ou só da primeira ("colega de trabalho" → "colegas de trabalho").
+     */
+    static String plural(String term, boolean allWords) {
+        StringBuilder plural = new StringBuilder(term.length() + 4);
+        for (String word : term.split(" ")) {
+            boolean first = plural.isEmpty();
+            if (!first) {
+                plural.append(' ');
+            }
+            if ((!first && !allWords) || word.length() < 3 || word.endsWith("s") || Character.isDigit(word.charAt(word.length() - 1))) {
+                plural.append(word);
+            } else if (word.endsWith("ao")) {
+                plural.append(word, 0, word.length() - 2).append("oes");
+            } else if (word.endsWith("r") || word.endsWith("z")) {
+                plural.append(word).append("es");
+            } else if (word.endsWith("l")) {
+                plural.append(word, 0, word.length() - 1).append("is");
+            } else if ("aeiou".indexOf(word.charAt(word.length() - 1)) >= 0) {
+                plural.append(word).append('s');
+            } else {
+                plural.append(word);
+            }
+        }
+        return plural.toString();
+    }
+
+    /**
+     * Resultado: valor reconhecido por dimensão (-1 = nenhum ou empate), confiança de 0 a 1 e termos casados.
+     */
+    public static final class Interpretation {
+
+        private final int[] values;
+        private final double[] confidence;
+        private final List<String> matchedTerms;
+
+        Interpretation(int[] values, double[] confidence, List<String> matchedTerms) {
+            this.values = values;
+            this.confidence = confidence;
+            this.matchedTerms = matchedTerms;
+        }
+
+        public MainDish getMainDish() {
+            return values[DISH] < 0 ? null : MainDish.values()[values[DISH]];
+        }
+
+        public Occasion getOccasion() {
+            return values[OCCASION] < 0 ? null : Occasion.values()[values[OCCASION]];
+        }
+
+        public IntimacyLevel getIntimacyLevel() {
+            return values[INTIMACY] < 0 ? null : IntimacyLevel.values()[values[INTIMACY]];
+        }
+
+        /**
+         * Confiança da dimensão ({@link #DISH}, {@link #OCCASION} ou {@link #INTIMACY}); 0 se não reconhecida.
+         */
+        public double getConfidence(int dimension) {
+            return confidence[dimension];
+        }
+
+        public List<String> getMatchedTerms() {
+            return matchedTerms;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.alvaro.wineselector.text;
+
+import java.text.Normalizer;
+
+/**
+ * Normalização de texto para o reconhecimento: minúsculas, sem acentos, e tudo que não for
+ * letra ou dígito vira espaço.
+ *
+ * A conversão de cada caractere vem de uma tabela pré-calculada (Latin-1 e Latin Extended),
+ * então normalizar durante o casamento não aloca nada.
+ */
+public final class TextNormalizer {
+
+    /**
+     * Caractere de separação (espaços, pontuação e qualquer caractere fora do alfabeto).
+     */
+    public static final char SEPARATOR = ' ';
+
+    private static final char[] FOLD = new char[0x250];
+
+    static {
+        for (char c = 0; c < FOLD.length; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            char base = Character.toLowerCase(decomposed.charAt(0));
+            FOLD[c] = (base >= 'a' && base <= 'z') || (base >= '0' && base <= '9') ? base : SEPARATOR;
+        }
+    }
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Caractere normalizado: [a-z0-9] ou {@link #SEPARATOR}.
+     */
+    public static char fold(char c) {
+        return c < FOLD.length ? FOLD[c] : SEPARATOR;
+    }
+
+    /**
+     * Normaliza um texto inteiro, colapsando separadores consecutivos e removendo os das pontas.
+     */
+    public static String normalize(CharSequence text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean separator = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            if (c == SEPARATOR) {
+                if (!separator) {
+                    normalized.append(SEPARATOR);
+                }
+                separator = true;
+            } else {
+                normalized.append(c);
+                separator = false;
+            }
+        }
+        int length = normalized.length();
+        if (length > 0 && normalized.charAt(length - 1) == SEPARATOR) {
+            normalized.setLength(length - 1);
+        }
+        return normalized.toString();
+    }
+}
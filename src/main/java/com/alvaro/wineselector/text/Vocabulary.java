@@ -0,0 +1,106 @@
+package com.alvaro.wineselector.text;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sinônimos curados para o reconhecimento de texto livre, além dos nomes e descrições dos enums.
+ *
+ * Um mesmo termo pode aparecer em mais de um valor da mesma dimensão (ex: "picanha" é carne vermelha
+ * e churrasco); o peso dele é então dividido entre os valores, e o contexto desempata.
+ */
+final class Vocabulary {
+
+    static final Map<MainDish, List<String>> DISHES = new EnumMap<>(MainDish.class);
+    static final Map<Occasion, List<String>> OCCASIONS = new EnumMap<>(Occasion.class);
+    static final Map<IntimacyLevel, List<String>> INTIMACY_LEVELS = new EnumMap<>(IntimacyLevel.class);
+
+    /**
+     * Palavras das descrições que não identificam nenhum valor (conectivos e termos genéricos).
+     */
+    static final Set<String> DESCRIPTION_STOPWORDS = Set.of(
+            "outras", "outros", "diversas", "diversos", "formas", "preparadas", "variedade", "estilo", "incluindo",
+            "desde", "mais", "como", "pratos", "base", "selecao", "acompanhamentos", "substanciais",
+            "incrementadas", "sabores", "temperos", "marcantes", "frescos", "cremosos", "italianas", "molho",
+            "brasileiro", "assadas", "grelhadas", "grelhados", "vinho", "vinhos", "escolha", "escolhas",
+            "momento", "ambiente", "exige", "exigindo", "exigencias", "permite", "permitindo", "requer",
+            "situacao", "contexto", "relacao", "ainda", "mas", "sem", "onde", "para", "pede", "favorece",
+            "seguras", "segura", "seguranca", "elegantes", "elegancia", "leve", "leves", "menos", "intensos",
+            "especiais", "especial", "memoraveis", "marquem", "ideal", "transmitem", "transmitir", "ousadas",
+            "variadas", "agradaveis", "agradem", "todos", "durante", "inicio", "noite", "faceis", "beber",
+            "especificas", "versateis", "diferentes", "paladares", "valorizadas", "sofisticacao", "alguma",
+            "margem", "interessantes", "estabelecida", "grande", "proximidade", "moderada", "moderado",
+            "equilibradas", "consolidada", "conforto", "alta", "personalizadas", "experimentar", "arriscar",
+            "longa", "data", "historia", "liberdade", "aceita", "mantem", "formalidade", "boa", "classicos",
+            "classicas", "devem", "irrepreensiveis", "maxima", "gosto", "ousadia", "total",
+            "qualquer", "perfil", "valido", "priorizando", "apenas", "harmonizacao", "baixa", "prioriza",
+            "amplamente", "superficial", "conservadoras", "dia", "hierarquico", "profissionalismo", "bom",
+            "nivel", "tres", "quatro");
+
+    static {
+        put(DISHES, MainDish.CARNES_VERMELHAS, "carne vermelha, carne, bife, file mignon, picanha, costela, cordeiro, "
+                + "alcatra, maminha, fraldinha, contra file, entrecot, steak, carne assada, cupim, vitela, javali, "
+                + "ossobuco, rosbife");
+        put(DISHES, MainDish.CARNES_BRANCAS, "carne branca, frango, galinha, peru, chester, pato, ave, codorna, "
+                + "lombo, porco, pernil, leitao, frango assado");
+        put(DISHES, MainDish.PEIXES_FRUTOS_MAR, "peixe, frutos do mar, salmao, tilapia, bacalhau, atum, camarao, polvo, "
+                + "lula, lagosta, ostra, marisco, mexilhao, moqueca, ceviche, robalo, linguado, paella");
+        put(DISHES, MainDish.MASSA_MOLHO_VERMELHO, "massa, macarrao, espaguete, molho de tomate, molho vermelho, "
+                + "bolonhesa, arrabiata, pomodoro, lasanha, macarronada, ao sugo, sugo, nhoque");
+        put(DISHES, MainDish.MASSA_MOLHO_BRANCO, "massa, macarrao, espaguete, molho branco, alfredo, quatro queijos, "
+                + "carbonara, pesto, bechamel, fettuccine, nhoque");
+        put(DISHES, MainDish.RISOTO, "risoto, arroz arboreo, funghi");
+        put(DISHES, MainDish.PIZZA, "pizza, pizzaria, margherita, calabresa, calzone");
+        put(DISHES, MainDish.CHURRASCO, "churrasco, churrasquinho, churrascaria, picanha, linguica, espetinho, "
+                + "farofa, vinagrete, na brasa, costela no bafo, fogo de chao, costela");
+        put(DISHES, MainDish.COMIDA_ASIATICA, "comida asiatica, sushi, sashimi, temaki, yakisoba, japonesa, japones, "
+                + "chinesa, chines, tailandesa, pad thai, ramen, gyoza, poke, comida oriental");
+        put(DISHES, MainDish.QUEIJOS_FRIOS, "tabua de queijos, queijos, queijo, frios, embutidos, salame, presunto, brie, "
+                + "camembert, gorgonzola, parma, charcutaria, petiscos");
+        put(DISHES, MainDish.VEGETARIANO, "vegetariano, vegetariana, vegano, vegana, salada, legumes, quiche, "
+                + "cogumelos, tofu, berinjela, abobrinha");
+        put(DISHES, MainDish.COMIDA_APIMENTADA, "apimentado, apimentada, picante, pimenta, mexicana, mexicano, "
+                + "indiana, indiano, curry, tacos, burrito, chili");
+
+        put(OCCASIONS, Occasion.REUNIAO_NEGOCIOS, "reuniao de negocios, reuniao, negocios, jantar de negocios, "
+                + "corporativo, corporativa");
+        put(OCCASIONS, Occasion.ALMOCO_NEGOCIOS, "almoco de negocios, almoco executivo, almoco com cliente, negocios");
+        put(OCCASIONS, Occasion.JANTAR_ROMANTICO, "jantar romantico, romantico, romantica, dia dos namorados, a dois, "
+                + "lua de mel");
+        put(OCCASIONS, Occasion.PRIMEIRO_ENCONTRO, "primeiro encontro, primeiro date, encontro");
+        put(OCCASIONS, Occasion.ANIVERSARIO, "aniversario, niver, bodas, festa de aniversario");
+        put(OCCASIONS, Occasion.CELEBRACAO, "celebracao, comemoracao, comemorar, celebrar, festa, promocao, "
+                + "formatura, brinde, conquista, noivado, casamento, reveillon, ano novo, natal");
+        put(OCCASIONS, Occasion.ENTRE_AMIGOS, "entre amigos, com amigos, com os amigos, galera, turma, resenha");
+        put(OCCASIONS, Occasion.JANTAR_FAMILIA, "jantar em familia, em familia, almoco de domingo, almoco em familia");
+        put(OCCASIONS, Occasion.BRUNCH_HAPPY_HOUR, "brunch, happy hour, cafe da manha, fim de tarde, piscina, praia");
+        put(OCCASIONS, Occasion.CASUAL, "casual, dia a dia, sem compromisso, em casa, qualquer dia");
+
+        put(INTIMACY_LEVELS, IntimacyLevel.PRIMEIRO_ENCONTRO, "primeiro encontro, primeiro date, acabei de conhecer");
+        put(INTIMACY_LEVELS, IntimacyLevel.CONHECIDO, "conhecido, conhecida, vizinho, vizinha");
+        put(INTIMACY_LEVELS, IntimacyLevel.AMIGO_DISTANTE, "amigo distante, amiga distante, colega de faculdade");
+        put(INTIMACY_LEVELS, IntimacyLevel.AMIGO, "amigo, amiga");
+        put(INTIMACY_LEVELS, IntimacyLevel.AMIGO_PROXIMO, "amigo proximo, amiga proxima, melhor amigo, melhor amiga, "
+                + "grande amigo, grande amiga");
+        put(INTIMACY_LEVELS, IntimacyLevel.AMIGO_REVER, "rever, reencontro, reencontrar, velho amigo, velha amiga, "
+                + "amigo de longa data, saudade");
+        put(INTIMACY_LEVELS, IntimacyLevel.COLEGA_TRABALHO, "colega de trabalho, colega, equipe, escritorio, trabalho");
+        put(INTIMACY_LEVELS, IntimacyLevel.CHEFE_SUPERIOR, "chefe, superior, diretor, diretora, gerente, patrao, ceo");
+        put(INTIMACY_LEVELS, IntimacyLevel.CLIENTE_FORNECEDOR, "cliente, fornecedor, parceiro comercial, investidor");
+        put(INTIMACY_LEVELS, IntimacyLevel.INTIMO_FAMILIAR, "familia, familiar, pais, mae, pai, irmao, irma, esposa, "
+                + "marido, namorada, namorado, filhos, avos, sogros, sogra, intimo");
+    }
+
+    private Vocabulary() {
+    }
+
+    private static <E extends Enum<E>> void put(Map<E, List<String>> map, E value, String terms) {
+        map.put(value, List.of(terms.split(",\\s*")));
+    }
+}
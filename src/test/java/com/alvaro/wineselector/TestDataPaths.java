@@ -0,0 +1,23 @@
+package com.alvaro.wineselector;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.nio.file.Path;
+
+/**
+ * Diretórios de dados (preferências, feedback e histórico) dos testes com contexto Spring.
+ *
+ * Cada classe de teste aponta os caminhos para o próprio diretório temporário, então nenhum
+ * estado passa de uma execução para outra nem vai parar em data/.
+ */
+public final class TestDataPaths {
+
+    private TestDataPaths() {
+    }
+
+    public static void register(DynamicPropertyRegistry registry, Path directory) {
+        registry.add("wineselector.preferences.path", () -> directory.resolve("preferences").toString());
+        registry.add("wineselector.feedback.path", () -> directory.resolve("feedback").toString());
+        registry.add("wineselector.history.path", () -> directory.resolve("history").toString());
+    }
+}
@@ -1,11 +1,24 @@
 package com.alvaro.wineselector;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 @SpringBootTest
 class WineSelectorApplicationTests {
 
+	@TempDir
+	static Path dataDirectory;
+
+	@DynamicPropertySource
+	static void dataPaths(DynamicPropertyRegistry registry) {
+		TestDataPaths.register(registry, dataDirectory);
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,113 @@
+package com.alvaro.wineselector.benchmark;
+
+import com.alvaro.wineselector.codec.RecommendationProtobufCodec;
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import com.alvaro.wineselector.service.JustificationGenerator;
+import com.alvaro.wineselector.service.RecommendationService;
+import com.alvaro.wineselector.service.ScoreCalculator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Benchmark de tamanho de payload e custo de codificação/decodificação das respostas
+ * em JSON, CBOR, Smile e Protobuf, sobre todas as combinações.
+ *
+ * Execução:
+ * ./mvnw -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.alvaro.wineselector.benchmark.PayloadBenchmark
+ */
+public class PayloadBenchmark {
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    public static void main(String[] args) {
+        RecommendationService service = new RecommendationService(
+                new ScoreCalculator(List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules()),
+                new JustificationGenerator());
+
+        RecommendationResponse[] responses = new RecommendationResponse[CombinationIndex.SIZE];
+        for (int i = 0; i < CombinationIndex.SIZE; i++) {
+            responses[i] = service.getRecommendation(CombinationIndex.toRequest(i));
+        }
+
+        System.out.printf("%-9s %12s %14s %14s%n", "Formato", "Bytes médios", "Encode (ns)", "Decode (ns)");
+
+        runJackson("JSON", JsonMapper.builder().build(), responses);
+        runJackson("CBOR", CBORMapper.builder().build(), responses);
+        runJackson("Smile", SmileMapper.builder().build(), responses);
+        run("Protobuf", responses,
+                RecommendationProtobufCodec::encodeResponse,
+                RecommendationProtobufCodec::decodeResponse);
+    }
+
+    private static void runJackson(String name, ObjectMapper mapper, RecommendationResponse[] responses) {
+        run(name, responses,
+                mapper::writeValueAsBytes,
+                bytes -> mapper.readValue(bytes, RecommendationResponse.class));
+    }
+
+    private static void run(
+            String name,
+            RecommendationResponse[] responses,
+            Function<RecommendationResponse, byte[]> encoder,
+            Function<byte[], RecommendationResponse> decoder) {
+
+        byte[][] encoded = new byte[responses.length][];
+        long totalBytes = 0;
+        for (int i = 0; i < responses.length; i++) {
+            encoded[i] = encoder.apply(responses[i]);
+            totalBytes += encoded[i].length;
+        }
+
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += encodeAll(responses, encoder) + decodeAll(encoded, decoder);
+        }
+
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            sink += encodeAll(responses, encoder);
+            long middle = System.nanoTime();
+            sink += decodeAll(encoded, decoder);
+            decodeNanos += System.nanoTime() - middle;
+            encodeNanos += middle - start;
+        }
+
+        long operations = (long) MEASURED_ROUNDS * responses.length;
+        System.out.printf("%-9s %12d %14d %14d%s%n",
+                name,
+                totalBytes / responses.length,
+                encodeNanos / operations,
+                decodeNanos / operations,
+                sink == 42 ? " " : "");
+    }
+
+    private static long encodeAll(RecommendationResponse[] responses, Function<RecommendationResponse, byte[]> encoder) {
+        long sink = 0;
+        for (RecommendationResponse response : responses) {
+            sink += encoder.apply(response).length;
+        }
+        return sink;
+    }
+
+    private static long decodeAll(byte[][] encoded, Function<byte[], RecommendationResponse> decoder) {
+        long sink = 0;
+        for (byte[] bytes : encoded) {
+            sink += decoder.apply(bytes).getScore();
+        }
+        return sink;
+    }
+}
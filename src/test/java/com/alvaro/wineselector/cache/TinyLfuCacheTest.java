@@ -0,0 +1,116 @@
+package com.alvaro.wineselector.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cache W-TinyLFU: limite de tamanho, admissão por frequência e expiração.
+ */
+class TinyLfuCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicLong now = new AtomicLong();
+
+    private TinyLfuCache<Integer, String> newCache(int maximumSize) {
+        return new TinyLfuCache<>(maximumSize, Duration.ofMinutes(10), key -> {
+            loads.incrementAndGet();
+            return "v" + key;
+        }, now::get);
+    }
+
+    @Test
+    void sizeNeverExceedsTheMaximum() {
+        TinyLfuCache<Integer, String> cache = newCache(100);
+        for (int key = 0; key < 10_000; key++) {
+            assertEquals("v" + key, cache.get(key));
+            assertTrue(cache.size() <= 100);
+        }
+    }
+
+    @Test
+    void frequentlyUsedKeysSurviveAScanOfOneTimeKeys() {
+        TinyLfuCache<Integer, String> cache = newCache(200);
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 100; key++) {
+                cache.get(key);
+            }
+        }
+        for (int key = 1_000; key < 50_000; key++) {
+            cache.get(key);
+        }
+
+        int retained = 0;
+        for (int key = 0; key < 100; key++) {
+            if (cache.contains(key)) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 95, "Chaves frequentes mantidas: " + retained);
+    }
+
+    @Test
+    void entriesExpireAfterWriteAndCanBeInvalidated() {
+        TinyLfuCache<Integer, String> cache = newCache(10);
+        cache.get(1);
+        cache.get(1);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+
+        now.addAndGet(Duration.ofMinutes(11).toNanos());
+        cache.get(1);
+        assertEquals(2, loads.get());
+
+        cache.invalidate(1);
+        assertFalse(cache.contains(1));
+        cache.get(1);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void loadStartedBeforeAnInvalidationIsNotCached() throws Exception {
+        AtomicReference<String> source = new AtomicReference<>("antigo");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch saved = new CountDownLatch(1);
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(10, Duration.ofMinutes(10), key -> {
+            String value = source.get();
+            if (loads.incrementAndGet() == 1) {
+                // Primeiro carregamento: lê o valor antigo e espera a gravação do novo
+                loading.countDown();
+                await(saved);
+            }
+            return value;
+        }, now::get);
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> cache.get(1));
+        loading.await();
+        source.set("novo");
+        cache.invalidate(1);
+        saved.countDown();
+
+        assertEquals("antigo", stale.get(10, TimeUnit.SECONDS));
+        assertFalse(cache.contains(1));
+        assertEquals("novo", cache.get(1));
+        assertEquals("novo", cache.get(1));
+        assertEquals(2, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.alvaro.wineselector.catalog;
+
+import com.alvaro.wineselector.model.enums.TasteDimension;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Leitura do CSV do catálogo e buscas com filtros.
+ */
+class WineCatalogLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parsesQuotedFieldsAndSkipsInvalidRows() throws Exception {
+        Path csv = write("sku,producer,grape,country,price,profile\n"
+                + "A1,\"Quinta do \"\"Vale\"\"\",Touriga Nacional,Portugal,89.90,TINTO_ENCORPADO\n"
+                + "A2,Casa Branca,Alvarinho,Portugal,45.5,BRANCO_LEVE\n"
+                + "A3,Sem Preço,Merlot,Chile,,TINTO_MEDIO\n"
+                + "A4,Perfil Errado,Merlot,Chile,30.00,LARANJA\n"
+                + "A5,\"Bodega, Norte\",Malbec,Argentina,120,TINTO_ENCORPADO\r\n");
+
+        WineCatalog catalog = WineCatalogLoader.load(csv);
+
+        assertEquals(3, catalog.size());
+        assertEquals("A1", catalog.getSku(0));
+        assertEquals("Quinta do \"Vale\"", catalog.getProducer(0));
+        assertEquals(8990, catalog.getPriceCents(0));
+        assertEquals(4550, catalog.getPriceCents(1));
+        assertEquals(WineProfile.BRANCO_LEVE, catalog.getProfile(1));
+        assertEquals("Bodega, Norte", catalog.getProducer(2));
+        assertEquals("Argentina", catalog.getCountry(2));
+        assertEquals(12000, catalog.getPriceCents(2));
+        assertEquals(2, catalog.countByProfile(WineProfile.TINTO_ENCORPADO));
+    }
+
+    @Test
+    void rejectsUnexpectedHeader() throws Exception {
+        Path csv = write("sku,price\nA1,10.00\n");
+
+        assertThrows(IllegalArgumentException.class, () -> WineCatalogLoader.load(csv));
+    }
+
+    @Test
+    void findTopMatchesLinearScan() throws Exception {
+        String[] countries = {"Portugal", "Chile", "Argentina", "França"};
+        String[] grapes = {"Merlot", "Malbec", "Syrah", "Alvarinho", "Touriga Nacional"};
+        WineProfile[] profiles = WineProfile.values();
+        Random random = new Random(38);
+
+        StringBuilder content = new StringBuilder("sku,producer,grape,country,price,profile\n");
+        for (int i = 0; i < 20_000; i++) {
+            content.append("SKU-").append(i).append(",Produtor ").append(random.nextInt(500)).append(',')
+                    .append(grapes[random.nextInt(grapes.length)]).append(',')
+                    .append(countries[random.nextInt(countries.length)]).append(',')
+                    .append(random.nextInt(500)).append('.').append(random.nextInt(10)).append("0,")
+                    .append(profiles[random.nextInt(profiles.length)].name()).append('\n');
+        }
+        WineCatalog catalog = WineCatalogLoader.load(write(content.toString()));
+        assertEquals(20_000, catalog.size());
+
+        CatalogFilter[] filters = {
+                CatalogFilter.NONE,
+                CatalogFilter.builder().minPriceCents(10_000).maxPriceCents(20_000).build(),
+                CatalogFilter.builder().country("PORTUGAL").build(),
+                CatalogFilter.builder().country("chile").grape(" syrah ").maxPriceCents(15_000).build(),
+                CatalogFilter.builder().grape("Pinot Noir").build()
+        };
+
+        for (WineProfile profile : profiles) {
+            for (CatalogFilter filter : filters) {
+                assertArrayEquals(linearTop(catalog, profile, filter, 25), catalog.findTop(profile, filter, 25));
+            }
+        }
+    }
+
+    @Test
+    void readsOptionalTasteColumns() throws Exception {
+        Path csv = write("sku,producer,grape,country,price,profile,body,tannin,acidity,sweetness,effervescence\n"
+                + "T1,Produtor,Merlot,Chile,50.00,TINTO_MEDIO,3.5,2.75,3,0,0\n"
+                + "T2,Produtor,Merlot,Chile,50.00,TINTO_MEDIO,3.5,2.75,3,0,7\n"
+                + "T3,Produtor,Merlot,Chile,50.00,TINTO_MEDIO\n");
+
+        WineCatalog catalog = WineCatalogLoader.load(csv);
+
+        assertEquals(1, catalog.size());
+        assertEquals(3.5f, catalog.getTaste(0, TasteDimension.BODY));
+        assertEquals(2.75f, catalog.getTaste(0, TasteDimension.TANNIN));
+        assertEquals(0f, catalog.getTaste(0, TasteDimension.EFFERVESCENCE));
+    }
+
+    @Test
+    void findNearestMatchesLinearScan() throws Exception {
+        String[] countries = {"Portugal", "Chile", "Argentina"};
+        WineProfile[] profiles = WineProfile.values();
+        Random random = new Random(39);
+
+        StringBuilder content = new StringBuilder(
+                "sku,producer,grape,country,price,profile,body,tannin,acidity,sweetness,effervescence\n");
+        for (int i = 0; i < 20_000; i++) {
+            content.append("SKU-").append(i).append(",Produtor,Merlot,")
+                    .append(countries[random.nextInt(countries.length)]).append(',')
+                    .append(random.nextInt(300)).append(".00,")
+                    .append(profiles[random.nextInt(profiles.length)].name());
+            for (int d = 0; d < TasteDimension.values().length; d++) {
+                // Poucos valores distintos, para exercitar empates
+                content.append(',').append(random.nextInt(11) / 2.0);
+            }
+            content.append('\n');
+        }
+        WineCatalog catalog = WineCatalogLoader.load(write(content.toString()));
+
+        CatalogFilter[] filters = {
+                CatalogFilter.NONE,
+                CatalogFilter.builder().maxPriceCents(5_000).build(),
+                CatalogFilter.builder().country("Chile").minPriceCents(20_000).build()
+        };
+        for (WineProfile profile : profiles) {
+            float[] target = profile.getTasteVector();
+            for (CatalogFilter filter : filters) {
+                assertArrayEquals(linearNearest(catalog, target, filter, 15), catalog.findNearest(target, filter, 15));
+            }
+        }
+        assertEquals(0, catalog.findNearest(profiles[0].getTasteVector(),
+                CatalogFilter.builder().country("Itália").build(), 5).length);
+    }
+
+    private static int[] linearNearest(WineCatalog catalog, float[] target, CatalogFilter filter, int k) {
+        List<Integer> rows = new ArrayList<>();
+        for (int row = 0; row < catalog.size(); row++) {
+            int price = catalog.getPriceCents(row);
+            if ((filter.getMinPriceCents() == null || price >= filter.getMinPriceCents())
+                    && (filter.getMaxPriceCents() == null || price <= filter.getMaxPriceCents())
+                    && (filter.getCountry() == null || catalog.getCountry(row).equalsIgnoreCase(filter.getCountry()))) {
+                rows.add(row);
+            }
+        }
+        rows.sort(Comparator.<Integer>comparingDouble(row -> catalog.distance(row, target)).thenComparing(row -> row));
+        return rows.stream().limit(k).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] linearTop(WineCatalog catalog, WineProfile profile, CatalogFilter filter, int limit) {
+        List<Integer> rows = new ArrayList<>();
+        for (int row = 0; row < catalog.size(); row++) {
+            int price = catalog.getPriceCents(row);
+            if (catalog.getProfile(row) == profile
+                    && (filter.getMinPriceCents() == null || price >= filter.getMinPriceCents())
+                    && (filter.getMaxPriceCents() == null || price <= filter.getMaxPriceCents())
+                    && (filter.getCountry() == null || catalog.getCountry(row).equalsIgnoreCase(filter.getCountry().trim()))
+                    && (filter.getGrape() == null || catalog.getGrape(row).equalsIgnoreCase(filter.getGrape().trim()))) {
+                rows.add(row);
+            }
+        }
+        rows.sort((a, b) -> a.equals(b) ? 0
+                : catalog.getPriceCents(a) != catalog.getPriceCents(b)
+                ? Integer.compare(catalog.getPriceCents(a), catalog.getPriceCents(b))
+                : Integer.compare(a, b));
+        return rows.stream().limit(limit).mapToInt(Integer::intValue).toArray();
+    }
+
+    private Path write(String content) throws Exception {
+        Path csv = tempDir.resolve("catalogo.csv");
+        Files.writeString(csv, content, StandardCharsets.UTF_8);
+        return csv;
+    }
+}
@@ -0,0 +1,156 @@
+package com.alvaro.wineselector.codec;
+
+import com.alvaro.wineselector.TestDataPaths;
+import com.alvaro.wineselector.codec.RecommendationProtobufCodecTest.SchemaMessage;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static com.alvaro.wineselector.codec.RecommendationProtobufCodecTest.requestFromSchema;
+import static com.alvaro.wineselector.codec.RecommendationProtobufCodecTest.schemaNumber;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/recommendation pela camada HTTP: corpo Protobuf montado a partir de /schema.proto
+ * e resposta no formato escolhido pelo Accept.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryContentNegotiationTest {
+
+    private static final String URL = "/api/recommendation";
+    private static final String JSON_REQUEST =
+            "{\"occasion\":\"ENTRE_AMIGOS\",\"intimacyLevel\":\"AMIGO\",\"mainDish\":\"CHURRASCO\"}";
+
+    @TempDir
+    static Path dataDirectory;
+
+    @DynamicPropertySource
+    static void dataPaths(DynamicPropertyRegistry registry) {
+        TestDataPaths.register(registry, dataDirectory);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private CBORMapper cborMapper;
+
+    @Autowired
+    private SmileMapper smileMapper;
+
+    private String schema;
+    private RecommendationResponse expected;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        schema = mockMvc.perform(get(URL + "/schema.proto"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        expected = jsonMapper.readValue(recommend(MediaType.APPLICATION_JSON, JSON_REQUEST.getBytes(StandardCharsets.UTF_8),
+                null).getResponse().getContentAsByteArray(), RecommendationResponse.class);
+    }
+
+    @Test
+    void protobufRequestAndResponseFollowThePublishedSchema() throws Exception {
+        byte[] body = requestFromSchema(schema, Occasion.ENTRE_AMIGOS, IntimacyLevel.AMIGO, MainDish.CHURRASCO);
+
+        MvcResult result = recommend(BinaryFormat.PROTOBUF.getMediaType(), body, "application/x-protobuf");
+
+        assertEquals(BinaryFormat.PROTOBUF.getMediaType().toString(), result.getResponse().getContentType());
+        assertEquals(expected, RecommendationProtobufCodec.decodeResponse(result.getResponse().getContentAsByteArray()));
+    }
+
+    @Test
+    void acceptHeaderSelectsTheResponseEncoding() throws Exception {
+        byte[] json = JSON_REQUEST.getBytes(StandardCharsets.UTF_8);
+
+        MvcResult cbor = recommend(MediaType.APPLICATION_JSON, json, "application/cbor");
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, cbor.getResponse().getContentType());
+        assertEquals(expected, cborMapper.readValue(cbor.getResponse().getContentAsByteArray(),
+                RecommendationResponse.class));
+
+        MvcResult smile = recommend(MediaType.APPLICATION_JSON, json, "application/x-jackson-smile;q=0.9, application/cbor;q=0.5");
+        assertEquals(BinaryFormat.SMILE.getMediaType().toString(), smile.getResponse().getContentType());
+        assertEquals(expected, smileMapper.readValue(smile.getResponse().getContentAsByteArray(),
+                RecommendationResponse.class));
+
+        for (String accept : new String[]{"application/json", "*/*", "application/x-protobuf;q=0.1, application/json"}) {
+            mockMvc.perform(post(URL).contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.ACCEPT, accept)
+                            .content(json))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.recommendedProfile").value(expected.getRecommendedProfile().name()));
+        }
+    }
+
+    @Test
+    void unknownProtobufFieldsAreIgnored() throws Exception {
+        byte[] body = new SchemaMessage()
+                .bytes(20, "extensão".getBytes(StandardCharsets.UTF_8))
+                .varint(schemaNumber(schema, "main_dish"), schemaNumber(schema, "MAIN_DISH_CHURRASCO"))
+                .varint(schemaNumber(schema, "occasion"), schemaNumber(schema, "OCCASION_ENTRE_AMIGOS"))
+                .fixed32(21)
+                .varint(schemaNumber(schema, "intimacy_level"), schemaNumber(schema, "INTIMACY_LEVEL_AMIGO"))
+                .toByteArray();
+
+        MvcResult result = recommend(BinaryFormat.PROTOBUF.getMediaType(), body, "application/x-protobuf");
+        assertEquals(expected, RecommendationProtobufCodec.decodeResponse(result.getResponse().getContentAsByteArray()));
+    }
+
+    @Test
+    void invalidProtobufBodiesAreBadRequests() throws Exception {
+        byte[] outOfRange = new SchemaMessage()
+                .varint(schemaNumber(schema, "occasion"), schemaNumber(schema, "OCCASION_ENTRE_AMIGOS"))
+                .varint(schemaNumber(schema, "intimacy_level"), schemaNumber(schema, "INTIMACY_LEVEL_AMIGO"))
+                .varint(schemaNumber(schema, "main_dish"), MainDish.values().length + 1)
+                .toByteArray();
+        mockMvc.perform(post(URL).contentType(BinaryFormat.PROTOBUF.getMediaType()).content(outOfRange))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Corpo da requisição inválido"));
+
+        byte[] missingDish = new SchemaMessage()
+                .varint(schemaNumber(schema, "occasion"), schemaNumber(schema, "OCCASION_ENTRE_AMIGOS"))
+                .varint(schemaNumber(schema, "intimacy_level"), schemaNumber(schema, "INTIMACY_LEVEL_AMIGO"))
+                .toByteArray();
+        mockMvc.perform(post(URL).contentType(BinaryFormat.PROTOBUF.getMediaType()).content(missingDish))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.mainDish").value("O prato principal é obrigatório"));
+    }
+
+    private MvcResult recommend(MediaType contentType, byte[] body, String accept) throws Exception {
+        MockHttpServletRequestBuilder request = post(URL).contentType(contentType).content(body);
+        if (accept != null) {
+            request.header(HttpHeaders.ACCEPT, accept);
+        }
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+    }
+}
@@ -0,0 +1,187 @@
+package com.alvaro.wineselector.codec;
+
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Codificação Protobuf conferida contra o schema publicado, campos desconhecidos, valores inválidos
+ * e escolha do formato pelo Accept.
+ */
+class RecommendationProtobufCodecTest {
+
+    private static final String SCHEMA = RecommendationProtobufCodec.schema();
+
+    /**
+     * Número de um campo ou valor de enum no schema ("main_dish", "MAIN_DISH_CHURRASCO").
+     */
+    static int schemaNumber(String schema, String name) {
+        Matcher matcher = Pattern.compile("\\b" + name + " = (\\d+);").matcher(schema);
+        if (!matcher.find()) {
+            throw new AssertionError("Ausente no schema: " + name);
+        }
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    /**
+     * Mensagem montada campo a campo a partir do schema, sem passar pelo codificador.
+     */
+    static final class SchemaMessage {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        SchemaMessage varint(int field, long value) {
+            writeVarint((long) field << 3);
+            writeVarint(value);
+            return this;
+        }
+
+        SchemaMessage fixed64(int field) {
+            writeVarint(((long) field << 3) | 1);
+            bytes.writeBytes(new byte[8]);
+            return this;
+        }
+
+        SchemaMessage bytes(int field, byte[] value) {
+            writeVarint(((long) field << 3) | 2);
+            writeVarint(value.length);
+            bytes.writeBytes(value);
+            return this;
+        }
+
+        SchemaMessage fixed32(int field) {
+            writeVarint(((long) field << 3) | 5);
+            bytes.writeBytes(new byte[4]);
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+
+        private void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                bytes.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            bytes.write((int) value);
+        }
+    }
+
+    static byte[] requestFromSchema(String schema, Occasion occasion, IntimacyLevel intimacy, MainDish dish) {
+        return new SchemaMessage()
+                .varint(schemaNumber(schema, "occasion"), schemaNumber(schema, "OCCASION_" + occasion.name()))
+                .varint(schemaNumber(schema, "intimacy_level"), schemaNumber(schema, "INTIMACY_LEVEL_" + intimacy.name()))
+                .varint(schemaNumber(schema, "main_dish"), schemaNumber(schema, "MAIN_DISH_" + dish.name()))
+                .toByteArray();
+    }
+
+    @Test
+    void requestsMatchThePublishedSchemaForEveryValue() {
+        for (MainDish dish : MainDish.values()) {
+            for (Occasion occasion : Occasion.values()) {
+                for (IntimacyLevel intimacy : IntimacyLevel.values()) {
+                    RecommendationRequest request = new RecommendationRequest(occasion, intimacy, dish);
+                    byte[] fromSchema = requestFromSchema(SCHEMA, occasion, intimacy, dish);
+
+                    assertArrayEquals(fromSchema, RecommendationProtobufCodec.encodeRequest(request));
+                    assertEquals(request, RecommendationProtobufCodec.decodeRequest(fromSchema));
+                }
+            }
+        }
+    }
+
+    @Test
+    void responsesRoundTripAndFollowTheSchema() {
+        RecommendationResponse withAlternative = RecommendationResponse.withAlternative(
+                WineProfile.TINTO_ENCORPADO, "Justificativa com acentuação: é ótimo", 87, WineProfile.TINTO_MEDIO, -3);
+        RecommendationResponse single = RecommendationResponse.withMainProfile(WineProfile.ESPUMANTE, "Brinde", 92);
+
+        assertEquals(withAlternative, RecommendationProtobufCodec.decodeResponse(
+                RecommendationProtobufCodec.encodeResponse(withAlternative)));
+        RecommendationResponse decoded = RecommendationProtobufCodec.decodeResponse(
+                RecommendationProtobufCodec.encodeResponse(single));
+        assertEquals(single, decoded);
+        assertNull(decoded.getAlternativeScore());
+
+        // Os primeiros campos da mensagem são exatamente os que o schema descreve
+        byte[] expectedPrefix = new SchemaMessage()
+                .varint(schemaNumber(SCHEMA, "recommended_profile"), schemaNumber(SCHEMA, "WINE_PROFILE_ESPUMANTE"))
+                .bytes(schemaNumber(SCHEMA, "display_name"),
+                        WineProfile.ESPUMANTE.getDisplayName().getBytes(StandardCharsets.UTF_8))
+                .toByteArray();
+        byte[] encoded = RecommendationProtobufCodec.encodeResponse(single);
+        assertArrayEquals(expectedPrefix, Arrays.copyOf(encoded, expectedPrefix.length));
+    }
+
+    @Test
+    void unknownFieldsOfEveryWireTypeAreSkipped() {
+        int occasion = schemaNumber(SCHEMA, "occasion");
+        byte[] message = new SchemaMessage()
+                .varint(15, 1L << 40)
+                .varint(occasion, schemaNumber(SCHEMA, "OCCASION_CASUAL"))
+                .fixed64(16)
+                .bytes(17, "campo futuro".getBytes(StandardCharsets.UTF_8))
+                .varint(schemaNumber(SCHEMA, "intimacy_level"), schemaNumber(SCHEMA, "INTIMACY_LEVEL_AMIGO"))
+                .fixed32(18)
+                .varint(schemaNumber(SCHEMA, "main_dish"), schemaNumber(SCHEMA, "MAIN_DISH_CHURRASCO"))
+                .toByteArray();
+
+        assertEquals(new RecommendationRequest(Occasion.CASUAL, IntimacyLevel.AMIGO, MainDish.CHURRASCO),
+                RecommendationProtobufCodec.decodeRequest(message));
+    }
+
+    @Test
+    void missingFieldsStayNullAndInvalidMessagesAreRejected() {
+        RecommendationRequest partial = RecommendationProtobufCodec.decodeRequest(new SchemaMessage()
+                .varint(schemaNumber(SCHEMA, "occasion"), schemaNumber(SCHEMA, "OCCASION_CASUAL"))
+                .varint(schemaNumber(SCHEMA, "main_dish"), 0)
+                .toByteArray());
+        assertEquals(Occasion.CASUAL, partial.getOccasion());
+        assertNull(partial.getIntimacyLevel());
+        assertNull(partial.getMainDish());
+
+        int mainDish = schemaNumber(SCHEMA, "main_dish");
+        assertThrows(IllegalArgumentException.class, () -> RecommendationProtobufCodec.decodeRequest(
+                new SchemaMessage().varint(mainDish, MainDish.values().length + 1).toByteArray()));
+        assertThrows(IllegalArgumentException.class, () -> RecommendationProtobufCodec.decodeRequest(
+                new SchemaMessage().bytes(mainDish, new byte[]{1}).toByteArray()));
+        assertThrows(IllegalArgumentException.class, () -> RecommendationProtobufCodec.decodeRequest(
+                new byte[]{(byte) (mainDish << 3), (byte) 0x80}));
+        assertThrows(IllegalArgumentException.class, () -> RecommendationProtobufCodec.decodeRequest(
+                new byte[]{(byte) ((17 << 3) | 2), 10, 1}));
+    }
+
+    @Test
+    void acceptHeaderSelectsTheFormatByQuality() {
+        assertEquals(Optional.of(BinaryFormat.PROTOBUF), BinaryFormat.fromAcceptHeader("application/x-protobuf"));
+        assertEquals(Optional.of(BinaryFormat.CBOR), BinaryFormat.fromAcceptHeader("application/cbor"));
+        assertEquals(Optional.of(BinaryFormat.SMILE), BinaryFormat.fromAcceptHeader("application/x-jackson-smile"));
+        assertEquals(Optional.of(BinaryFormat.SMILE),
+                BinaryFormat.fromAcceptHeader("application/cbor;q=0.5, application/x-jackson-smile"));
+        assertEquals(Optional.of(BinaryFormat.CBOR),
+                BinaryFormat.fromAcceptHeader("text/html, application/cbor;q=0.9, application/json;q=0.8"));
+
+        assertEquals(Optional.empty(), BinaryFormat.fromAcceptHeader(null));
+        assertEquals(Optional.empty(), BinaryFormat.fromAcceptHeader("application/json, application/x-protobuf"));
+        assertEquals(Optional.empty(), BinaryFormat.fromAcceptHeader("*/*"));
+        assertEquals(Optional.empty(), BinaryFormat.fromAcceptHeader("application/x-protobuf;q=0.1, */*"));
+        assertEquals(Optional.empty(), BinaryFormat.fromAcceptHeader("não é um tipo"));
+    }
+}
@@ -0,0 +1,196 @@
+package com.alvaro.wineselector.controller;
+
+import com.alvaro.wineselector.TestDataPaths;
+import com.alvaro.wineselector.codec.BinaryFormat;
+import com.alvaro.wineselector.codec.RecommendationProtobufCodec;
+import com.alvaro.wineselector.model.dto.CompactRecommendationResponse;
+import com.alvaro.wineselector.model.dto.RecommendationDictionary;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.service.HistoryService;
+import com.alvaro.wineselector.service.JustificationGenerator;
+import com.alvaro.wineselector.service.TenantRulesetService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Endpoints de recomendação pela camada HTTP: validação de parâmetros e mapeamento de erros.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecommendationControllerTest {
+
+    private static final String CHURRASCO_ENTRE_AMIGOS =
+            "{\"occasion\":\"ENTRE_AMIGOS\",\"intimacyLevel\":\"AMIGO\",\"mainDish\":\"CHURRASCO\"}";
+
+    @TempDir
+    static Path dataDirectory;
+
+    @DynamicPropertySource
+    static void dataPaths(DynamicPropertyRegistry registry) {
+        TestDataPaths.register(registry, dataDirectory);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JustificationGenerator justificationGenerator;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Test
+    void autocompleteWithoutQueryIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/recommendation/autocomplete"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Parâmetro obrigatório ausente: 'q'"));
+    }
+
+    @Test
+    void autocompleteWithBlankQueryHasNoSuggestions() throws Exception {
+        mockMvc.perform(get("/api/recommendation/autocomplete").param("q", "   "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions").isEmpty());
+
+        mockMvc.perform(get("/api/recommendation/autocomplete").param("q", "churasco"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions[0].value").value("CHURRASCO"));
+    }
+
+    @Test
+    void servingSuggestionUsesTheTenantRules() throws Exception {
+        mockMvc.perform(put("/api/tenants/servico-espumante/rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"weights\":{\"dish\":0.9},\"scores\":[{\"dimension\":\"dish\",\"value\":\"CHURRASCO\","
+                                + "\"profile\":\"ESPUMANTE\",\"score\":100}]}"))
+                .andExpect(status().isOk());
+
+        String base = servingSuggestion(null);
+        String tenant = servingSuggestion("servico-espumante");
+
+        assertNotEquals(base, tenant);
+        assertEquals(justificationGenerator.getServingSuggestion(WineProfile.ESPUMANTE), tenant);
+        mockMvc.perform(post("/api/recommendation").header(TenantRulesetService.TENANT_HEADER, "servico-espumante")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CHURRASCO_ENTRE_AMIGOS))
+                .andExpect(jsonPath("$.recommendedProfile").value("ESPUMANTE"));
+    }
+
+    @Test
+    void userPreferencesApplyToEveryResponseFormat() throws Exception {
+        mockMvc.perform(put("/api/users/prefere-rose/preferences")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bias\":{\"ROSE\":50,\"TINTO_ENCORPADO\":-50,\"TINTO_MEDIO\":-50}}"))
+                .andExpect(status().isOk());
+        byte[] body = ("{\"occasion\":\"ENTRE_AMIGOS\",\"intimacyLevel\":\"AMIGO\",\"mainDish\":\"CHURRASCO\","
+                + "\"userId\":\"prefere-rose\"}").getBytes(StandardCharsets.UTF_8);
+
+        RecommendationResponse personalized = jsonMapper.readValue(recommend(body, null, null), RecommendationResponse.class);
+        RecommendationResponse base = jsonMapper.readValue(recommend(CHURRASCO_ENTRE_AMIGOS.getBytes(StandardCharsets.UTF_8),
+                null, null), RecommendationResponse.class);
+        assertNotEquals(base.getRecommendedProfile(), personalized.getRecommendedProfile());
+
+        assertEquals(personalized, RecommendationProtobufCodec.decodeResponse(
+                recommend(body, "application/x-protobuf", null)));
+
+        CompactRecommendationResponse compact = jsonMapper.readValue(recommend(body, null, "?view=compact"),
+                CompactRecommendationResponse.class);
+        RecommendationDictionary dictionary = jsonMapper.readValue(mockMvc.perform(get("/api/recommendation/dictionary"))
+                .andReturn().getResponse().getContentAsByteArray(), RecommendationDictionary.class);
+        assertEquals(personalized.getRecommendedProfile(), compact.getProfile());
+        assertEquals(personalized.getScore(), compact.getScore());
+        assertEquals(personalized.getJustification(), dictionary.getJustifications().get(compact.getJustificationKey()));
+
+        assertEquals("{\"recommendedProfile\":\"" + personalized.getRecommendedProfile().name() + "\",\"score\":"
+                        + personalized.getScore() + "}",
+                new String(recommend(body, null, "?fields=recommendedProfile,score"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rejectedFieldsAreNotRecordedInTheHistory() throws Exception {
+        mockMvc.perform(post("/api/recommendation").param("fields", "recommendedProfile,desconhecido")
+                        .header(HistoryService.SESSION_HEADER, "sessao-campos-invalidos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CHURRASCO_ENTRE_AMIGOS))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/users/campos-invalidos/preferences")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bias\":{\"ROSE\":10}}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/recommendation").param("fields", "desconhecido")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"occasion\":\"ENTRE_AMIGOS\",\"intimacyLevel\":\"AMIGO\",\"mainDish\":\"CHURRASCO\","
+                                + "\"userId\":\"campos-invalidos\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/history/sessao-campos-invalidos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries").isEmpty());
+        mockMvc.perform(get("/api/history/campos-invalidos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries").isEmpty());
+    }
+
+    @Test
+    void nullMealCourseIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/recommendation/meal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"occasion\":\"ENTRE_AMIGOS\",\"intimacyLevel\":\"AMIGO\",\"courses\":[null]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void nullFlightInBatchIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/recommendation/flight/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"flights\":[null]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private byte[] recommend(byte[] body, String accept, String query) throws Exception {
+        MockHttpServletRequestBuilder request = post("/api/recommendation" + (query != null ? query : ""))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+        if (accept != null) {
+            request.header(HttpHeaders.ACCEPT, accept);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private String servingSuggestion(String tenantId) throws Exception {
+        MockHttpServletRequestBuilder request = post("/api/recommendation/serving")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(CHURRASCO_ENTRE_AMIGOS);
+        if (tenantId != null) {
+            request.header(TenantRulesetService.TENANT_HEADER, tenantId);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
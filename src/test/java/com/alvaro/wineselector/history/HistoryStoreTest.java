@@ -0,0 +1,185 @@
+package com.alvaro.wineselector.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Histórico em segmentos: paginação, exclusão, retenção, compactação e recuperação.
+ */
+class HistoryStoreTest {
+
+    private static final long DAY = 86_400_000L;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong clock = new AtomicLong(1_000 * DAY);
+
+    private HistoryStore newStore(int segmentRecords) {
+        return new HistoryStore(directory, segmentRecords, 30 * DAY, clock::get);
+    }
+
+    private static List<Long> sequences(List<HistoryRecord> records) {
+        List<Long> sequences = new ArrayList<>();
+        for (HistoryRecord record : records) {
+            sequences.add(record.getSequence());
+        }
+        return sequences;
+    }
+
+    @Test
+    void pagesAreNewestFirstAndOnlyContainTheUsersRecords() {
+        HistoryStore store = newStore(4);
+        for (int i = 0; i < 10; i++) {
+            store.append("ana", i, i % 7, -1, 80 + i, 0);
+            store.append("bruno", 100 + i, 3, 2, 70, 65);
+        }
+
+        List<HistoryRecord> first = store.find("ana", null, 4);
+        assertEquals(4, first.size());
+        assertEquals(9, first.get(0).getCombination());
+        assertEquals(89, first.get(0).getScore());
+        assertEquals(-1, first.get(0).getAlternativeProfile());
+
+        List<HistoryRecord> second = store.find("ana", first.get(3).getSequence(), 4);
+        assertEquals(List.of(5, 4, 3, 2), second.stream().map(HistoryRecord::getCombination).toList());
+
+        List<HistoryRecord> last = store.find("ana", second.get(3).getSequence(), 4);
+        assertEquals(2, last.size());
+        assertEquals(0, last.get(1).getCombination());
+
+        HistoryRecord other = store.find("bruno", null, 1).get(0);
+        assertEquals(109, other.getCombination());
+        assertEquals(2, other.getAlternativeProfile());
+        assertEquals(65, other.getAlternativeScore());
+        assertTrue(store.find("carla", null, 10).isEmpty());
+    }
+
+    @Test
+    void deletedHistoryIsGoneAndOtherUsersAreKept() {
+        HistoryStore store = newStore(8);
+        for (int i = 0; i < 5; i++) {
+            store.append("ana", i, 0, -1, 50, 0);
+            store.append("bruno", i, 1, -1, 50, 0);
+        }
+
+        assertEquals(5, store.delete("ana"));
+        assertEquals(0, store.delete("ana"));
+        assertTrue(store.find("ana", null, 10).isEmpty());
+        assertEquals(5, store.find("bruno", null, 10).size());
+
+        store.append("ana", 42, 0, -1, 50, 0);
+        assertEquals(List.of(42), store.find("ana", null, 10).stream().map(HistoryRecord::getCombination).toList());
+    }
+
+    @Test
+    void expiredRecordsAreHiddenAndTheirSegmentsDropped() {
+        HistoryStore store = newStore(4);
+        for (int i = 0; i < 8; i++) {
+            store.append("ana", i, 0, -1, 50, 0);
+        }
+        clock.addAndGet(31 * DAY);
+        for (int i = 0; i < 8; i++) {
+            store.append("ana", 100 + i, 0, -1, 50, 0);
+        }
+
+        List<HistoryRecord> records = store.find("ana", null, 100);
+        assertEquals(8, records.size());
+        assertTrue(records.stream().allMatch(record -> record.getCombination() >= 100));
+
+        // Os dois segmentos antigos estão selados (houve um segmento inteiro de gravações depois deles)
+        assertEquals(4, store.getSegmentCount());
+        store.maintain();
+        assertEquals(2, store.getSegmentCount());
+        assertEquals(8, store.getIndexedCount("ana"));
+        assertEquals(8, store.find("ana", null, 100).size());
+    }
+
+    @Test
+    void sparseSegmentsAreCompactedWithoutLosingLiveRecords() {
+        HistoryStore store = newStore(4);
+        for (int i = 0; i < 4; i++) {
+            store.append("ana", i, 0, -1, 50, 0);
+        }
+        store.append("bruno", 10, 0, -1, 50, 0);
+        for (int i = 0; i < 3; i++) {
+            store.append("carla", 20 + i, 0, -1, 50, 0);
+        }
+        for (int i = 0; i < 4; i++) {
+            store.append("carla", 30 + i, 0, -1, 50, 0);
+        }
+
+        store.delete("ana");
+        store.maintain();
+
+        // Primeiro segmento vazio (descartado), segundo com 1 de 4 vivos (compactado)
+        assertEquals(2, store.getSegmentCount());
+        assertEquals(List.of(10), store.find("bruno", null, 10).stream().map(HistoryRecord::getCombination).toList());
+        assertEquals(7, store.find("carla", null, 10).size());
+    }
+
+    @Test
+    void reopenedStoreRecoversIndexAndContinuesAfterTheLastRecord() {
+        List<Long> written = new ArrayList<>();
+        HistoryStore store = newStore(4);
+        for (int i = 0; i < 6; i++) {
+            written.add(0, store.append("ana", i, i, -1, 50 + i, 0));
+        }
+        store.append("bruno", 99, 0, -1, 50, 0);
+        store.delete("bruno");
+        store.close();
+
+        // Reaberturas sem gravações não criam segmentos novos
+        newStore(4).close();
+        HistoryStore reopened = newStore(4);
+        assertEquals(2, reopened.getSegmentCount());
+        assertEquals(written, sequences(reopened.find("ana", null, 10)));
+        assertTrue(reopened.find("bruno", null, 10).isEmpty());
+
+        // O registro apagado (sequência 7) conta como gravado: a próxima posição livre é a 8
+        long sequence = reopened.append("ana", 50, 0, -1, 50, 0);
+        assertEquals(8, sequence);
+        assertEquals(2, reopened.getSegmentCount());
+        assertEquals(50, reopened.find("ana", null, 1).get(0).getCombination());
+    }
+
+    @Test
+    void concurrentAppendsAreAllIndexedInOrder() throws InterruptedException {
+        HistoryStore store = newStore(64);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    store.append("ana", i % 1200, 0, -1, 50, 0);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        Long before = null;
+        List<HistoryRecord> page;
+        while (!(page = store.find("ana", before, 100)).isEmpty()) {
+            sequences.addAll(sequences(page));
+            before = page.get(page.size() - 1).getSequence();
+        }
+
+        assertEquals(4000, sequences.size());
+        for (int i = 1; i < sequences.size(); i++) {
+            assertTrue(sequences.get(i) < sequences.get(i - 1));
+        }
+        assertNull(store.find("ana", sequences.get(sequences.size() - 1), 10).stream().findAny().orElse(null));
+    }
+}
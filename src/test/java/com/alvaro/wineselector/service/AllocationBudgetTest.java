@@ -0,0 +1,131 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.codec.BinaryFormat;
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Orçamento de alocação por requisição no caminho quente de cada endpoint.
+ *
+ * Mede os bytes alocados pela thread (com.sun.management.ThreadMXBean) em várias passagens
+ * por todas as combinações, depois do aquecimento, e falha se a média por requisição
+ * ultrapassar o orçamento do endpoint. Os orçamentos devem ser reduzidos sempre que o
+ * caminho for otimizado, nunca aumentados para acomodar uma regressão.
+ */
+class AllocationBudgetTest {
+
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 20;
+
+    // Orçamentos em bytes por requisição
+    private static final long RECOMMENDATION_BUDGET = 3_072;
+    private static final long REPORT_BUDGET = 16_384;
+    private static final long SERVING_BUDGET = 1_536;
+    private static final long COMPACT_VIEW_BUDGET = 64;
+    private static final long FIELDS_VIEW_BUDGET = 256;
+    private static final long BINARY_BUDGET = 64;
+
+    private static com.sun.management.ThreadMXBean threadMXBean;
+    private static RecommendationService recommendationService;
+    private static ResponseViewService responseViewService;
+    private static BinaryRecommendationService binaryRecommendationService;
+    private static RecommendationRequest[] requests;
+
+    @BeforeAll
+    static void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "JVM sem suporte a medição de alocação por thread");
+
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        JustificationGenerator justificationGenerator = new JustificationGenerator();
+        recommendationService = new RecommendationService(
+                new ScoreCalculator(List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules()),
+                justificationGenerator);
+        responseViewService = new ResponseViewService(recommendationService, justificationGenerator,
+                JsonMapper.builder().build());
+        binaryRecommendationService = new BinaryRecommendationService(
+                recommendationService, CBORMapper.builder().build(), SmileMapper.builder().build());
+
+        requests = new RecommendationRequest[CombinationIndex.SIZE];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = CombinationIndex.toRequest(i);
+        }
+    }
+
+    @Test
+    void recommendationStaysWithinBudget() {
+        assertWithinBudget("POST /api/recommendation", RECOMMENDATION_BUDGET,
+                recommendationService::getRecommendation);
+    }
+
+    @Test
+    void calculationReportStaysWithinBudget() {
+        assertWithinBudget("POST /api/recommendation/report", REPORT_BUDGET,
+                recommendationService::getCalculationReport);
+    }
+
+    @Test
+    void servingSuggestionStaysWithinBudget() {
+        assertWithinBudget("POST /api/recommendation/serving", SERVING_BUDGET,
+                recommendationService::getServingSuggestion);
+    }
+
+    @Test
+    void compactViewStaysWithinBudget() {
+        assertWithinBudget("POST /api/recommendation?view=compact", COMPACT_VIEW_BUDGET,
+                responseViewService::getCompact);
+    }
+
+    @Test
+    void fieldsViewStaysWithinBudget() {
+        int fieldMask = responseViewService.parseFields("recommendedProfile,score,alternativeProfile");
+        assertWithinBudget("POST /api/recommendation?fields=", FIELDS_VIEW_BUDGET,
+                request -> responseViewService.getFields(request, fieldMask));
+    }
+
+    @Test
+    void binaryRecommendationStaysWithinBudget() {
+        assertWithinBudget("POST /api/recommendation (protobuf)", BINARY_BUDGET,
+                request -> binaryRecommendationService.getRecommendation(request, BinaryFormat.PROTOBUF));
+    }
+
+    private static void assertWithinBudget(String endpoint, long budget, Consumer<RecommendationRequest> call) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runAll(call);
+        }
+
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            runAll(call);
+        }
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+        long perRequest = allocated / ((long) MEASURED_ROUNDS * requests.length);
+        assertTrue(perRequest <= budget, () -> String.format(
+                "%s alocou %d bytes/requisição, acima do orçamento de %d", endpoint, perRequest, budget));
+    }
+
+    private static void runAll(Consumer<RecommendationRequest> call) {
+        for (RecommendationRequest request : requests) {
+            call.accept(request);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.CounterfactualResponse;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contrafactuais pelo índice de vizinhança: mesmas trocas que recalcular cada vizinha.
+ */
+class CounterfactualServiceTest {
+
+    private final ScoreCalculator calculator = new ScoreCalculator(
+            List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules());
+    private final JustificationGenerator justificationGenerator = new JustificationGenerator();
+    private final RecommendationService recommendationService =
+            new RecommendationService(calculator, justificationGenerator);
+    private final CounterfactualService service = new CounterfactualService(
+            new ResponseViewService(recommendationService, justificationGenerator, JsonMapper.builder().build()));
+
+    /**
+     * Trocas esperadas recalculando a recomendação de cada vizinha.
+     */
+    private List<String> bruteForceChanges(RecommendationRequest request) {
+        RecommendationResponse base = recommendationService.getRecommendation(request);
+        List<RecommendationRequest> neighbours = new ArrayList<>();
+        for (MainDish dish : MainDish.values()) {
+            if (dish != request.getMainDish()) {
+                neighbours.add(new RecommendationRequest(request.getOccasion(), request.getIntimacyLevel(), dish));
+            }
+        }
+        for (Occasion occasion : Occasion.values()) {
+            if (occasion != request.getOccasion()) {
+                neighbours.add(new RecommendationRequest(occasion, request.getIntimacyLevel(), request.getMainDish()));
+            }
+        }
+        for (IntimacyLevel intimacy : IntimacyLevel.values()) {
+            if (intimacy != request.getIntimacyLevel()) {
+                neighbours.add(new RecommendationRequest(request.getOccasion(), intimacy, request.getMainDish()));
+            }
+        }
+
+        List<String> changes = new ArrayList<>();
+        for (RecommendationRequest neighbour : neighbours) {
+            RecommendationResponse response = recommendationService.getRecommendation(neighbour);
+            if (response.getRecommendedProfile() != base.getRecommendedProfile()
+                    || !Objects.equals(response.getAlternativeProfile(), base.getAlternativeProfile())) {
+                changes.add(neighbour.getMainDish() + "/" + neighbour.getOccasion() + "/" + neighbour.getIntimacyLevel()
+                        + "=" + response.getRecommendedProfile() + "," + response.getAlternativeProfile());
+            }
+        }
+        return changes;
+    }
+
+    private static String describe(RecommendationRequest request, CounterfactualResponse.Change change) {
+        MainDish dish = change.getDimension().equals("mainDish") ? MainDish.valueOf(change.getValue()) : request.getMainDish();
+        Occasion occasion = change.getDimension().equals("occasion") ? Occasion.valueOf(change.getValue()) : request.getOccasion();
+        IntimacyLevel intimacy = change.getDimension().equals("intimacyLevel")
+                ? IntimacyLevel.valueOf(change.getValue()) : request.getIntimacyLevel();
+        return dish + "/" + occasion + "/" + intimacy + "=" + change.getRecommendedProfile() + ","
+                + change.getAlternativeProfile();
+    }
+
+    @Test
+    void changesMatchRecomputingEveryNeighbour() {
+        for (MainDish dish : MainDish.values()) {
+            for (Occasion occasion : Occasion.values()) {
+                RecommendationRequest request = new RecommendationRequest(occasion, IntimacyLevel.AMIGO, dish);
+                CounterfactualResponse response = service.analyze(request);
+
+                List<String> expected = bruteForceChanges(request);
+                List<String> actual = response.getChanges().stream().map(change -> describe(request, change)).toList();
+                assertEquals(expected.stream().sorted().toList(), actual.stream().sorted().toList(), request.toString());
+            }
+        }
+    }
+
+    @Test
+    void changesOfTheWinnerComeFirstAndFlagsAreConsistent() {
+        RecommendationRequest request = new RecommendationRequest(Occasion.CELEBRACAO, IntimacyLevel.AMIGO,
+                MainDish.CHURRASCO);
+        CounterfactualResponse response = service.analyze(request);
+
+        boolean seenAlternativeOnly = false;
+        for (CounterfactualResponse.Change change : response.getChanges()) {
+            assertTrue(change.isRecommendationChanged() || change.isAlternativeChanged());
+            assertEquals(change.isRecommendationChanged(), change.getRecommendedProfile() != response.getRecommendedProfile());
+            if (!change.isRecommendationChanged()) {
+                seenAlternativeOnly = true;
+            } else {
+                assertFalse(seenAlternativeOnly, "troca do vencedor depois de troca só da alternativa");
+            }
+        }
+    }
+
+    @Test
+    void marginsCoverAllProfilesFromTheWinnerDown() {
+        RecommendationRequest request = new RecommendationRequest(Occasion.CELEBRACAO, IntimacyLevel.AMIGO,
+                MainDish.CHURRASCO);
+        CounterfactualResponse response = service.analyze(request);
+        RecommendationResponse recommendation = recommendationService.getRecommendation(request);
+
+        List<CounterfactualResponse.ProfileMargin> margins = response.getMargins();
+        assertEquals(WineProfile.values().length, margins.size());
+        assertEquals(recommendation.getRecommendedProfile(), margins.get(0).getProfile());
+        assertEquals(recommendation.getScore(), margins.get(0).getScore());
+        assertEquals(0, margins.get(0).getMargin());
+        for (int i = 1; i < margins.size(); i++) {
+            assertTrue(margins.get(i).getMargin() >= margins.get(i - 1).getMargin());
+            assertTrue(margins.get(i).getScore() <= margins.get(i - 1).getScore());
+        }
+    }
+
+    @Test
+    void analysisFollowsPublishedFeedbackWithNonNegativeMargins() {
+        RecommendationRequest request = new RecommendationRequest(Occasion.ENTRE_AMIGOS, IntimacyLevel.AMIGO,
+                MainDish.CHURRASCO);
+        double[] adjustments = new double[calculator.getCombinationTotals().length];
+        adjustments[CombinationIndex.of(request) * WineProfile.values().length + WineProfile.ROSE.ordinal()] = 100;
+        calculator.applyFeedbackAdjustments(adjustments);
+
+        CounterfactualResponse response = service.analyze(request);
+
+        assertEquals(WineProfile.ROSE, response.getRecommendedProfile());
+        assertEquals(WineProfile.ROSE, response.getMargins().get(0).getProfile());
+        for (CounterfactualResponse.ProfileMargin margin : response.getMargins()) {
+            assertTrue(margin.getMargin() >= 0, margin.toString());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.dto.CandidateBottle;
+import com.alvaro.wineselector.model.dto.EventPlanRequest;
+import com.alvaro.wineselector.model.dto.EventPlanResponse;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plano de compra para eventos, comparado com a enumeração exaustiva em instâncias pequenas.
+ */
+class EventPlanningServiceTest {
+
+    private final ScoreCalculator scoreCalculator = new ScoreCalculator(
+            List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules());
+
+    private final EventPlanningService planningService = new EventPlanningService(scoreCalculator, 2);
+
+    @Test
+    void planIsFeasibleAndBoundedByTheExhaustiveOptimum() {
+        Random random = new Random(41);
+        WineProfile[] profiles = WineProfile.values();
+        int optimalPlans = 0;
+        int instances = 300;
+
+        for (int instance = 0; instance < instances; instance++) {
+            List<CandidateBottle> candidates = new ArrayList<>();
+            int candidateCount = 2 + random.nextInt(5);
+            for (int i = 0; i < candidateCount; i++) {
+                candidates.add(new CandidateBottle("C" + i, BigDecimal.valueOf(20 + random.nextInt(180)),
+                        profiles[random.nextInt(profiles.length)], random.nextBoolean() ? 1 + random.nextInt(3) : null));
+            }
+            int headcount = 2 + random.nextInt(10);
+            EventPlanRequest request = new EventPlanRequest(headcount, Occasion.CELEBRACAO, IntimacyLevel.AMIGO,
+                    List.of(MainDish.CHURRASCO, MainDish.QUEIJOS_FRIOS), BigDecimal.valueOf(50 + random.nextInt(600)),
+                    null, candidates);
+
+            EventPlanResponse plan = planningService.plan(request);
+            double[] scores = planningService.getProfileScores(request);
+            double optimum = exhaustive(candidates, scores, plan.getMaxBottles(), request.getBudget().longValue() * 100,
+                    0, 0, 0);
+
+            assertTrue(plan.getTotalCost().compareTo(request.getBudget()) <= 0);
+            assertTrue(plan.getBottleCount() <= plan.getMaxBottles());
+            assertTrue(plan.getTotalScore() <= optimum + 0.01);
+            assertTrue(plan.getUpperBound() >= optimum - 0.01);
+            if (plan.getOptimal()) {
+                assertEquals(optimum, plan.getTotalScore(), 0.01);
+            }
+            if (Math.abs(plan.getTotalScore() - optimum) < 0.01) {
+                optimalPlans++;
+            }
+        }
+
+        // A relaxação com reparo encontra o ótimo na grande maioria das instâncias
+        assertTrue(optimalPlans >= instances * 19 / 20, "ótimos: " + optimalPlans);
+    }
+
+    @Test
+    void largeBudgetBuysTheBestProfileUpToTheBottleLimit() {
+        List<CandidateBottle> candidates = new ArrayList<>();
+        for (WineProfile profile : WineProfile.values()) {
+            candidates.add(new CandidateBottle(profile.name(), BigDecimal.valueOf(50), profile, null));
+        }
+        EventPlanRequest request = new EventPlanRequest(80, Occasion.CELEBRACAO, IntimacyLevel.AMIGO_PROXIMO,
+                List.of(MainDish.CHURRASCO), BigDecimal.valueOf(100_000), null, candidates);
+
+        EventPlanResponse plan = planningService.plan(request);
+
+        assertEquals(40, plan.getMaxBottles());
+        assertEquals(40, plan.getBottleCount());
+        assertEquals(1, plan.getItems().size());
+        assertTrue(plan.getOptimal());
+    }
+
+    @Test
+    void oversizedBottleLimitIsRejectedAndClampedByTheService() {
+        List<CandidateBottle> candidates = List.of(
+                new CandidateBottle("BRUT", BigDecimal.valueOf(50), WineProfile.ESPUMANTE, null));
+        EventPlanRequest request = new EventPlanRequest(10, Occasion.CELEBRACAO, IntimacyLevel.AMIGO,
+                List.of(MainDish.CHURRASCO), BigDecimal.valueOf(1_000_000), Integer.MAX_VALUE, candidates);
+
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            assertEquals(Set.of("maxBottles"), factory.getValidator().validate(request).stream()
+                    .map(violation -> violation.getPropertyPath().toString())
+                    .collect(Collectors.toSet()));
+        }
+
+        // Chamado diretamente, o serviço limita as tabelas de unidades a MAX_BOTTLES
+        EventPlanResponse plan = planningService.plan(request);
+
+        assertEquals(EventPlanRequest.MAX_BOTTLES, plan.getMaxBottles());
+        assertEquals(EventPlanRequest.MAX_BOTTLES, plan.getBottleCount());
+    }
+
+    private static double exhaustive(List<CandidateBottle> candidates, double[] scores, int remainingBottles,
+                                     long remainingBudget, int index, double value, double best) {
+        if (index == candidates.size()) {
+            return Math.max(best, value);
+        }
+        CandidateBottle bottle = candidates.get(index);
+        long price = bottle.getPrice().longValue() * 100;
+        double score = scores[bottle.getProfile().ordinal()];
+        int maxQuantity = bottle.getAvailable() != null ? Math.min(bottle.getAvailable(), remainingBottles) : remainingBottles;
+        for (int quantity = 0; quantity <= maxQuantity && quantity * price <= remainingBudget; quantity++) {
+            best = exhaustive(candidates, scores, remainingBottles - quantity, remainingBudget - quantity * price,
+                    index + 1, value + quantity * Math.max(0, score), best);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,190 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.CompactRecommendationResponse;
+import com.alvaro.wineselector.model.dto.FeedbackEvent;
+import com.alvaro.wineselector.model.dto.RecommendationDictionary;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.enums.FeedbackRating;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Feedback dos usuários: ajustes limitados, publicação nos totais e recuperação do snapshot + log.
+ */
+class FeedbackServiceTest {
+
+    private static final int PROFILE_COUNT = WineProfile.values().length;
+    private static final int CELL = CombinationIndex.of(MainDish.CHURRASCO, Occasion.CELEBRACAO, IntimacyLevel.AMIGO)
+            * PROFILE_COUNT + WineProfile.ESPUMANTE.ordinal();
+
+    @TempDir
+    Path directory;
+
+    private static ScoreCalculator newCalculator() {
+        return new ScoreCalculator(
+                List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules());
+    }
+
+    private FeedbackService newService(ScoreCalculator calculator, long compactBytes) {
+        return new FeedbackService(calculator, directory, 10, 20, compactBytes);
+    }
+
+    private static List<FeedbackEvent> events(FeedbackRating rating, int count) {
+        return Collections.nCopies(count, new FeedbackEvent(Occasion.CELEBRACAO, IntimacyLevel.AMIGO,
+                MainDish.CHURRASCO, WineProfile.ESPUMANTE, rating));
+    }
+
+    @Test
+    void publishedAdjustmentIsBoundedAndOnlyTouchesTheRatedCell() {
+        ScoreCalculator calculator = newCalculator();
+        double[] base = calculator.getCombinationTotals().clone();
+        String baseVersion = calculator.getRulesVersion();
+        FeedbackService service = newService(calculator, 1 << 20);
+
+        service.record(events(FeedbackRating.UP, 30));
+        assertArrayEquals(base, calculator.getCombinationTotals());
+
+        service.refresh();
+        double[] adjusted = calculator.getCombinationTotals();
+        assertNotEquals(baseVersion, calculator.getRulesVersion());
+        for (int cell = 0; cell < base.length; cell++) {
+            if (cell != CELL) {
+                assertEquals(base[cell], adjusted[cell], 1e-9);
+            }
+        }
+        // 10 × 30 / (30 + 20)
+        assertEquals(6.0, adjusted[CELL] - base[CELL], 1e-9);
+
+        service.record(events(FeedbackRating.PURCHASED, 100_000));
+        assertTrue(service.getAdjustment(CELL) < 10);
+
+        service.record(events(FeedbackRating.DOWN, 1_000_000));
+        assertTrue(service.getAdjustment(CELL) < 0 && service.getAdjustment(CELL) > -10);
+    }
+
+    @Test
+    void concurrentIngestionCountsEveryEvent() throws InterruptedException {
+        ScoreCalculator calculator = newCalculator();
+        FeedbackService service = newService(calculator, 1 << 20);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    service.record(events(i % 2 == 0 ? FeedbackRating.UP : FeedbackRating.DOWN, 10));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // 20.000 positivos e 20.000 negativos: ajuste zero
+        assertEquals(0.0, service.getAdjustment(CELL), 1e-12);
+        service.record(events(FeedbackRating.UP, 20));
+        assertEquals(10.0 * 20 / (40_020 + 20), service.getAdjustment(CELL), 1e-12);
+    }
+
+    @Test
+    void stateSurvivesRestartsCompactionAndATornLogTail() throws IOException {
+        FeedbackService first = newService(newCalculator(), 1 << 20);
+        first.record(events(FeedbackRating.UP, 30));
+        first.refresh();
+        first.record(events(FeedbackRating.DOWN, 5));
+        first.close();
+        double expected = first.getAdjustment(CELL);
+
+        // Registro final incompleto, como em uma queda durante a escrita
+        Files.write(directory.resolve("feedback.log"), new byte[]{0x46, 0x42, 0x4B}, StandardOpenOption.APPEND);
+
+        ScoreCalculator restarted = newCalculator();
+        FeedbackService second = newService(restarted, 1);
+        assertEquals(expected, second.getAdjustment(CELL), 1e-12);
+        assertEquals(expected, restarted.getCombinationTotals()[CELL] - newCalculator().getCombinationTotals()[CELL], 1e-9);
+
+        // compactBytes = 1: a próxima descarga grava um snapshot e zera o log
+        second.record(events(FeedbackRating.UP, 10));
+        second.refresh();
+        assertEquals(0, Files.size(directory.resolve("feedback.log")));
+        expected = second.getAdjustment(CELL);
+
+        FeedbackService third = newService(newCalculator(), 1 << 20);
+        assertEquals(expected, third.getAdjustment(CELL), 1e-12);
+    }
+
+    @Test
+    void failedFlushIsRetriedWithoutLosingFeedback() throws IOException {
+        FeedbackService first = newService(newCalculator(), 1 << 20);
+        first.record(events(FeedbackRating.UP, 30));
+
+        // O log vira um diretório: a gravação falha
+        Path logFile = directory.resolve("feedback.log");
+        Files.delete(logFile);
+        Files.createDirectory(logFile);
+        assertThrows(UncheckedIOException.class, first::refresh);
+
+        Files.delete(logFile);
+        first.record(events(FeedbackRating.DOWN, 5));
+        first.close();
+        double expected = first.getAdjustment(CELL);
+
+        FeedbackService second = newService(newCalculator(), 1 << 20);
+        assertEquals(expected, second.getAdjustment(CELL), 1e-12);
+    }
+
+    @Test
+    void cachedDictionaryStillMatchesWhenFeedbackFlipsTheWinner() {
+        JustificationGenerator justificationGenerator = new JustificationGenerator();
+        ScoreCalculator calculator = newCalculator();
+        RecommendationService recommendationService = new RecommendationService(calculator, justificationGenerator);
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        ResponseViewService views = new ResponseViewService(recommendationService, justificationGenerator, jsonMapper);
+        RecommendationRequest request = new RecommendationRequest(Occasion.ENTRE_AMIGOS, IntimacyLevel.AMIGO,
+                MainDish.CHURRASCO);
+        String etag = views.getDictionaryEtag();
+        assertTrue(recommendationService.getRecommendation(request).getRecommendedProfile().name().startsWith("TINTO"));
+
+        FeedbackService service = new FeedbackService(calculator, directory, 100, 1, 1 << 20);
+        service.record(Collections.nCopies(100, new FeedbackEvent(Occasion.ENTRE_AMIGOS, IntimacyLevel.AMIGO,
+                MainDish.CHURRASCO, WineProfile.ROSE, FeedbackRating.UP)));
+        service.refresh();
+
+        // O vencedor deixou de ser tinto, e a justificativa do churrasco muda com ele
+        RecommendationResponse flipped = recommendationService.getRecommendation(request);
+        assertEquals(WineProfile.ROSE, flipped.getRecommendedProfile());
+
+        CompactRecommendationResponse compact = jsonMapper.readValue(views.getCompact(request),
+                CompactRecommendationResponse.class);
+        RecommendationDictionary dictionary = jsonMapper.readValue(views.getDictionary(), RecommendationDictionary.class);
+        assertEquals(etag, views.getDictionaryEtag());
+        assertEquals(WineProfile.ROSE, compact.getProfile());
+        assertEquals(flipped.getJustification(), dictionary.getJustifications().get(compact.getJustificationKey()));
+    }
+}
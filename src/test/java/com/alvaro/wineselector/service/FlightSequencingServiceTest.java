@@ -0,0 +1,89 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.dto.FlightRequest;
+import com.alvaro.wineselector.model.dto.FlightResponse;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sequenciamento de menus degustação por programação dinâmica.
+ */
+class FlightSequencingServiceTest {
+
+    private static final WineProfile[] PROFILES = WineProfile.values();
+
+    private final ScoreCalculator scoreCalculator = new ScoreCalculator(
+            List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules());
+
+    private final FlightSequencingService flightService = new FlightSequencingService(scoreCalculator, 3, 4, 2);
+
+    @Test
+    void dynamicProgrammingMatchesExhaustiveSearch() {
+        List<MainDish> courses = List.of(
+                MainDish.PEIXES_FRUTOS_MAR, MainDish.RISOTO, MainDish.CARNES_VERMELHAS, MainDish.CARNES_VERMELHAS);
+
+        for (Occasion occasion : Occasion.values()) {
+            FlightRequest request = new FlightRequest(occasion, IntimacyLevel.AMIGO_PROXIMO, courses);
+            FlightResponse flight = flightService.getFlight(request);
+
+            double expected = exhaustiveBest(request, new int[courses.size()], 0);
+            assertEquals(expected, flight.getTotalScore(), 1e-9);
+        }
+    }
+
+    @Test
+    void twentyCourseMenuRespectsRepeatLimit() {
+        FlightRequest request = new FlightRequest(Occasion.CELEBRACAO, IntimacyLevel.INTIMO_FAMILIAR,
+                Collections.nCopies(20, MainDish.CARNES_VERMELHAS));
+
+        FlightResponse flight = flightService.getFlight(request);
+
+        assertEquals(20, flight.getSteps().size());
+        int run = 1;
+        for (int i = 1; i < flight.getSteps().size(); i++) {
+            run = flight.getSteps().get(i).getProfile() == flight.getSteps().get(i - 1).getProfile() ? run + 1 : 1;
+            assertTrue(run <= flightService.getMaxConsecutiveRepeats());
+        }
+    }
+
+    private double exhaustiveBest(FlightRequest request, int[] sequence, int position) {
+        if (position == sequence.length) {
+            double total = 0;
+            int run = 1;
+            for (int i = 0; i < sequence.length; i++) {
+                total += scoreCalculator.calculateBreakdown(new RecommendationRequest(
+                        request.getOccasion(), request.getIntimacyLevel(), request.getCourses().get(i)))
+                        .getTotal(PROFILES[sequence[i]]);
+                if (i > 0) {
+                    run = sequence[i] == sequence[i - 1] ? run + 1 : 1;
+                    if (run > flightService.getMaxConsecutiveRepeats()) {
+                        return Double.NEGATIVE_INFINITY;
+                    }
+                    total -= flightService.getTransitionPenalty(PROFILES[sequence[i - 1]], PROFILES[sequence[i]]);
+                }
+            }
+            return total;
+        }
+
+        double best = Double.NEGATIVE_INFINITY;
+        for (int p = 0; p < PROFILES.length; p++) {
+            sequence[position] = p;
+            best = Math.max(best, exhaustiveBest(request, sequence, position + 1));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,73 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.GroupRecommendationRequest;
+import com.alvaro.wineselector.model.dto.GroupRecommendationResponse;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.enums.GroupPolicy;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Agregação de grupos de convidados por nível de intimidade.
+ */
+class GroupRecommendationServiceTest {
+
+    private final ScoreCalculator scoreCalculator = new ScoreCalculator(
+            List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules());
+
+    private final GroupRecommendationService groupService =
+            new GroupRecommendationService(scoreCalculator, GroupPolicy.BOUNDED_BY_MIN_RISK);
+
+    @Test
+    void homogeneousGroupMatchesSingleRecommendation() {
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            RecommendationRequest request = CombinationIndex.toRequest(index);
+            ScoreBreakdown breakdown = scoreCalculator.calculateBreakdown(request);
+
+            for (GroupPolicy policy : GroupPolicy.values()) {
+                GroupRecommendationResponse group = groupService.getRecommendation(new GroupRecommendationRequest(
+                        request.getOccasion(), request.getMainDish(), Map.of(request.getIntimacyLevel(), 250), policy));
+
+                assertEquals(breakdown.getWinner(), group.getRecommendedProfile());
+                assertEquals(250, group.getGuestCount());
+            }
+        }
+    }
+
+    @Test
+    void mostConservativeFollowsTheLowestRiskTolerance() {
+        Map<IntimacyLevel, Integer> guests = Map.of(
+                IntimacyLevel.CHEFE_SUPERIOR, 1,
+                IntimacyLevel.AMIGO_PROXIMO, 60,
+                IntimacyLevel.INTIMO_FAMILIAR, 40);
+
+        GroupRecommendationResponse group = groupService.getRecommendation(new GroupRecommendationRequest(
+                Occasion.CELEBRACAO, MainDish.CHURRASCO, guests, GroupPolicy.MOST_CONSERVATIVE));
+
+        ScoreBreakdown boss = scoreCalculator.calculateBreakdown(
+                new RecommendationRequest(Occasion.CELEBRACAO, IntimacyLevel.CHEFE_SUPERIOR, MainDish.CHURRASCO));
+
+        assertEquals(IntimacyLevel.CHEFE_SUPERIOR, group.getMostConservativeLevel());
+        assertEquals(boss.getWinner(), group.getRecommendedProfile());
+        assertEquals(101, group.getGuestCount());
+    }
+
+    @Test
+    void emptyGroupIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> groupService.getRecommendation(new GroupRecommendationRequest(
+                Occasion.CELEBRACAO, MainDish.CHURRASCO, Map.of(IntimacyLevel.AMIGO, 0), null)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.HistoryEntry;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Histórico das respostas em cache: gravado do resultado pré-calculado, igual à recomendação completa.
+ */
+class HistoryServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void cachedResponsesAreRecordedWithoutRecomputingTheRecommendation() {
+        AtomicInteger recommendations = new AtomicInteger();
+        JustificationGenerator justificationGenerator = new JustificationGenerator();
+        RecommendationService recommendationService = new RecommendationService(
+                new ScoreCalculator(List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules()),
+                justificationGenerator) {
+            @Override
+            public RecommendationResponse getRecommendation(RecommendationRequest request) {
+                recommendations.incrementAndGet();
+                return super.getRecommendation(request);
+            }
+        };
+        ResponseViewService responseViewService = new ResponseViewService(recommendationService, justificationGenerator,
+                JsonMapper.builder().build());
+        HistoryService historyService = new HistoryService(justificationGenerator, responseViewService, directory,
+                1024, Duration.ofDays(1));
+
+        int before = recommendations.get();
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            historyService.record("cliente", CombinationIndex.toRequest(index));
+        }
+        historyService.record(null, CombinationIndex.toRequest(0));
+        assertEquals(before, recommendations.get());
+
+        List<HistoryEntry> entries = historyService.getHistory("cliente", null, 100).getEntries();
+        assertEquals(100, entries.size());
+        for (HistoryEntry entry : entries) {
+            RecommendationRequest request = new RecommendationRequest(entry.getOccasion(), entry.getIntimacyLevel(),
+                    entry.getMainDish());
+            assertEquals(recommendationService.getRecommendation(request), entry.getRecommendation());
+        }
+        historyService.close();
+    }
+}
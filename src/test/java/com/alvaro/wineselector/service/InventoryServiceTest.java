@@ -0,0 +1,130 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.exception.OutOfStockException;
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Estoque por estabelecimento e recomendação com fallback para perfis disponíveis.
+ */
+class InventoryServiceTest {
+
+    private final ScoreCalculator scoreCalculator = new ScoreCalculator(
+            List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules());
+
+    private final RecommendationService recommendationService =
+            new RecommendationService(scoreCalculator, new JustificationGenerator());
+
+    private final InventoryService inventoryService = new InventoryService();
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        inventoryService.setStock("bistro", Map.of(WineProfile.TINTO_MEDIO, 1_000));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(() -> {
+                    int sold = 0;
+                    for (int i = 0; i < 500; i++) {
+                        try {
+                            inventoryService.reserve("bistro", WineProfile.TINTO_MEDIO, 1);
+                            sold++;
+                        } catch (OutOfStockException e) {
+                            // Esgotado: as demais tentativas também falham
+                        }
+                    }
+                    return sold;
+                });
+            }
+            int sold = 0;
+            for (Future<Integer> future : executor.invokeAll(tasks)) {
+                sold += future.get();
+            }
+
+            assertEquals(1_000, sold);
+            assertEquals(0, inventoryService.getStock("bistro").get(WineProfile.TINTO_MEDIO));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void untrackedProfilesAndVenuesAreAlwaysAvailable() {
+        assertNull(inventoryService.reserve("sem-estoque", WineProfile.ROSE, 3));
+        assertTrue(inventoryService.availableIn("sem-estoque").test(WineProfile.ROSE));
+
+        inventoryService.setStock("bistro", Map.of(WineProfile.ESPUMANTE, 2));
+        assertNull(inventoryService.reserve("bistro", WineProfile.ROSE, 3));
+        assertEquals(0, inventoryService.reserve("bistro", WineProfile.ESPUMANTE, 2));
+        assertThrows(OutOfStockException.class, () -> inventoryService.reserve("bistro", WineProfile.ESPUMANTE, 1));
+        assertEquals(1, inventoryService.release("bistro", WineProfile.ESPUMANTE, 1));
+    }
+
+    @Test
+    void recommendationFallsBackToNextProfileInStock() {
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            RecommendationRequest request = CombinationIndex.toRequest(index);
+            ScoreBreakdown breakdown = scoreCalculator.calculateBreakdown(request);
+            WineProfile winner = breakdown.getWinner();
+            WineProfile second = breakdown.getProfileAtRank(1);
+            WineProfile third = breakdown.getProfileAtRank(2);
+
+            String venue = "v" + index;
+            Map<WineProfile, Integer> stock = new EnumMap<>(WineProfile.class);
+            stock.put(winner, 0);
+            stock.put(second, 0);
+            inventoryService.setStock(venue, stock);
+
+            RecommendationResponse response = recommendationService.getRecommendation(
+                    request, inventoryService.availableIn(venue));
+
+            assertEquals(third, response.getRecommendedProfile());
+            assertEquals((int) Math.round(breakdown.getTotal(third)), response.getScore());
+        }
+    }
+
+    @Test
+    void recommendationWithoutStockMatchesTheUnrestrictedOne() {
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            RecommendationRequest request = CombinationIndex.toRequest(index);
+
+            assertEquals(recommendationService.getRecommendation(request),
+                    recommendationService.getRecommendation(request, inventoryService.availableIn("sem-estoque")));
+        }
+    }
+
+    @Test
+    void recommendationFailsWhenEverythingIsSoldOut() {
+        Map<WineProfile, Integer> stock = new EnumMap<>(WineProfile.class);
+        for (WineProfile profile : WineProfile.values()) {
+            stock.put(profile, 0);
+        }
+        inventoryService.setStock("esgotado", stock);
+
+        assertThrows(OutOfStockException.class, () -> recommendationService.getRecommendation(
+                CombinationIndex.toRequest(0), inventoryService.availableIn("esgotado")));
+    }
+}
@@ -0,0 +1,78 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.MealCourse;
+import com.alvaro.wineselector.model.dto.MealRecommendationRequest;
+import com.alvaro.wineselector.model.dto.MealRecommendationResponse;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.MealAggregation;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Agregação de refeições com vários pratos.
+ */
+class MealRecommendationServiceTest {
+
+    private final ScoreCalculator scoreCalculator = new ScoreCalculator(
+            List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules());
+
+    private final MealRecommendationService mealService =
+            new MealRecommendationService(scoreCalculator, MealAggregation.WEIGHTED_SUM);
+
+    @Test
+    void singleCourseMatchesSingleDishRecommendation() {
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            RecommendationRequest request = CombinationIndex.toRequest(index);
+            ScoreBreakdown breakdown = scoreCalculator.calculateBreakdown(request);
+
+            for (MealAggregation aggregation : MealAggregation.values()) {
+                MealRecommendationResponse meal = mealService.getRecommendation(new MealRecommendationRequest(
+                        request.getOccasion(), request.getIntimacyLevel(),
+                        List.of(new MealCourse(request.getMainDish(), null)), aggregation));
+
+                assertEquals(breakdown.getWinner(), meal.getRecommendedProfile());
+            }
+        }
+    }
+
+    @Test
+    void maxMinMaximizesTheWorstCourse() {
+        List<MealCourse> courses = List.of(
+                new MealCourse(MainDish.PEIXES_FRUTOS_MAR, null),
+                new MealCourse(MainDish.CARNES_VERMELHAS, 3.0),
+                new MealCourse(MainDish.QUEIJOS_FRIOS, null));
+
+        MealRecommendationResponse meal = mealService.getRecommendation(new MealRecommendationRequest(
+                Occasion.JANTAR_ROMANTICO, IntimacyLevel.AMIGO_PROXIMO, courses, MealAggregation.MAX_MIN));
+
+        double bestWorst = Double.NEGATIVE_INFINITY;
+        WineProfile expected = null;
+        for (WineProfile profile : WineProfile.values()) {
+            double worst = Double.POSITIVE_INFINITY;
+            for (MealCourse course : courses) {
+                worst = Math.min(worst, scoreCalculator.calculateBreakdown(new RecommendationRequest(
+                        Occasion.JANTAR_ROMANTICO, IntimacyLevel.AMIGO_PROXIMO, course.getMainDish())).getTotal(profile));
+            }
+            if (worst > bestWorst) {
+                bestWorst = worst;
+                expected = profile;
+            }
+        }
+
+        assertEquals(expected, meal.getRecommendedProfile());
+        assertEquals(3, meal.getCourses().size());
+        assertEquals(3.0, meal.getCourses().get(1).getImportance());
+    }
+}
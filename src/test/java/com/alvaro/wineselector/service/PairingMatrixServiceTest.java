@@ -0,0 +1,179 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.MenuItem;
+import com.alvaro.wineselector.model.dto.PairingMatrixRequest;
+import com.alvaro.wineselector.model.dto.WineListItem;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Matriz cardápio × carta comparada com a pontuação par a par.
+ */
+class PairingMatrixServiceTest {
+
+    private final ScoreCalculator scoreCalculator = new ScoreCalculator(
+            List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules());
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private final PairingMatrixService matrixService = new PairingMatrixService(scoreCalculator, jsonMapper, 1 << 20);
+
+    @Test
+    void matrixAndBestPairsMatchPairwiseScores() throws IOException {
+        PairingMatrixRequest request = randomRequest(new Random(42), 40, 60);
+        PairingMatrixService.PreparedMatrix prepared = matrixService.prepare(request);
+        String hash = prepared.getContentHash();
+        JsonNode body = jsonMapper.readTree(write(prepared));
+
+        assertEquals(hash, body.get("contentHash").asString());
+        List<MenuItem> menu = request.getMenu();
+        List<WineListItem> wines = request.getWines();
+        JsonNode matrix = body.get("matrix");
+        assertEquals(menu.size(), matrix.size());
+
+        for (int i = 0; i < menu.size(); i++) {
+            assertEquals(wines.size(), matrix.get(i).size());
+            int bestWine = 0;
+            for (int j = 0; j < wines.size(); j++) {
+                assertEquals(Math.round(score(request, menu.get(i), wines.get(j))), matrix.get(i).get(j).asInt());
+                if (score(request, menu.get(i), wines.get(j)) > score(request, menu.get(i), wines.get(bestWine))) {
+                    bestWine = j;
+                }
+            }
+            assertEquals(wines.get(bestWine).getName(), body.get("bestByDish").get(i).get("wine").asString());
+        }
+
+        for (int j = 0; j < wines.size(); j++) {
+            int bestDish = 0;
+            for (int i = 1; i < menu.size(); i++) {
+                if (score(request, menu.get(i), wines.get(j)) > score(request, menu.get(bestDish), wines.get(j))) {
+                    bestDish = i;
+                }
+            }
+            assertEquals(menu.get(bestDish).getName(), body.get("bestByWine").get(j).get("dish").asString());
+        }
+    }
+
+    @Test
+    void repeatedRequestIsServedFromCacheWithIdenticalBytes() throws IOException {
+        PairingMatrixRequest request = randomRequest(new Random(7), 10, 10);
+        byte[] first = write(matrixService.prepare(request));
+        byte[] second = write(matrixService.prepare(request));
+
+        assertArrayEquals(first, second);
+        assertTrue(first.length > 0);
+    }
+
+    @Test
+    void matrixWrittenAfterAFeedbackPublicationMatchesItsHash() throws IOException {
+        PairingMatrixRequest request = randomRequest(new Random(11), 8, 8);
+        String oldVersion = scoreCalculator.getRulesVersion();
+        double[] oldTotals = scoreCalculator.getCombinationTotals();
+        PairingMatrixService.PreparedMatrix prepared = matrixService.prepare(request);
+
+        // Feedback publicado entre o cálculo do ETag e a escrita do corpo
+        double[] feedback = new double[oldTotals.length];
+        Arrays.fill(feedback, 7);
+        scoreCalculator.applyFeedbackAdjustments(feedback);
+
+        JsonNode body = jsonMapper.readTree(write(prepared));
+        assertEquals(oldVersion, body.get("rulesVersion").asString());
+        MenuItem item = request.getMenu().get(0);
+        WineListItem wine = request.getWines().get(0);
+        int cell = CombinationIndex.of(item.getMainDish(), request.getOccasion(), request.getIntimacyLevel())
+                * WineProfile.values().length + wine.getProfile().ordinal();
+        assertEquals(Math.round(oldTotals[cell]), body.get("matrix").get(0).get(0).asInt());
+
+        // O cache sob o hash antigo continua com a matriz antiga; o hash novo traz a nova
+        assertEquals(body, jsonMapper.readTree(write(prepared)));
+        PairingMatrixService.PreparedMatrix current = matrixService.prepare(request);
+        assertNotEquals(prepared.getContentHash(), current.getContentHash());
+        JsonNode updated = jsonMapper.readTree(write(current));
+        assertEquals(scoreCalculator.getRulesVersion(), updated.get("rulesVersion").asString());
+        assertEquals(Math.round(oldTotals[cell] + 7), updated.get("matrix").get(0).get(0).asInt());
+    }
+
+    @Test
+    void contentHashDependsOnContentAndFieldBoundaries() {
+        PairingMatrixRequest request = randomRequest(new Random(3), 5, 5);
+        PairingMatrixRequest same = randomRequest(new Random(3), 5, 5);
+        assertEquals(matrixService.getContentHash(request), matrixService.getContentHash(same));
+
+        PairingMatrixRequest otherOccasion = new PairingMatrixRequest(Occasion.CELEBRACAO, request.getIntimacyLevel(),
+                request.getMenu(), request.getWines());
+        if (request.getOccasion() != Occasion.CELEBRACAO) {
+            assertNotEquals(matrixService.getContentHash(request), matrixService.getContentHash(otherOccasion));
+        }
+
+        PairingMatrixRequest joined = new PairingMatrixRequest(Occasion.CELEBRACAO, IntimacyLevel.AMIGO,
+                List.of(new MenuItem("ab", MainDish.CHURRASCO)),
+                List.of(new WineListItem("c", WineProfile.ROSE)));
+        PairingMatrixRequest split = new PairingMatrixRequest(Occasion.CELEBRACAO, IntimacyLevel.AMIGO,
+                List.of(new MenuItem("a", MainDish.CHURRASCO)),
+                List.of(new WineListItem("bc", WineProfile.ROSE)));
+        assertNotEquals(matrixService.getContentHash(joined), matrixService.getContentHash(split));
+    }
+
+    @Test
+    void cacheEvictsLeastRecentlyUsedEntriesBeyondTheByteLimit() {
+        PairingMatrixService.ByteLruCache cache = new PairingMatrixService.ByteLruCache(100);
+        cache.put("a", new byte[40]);
+        cache.put("b", new byte[40]);
+        cache.get("a");
+        cache.put("c", new byte[40]);
+
+        assertTrue(cache.get("a") != null);
+        assertEquals(null, cache.get("b"));
+        assertTrue(cache.getTotalBytes() <= 100);
+    }
+
+    private byte[] write(PairingMatrixService.PreparedMatrix matrix) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        matrixService.writeMatrix(matrix, out);
+        return out.toByteArray();
+    }
+
+    private double score(PairingMatrixRequest request, MenuItem item, WineListItem wine) {
+        int combination = CombinationIndex.of(item.getMainDish(), request.getOccasion(), request.getIntimacyLevel());
+        return scoreCalculator.getCombinationTotals()[combination * WineProfile.values().length + wine.getProfile().ordinal()];
+    }
+
+    private static PairingMatrixRequest randomRequest(Random random, int menuSize, int wineCount) {
+        MainDish[] dishes = MainDish.values();
+        WineProfile[] profiles = WineProfile.values();
+        List<MenuItem> menu = new ArrayList<>();
+        for (int i = 0; i < menuSize; i++) {
+            menu.add(new MenuItem("Prato " + i, dishes[random.nextInt(dishes.length)]));
+        }
+        List<WineListItem> wines = new ArrayList<>();
+        for (int j = 0; j < wineCount; j++) {
+            wines.add(new WineListItem("Vinho " + j, profiles[random.nextInt(profiles.length)]));
+        }
+        Occasion[] occasions = Occasion.values();
+        IntimacyLevel[] levels = IntimacyLevel.values();
+        return new PairingMatrixRequest(occasions[random.nextInt(occasions.length)],
+                levels[random.nextInt(levels.length)], menu, wines);
+    }
+}
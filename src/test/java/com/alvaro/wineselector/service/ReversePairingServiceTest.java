@@ -0,0 +1,113 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.ReversePairingRequest;
+import com.alvaro.wineselector.model.dto.ReversePairingResponse;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Harmonização reversa: rankings do índice invertido contra a recomendação direta.
+ */
+class ReversePairingServiceTest {
+
+    private final ScoreCalculator calculator = new ScoreCalculator(
+            List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules());
+    private final RecommendationService recommendationService =
+            new RecommendationService(calculator, new JustificationGenerator());
+    private final ReversePairingService service = new ReversePairingService(calculator);
+
+    @Test
+    void fixedCombinationWinsExactlyWhereTheProfileIsRecommended() {
+        for (WineProfile profile : WineProfile.values()) {
+            ReversePairingResponse response = service.getPairings(
+                    new ReversePairingRequest(profile, Occasion.CELEBRACAO, IntimacyLevel.AMIGO));
+            assertNull(response.getOccasions());
+            assertEquals(MainDish.values().length, response.getDishes().size());
+
+            for (ReversePairingResponse.DishRanking ranking : response.getDishes()) {
+                WineProfile recommended = recommendationService.getRecommendation(
+                        new RecommendationRequest(Occasion.CELEBRACAO, IntimacyLevel.AMIGO, ranking.getMainDish()))
+                        .getRecommendedProfile();
+                assertEquals(recommended == profile ? 1.0 : 0.0, ranking.getWinRate(), ranking.getMainDish().name());
+            }
+        }
+    }
+
+    @Test
+    void dishesAreOrderedByMarginAndWinnersComeFirst() {
+        ReversePairingResponse response = service.getPairings(
+                new ReversePairingRequest(WineProfile.TINTO_ENCORPADO, Occasion.CELEBRACAO, IntimacyLevel.AMIGO));
+
+        List<ReversePairingResponse.DishRanking> dishes = response.getDishes();
+        assertEquals(1.0, dishes.get(0).getWinRate());
+        for (int i = 1; i < dishes.size(); i++) {
+            assertTrue(dishes.get(i).getMargin() <= dishes.get(i - 1).getMargin());
+            if (dishes.get(i).getWinRate() > 0) {
+                assertTrue(dishes.get(i - 1).getWinRate() > 0, "prato vencedor depois de um não vencedor");
+            }
+        }
+    }
+
+    @Test
+    void openDimensionsAverageOverAllCombinations() {
+        ReversePairingResponse response = service.getPairings(
+                new ReversePairingRequest(WineProfile.ESPUMANTE, null, null));
+        assertEquals(Occasion.values().length, response.getOccasions().size());
+
+        double[] totals = calculator.getCombinationTotals();
+        ReversePairingResponse.DishRanking fish = response.getDishes().stream()
+                .filter(ranking -> ranking.getMainDish() == MainDish.PEIXES_FRUTOS_MAR)
+                .findFirst().orElseThrow();
+
+        double sum = 0;
+        int wins = 0;
+        int count = 0;
+        for (Occasion occasion : Occasion.values()) {
+            for (IntimacyLevel intimacy : IntimacyLevel.values()) {
+                int combination = CombinationIndex.of(MainDish.PEIXES_FRUTOS_MAR, occasion, intimacy);
+                sum += totals[combination * WineProfile.values().length + WineProfile.ESPUMANTE.ordinal()];
+                RecommendationRequest request = CombinationIndex.toRequest(combination);
+                if (recommendationService.getRecommendation(request).getRecommendedProfile() == WineProfile.ESPUMANTE) {
+                    wins++;
+                }
+                count++;
+            }
+        }
+        assertEquals((int) Math.round(sum / count), fish.getScore());
+        assertEquals((double) wins / count, fish.getWinRate(), 1e-9);
+    }
+
+    @Test
+    void indexIsRebuiltWhenRulesVersionChanges() {
+        ReversePairingRequest request = new ReversePairingRequest(WineProfile.BRANCO_LEVE, Occasion.CELEBRACAO,
+                IntimacyLevel.AMIGO);
+        ReversePairingResponse before = service.getPairings(request);
+
+        double[] adjustments = new double[CombinationIndex.SIZE * WineProfile.values().length];
+        for (MainDish dish : MainDish.values()) {
+            adjustments[CombinationIndex.of(dish, Occasion.CELEBRACAO, IntimacyLevel.AMIGO)
+                    * WineProfile.values().length + WineProfile.BRANCO_LEVE.ordinal()] = 100;
+        }
+        calculator.applyFeedbackAdjustments(adjustments);
+
+        ReversePairingResponse after = service.getPairings(request);
+        assertNotEquals(before.getDishes(), after.getDishes());
+        assertTrue(after.getDishes().stream().allMatch(ranking -> ranking.getWinRate() == 1.0));
+    }
+}
@@ -0,0 +1,251 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRule;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import com.alvaro.wineselector.rules.ScoringRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pipeline de dimensões do ScoreCalculator: dimensões opcionais, normalização de pesos, obrigatórias ausentes
+ * e regras de interação compiladas.
+ */
+class ScoreCalculatorTest {
+
+    private final ScoreCalculator baseline = new ScoreCalculator(
+            List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules());
+
+    private final ScoreCalculator withSeason = new ScoreCalculator(
+            List.of(new DishRules(), new OccasionRules(), new IntimacyRules(), new SeasonRules()), new InteractionRules());
+
+    @Test
+    void absentOptionalDimensionIsSkipped() {
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            RecommendationRequest request = CombinationIndex.toRequest(index);
+            if (request.getOccasion() == Occasion.CELEBRACAO) {
+                continue;
+            }
+
+            ScoreBreakdown expected = baseline.calculateBreakdown(request);
+            ScoreBreakdown actual = withSeason.calculateBreakdown(request);
+
+            assertEquals(3, actual.getDimensionCount());
+            for (WineProfile profile : WineProfile.values()) {
+                assertEquals(expected.getTotal(profile), actual.getTotal(profile), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void presentOptionalDimensionIsWeightedAfterNormalization() {
+        RecommendationRequest request = CombinationIndex.toRequest(0);
+        request.setOccasion(Occasion.CELEBRACAO);
+
+        ScoreBreakdown breakdown = withSeason.calculateBreakdown(request);
+
+        assertEquals(4, breakdown.getDimensionCount());
+        assertEquals("season", breakdown.getDimensionId(3));
+
+        double weightSum = 0;
+        for (int d = 0; d < breakdown.getDimensionCount(); d++) {
+            weightSum += breakdown.getWeight(d);
+        }
+        assertEquals(1.0, weightSum, 1e-9);
+
+        double expected = breakdown.getInteractionAdjustment(WineProfile.ESPUMANTE);
+        for (int d = 0; d < breakdown.getDimensionCount(); d++) {
+            expected += breakdown.getContribution(d, WineProfile.ESPUMANTE);
+        }
+        assertEquals(expected, breakdown.getTotal(WineProfile.ESPUMANTE), 1e-9);
+        assertEquals(40 * breakdown.getWeight(3), breakdown.getContribution(3, WineProfile.ESPUMANTE), 1e-9);
+    }
+
+    @Test
+    void missingRequiredDimensionIsRejected() {
+        RecommendationRequest request = CombinationIndex.toRequest(0);
+        request.setMainDish(null);
+
+        assertThrows(IllegalArgumentException.class, () -> baseline.calculateBreakdown(request));
+    }
+
+    @Test
+    void interactionRulesAdjustAndCapOnlyMatchingCombinations() {
+        ScoreCalculator withoutInteractions = calculatorWith(List.of());
+        ScoreCalculator withInteraction = calculatorWith(List.of(InteractionRule.builder()
+                .name("Teste")
+                .condition((dish, occasion, intimacy) -> dish.isRedMeatBased() && intimacy.requiresMaxSafety())
+                .adjustment(WineProfile.ROSE, 12)
+                .adjustment(WineProfile.TINTO_ENCORPADO, 50)
+                .cap(WineProfile.TINTO_ENCORPADO, 20)
+                .build()));
+
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            RecommendationRequest request = CombinationIndex.toRequest(index);
+            ScoreBreakdown base = withoutInteractions.calculateBreakdown(request);
+            ScoreBreakdown adjusted = withInteraction.calculateBreakdown(request);
+
+            boolean matches = request.getMainDish().isRedMeatBased() && request.getIntimacyLevel().requiresMaxSafety();
+            if (matches) {
+                assertArrayEquals(new String[] {"Teste"}, adjusted.getAppliedInteractions());
+                assertEquals(base.getTotal(WineProfile.ROSE) + 12, adjusted.getTotal(WineProfile.ROSE), 1e-9);
+                assertEquals(20, adjusted.getTotal(WineProfile.TINTO_ENCORPADO), 1e-9);
+            } else {
+                assertEquals(0, adjusted.getAppliedInteractions().length);
+                for (WineProfile profile : WineProfile.values()) {
+                    assertEquals(base.getTotal(profile), adjusted.getTotal(profile));
+                }
+            }
+        }
+    }
+
+    @Test
+    void interactionCapsBoundTheTotalAfterFeedbackAndOptionalDimensions() {
+        InteractionRule rule = InteractionRule.builder()
+                .name("Teste")
+                .condition((dish, occasion, intimacy) -> dish.isRedMeatBased() && intimacy.requiresMaxSafety())
+                .adjustment(WineProfile.TINTO_ENCORPADO, 50)
+                .cap(WineProfile.TINTO_ENCORPADO, 20)
+                .build();
+        ScoreCalculator calculator = calculatorWith(List.of(rule));
+        ScoreCalculator withOptional = new ScoreCalculator(
+                List.of(new DishRules(), new OccasionRules(), new IntimacyRules(), new SeasonRules()),
+                new InteractionRules() {
+                    @Override
+                    public List<InteractionRule> getRules() {
+                        return List.of(rule);
+                    }
+                });
+
+        int profiles = WineProfile.values().length;
+        int cell = WineProfile.TINTO_ENCORPADO.ordinal();
+        double[] feedback = new double[CombinationIndex.SIZE * profiles];
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            // Positivo em metade das combinações, negativo (mas menor que o excedente) na outra metade
+            feedback[index * profiles + cell] = index % 2 == 0 ? 50 : -5;
+        }
+        calculator.applyFeedbackAdjustments(feedback);
+        double[] combinationTotals = calculator.getCombinationTotals();
+
+        int matching = 0;
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            RecommendationRequest request = CombinationIndex.toRequest(index);
+            if (!request.getMainDish().isRedMeatBased() || !request.getIntimacyLevel().requiresMaxSafety()) {
+                continue;
+            }
+            matching++;
+
+            ScoreBreakdown breakdown = calculator.calculateBreakdown(request);
+            assertEquals(20, breakdown.getTotal(WineProfile.TINTO_ENCORPADO), 1e-9);
+            assertEquals(20, combinationTotals[index * profiles + cell], 1e-9);
+
+            double sum = breakdown.getInteractionAdjustment(WineProfile.TINTO_ENCORPADO)
+                    + breakdown.getFeedbackAdjustment(WineProfile.TINTO_ENCORPADO);
+            for (int d = 0; d < breakdown.getDimensionCount(); d++) {
+                sum += breakdown.getContribution(d, WineProfile.TINTO_ENCORPADO);
+            }
+            assertEquals(breakdown.getTotal(WineProfile.TINTO_ENCORPADO), sum, 1e-9);
+
+            if (request.getOccasion() == Occasion.CELEBRACAO) {
+                ScoreBreakdown optional = withOptional.calculateBreakdown(request);
+                assertEquals(4, optional.getDimensionCount());
+                assertEquals(20, optional.getTotal(WineProfile.TINTO_ENCORPADO), 1e-9);
+            }
+        }
+        assertTrue(matching > 0);
+    }
+
+    @Test
+    void explanationIncludesInteractionAdjustment() {
+        RecommendationRequest request = CombinationIndex.toRequest(
+                CombinationIndex.of(MainDish.COMIDA_APIMENTADA, Occasion.JANTAR_ROMANTICO, IntimacyLevel.AMIGO));
+
+        var explanation = baseline.explain(request);
+
+        assertEquals(List.of("Comida apimentada em jantar romântico"), explanation.getInteractions());
+        for (var profile : explanation.getProfiles()) {
+            double sum = profile.getInteractionAdjustment();
+            for (var contribution : profile.getContributions()) {
+                sum += contribution.getContribution();
+            }
+            assertEquals(profile.getTotalScore(), sum, 1e-9);
+        }
+    }
+
+    private static ScoreCalculator calculatorWith(List<InteractionRule> rules) {
+        return new ScoreCalculator(List.of(new DishRules(), new OccasionRules(), new IntimacyRules()),
+                new InteractionRules() {
+                    @Override
+                    public List<InteractionRule> getRules() {
+                        return rules;
+                    }
+                });
+    }
+
+    private enum Season { VERAO, INVERNO }
+
+    /**
+     * Dimensão opcional de teste: só está presente em celebrações.
+     */
+    private static class SeasonRules implements ScoringRules<Season> {
+
+        @Override
+        public Map<WineProfile, Integer> getScores(Season season) {
+            Map<WineProfile, Integer> scores = new EnumMap<>(WineProfile.class);
+            scores.put(WineProfile.ESPUMANTE, season == Season.VERAO ? 40 : 10);
+            scores.put(WineProfile.TINTO_ENCORPADO, season == Season.INVERNO ? 40 : 5);
+            return scores;
+        }
+
+        @Override
+        public double getWeight() {
+            return 0.25;
+        }
+
+        @Override
+        public String getRuleName() {
+            return "Regras de Estação (teste)";
+        }
+
+        @Override
+        public Class<Season> getValueType() {
+            return Season.class;
+        }
+
+        @Override
+        public Season extractValue(RecommendationRequest request) {
+            return request.getOccasion() == Occasion.CELEBRACAO ? Season.VERAO : null;
+        }
+
+        @Override
+        public String getDimensionId() {
+            return "season";
+        }
+
+        @Override
+        public String getDimensionLabel() {
+            return "Estação";
+        }
+
+        @Override
+        public boolean isOptional() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.CombinationIndex;
+import com.alvaro.wineselector.model.dto.RulesetOverrideRequest;
+import com.alvaro.wineselector.model.dto.ScoreOverride;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regras por cliente sobre as regras base: sobrescritas, compartilhamento e cache LRU.
+ */
+class TenantRulesetServiceTest {
+
+    private static final int PROFILE_COUNT = WineProfile.values().length;
+
+    private final ScoreCalculator baseCalculator = new ScoreCalculator(
+            List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules());
+
+    private final JustificationGenerator justificationGenerator = new JustificationGenerator();
+
+    private final TenantRulesetService tenantService = new TenantRulesetService(baseCalculator,
+            new RecommendationService(baseCalculator, justificationGenerator), justificationGenerator, 2);
+
+    @Test
+    void tenantWithoutOverridesUsesTheBaseRules() {
+        assertSame(baseCalculator, tenantService.getScoreCalculator("sem-regras"));
+        assertSame(baseCalculator, tenantService.getScoreCalculator(null));
+        assertEquals(0, tenantService.getMaterializedCount());
+    }
+
+    @Test
+    void scoreOverrideOnlyChangesCombinationsWithTheOverriddenValue() {
+        tenantService.setOverrides("rede-sul", new RulesetOverrideRequest(null,
+                List.of(new ScoreOverride("dish", "CHURRASCO", WineProfile.ESPUMANTE, 100))));
+
+        ScoreCalculator tenantCalculator = tenantService.getScoreCalculator("rede-sul");
+        double[] base = baseCalculator.getCombinationTotals();
+        double[] tenant = tenantCalculator.getCombinationTotals();
+        assertNotEquals(baseCalculator.getRulesVersion(), tenantCalculator.getRulesVersion());
+
+        boolean changed = false;
+        for (int index = 0; index < CombinationIndex.SIZE; index++) {
+            boolean churrasco = CombinationIndex.dishOf(index) == MainDish.CHURRASCO;
+            for (int p = 0; p < PROFILE_COUNT; p++) {
+                int i = index * PROFILE_COUNT + p;
+                if (!churrasco || p != WineProfile.ESPUMANTE.ordinal()) {
+                    assertEquals(base[i], tenant[i], 1e-9);
+                } else if (tenant[i] != base[i]) {
+                    changed = true;
+                }
+            }
+        }
+        assertTrue(changed);
+    }
+
+    @Test
+    void weightOverrideChangesTheVersionAndReplacingOverridesRematerializes() {
+        tenantService.setOverrides("rede-norte", new RulesetOverrideRequest(Map.of("dish", 0.8), null));
+        String weighted = tenantService.getScoreCalculator("rede-norte").getRulesVersion();
+        assertNotEquals(baseCalculator.getRulesVersion(), weighted);
+
+        tenantService.setOverrides("rede-norte", new RulesetOverrideRequest(Map.of("dish", 0.9), null));
+        assertNotEquals(weighted, tenantService.getScoreCalculator("rede-norte").getRulesVersion());
+
+        tenantService.setOverrides("rede-norte", new RulesetOverrideRequest(Map.of(), List.of()));
+        assertFalse(tenantService.hasOverrides("rede-norte"));
+        assertSame(baseCalculator, tenantService.getScoreCalculator("rede-norte"));
+    }
+
+    @Test
+    void materializedRulesAreEvictedByLeastRecentUse() {
+        for (String tenant : List.of("a", "b", "c")) {
+            tenantService.setOverrides(tenant, new RulesetOverrideRequest(Map.of("occasion", 0.5), null));
+        }
+        String version = tenantService.getScoreCalculator("a").getRulesVersion();
+        tenantService.getScoreCalculator("b");
+        tenantService.getScoreCalculator("c");
+
+        assertEquals(2, tenantService.getMaterializedCount());
+        assertEquals(version, tenantService.getScoreCalculator("a").getRulesVersion());
+        assertEquals(2, tenantService.getMaterializedCount());
+    }
+
+    @Test
+    void unknownDimensionsValuesAndDuplicateCellsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> tenantService.setOverrides("x",
+                new RulesetOverrideRequest(Map.of("clima", 0.2), null)));
+        assertThrows(IllegalArgumentException.class, () -> tenantService.setOverrides("x",
+                new RulesetOverrideRequest(null, List.of(new ScoreOverride("dish", "INEXISTENTE", WineProfile.ROSE, 10)))));
+        assertThrows(IllegalArgumentException.class, () -> tenantService.setOverrides("x",
+                new RulesetOverrideRequest(null, List.of(
+                        new ScoreOverride("dish", "CHURRASCO", WineProfile.ROSE, 10),
+                        new ScoreOverride("dish", "CHURRASCO", WineProfile.ROSE, 20)))));
+        assertFalse(tenantService.hasOverrides("x"));
+    }
+}
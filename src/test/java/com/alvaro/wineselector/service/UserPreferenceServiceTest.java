@@ -0,0 +1,78 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import com.alvaro.wineselector.model.enums.WineProfile;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Preferências de usuários: armazenamento local, cache e pontuação personalizada.
+ */
+class UserPreferenceServiceTest {
+
+    private final ScoreCalculator scoreCalculator = new ScoreCalculator(
+            List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules());
+
+    private final RecommendationService recommendationService =
+            new RecommendationService(scoreCalculator, new JustificationGenerator());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void preferencesAreStoredAndInvalidatedInTheCache() {
+        UserPreferenceService service = new UserPreferenceService(
+                new UserPreferenceStore(directory), 100, Duration.ofMinutes(10));
+
+        assertNull(service.getBias("ana"));
+        service.setPreferences("ana", Map.of(WineProfile.ESPUMANTE, -20.0, WineProfile.TINTO_ENCORPADO, 8.5));
+
+        float[] bias = service.getBias("ana");
+        assertEquals(-20f, bias[WineProfile.ESPUMANTE.ordinal()]);
+        assertEquals(8.5f, bias[WineProfile.TINTO_ENCORPADO.ordinal()]);
+        assertEquals(Map.of(WineProfile.ESPUMANTE, -20.0, WineProfile.TINTO_ENCORPADO, 8.5),
+                new UserPreferenceService(new UserPreferenceStore(directory), 100, Duration.ofMinutes(10))
+                        .getPreferences("ana").getBias());
+
+        assertTrue(service.removePreferences("ana"));
+        assertNull(service.getBias("ana"));
+        assertFalse(service.removePreferences("ana"));
+    }
+
+    @Test
+    void preferenceBiasIsAddedToTheFinalScores() {
+        RecommendationRequest request = new RecommendationRequest(Occasion.CELEBRACAO, IntimacyLevel.AMIGO, MainDish.CHURRASCO);
+        RecommendationResponse base = recommendationService.getRecommendation(request);
+
+        float[] bias = new float[WineProfile.values().length];
+        bias[base.getRecommendedProfile().ordinal()] = -50;
+        RecommendationResponse personalized = recommendationService.getPersonalizedRecommendation(request, bias);
+        assertNotEquals(base.getRecommendedProfile(), personalized.getRecommendedProfile());
+
+        bias = new float[WineProfile.values().length];
+        bias[WineProfile.ESPUMANTE.ordinal()] = 50;
+        personalized = recommendationService.getPersonalizedRecommendation(request, bias);
+        assertEquals(WineProfile.ESPUMANTE, personalized.getRecommendedProfile());
+        double baseScore = scoreCalculator.calculateScores(request).get(WineProfile.ESPUMANTE);
+        assertEquals((int) Math.round(baseScore + 50), personalized.getScore());
+    }
+}
@@ -0,0 +1,107 @@
+package com.alvaro.wineselector.service;
+
+import com.alvaro.wineselector.TestDataPaths;
+import com.alvaro.wineselector.controller.RecommendationController;
+import com.alvaro.wineselector.model.dto.RecommendationRequest;
+import com.alvaro.wineselector.model.dto.RecommendationResponse;
+import com.alvaro.wineselector.rules.DishRules;
+import com.alvaro.wineselector.rules.InteractionRules;
+import com.alvaro.wineselector.rules.IntimacyRules;
+import com.alvaro.wineselector.rules.OccasionRules;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Aquecimento na inicialização: a aplicação só fica pronta depois dele, e uma falha não a deixa presa.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class WarmupServiceTest {
+
+    // Estado observado por um ApplicationRunner, que roda junto com o aquecimento, antes da prontidão
+    private static final AtomicReference<ReadinessState> READINESS_DURING_RUNNERS = new AtomicReference<>();
+    private static final AtomicReference<HttpStatus> HEALTH_DURING_RUNNERS = new AtomicReference<>();
+
+    @TempDir
+    static Path dataDirectory;
+
+    @DynamicPropertySource
+    static void dataPaths(DynamicPropertyRegistry registry) {
+        TestDataPaths.register(registry, dataDirectory);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Test
+    void healthIsUnavailableUntilWarmupFinishes() throws Exception {
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, READINESS_DURING_RUNNERS.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, HEALTH_DURING_RUNNERS.get());
+
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+        mockMvc.perform(get("/api/recommendation/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health/readiness")).andExpect(status().isOk());
+    }
+
+    @Test
+    void failingIterationStopsTheWarmupWithoutFailingStartup() {
+        AtomicInteger calls = new AtomicInteger();
+        RecommendationService failing = new RecommendationService(
+                new ScoreCalculator(List.of(new DishRules(), new OccasionRules(), new IntimacyRules()), new InteractionRules()),
+                new JustificationGenerator()) {
+            @Override
+            public RecommendationResponse getRecommendation(RecommendationRequest request) {
+                if (calls.incrementAndGet() == 1500) {
+                    throw new IllegalStateException("falha simulada");
+                }
+                return super.getRecommendation(request);
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WarmupService warmupService = new WarmupService(failing, JsonMapper.builder().build(), meterRegistry, true, 3);
+
+        assertDoesNotThrow(() -> warmupService.run(new DefaultApplicationArguments()));
+        assertEquals(1500, calls.get());
+        assertEquals(1200, meterRegistry.get("wineselector.warmup.requests").gauge().value());
+    }
+
+    @TestConfiguration
+    static class ReadinessProbe {
+
+        @Bean
+        ApplicationRunner readinessRecorder(ApplicationAvailability availability, RecommendationController controller) {
+            return args -> {
+                READINESS_DURING_RUNNERS.set(availability.getReadinessState());
+                HEALTH_DURING_RUNNERS.set((HttpStatus) controller.healthCheck().getStatusCode());
+            };
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.alvaro.wineselector.text;
+
+import com.alvaro.wineselector.model.enums.MainDish;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autocompletar: prefixos a partir de qualquer palavra, correção de erros, filtro por dimensão e BK-tree.
+ */
+class AutocompleteIndexTest {
+
+    private final AutocompleteIndex index = new AutocompleteIndex();
+
+    private static List<String> values(List<AutocompleteIndex.Suggestion> suggestions) {
+        List<String> values = new ArrayList<>();
+        for (AutocompleteIndex.Suggestion suggestion : suggestions) {
+            values.add(suggestion.getDimension() + ":" + suggestion.getOrdinal());
+        }
+        return values;
+    }
+
+    private static String dish(MainDish dish) {
+        return TextInterpreter.DISH + ":" + dish.ordinal();
+    }
+
+    @Test
+    void prefixCompletesNamesFromAnyWord() {
+        List<AutocompleteIndex.Suggestion> churr = index.suggest("Churr", TextInterpreter.DISH, 5);
+        assertEquals(dish(MainDish.CHURRASCO), values(churr).get(0));
+        assertEquals(0, churr.get(0).getDistance());
+
+        List<String> molho = values(index.suggest("molho", TextInterpreter.DISH, 10));
+        assertTrue(molho.contains(dish(MainDish.MASSA_MOLHO_VERMELHO)), molho.toString());
+        assertTrue(molho.contains(dish(MainDish.MASSA_MOLHO_BRANCO)), molho.toString());
+    }
+
+    @Test
+    void typosAreCorrectedAfterPrefixes() {
+        List<AutocompleteIndex.Suggestion> suggestions = index.suggest("churasco", TextInterpreter.DISH, 5);
+        assertEquals(dish(MainDish.CHURRASCO), values(suggestions).get(0));
+        assertEquals(1, suggestions.get(0).getDistance());
+
+        // Parcial e com erro ao mesmo tempo
+        assertTrue(values(index.suggest("churasc", -1, 10)).contains(dish(MainDish.CHURRASCO)));
+        assertEquals(List.of(), index.suggest("xyzw", -1, 10));
+        assertEquals(List.of(), index.suggest("  ", -1, 10));
+    }
+
+    @Test
+    void suggestionsRespectDimensionLimitAndAreUnique() {
+        for (String query : List.of("a", "ami", "jantar", "c", "amgio")) {
+            for (int dimension = -1; dimension < AutocompleteIndex.DIMENSIONS; dimension++) {
+                List<AutocompleteIndex.Suggestion> suggestions = index.suggest(query, dimension, 7);
+                assertTrue(suggestions.size() <= 7);
+                assertEquals(suggestions.size(), new HashSet<>(values(suggestions)).size(), query);
+                for (AutocompleteIndex.Suggestion suggestion : suggestions) {
+                    assertTrue(dimension < 0 || suggestion.getDimension() == dimension, query);
+                }
+            }
+        }
+        assertTrue(values(index.suggest("amgio", TextInterpreter.INTIMACY, 5)).size() > 0);
+    }
+
+    @Test
+    void bkTreeMatchesBruteForce() {
+        BkTree tree = new BkTree();
+        List<String> words = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 3 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(6)));
+            }
+            if (tree.add(word.toString()) == words.size()) {
+                words.add(word.toString());
+            }
+        }
+
+        for (String query : List.of("abc", "abcdef", "fedcba", "aaaa", "bcdaefab")) {
+            for (int maxDistance = 0; maxDistance <= 2; maxDistance++) {
+                Set<String> expected = new HashSet<>();
+                for (String word : words) {
+                    if (BkTree.distance(query, word) <= maxDistance) {
+                        expected.add(word + "/" + BkTree.distance(query, word));
+                    }
+                }
+                Set<String> found = new HashSet<>();
+                tree.search(query, maxDistance, (id, distance) -> found.add(tree.getWord(id) + "/" + distance));
+                assertEquals(expected, found, query + " d=" + maxDistance);
+            }
+        }
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.alvaro.wineselector.text;
+
+import com.alvaro.wineselector.model.enums.IntimacyLevel;
+import com.alvaro.wineselector.model.enums.MainDish;
+import com.alvaro.wineselector.model.enums.Occasion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reconhecimento de texto livre: autômato de Aho-Corasick, acentos, plurais e desempate pelo contexto.
+ */
+class TextInterpreterTest {
+
+    private final TextInterpreter interpreter = new TextInterpreter();
+
+    private static List<String> matches(AhoCorasickMatcher matcher, List<String> patterns, String text) {
+        List<String> found = new ArrayList<>();
+        matcher.match(text, (id, end) -> found.add(patterns.get(id) + "@" + end));
+        return found;
+    }
+
+    @Test
+    void matcherFindsOverlappingWholeWordsOnly() {
+        List<String> patterns = List.of("he", "she", "his", "hers", "she sells", "sells");
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(patterns);
+
+        assertEquals(List.of("she@3", "she sells@10", "sells@10"), matches(matcher, patterns, "She  SELLS"));
+        assertEquals(List.of(), matches(matcher, patterns, "shell ushers hishe"));
+        assertEquals(List.of("hers@14"), matches(matcher, patterns, "--ushers, hers"));
+    }
+
+    @Test
+    void normalizationIgnoresAccentsCaseAndPunctuation() {
+        assertEquals("acai cafe com pao", TextNormalizer.normalize("  Açaí, CAFÉ  com pão!"));
+        assertEquals("tabuas de queijos", TextInterpreter.plural("tabua de queijo", true));
+        assertEquals("colegas de trabalho", TextInterpreter.plural("colega de trabalho", false));
+        assertEquals("camaroes", TextInterpreter.plural("camarao", true));
+    }
+
+    @Test
+    void recognizesDishOccasionAndIntimacyInFreeText() {
+        TextInterpreter.Interpretation interpretation =
+                interpreter.interpret("Picanha com farofa num ANIVERSÁRIO com o meu chefe");
+
+        assertEquals(MainDish.CHURRASCO, interpretation.getMainDish());
+        assertEquals(Occasion.ANIVERSARIO, interpretation.getOccasion());
+        assertEquals(IntimacyLevel.CHEFE_SUPERIOR, interpretation.getIntimacyLevel());
+        assertTrue(interpretation.getConfidence(TextInterpreter.DISH) > 0.5);
+        assertTrue(interpretation.getMatchedTerms().containsAll(List.of("picanha", "farofa", "aniversario", "chefe")));
+    }
+
+    @Test
+    void pluralsAndDescriptionWordsAreRecognized() {
+        assertEquals(MainDish.PEIXES_FRUTOS_MAR, interpreter.interpret("camarões e lulas").getMainDish());
+        assertEquals(MainDish.QUEIJOS_FRIOS, interpreter.interpret("uma tábua de queijos").getMainDish());
+        assertEquals(MainDish.COMIDA_ASIATICA, interpreter.interpret("vamos pedir sushi").getMainDish());
+        assertTrue(interpreter.interpret("happy hour com colegas de trabalho").getMatchedTerms()
+                .contains("colegas de trabalho"));
+
+        // "azeitonas" só aparece na descrição da tábua de queijos: reconhecido com confiança menor
+        TextInterpreter.Interpretation description = interpreter.interpret("umas azeitonas");
+        assertEquals(MainDish.QUEIJOS_FRIOS, description.getMainDish());
+        assertTrue(description.getConfidence(TextInterpreter.DISH) < 1);
+    }
+
+    @Test
+    void sharedTermsAreAmbiguousUntilContextDecides() {
+        TextInterpreter.Interpretation ambiguous = interpreter.interpret("um macarrão");
+        assertNull(ambiguous.getMainDish());
+        assertEquals(0, ambiguous.getConfidence(TextInterpreter.DISH));
+
+        assertEquals(MainDish.MASSA_MOLHO_BRANCO, interpreter.interpret("macarrão à carbonara").getMainDish());
+        assertEquals(MainDish.MASSA_MOLHO_VERMELHO, interpreter.interpret("macarrão ao sugo").getMainDish());
+    }
+
+    @Test
+    void textWithoutVocabularyRecognizesNothing() {
+        TextInterpreter.Interpretation interpretation = interpreter.interpret("o que eu levo hoje?");
+        assertNull(interpretation.getMainDish());
+        assertNull(interpretation.getOccasion());
+        assertNull(interpretation.getIntimacyLevel());
+        assertTrue(interpretation.getMatchedTerms().isEmpty());
+    }
+}